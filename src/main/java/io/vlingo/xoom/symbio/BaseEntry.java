@@ -25,10 +25,17 @@ public abstract class BaseEntry<T> implements Entry<T> {
 
   /**
    * My {@code String} id that is unique within the {@code Journal<T>} where persisted,
-   * and is (generally) assigned by the journal.
+   * and is (generally) assigned by the journal. It is null when it has yet to be
+   * derived from a position assigned by {@code __internal__setPosition(long)}.
    */
   private String id;
 
+  /**
+   * My {@code long} position within the store where persisted, which is the
+   * numeric form of my id, or {@code UnknownPosition} if my id is not numeric.
+   */
+  private long position;
+
   /**
    * My data representation of the entry, generally serialized as
    * String, byte[], or Object.
@@ -60,6 +67,7 @@ public abstract class BaseEntry<T> implements Entry<T> {
   public BaseEntry(final String id, final Class<?> type, final int typeVersion, final T entryData, final int entryVersion, final Metadata metadata) {
     if (id == null) throw new IllegalArgumentException("Entry id must not be null.");
     this.id = id;
+    this.position = Entry.positionOf(id);
     if (type == null) throw new IllegalArgumentException("Entry type must not be null.");
     this.type = type.getName();
     if (typeVersion <= 0) throw new IllegalArgumentException("Entry typeVersion must be greater than 0.");
@@ -86,9 +94,18 @@ public abstract class BaseEntry<T> implements Entry<T> {
   /* @see io.vlingo.xoom.symbio.Entry#id() */
   @Override
   public String id() {
+    if (id == null) {
+      id = String.valueOf(position);
+    }
     return id;
   }
 
+  /* @see io.vlingo.xoom.symbio.Entry#position() */
+  @Override
+  public long position() {
+    return position;
+  }
+
   /* @see io.vlingo.xoom.symbio.Entry#entryData() */
   @Override
   public T entryData() {
@@ -202,7 +219,7 @@ public abstract class BaseEntry<T> implements Entry<T> {
     if (dataDiff != 0) return dataDiff;
 
     return Comparator
-      .comparing((BaseEntry<T> s) -> s.id)
+      .comparing((BaseEntry<T> s) -> s.id())
       .thenComparing(s -> s.type)
       .thenComparingInt(s -> s.typeVersion)
       .thenComparing(s -> s.metadata)
@@ -215,7 +232,7 @@ public abstract class BaseEntry<T> implements Entry<T> {
    */
   @Override
   public int hashCode() {
-    return 31 * id.hashCode();
+    return 31 * id().hashCode();
   }
 
   /**
@@ -228,7 +245,7 @@ public abstract class BaseEntry<T> implements Entry<T> {
     if (other == null || other.getClass() != this.getClass()) {
       return false;
     }
-    return id.equals(((BaseEntry<?>) other).id);
+    return id().equals(((BaseEntry<?>) other).id());
   }
 
   /**
@@ -238,7 +255,7 @@ public abstract class BaseEntry<T> implements Entry<T> {
   @Override
   public String toString() {
     return getClass().getSimpleName() +
-            "[id=" + id + " type=" + type + " typeVersion=" + typeVersion +
+            "[id=" + id() + " type=" + type + " typeVersion=" + typeVersion +
             " entryData=" + (isText() || isObject() ? entryData.toString() : "(binary)") +
             " entryVersion=" + entryVersion +
             " metadata=" + metadata + "]";
@@ -250,6 +267,16 @@ public abstract class BaseEntry<T> implements Entry<T> {
    */
   public void __internal__setId(final String id) {
     this.id = id;
+    this.position = Entry.positionOf(id);
+  }
+
+  /**
+   * FOR INTERNAL USE ONLY.
+   * @param position the long to set as my position, the String form of which becomes my id
+   */
+  public void __internal__setPosition(final long position) {
+    this.id = null;
+    this.position = position;
   }
 
   private int compareData(final BaseEntry<T> state1, final BaseEntry<T> state2) {
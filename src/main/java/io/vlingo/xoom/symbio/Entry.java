@@ -23,6 +23,9 @@ public interface Entry<T> extends Comparable<Entry<T>> {
   /** The default state version number with which I am associated. */
   static final int DefaultVersion = -1;
 
+  /** The position of an {@code Entry} whose store has not assigned it one. */
+  static final long UnknownPosition = -1L;
+
   /**
    * Answer an empty {@code List<Entry<T>>}.
    * @param <T> the type used in {@code Entry<T>}
@@ -47,12 +50,44 @@ public interface Entry<T> extends Comparable<Entry<T>> {
     }
   }
 
+  /**
+   * Answer the position parsed from the numeric {@code id}, or {@code UnknownPosition}
+   * if the {@code id} is not a non-negative decimal {@code long}.
+   * @param id the String id to parse
+   * @return long
+   */
+  public static long positionOf(final String id) {
+    final int length = id == null ? 0 : id.length();
+    if (length == 0) {
+      return UnknownPosition;
+    }
+    long position = 0;
+    for (int index = 0; index < length; ++index) {
+      final int digit = id.charAt(index) - '0';
+      if (digit < 0 || digit > 9 || position > (Long.MAX_VALUE - digit) / 10) {
+        return UnknownPosition;
+      }
+      position = position * 10 + digit;
+    }
+    return position;
+  }
+
   /**
    * Answers my id;
    * @return String
    */
   String id();
 
+  /**
+   * Answer my global position within the store where persisted, which the store
+   * assigns from a monotonic sequence and which is the numeric form of my {@code id()}.
+   * Answers {@code UnknownPosition} if my id is not numeric.
+   * @return long
+   */
+  default long position() {
+    return positionOf(id());
+  }
+
   /**
    * Answers my entry data
    *
@@ -0,0 +1,52 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store;
+
+import java.util.List;
+
+import io.vlingo.xoom.symbio.Entry;
+
+/**
+ * Locates the {@code Entry<?>} instances of an in-memory store by position, for the seeks of
+ * its {@code EntryReader<T>}.
+ */
+public final class EntryPositions {
+
+  /**
+   * Answer the index within {@code entries} of the {@code Entry<?>} at {@code position}, or
+   * {@code entries.size()} if there is none. Positions are assigned densely on append, in which
+   * case the index is an offset from the first position and is answered without a search;
+   * otherwise the {@code entries} are searched in order, skipping any that are {@code null}.
+   * @param entries the {@code List<? extends Entry<?>>} in ascending order of position
+   * @param position the long position of the sought {@code Entry<?>}
+   * @return int
+   */
+  public static int indexOf(final List<? extends Entry<?>> entries, final long position) {
+    final int size = entries.size();
+    if (size == 0) {
+      return 0;
+    }
+
+    final Entry<?> first = entries.get(0);
+    final Entry<?> last = entries.get(size - 1);
+    if (first != null && last != null && last.position() - first.position() == size - 1) {
+      final long index = position - first.position();
+      return index >= 0 && index < size ? (int) index : size;
+    }
+
+    for (int index = 0; index < size; ++index) {
+      final Entry<?> entry = entries.get(index);
+      if (entry != null && entry.position() == position) {
+        return index;
+      }
+    }
+    return size;
+  }
+
+  private EntryPositions() { }
+}
@@ -132,6 +132,22 @@ public interface EntryReader<T extends Entry<?>> {
    */
   Completes<List<T>> readNext(final String fromId, final int maximumEntries);
 
+  /**
+   * Eventually answers the next available {@code Entry<T>} instances as a {@code List}, which may be
+   * empty if none are currently available, starting with the {@code Entry<T>} at {@code fromPosition}.
+   * This is the same as {@code readNext(fromId, maximumEntries)} but seeks by the numeric position
+   * that the storage assigns to each {@code Entry<T>} rather than by its {@code String} id. The
+   * default answers {@code readNext(String.valueOf(fromPosition), maximumEntries)}.
+   *
+   * @param fromPosition the long position of the {@code Entry<T>} instance to which the seek prepares to next read
+   * @param maximumEntries the int indicating the maximum number of {@code Entry<T>} instances to read
+   *
+   * @return the {@code Completes<List<T>>} of at most maximumEntries or empty if none
+   */
+  default Completes<List<T>> readNextFromPosition(final long fromPosition, final int maximumEntries) {
+    return readNext(String.valueOf(fromPosition), maximumEntries);
+  }
+
   /**
    * Rewinds the reader so that the next available {@code Entry<T>} is the first one in the storage.
    * Sending {@code rewind()} is the same as sending {@code seekTo(Beginning)}.
@@ -155,6 +171,21 @@ public interface EntryReader<T extends Entry<?>> {
    */
   Completes<String> seekTo(final String id);
 
+  /**
+   * Eventually answers the new position of the reader after attempting to seek to the {@code Entry<T>} at
+   * the given {@code position}, such that the next available {@code Entry<T>} is the one at that position.
+   * This is the same as {@code seekTo(id)} but by the numeric position that the storage assigns to each
+   * {@code Entry<T>}, and answers {@code Entry.UnknownPosition} when the reader is positioned just beyond
+   * the last {@code Entry<T>}. The default answers the position of {@code seekTo(String.valueOf(position))}.
+   *
+   * @param position the long position of the {@code Entry<T>} instance to which the seek prepares to next read
+   *
+   * @return {@code Completes<Long>}
+   */
+  default Completes<Long> seekToPosition(final long position) {
+    return seekTo(String.valueOf(position)).andThen(Entry::positionOf);
+  }
+
   /**
    * Eventually answer the size in {@code Entry} instances. If the size
    * is not known or not queryable, the value of {@code -1L} is answered.
@@ -26,6 +26,9 @@ public enum Result {
   NoTypeStore {
     @Override public boolean isNoTypeStore() { return true; }
   },
+  Overloaded {
+    @Override public boolean isOverloaded() { return true; }
+  },
   Success {
     @Override public boolean isSuccess() { return true; }
   };
@@ -36,5 +39,6 @@ public enum Result {
   public boolean isNotAllFound() { return false; }
   public boolean isNotFound() { return false; }
   public boolean isNoTypeStore() { return false; }
+  public boolean isOverloaded() { return false; }
   public boolean isSuccess() { return false; }
 }
@@ -7,6 +7,8 @@
 
 package io.vlingo.xoom.symbio.store.dispatch;
 
+import java.util.Collection;
+
 import io.vlingo.xoom.symbio.store.Result;
 
 /**
@@ -20,4 +22,16 @@ public interface ConfirmDispatchedResultInterest {
    * @param dispatchId the String unique identity of the dispatched {@code State<?>}
    */
   void confirmDispatchedResultedIn(final Result result, final String dispatchId);
+
+  /**
+   * Sends the confirmation of many dispatched {@code State<?>} instances at once. By default,
+   * each of the {@code dispatchIds} is sent individually.
+   * @param result the {@code Result} of the dispatch confirmations
+   * @param dispatchIds the {@code Collection<String>} unique identities of the dispatched {@code State<?>} instances
+   */
+  default void confirmDispatchedResultedIn(final Result result, final Collection<String> dispatchIds) {
+    for (final String dispatchId : dispatchIds) {
+      confirmDispatchedResultedIn(result, dispatchId);
+    }
+  }
 }
@@ -16,6 +16,7 @@ import io.vlingo.xoom.common.SerializableConsumer;
 public class ConfirmDispatchedResultInterest__Proxy implements ConfirmDispatchedResultInterest {
 
   private static final String confirmDispatchedResultedInRepresentation1 = "confirmDispatchedResultedIn(io.vlingo.xoom.symbio.store.Result, java.lang.String)";
+  private static final String confirmDispatchedResultedInRepresentation2 = "confirmDispatchedResultedIn(io.vlingo.xoom.symbio.store.Result, java.util.Collection<java.lang.String>)";
 
   private final Actor actor;
   private final Mailbox mailbox;
@@ -34,4 +35,14 @@ public class ConfirmDispatchedResultInterest__Proxy implements ConfirmDispatched
       actor.deadLetters().failedDelivery(new DeadLetter(actor, confirmDispatchedResultedInRepresentation1));
     }
   }
+
+  public void confirmDispatchedResultedIn(io.vlingo.xoom.symbio.store.Result arg0, java.util.Collection<java.lang.String> arg1) {
+    if (!actor.isStopped()) {
+      final SerializableConsumer<ConfirmDispatchedResultInterest> consumer = (actor) -> actor.confirmDispatchedResultedIn(arg0, arg1);
+      if (mailbox.isPreallocated()) { mailbox.send(actor, ConfirmDispatchedResultInterest.class, consumer, null, confirmDispatchedResultedInRepresentation2); }
+      else { mailbox.send(new LocalMessage<ConfirmDispatchedResultInterest>(actor, ConfirmDispatchedResultInterest.class, consumer, confirmDispatchedResultedInRepresentation2)); }
+    } else {
+      actor.deadLetters().failedDelivery(new DeadLetter(actor, confirmDispatchedResultedInRepresentation2));
+    }
+  }
 }
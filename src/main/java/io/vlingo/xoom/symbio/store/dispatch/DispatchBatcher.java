@@ -0,0 +1,151 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.dispatch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import io.vlingo.xoom.common.Cancellable;
+import io.vlingo.xoom.common.Scheduled;
+import io.vlingo.xoom.common.Scheduler;
+
+/**
+ * Collects the dispatchables of a store and hands them to its dispatchers in batches through
+ * {@code Dispatcher#dispatchAll(List)}. A batch is handed over when it reaches the maximum size,
+ * or when the linger time has passed since its first dispatchable was collected. With a maximum
+ * size of 1, each dispatchable is handed over immediately through {@code Dispatcher#dispatch(Dispatchable)}.
+ * <p>
+ * The lingering batch is handed over by the {@code Scheduler}, and so I am thread-safe. Batches
+ * are handed over in the order collected.
+ *
+ * @param <D> the concrete {@code Dispatchable<?,?>} type
+ */
+@SuppressWarnings("rawtypes")
+public class DispatchBatcher<D extends Dispatchable> implements Scheduled<Object> {
+  private List<D> batch;
+  private final List<Dispatcher<D>> dispatchers;
+  private Cancellable lingering;
+  private final long lingerMillis;
+  private final int maximumSize;
+  private final Scheduler scheduler;
+
+  /**
+   * Answer a new {@code DispatchBatcher<D>} that hands each dispatchable to the
+   * {@code dispatchers} immediately.
+   * @param dispatchers the {@code List<Dispatcher<D>>} to hand the dispatchables to
+   * @param <D> the concrete {@code Dispatchable<?,?>} type
+   * @return {@code DispatchBatcher<D>}
+   */
+  public static <D extends Dispatchable> DispatchBatcher<D> immediate(final List<Dispatcher<D>> dispatchers) {
+    return new DispatchBatcher<>(dispatchers, 1, 0, null);
+  }
+
+  /**
+   * Construct my state.
+   * @param dispatchers the {@code List<Dispatcher<D>>} to hand the dispatchables to
+   * @param maximumSize the int maximum number of dispatchables in a batch
+   * @param lingerMillis the long milliseconds that a partial batch may wait, or 0 for no wait
+   * @param scheduler the Scheduler of lingering batches, which may be null when {@code lingerMillis} is 0
+   */
+  public DispatchBatcher(final List<Dispatcher<D>> dispatchers, final int maximumSize, final long lingerMillis, final Scheduler scheduler) {
+    if (maximumSize <= 0) {
+      throw new IllegalArgumentException("Maximum batch size must be positive.");
+    }
+    if (lingerMillis < 0 || (lingerMillis > 0 && scheduler == null)) {
+      throw new IllegalArgumentException("Linger must not be negative, and requires a scheduler.");
+    }
+    this.batch = new ArrayList<>();
+    this.dispatchers = dispatchers;
+    this.lingerMillis = lingerMillis;
+    this.maximumSize = maximumSize;
+    this.scheduler = scheduler;
+  }
+
+  /**
+   * Collect the {@code dispatchable}, handing over the batch if it is full.
+   * @param dispatchable the D to dispatch
+   */
+  public synchronized void dispatch(final D dispatchable) {
+    if (maximumSize == 1) {
+      dispatchers.forEach(d -> d.dispatch(dispatchable));
+      return;
+    }
+    batch.add(dispatchable);
+    handOver(fullBatch());
+  }
+
+  /**
+   * Collect all of the {@code dispatchables}, handing over the batch if it is full.
+   * @param dispatchables the {@code List<D>} to dispatch
+   */
+  public synchronized void dispatchAll(final List<D> dispatchables) {
+    if (maximumSize == 1) {
+      dispatchables.forEach(this::dispatch);
+      return;
+    }
+    batch.addAll(dispatchables);
+    handOver(fullBatch());
+  }
+
+  /**
+   * Hand over any partial batch now.
+   */
+  public synchronized void flush() {
+    handOver(takeBatch());
+  }
+
+  /**
+   * Hand over any partial batch and stop lingering.
+   */
+  public void stop() {
+    flush();
+  }
+
+  /**
+   * Hand over the lingering batch.
+   * @see io.vlingo.xoom.common.Scheduled#intervalSignal(io.vlingo.xoom.common.Scheduled, java.lang.Object)
+   */
+  @Override
+  public void intervalSignal(final Scheduled<Object> scheduled, final Object data) {
+    flush();
+  }
+
+  private List<D> fullBatch() {
+    if (batch.size() >= maximumSize || lingerMillis == 0) {
+      return takeBatch();
+    }
+    if (lingering == null) {
+      lingering = scheduler.scheduleOnce(this, null, 0, lingerMillis);
+    }
+    return Collections.emptyList();
+  }
+
+  private List<D> takeBatch() {
+    if (lingering != null) {
+      lingering.cancel();
+      lingering = null;
+    }
+    if (batch.isEmpty()) {
+      return Collections.emptyList();
+    }
+    final List<D> taken = batch;
+    batch = new ArrayList<>(Math.min(maximumSize, 1024));
+    return taken;
+  }
+
+  private void handOver(final List<D> dispatchables) {
+    if (dispatchables.size() == 1) {
+      final D dispatchable = dispatchables.get(0);
+      dispatchers.forEach(d -> d.dispatch(dispatchable));
+    } else if (!dispatchables.isEmpty()) {
+      final List<D> readOnly = Collections.unmodifiableList(dispatchables);
+      dispatchers.forEach(d -> d.dispatchAll(readOnly));
+    }
+  }
+}
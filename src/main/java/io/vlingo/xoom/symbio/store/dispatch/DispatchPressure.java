@@ -0,0 +1,91 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.dispatch;
+
+/**
+ * Determines when a store is overloaded by its outstanding, unconfirmed dispatches. A store
+ * becomes overloaded when its outstanding dispatches reach the high watermark, and remains
+ * so until they fall to the low watermark. While overloaded, the in-memory stores reject writes
+ * with {@code Result.Overloaded}, which bounds their memory when dispatchers fall behind.
+ * <p>
+ * Each change of pressure is signaled to the {@code Listener}, on the thread that caused it.
+ */
+public final class DispatchPressure {
+  /**
+   * Receives each change of pressure, which must not block.
+   */
+  @FunctionalInterface
+  public static interface Listener {
+    /**
+     * The pressure changed to {@code overloaded} with {@code outstanding} dispatches.
+     * @param overloaded the boolean indicating whether the store is now overloaded
+     * @param outstanding the int number of unconfirmed dispatches
+     */
+    void pressureChanged(final boolean overloaded, final int outstanding);
+  }
+
+  private static final Listener NoListener = (overloaded, outstanding) -> { };
+
+  private final int highWatermark;
+  private final Listener listener;
+  private final int lowWatermark;
+
+  /**
+   * Answer the {@code DispatchPressure} by which a store is never overloaded.
+   * @return DispatchPressure
+   */
+  public static DispatchPressure unbounded() {
+    return new DispatchPressure(Integer.MAX_VALUE, Integer.MAX_VALUE, NoListener);
+  }
+
+  /**
+   * Answer the {@code DispatchPressure} by which a store is overloaded from {@code highWatermark}
+   * outstanding dispatches until they fall to {@code lowWatermark}.
+   * @param highWatermark the int number of outstanding dispatches at which a store becomes overloaded
+   * @param lowWatermark the int number of outstanding dispatches at which a store is relieved
+   * @return DispatchPressure
+   */
+  public static DispatchPressure watermarks(final int highWatermark, final int lowWatermark) {
+    if (lowWatermark < 0 || highWatermark <= lowWatermark) {
+      throw new IllegalArgumentException("The high watermark must be above the low watermark, which must not be negative.");
+    }
+    return new DispatchPressure(highWatermark, lowWatermark, NoListener);
+  }
+
+  /**
+   * Answer a copy of me that signals each change of pressure to {@code listener}.
+   * @param listener the Listener of pressure changes
+   * @return DispatchPressure
+   */
+  public DispatchPressure withListener(final Listener listener) {
+    return new DispatchPressure(highWatermark, lowWatermark, listener);
+  }
+
+  public int highWatermark() {
+    return highWatermark;
+  }
+
+  public int lowWatermark() {
+    return lowWatermark;
+  }
+
+  public Listener listener() {
+    return listener;
+  }
+
+  @Override
+  public String toString() {
+    return "DispatchPressure[highWatermark=" + highWatermark + " lowWatermark=" + lowWatermark + "]";
+  }
+
+  private DispatchPressure(final int highWatermark, final int lowWatermark, final Listener listener) {
+    this.highWatermark = highWatermark;
+    this.lowWatermark = lowWatermark;
+    this.listener = listener;
+  }
+}
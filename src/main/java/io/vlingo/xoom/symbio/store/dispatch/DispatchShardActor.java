@@ -0,0 +1,57 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.dispatch;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.vlingo.xoom.actors.Actor;
+
+/**
+ * One shard of a {@code ShardedDispatcher<D>}, which dispatches to its dispatcher in the order
+ * of my mailbox. I count down the {@code queued} dispatchables of my shard as each dispatch is done.
+ *
+ * @param <D> the concrete {@code Dispatchable<?,?>} type
+ */
+@SuppressWarnings("rawtypes")
+public class DispatchShardActor<D extends Dispatchable> extends Actor implements Dispatcher<D> {
+  private final Dispatcher<D> dispatcher;
+  private final AtomicInteger queued;
+
+  public DispatchShardActor(final Dispatcher<D> dispatcher, final AtomicInteger queued) {
+    this.dispatcher = dispatcher;
+    this.queued = queued;
+  }
+
+  @Override
+  public void controlWith(final DispatcherControl control) {
+    dispatcher.controlWith(control);
+  }
+
+  @Override
+  public void dispatch(final D dispatchable) {
+    try {
+      dispatcher.dispatch(dispatchable);
+    } catch (final Exception e) {
+      logger().error(getClass().getSimpleName() + " dispatch failed because: " + e.getMessage(), e);
+    } finally {
+      queued.decrementAndGet();
+    }
+  }
+
+  @Override
+  public void dispatchAll(final List<D> dispatchables) {
+    try {
+      dispatcher.dispatchAll(dispatchables);
+    } catch (final Exception e) {
+      logger().error(getClass().getSimpleName() + " dispatch of " + dispatchables.size() + " failed because: " + e.getMessage(), e);
+    } finally {
+      queued.addAndGet(-dispatchables.size());
+    }
+  }
+}
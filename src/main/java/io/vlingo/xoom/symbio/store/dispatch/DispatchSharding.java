@@ -0,0 +1,104 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.dispatch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import io.vlingo.xoom.actors.Logger;
+import io.vlingo.xoom.actors.Stage;
+
+/**
+ * Determines whether a store dispatches on its own thread, or hands its dispatchables to a
+ * {@code ShardedDispatcher} for each of its dispatchers and returns.
+ */
+@SuppressWarnings("rawtypes")
+public final class DispatchSharding {
+  private final int queueCapacity;
+  private final int shards;
+
+  /**
+   * Answer the {@code DispatchSharding} by which a store dispatches on its own thread.
+   * @return DispatchSharding
+   */
+  public static DispatchSharding none() {
+    return new DispatchSharding(0, 0);
+  }
+
+  /**
+   * Answer the {@code DispatchSharding} by which a store hands each dispatchable to one of
+   * {@code shards} shards per dispatcher, each queuing up to {@code queueCapacity}.
+   * @param shards the int number of shards per dispatcher
+   * @param queueCapacity the int maximum number of queued dispatchables per shard
+   * @return DispatchSharding
+   */
+  public static DispatchSharding of(final int shards, final int queueCapacity) {
+    if (shards <= 0 || queueCapacity <= 0) {
+      throw new IllegalArgumentException("Shards and queue capacity must be positive.");
+    }
+    return new DispatchSharding(shards, queueCapacity);
+  }
+
+  /**
+   * Answer the {@code Runtime.availableProcessors()} shards, each queuing up to {@code queueCapacity}.
+   * @param queueCapacity the int maximum number of queued dispatchables per shard
+   * @return DispatchSharding
+   */
+  public static DispatchSharding perProcessor(final int queueCapacity) {
+    return of(Runtime.getRuntime().availableProcessors(), queueCapacity);
+  }
+
+  /**
+   * Answer the {@code dispatchers} as they are to be used by a store, which is either as they
+   * are or each within a {@code ShardedDispatcher} that orders by the key answered by {@code keyOf}.
+   * @param dispatchers the {@code List<Dispatcher<D>>} of the store
+   * @param keyOf the {@code Function<D,String>} answering the key by which dispatches are ordered
+   * @param stage the Stage of the shards
+   * @param logger the Logger of rejected dispatches
+   * @param <D> the concrete {@code Dispatchable<?,?>} type
+   * @return {@code List<Dispatcher<D>>}
+   */
+  public <D extends Dispatchable> List<Dispatcher<D>> apply(
+          final List<Dispatcher<D>> dispatchers,
+          final Function<D,String> keyOf,
+          final Stage stage,
+          final Logger logger) {
+    if (shards == 0) {
+      return dispatchers;
+    }
+    final List<Dispatcher<D>> sharded = new ArrayList<>(dispatchers.size());
+    for (final Dispatcher<D> dispatcher : dispatchers) {
+      sharded.add(new ShardedDispatcher<>(dispatcher, shards, queueCapacity, keyOf, stage, logger));
+    }
+    return sharded;
+  }
+
+  /**
+   * Stop each of the {@code dispatchers} that is a {@code ShardedDispatcher}.
+   * @param dispatchers the {@code List<Dispatcher<D>>} answered by {@code apply()}
+   * @param <D> the concrete {@code Dispatchable<?,?>} type
+   */
+  public static <D extends Dispatchable> void stopAll(final List<Dispatcher<D>> dispatchers) {
+    for (final Dispatcher<D> dispatcher : dispatchers) {
+      if (dispatcher instanceof ShardedDispatcher) {
+        ((ShardedDispatcher<D>) dispatcher).stop();
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "DispatchSharding[shards=" + shards + " queueCapacity=" + queueCapacity + "]";
+  }
+
+  private DispatchSharding(final int shards, final int queueCapacity) {
+    this.shards = shards;
+    this.queueCapacity = queueCapacity;
+  }
+}
@@ -7,6 +7,8 @@
 
 package io.vlingo.xoom.symbio.store.dispatch;
 
+import java.util.List;
+
 /**
  * Defines the support for dispatching.
  */
@@ -25,4 +27,17 @@ public interface Dispatcher<D extends Dispatchable> {
    * @param dispatchable the Dispatchable instance to this dispatch
    */
   void dispatch(final D dispatchable);
+
+  /**
+   * Dispatch all of the Dispatchable instances, in order. Dispatchers that can amortize
+   * their work across many dispatchables should override this, which by default
+   * dispatches each individually. The {@code dispatchables} must not be modified.
+   *
+   * @param dispatchables the {@code List<D>} of Dispatchable instances to dispatch
+   */
+  default void dispatchAll(final List<D> dispatchables) {
+    for (final D dispatchable : dispatchables) {
+      dispatch(dispatchable);
+    }
+  }
 }
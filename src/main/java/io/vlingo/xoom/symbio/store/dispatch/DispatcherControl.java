@@ -7,6 +7,8 @@
 
 package io.vlingo.xoom.symbio.store.dispatch;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
@@ -15,6 +17,7 @@ import io.vlingo.xoom.actors.ActorInstantiator;
 import io.vlingo.xoom.symbio.Entry;
 import io.vlingo.xoom.symbio.State;
 import io.vlingo.xoom.symbio.store.dispatch.control.DispatcherControlActor;
+import io.vlingo.xoom.symbio.store.dispatch.control.RedispatchPolicy;
 
 /**
  * Defines the means to confirm previously dispatched results, and to
@@ -29,11 +32,34 @@ public interface DispatcherControl {
    */
   void confirmDispatched(final String dispatchId, final ConfirmDispatchedResultInterest interest);
 
+  /**
+   * Confirm that all of the {@code dispatchIds} have been dispatched, answering a single
+   * result for all of them. The {@code dispatchIds} must not be modified once sent.
+   * By default each is confirmed individually, answering a result for each.
+   *
+   * @param dispatchIds the {@code Collection<String>} unique identities of the dispatched states
+   * @param interest    the ConfirmDispatchedResultInterest
+   */
+  default void confirmDispatched(final Collection<String> dispatchIds, final ConfirmDispatchedResultInterest interest) {
+    for (final String dispatchId : dispatchIds) {
+      confirmDispatched(dispatchId, interest);
+    }
+  }
+
   /**
    * Attempt to dispatch any unconfirmed dispatchables.
    */
   void dispatchUnconfirmed();
 
+  /**
+   * Resume redispatching the unconfirmed dispatchables that were parked after reaching
+   * the maximum of redispatch attempts, starting with an immediate redispatch.
+   * By default, as there is nothing parked, attempt to dispatch any unconfirmed dispatchables.
+   */
+  default void redispatchParked() {
+    dispatchUnconfirmed();
+  }
+
   /**
    * Stop attempting to dispatch unconfirmed dispatchables.
    */
@@ -48,11 +74,73 @@ public interface DispatcherControl {
   interface DispatcherControlDelegate<E extends Entry<?>, RS extends State<?>> {
     Collection<Dispatchable<E, RS>> allUnconfirmedDispatchableStates() throws Exception;
 
+    /**
+     * Answer the unconfirmed dispatchables created before {@code cutoff}. Implementations
+     * that keep their dispatchables in creation order should avoid visiting the others.
+     *
+     * @param cutoff the LocalDateTime before which the dispatchables were created
+     * @return {@code Collection<Dispatchable<E, RS>>}
+     * @throws Exception if the dispatchables cannot be read
+     */
+    default Collection<Dispatchable<E, RS>> allUnconfirmedDispatchableStatesOlderThan(final LocalDateTime cutoff) throws Exception {
+      final List<Dispatchable<E, RS>> older = new ArrayList<>();
+      for (final Dispatchable<E, RS> dispatchable : allUnconfirmedDispatchableStates()) {
+        if (dispatchable.createdOn().isBefore(cutoff)) {
+          older.add(dispatchable);
+        }
+      }
+      return older;
+    }
+
     void confirmDispatched(final String dispatchId);
 
+    /**
+     * Answer whether my outstanding dispatchables are above my high watermark, in which
+     * case the store should not accept further writes. By default, never.
+     *
+     * @return boolean
+     */
+    default boolean isOverloaded() {
+      return false;
+    }
+
+    /**
+     * Confirm all of the {@code dispatchIds}, by default individually.
+     *
+     * @param dispatchIds the {@code Collection<String>} unique identities of the dispatched states
+     */
+    default void confirmDispatched(final Collection<String> dispatchIds) {
+      for (final String dispatchId : dispatchIds) {
+        confirmDispatched(dispatchId);
+      }
+    }
+
     void stop();
   }
 
+  /**
+   * A {@code DispatcherControlDelegate} that answers its dispatchables as they are added, so that
+   * the {@code DispatcherControl} can schedule their redispatch by deadline rather than reading
+   * and checking every unconfirmed dispatchable on each interval.
+   */
+  interface IncrementalDispatcherControlDelegate<E extends Entry<?>, RS extends State<?>> extends DispatcherControlDelegate<E, RS> {
+    /**
+     * Answer the dispatchables added since this was last answered, or when first answered,
+     * all unconfirmed dispatchables.
+     *
+     * @return {@code Collection<Dispatchable<E, RS>>}
+     */
+    Collection<Dispatchable<E, RS>> unconfirmedDispatchableStatesAdded();
+
+    /**
+     * Answer whether the {@code dispatchable} is still unconfirmed.
+     *
+     * @param dispatchable the {@code Dispatchable<E, RS>} to check
+     * @return boolean
+     */
+    boolean isUnconfirmed(final Dispatchable<E, RS> dispatchable);
+  }
+
   public static class DispatcherControlInstantiator<ET extends Entry<?>, ST extends State<?>> implements ActorInstantiator<DispatcherControlActor> {
     private static final long serialVersionUID = 1739556269104244158L;
     private static final long DEFAULT_REDISPATCH_DELAY = 2000L;
@@ -62,18 +150,30 @@ public interface DispatcherControl {
     private final long redispatchDelay;
     private final long checkConfirmationExpirationInterval;
     private final long confirmationExpiration;
+    private final RedispatchPolicy policy;
 
     public DispatcherControlInstantiator(
             final List<Dispatcher<Dispatchable<? extends Entry<?>, ? extends State<?>>>> dispatchers,
             final DispatcherControlDelegate<? extends Entry<?>, ? extends State<?>> delegate,
             final long redispatchDelay,
             final long checkConfirmationExpirationInterval,
-            final long confirmationExpiration) {
+            final long confirmationExpiration,
+            final RedispatchPolicy policy) {
       this.dispatchers = dispatchers;
       this.delegate = delegate;
       this.redispatchDelay = redispatchDelay;
       this.checkConfirmationExpirationInterval = checkConfirmationExpirationInterval;
       this.confirmationExpiration = confirmationExpiration;
+      this.policy = policy;
+    }
+
+    public DispatcherControlInstantiator(
+            final List<Dispatcher<Dispatchable<? extends Entry<?>, ? extends State<?>>>> dispatchers,
+            final DispatcherControlDelegate<? extends Entry<?>, ? extends State<?>> delegate,
+            final long redispatchDelay,
+            final long checkConfirmationExpirationInterval,
+            final long confirmationExpiration) {
+      this(dispatchers, delegate, redispatchDelay, checkConfirmationExpirationInterval, confirmationExpiration, RedispatchPolicy.unbounded());
     }
 
     public DispatcherControlInstantiator(
@@ -108,7 +208,8 @@ public interface DispatcherControl {
               delegate,
               redispatchDelay,
               checkConfirmationExpirationInterval,
-              confirmationExpiration);
+              confirmationExpiration,
+              policy);
     }
 
     @Override
@@ -17,6 +17,8 @@ public class DispatcherControl__Proxy implements DispatcherControl {
 
   private static final String dispatchUnconfirmedRepresentation1 = "dispatchUnconfirmed()";
   private static final String confirmDispatchedRepresentation2 = "confirmDispatched(java.lang.String, io.vlingo.xoom.symbio.store.state.ConfirmDispatchedResultInterest)";
+  private static final String redispatchParkedRepresentation3 = "redispatchParked()";
+  private static final String confirmDispatchedRepresentation4 = "confirmDispatched(java.util.Collection<java.lang.String>, io.vlingo.xoom.symbio.store.dispatch.ConfirmDispatchedResultInterest)";
 
   private final Actor actor;
   private final Mailbox mailbox;
@@ -36,6 +38,16 @@ public class DispatcherControl__Proxy implements DispatcherControl {
     send(consumer, DispatcherControl__Proxy.confirmDispatchedRepresentation2);
   }
 
+  public void confirmDispatched(final java.util.Collection<java.lang.String> arg0, final ConfirmDispatchedResultInterest arg1) {
+    final SerializableConsumer<DispatcherControl> consumer = (actor) -> actor.confirmDispatched(arg0, arg1);
+    send(consumer, DispatcherControl__Proxy.confirmDispatchedRepresentation4);
+  }
+
+  public void redispatchParked() {
+    final SerializableConsumer<DispatcherControl> consumer = (actor) -> actor.redispatchParked();
+    send(consumer, DispatcherControl__Proxy.redispatchParkedRepresentation3);
+  }
+
   public void stop() {
     final SerializableConsumer<DispatcherControl> consumer = (actor) -> actor.stop();
     send(consumer, DispatcherControl__Proxy.dispatchUnconfirmedRepresentation1);
@@ -18,6 +18,7 @@ public class Dispatcher__Proxy implements Dispatcher {
 
   private static final String dispatchRepresentation1 = "dispatch(io.vlingo.xoom.symbio.store.dispatch.Dispatchable)";
   private static final String controlWithRepresentation2 = "controlWith(io.vlingo.xoom.symbio.store.state.StateStore.DispatcherControl)";
+  private static final String dispatchAllRepresentation3 = "dispatchAll(java.util.List<io.vlingo.xoom.symbio.store.dispatch.Dispatchable>)";
 
   private final Actor actor;
   private final Mailbox mailbox;
@@ -33,6 +34,12 @@ public class Dispatcher__Proxy implements Dispatcher {
     send(consumer, dispatchRepresentation1);
   }
 
+  @Override
+  public void dispatchAll(final java.util.List arg0) {
+    final SerializableConsumer<Dispatcher> consumer = (actor) -> actor.dispatchAll(arg0);
+    send(consumer, dispatchAllRepresentation3);
+  }
+
   @Override
   public void controlWith(final DispatcherControl arg0) {
     final SerializableConsumer<Dispatcher> consumer = (actor) -> actor.controlWith(arg0);
@@ -0,0 +1,69 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.dispatch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@code Dispatcher<D>} that receives each dispatchable at most once. A store neither retains
+ * dispatchables for me nor redispatches to me, and I am never given a {@code DispatcherControl}
+ * with which to confirm. This suits consumers that tolerate loss, such as cache warmers and metrics.
+ * When all of a store's dispatchers are mine, the store keeps no dispatchables at all.
+ *
+ * @param <D> the concrete {@code Dispatchable<?,?>} type
+ */
+@SuppressWarnings("rawtypes")
+public final class FireAndForgetDispatcher<D extends Dispatchable> implements Dispatcher<D> {
+  private final Dispatcher<D> dispatcher;
+
+  /**
+   * Answer the {@code dispatcher} to be dispatched to at most once.
+   * @param dispatcher the {@code Dispatcher<D>} to dispatch to
+   * @param <D> the concrete {@code Dispatchable<?,?>} type
+   * @return {@code Dispatcher<D>}
+   */
+  public static <D extends Dispatchable> Dispatcher<D> of(final Dispatcher<D> dispatcher) {
+    return new FireAndForgetDispatcher<>(dispatcher);
+  }
+
+  /**
+   * Answer those of the {@code dispatchers} that confirm their dispatches.
+   * @param dispatchers the {@code List<Dispatcher<D>>} of a store
+   * @param <D> the concrete {@code Dispatchable<?,?>} type
+   * @return {@code List<Dispatcher<D>>}
+   */
+  public static <D extends Dispatchable> List<Dispatcher<D>> confirmingOf(final List<Dispatcher<D>> dispatchers) {
+    final List<Dispatcher<D>> confirming = new ArrayList<>(dispatchers.size());
+    for (final Dispatcher<D> dispatcher : dispatchers) {
+      if (!(dispatcher instanceof FireAndForgetDispatcher)) {
+        confirming.add(dispatcher);
+      }
+    }
+    return confirming;
+  }
+
+  @Override
+  public void controlWith(final DispatcherControl control) {
+    // never confirms
+  }
+
+  @Override
+  public void dispatch(final D dispatchable) {
+    dispatcher.dispatch(dispatchable);
+  }
+
+  @Override
+  public void dispatchAll(final List<D> dispatchables) {
+    dispatcher.dispatchAll(dispatchables);
+  }
+
+  private FireAndForgetDispatcher(final Dispatcher<D> dispatcher) {
+    this.dispatcher = dispatcher;
+  }
+}
@@ -0,0 +1,190 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.dispatch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import io.vlingo.xoom.actors.ActorInstantiator;
+import io.vlingo.xoom.actors.Definition;
+import io.vlingo.xoom.actors.Logger;
+import io.vlingo.xoom.actors.Protocols;
+import io.vlingo.xoom.actors.Stage;
+import io.vlingo.xoom.actors.Stoppable;
+
+/**
+ * A {@code Dispatcher<D>} that hands each dispatchable to one of several {@code DispatchShardActor}
+ * shards of a {@code Stage}, chosen by the key of the dispatchable, and returns. Each shard
+ * dispatches to my dispatcher in the order queued, so that the dispatchables of a key are
+ * dispatched in order while those of different keys are dispatched in parallel. The shards are
+ * stopped by {@code stop()} or with their {@code Stage}.
+ * <p>
+ * The queue of each shard is bounded by a number of dispatchables, whether queued singly or in
+ * batches, and queuing never waits. When a queue is full, the dispatch is rejected and its
+ * dispatchables are counted by {@code rejected()}, leaving its dispatchable unconfirmed,
+ * to be redispatched by the store's {@code DispatcherControl} once its confirmation expires, or,
+ * for a {@code FireAndForgetDispatcher}, not at all. A rejected dispatchable may therefore be
+ * dispatched after later dispatchables of its key. A batch beyond the capacity is queued only
+ * to an empty queue. Dispatches may be sent by several threads.
+ *
+ * @param <D> the concrete {@code Dispatchable<?,?>} type
+ */
+@SuppressWarnings("rawtypes")
+public class ShardedDispatcher<D extends Dispatchable> implements Dispatcher<D> {
+  private final Dispatcher<D> dispatcher;
+  private final Function<D,String> keyOf;
+  private final Logger logger;
+  private final AtomicBoolean[] overflowing;
+  private final int queueCapacity;
+  private final AtomicInteger[] queued;
+  private final AtomicLong rejected;
+  private final Dispatcher<D>[] shards;
+  private final Stoppable[] stoppables;
+
+  /**
+   * Construct my state and start my shards.
+   * @param dispatcher the {@code Dispatcher<D>} to which I dispatch
+   * @param shards the int number of shards
+   * @param queueCapacity the int maximum number of queued dispatchables per shard
+   * @param keyOf the {@code Function<D,String>} answering the key by which dispatches are ordered
+   * @param stage the Stage of my shards
+   * @param logger the Logger of rejected dispatches, or null to ignore them
+   */
+  @SuppressWarnings("unchecked")
+  public ShardedDispatcher(
+          final Dispatcher<D> dispatcher,
+          final int shards,
+          final int queueCapacity,
+          final Function<D,String> keyOf,
+          final Stage stage,
+          final Logger logger) {
+    this.dispatcher = dispatcher;
+    this.keyOf = keyOf;
+    this.logger = logger;
+    this.overflowing = new AtomicBoolean[shards];
+    this.queueCapacity = queueCapacity;
+    this.queued = new AtomicInteger[shards];
+    this.rejected = new AtomicLong();
+    this.shards = new Dispatcher[shards];
+    this.stoppables = new Stoppable[shards];
+    for (int shard = 0; shard < shards; ++shard) {
+      overflowing[shard] = new AtomicBoolean();
+      queued[shard] = new AtomicInteger();
+      final Protocols protocols = stage.actorFor(
+              new Class<?>[] { Dispatcher.class, Stoppable.class },
+              Definition.has(DispatchShardActor.class, new DispatchShardInstantiator<>(dispatcher, queued[shard])));
+      this.shards[shard] = protocols.get(0);
+      this.stoppables[shard] = protocols.get(1);
+    }
+  }
+
+  @Override
+  public void controlWith(final DispatcherControl control) {
+    dispatcher.controlWith(control);
+  }
+
+  @Override
+  public void dispatch(final D dispatchable) {
+    final int shard = shardOf(dispatchable);
+    if (reserve(shard, 1)) {
+      shards[shard].dispatch(dispatchable);
+    }
+  }
+
+  /**
+   * Hand over the {@code dispatchables} of each shard as one {@code dispatchAll()}, in order.
+   * @see io.vlingo.xoom.symbio.store.dispatch.Dispatcher#dispatchAll(java.util.List)
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public void dispatchAll(final List<D> dispatchables) {
+    final List<D>[] byShard = new List[shards.length];
+    for (final D dispatchable : dispatchables) {
+      final int shard = shardOf(dispatchable);
+      if (byShard[shard] == null) {
+        byShard[shard] = new ArrayList<>();
+      }
+      byShard[shard].add(dispatchable);
+    }
+    for (int shard = 0; shard < byShard.length; ++shard) {
+      final List<D> shardDispatchables = byShard[shard];
+      if (shardDispatchables != null && reserve(shard, shardDispatchables.size())) {
+        shards[shard].dispatchAll(shardDispatchables);
+      }
+    }
+  }
+
+  /**
+   * Answer the number of dispatchables rejected because the queue of their shard was full.
+   * @return long
+   */
+  public long rejected() {
+    return rejected.get();
+  }
+
+  /**
+   * Stop my shards once they have dispatched all that is queued.
+   */
+  public void stop() {
+    for (final Stoppable stoppable : stoppables) {
+      stoppable.stop();
+    }
+  }
+
+  /**
+   * Answer whether a dispatch of {@code count} dispatchables is queued to {@code shard}, which
+   * it is unless they would overfill its queue, in which case they are counted as rejected.
+   */
+  private boolean reserve(final int shard, final int count) {
+    final AtomicInteger shardQueued = queued[shard];
+    while (true) {
+      final int current = shardQueued.get();
+      if (current > 0 && current + count > queueCapacity) {
+        rejected.addAndGet(count);
+        if (overflowing[shard].compareAndSet(false, true) && logger != null) {
+          logger.warn(getClass().getSimpleName() + " shard " + shard + " is full; dispatches are left for redispatch.");
+        }
+        return false;
+      }
+      if (shardQueued.compareAndSet(current, current + count)) {
+        overflowing[shard].set(false);
+        return true;
+      }
+    }
+  }
+
+  private int shardOf(final D dispatchable) {
+    return (keyOf.apply(dispatchable).hashCode() & 0x7fffffff) % shards.length;
+  }
+
+  private static class DispatchShardInstantiator<D extends Dispatchable> implements ActorInstantiator<DispatchShardActor> {
+    private static final long serialVersionUID = 3146283765418204529L;
+
+    private final Dispatcher<D> dispatcher;
+    private final AtomicInteger queued;
+
+    DispatchShardInstantiator(final Dispatcher<D> dispatcher, final AtomicInteger queued) {
+      this.dispatcher = dispatcher;
+      this.queued = queued;
+    }
+
+    @Override
+    public DispatchShardActor instantiate() {
+      return new DispatchShardActor<>(dispatcher, queued);
+    }
+
+    @Override
+    public Class<DispatchShardActor> type() {
+      return DispatchShardActor.class;
+    }
+  }
+}
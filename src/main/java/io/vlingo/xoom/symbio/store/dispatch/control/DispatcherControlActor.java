@@ -6,8 +6,6 @@
 // one at https://mozilla.org/MPL/2.0/.
 package io.vlingo.xoom.symbio.store.dispatch.control;
 
-import java.time.Duration;
-import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 
@@ -24,9 +22,8 @@ import io.vlingo.xoom.symbio.store.dispatch.DispatcherControl;
 
 public class DispatcherControlActor extends Actor implements DispatcherControl, Scheduled<Object> {
   private final List<Dispatcher<Dispatchable<? extends Entry<?>, ? extends State<?>>>> dispatchers;
-  private final DispatcherControlDelegate<? extends Entry<?>, ? extends State<?>> delegate;
   private final Cancellable cancellable;
-  private final long confirmationExpiration;
+  private final Redispatcher redispatcher;
 
   public DispatcherControlActor(
           final List<Dispatcher<Dispatchable<? extends Entry<?>, ? extends State<?>>>> dispatchers,
@@ -34,9 +31,18 @@ public class DispatcherControlActor extends Actor implements DispatcherControl,
           final long redispatchDelay,
           final long checkConfirmationExpirationInterval,
           final long confirmationExpiration) {
+    this(dispatchers, delegate, redispatchDelay, checkConfirmationExpirationInterval, confirmationExpiration, RedispatchPolicy.unbounded());
+  }
+
+  public DispatcherControlActor(
+          final List<Dispatcher<Dispatchable<? extends Entry<?>, ? extends State<?>>>> dispatchers,
+          final DispatcherControlDelegate<? extends Entry<?>, ? extends State<?>> delegate,
+          final long redispatchDelay,
+          final long checkConfirmationExpirationInterval,
+          final long confirmationExpiration,
+          final RedispatchPolicy policy) {
     this.dispatchers = dispatchers;
-    this.delegate = delegate;
-    this.confirmationExpiration = confirmationExpiration;
+    this.redispatcher = new Redispatcher(delegate, policy, confirmationExpiration);
     this.cancellable = scheduler().schedule(this, null, redispatchDelay, checkConfirmationExpirationInterval);
     this.dispatchers.forEach(d -> d.controlWith(this));
   }
@@ -49,7 +55,7 @@ public class DispatcherControlActor extends Actor implements DispatcherControl,
   @Override
   public void confirmDispatched(final String dispatchId, final ConfirmDispatchedResultInterest interest) {
     try {
-      delegate.confirmDispatched(dispatchId);
+      redispatcher.delegate().confirmDispatched(dispatchId);
       interest.confirmDispatchedResultedIn(Result.Success, dispatchId);
     } catch (final Exception e) {
       logger().error(getClass().getSimpleName() + " confirmDispatched() failed because: " + e.getMessage(), e);
@@ -57,30 +63,43 @@ public class DispatcherControlActor extends Actor implements DispatcherControl,
     }
   }
 
+  @Override
+  public void confirmDispatched(final Collection<String> dispatchIds, final ConfirmDispatchedResultInterest interest) {
+    try {
+      redispatcher.delegate().confirmDispatched(dispatchIds);
+      interest.confirmDispatchedResultedIn(Result.Success, dispatchIds);
+    } catch (final Exception e) {
+      logger().error(getClass().getSimpleName() + " confirmDispatched() of " + dispatchIds.size() + " failed because: " + e.getMessage(), e);
+      interest.confirmDispatchedResultedIn(Result.Failure, dispatchIds);
+    }
+  }
+
   @Override
   public void dispatchUnconfirmed() {
     try {
-      final LocalDateTime now = LocalDateTime.now();
-      final Collection<? extends Dispatchable<? extends Entry<?>, ? extends State<?>>> dispatchables = delegate.allUnconfirmedDispatchableStates();
-      for (final Dispatchable<? extends Entry<?>, ? extends State<?>> dispatchable : dispatchables) {
-        final LocalDateTime then = dispatchable.createdOn();
-        final Duration duration = Duration.between(then, now);
-        if (Math.abs(duration.toMillis()) > confirmationExpiration) {
-          dispatchers.forEach(d -> d.dispatch(dispatchable));
-        }
-      }
+      redispatcher.redispatch(dispatchers);
     } catch (final Exception e) {
       logger().error(getClass().getSimpleName() + " dispatchUnconfirmed() failed because: " + e.getMessage(), e);
     }
   }
 
+  @Override
+  public void redispatchParked() {
+    if (redispatcher.isIncremental()) {
+      final int unparked = redispatcher.unpark();
+      logger().debug(getClass().getSimpleName() + " redispatching " + unparked + " parked dispatchables.");
+      dispatchUnconfirmed();
+    }
+  }
+
   /* @see io.vlingo.xoom.symbio.store.state.StateStore.DispatcherControl#stop() */
   @Override
   public void stop() {
     if (cancellable != null) {
       cancellable.cancel();
     }
-    this.delegate.stop();
+    this.redispatcher.clear();
+    this.redispatcher.delegate().stop();
     super.stop();
   }
 }
@@ -0,0 +1,186 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.dispatch.control;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.vlingo.xoom.actors.ActorInstantiator;
+import io.vlingo.xoom.actors.Definition;
+import io.vlingo.xoom.actors.Stage;
+import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.State;
+import io.vlingo.xoom.symbio.store.dispatch.Dispatchable;
+import io.vlingo.xoom.symbio.store.dispatch.Dispatcher;
+import io.vlingo.xoom.symbio.store.dispatch.DispatcherControl;
+import io.vlingo.xoom.symbio.store.dispatch.DispatcherControl.DispatcherControlDelegate;
+import io.vlingo.xoom.symbio.store.dispatch.FireAndForgetDispatcher;
+
+/**
+ * The one {@code DispatcherControl} shared by all partitions of a store, such as the writers
+ * of a {@code PartitioningStateStore}, in place of one {@code DispatcherControlActor} each.
+ * Each partition registers its {@code DispatcherControlDelegate} by {@code controlFor(delegate)}
+ * when it is created, and releases it by {@code release(delegate)} when it is stopped.
+ * <p>
+ * All partitions must dispatch to the same dispatchers, which are given my control once only,
+ * so that each confirmation reaches the partition that dispatched it.
+ */
+public final class PartitionedDispatcherControl {
+  private static final long DefaultRedispatchDelay = 2000L;
+
+  private final DispatcherControl control;
+  private final List<DispatcherControlDelegate<? extends Entry<?>, ? extends State<?>>> partitions;
+
+  /**
+   * Answer a new {@code PartitionedDispatcherControl} with an unbounded {@code RedispatchPolicy}.
+   * @param stage the Stage within which my control actor is created
+   * @param dispatchers the {@code List<Dispatcher<D>>} shared by all partitions
+   * @param checkConfirmationExpirationInterval the long milliseconds within which every partition is checked once
+   * @param confirmationExpiration the long milliseconds after which an unconfirmed dispatchable is redispatched
+   * @param maximumSignalsPerInterval the int maximum of signals per interval across all partitions
+   * @param <D> the concrete {@code Dispatchable<?,?>} type
+   * @return PartitionedDispatcherControl
+   */
+  public static <D extends Dispatchable<?,?>> PartitionedDispatcherControl using(
+          final Stage stage,
+          final List<Dispatcher<D>> dispatchers,
+          final long checkConfirmationExpirationInterval,
+          final long confirmationExpiration,
+          final int maximumSignalsPerInterval) {
+    return using(stage, dispatchers, checkConfirmationExpirationInterval, confirmationExpiration, maximumSignalsPerInterval, RedispatchPolicy.unbounded());
+  }
+
+  /**
+   * Answer a new {@code PartitionedDispatcherControl}.
+   * @param stage the Stage within which my control actor is created
+   * @param dispatchers the {@code List<Dispatcher<D>>} shared by all partitions
+   * @param checkConfirmationExpirationInterval the long milliseconds within which every partition is checked once
+   * @param confirmationExpiration the long milliseconds after which an unconfirmed dispatchable is redispatched
+   * @param maximumSignalsPerInterval the int maximum of signals per interval across all partitions
+   * @param policy the RedispatchPolicy applied to each partition
+   * @param <D> the concrete {@code Dispatchable<?,?>} type
+   * @return PartitionedDispatcherControl
+   */
+  public static <D extends Dispatchable<?,?>> PartitionedDispatcherControl using(
+          final Stage stage,
+          final List<Dispatcher<D>> dispatchers,
+          final long checkConfirmationExpirationInterval,
+          final long confirmationExpiration,
+          final int maximumSignalsPerInterval,
+          final RedispatchPolicy policy) {
+    return new PartitionedDispatcherControl(stage, dispatchers, checkConfirmationExpirationInterval, confirmationExpiration, maximumSignalsPerInterval, policy);
+  }
+
+  /**
+   * Register the {@code delegate} of a partition, and answer the {@code DispatcherControl} it shares.
+   * @param delegate the {@code DispatcherControlDelegate<?,?>} of the partition
+   * @return DispatcherControl
+   */
+  public DispatcherControl controlFor(final DispatcherControlDelegate<? extends Entry<?>, ? extends State<?>> delegate) {
+    partitions.add(delegate);
+    return control;
+  }
+
+  /**
+   * Release and stop the {@code delegate} of a stopped partition.
+   * @param delegate the {@code DispatcherControlDelegate<?,?>} of the partition
+   */
+  public void release(final DispatcherControlDelegate<? extends Entry<?>, ? extends State<?>> delegate) {
+    if (partitions.remove(delegate)) {
+      delegate.stop();
+    }
+  }
+
+  /**
+   * Answer the number of registered partitions.
+   * @return int
+   */
+  public int partitions() {
+    return partitions.size();
+  }
+
+  /**
+   * Answer the {@code DispatcherControl} shared by all partitions.
+   * @return DispatcherControl
+   */
+  public DispatcherControl control() {
+    return control;
+  }
+
+  /**
+   * Stop my control and the delegates of all partitions still registered.
+   */
+  public void stop() {
+    control.stop();
+  }
+
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  private PartitionedDispatcherControl(
+          final Stage stage,
+          final List dispatchers,
+          final long checkConfirmationExpirationInterval,
+          final long confirmationExpiration,
+          final int maximumSignalsPerInterval,
+          final RedispatchPolicy policy) {
+    this.partitions = new CopyOnWriteArrayList<>();
+    this.control = stage.actorFor(
+            DispatcherControl.class,
+            Definition.has(
+                    PartitionedDispatcherControlActor.class,
+                    new PartitionedDispatcherControlInstantiator(
+                            FireAndForgetDispatcher.confirmingOf(dispatchers),
+                            partitions,
+                            checkConfirmationExpirationInterval,
+                            confirmationExpiration,
+                            policy,
+                            maximumSignalsPerInterval)));
+  }
+
+  private static class PartitionedDispatcherControlInstantiator implements ActorInstantiator<PartitionedDispatcherControlActor> {
+    private static final long serialVersionUID = -4735203396147386252L;
+
+    private final List<Dispatcher<Dispatchable<? extends Entry<?>, ? extends State<?>>>> dispatchers;
+    private final List<DispatcherControlDelegate<? extends Entry<?>, ? extends State<?>>> partitions;
+    private final long checkConfirmationExpirationInterval;
+    private final long confirmationExpiration;
+    private final RedispatchPolicy policy;
+    private final int maximumSignalsPerInterval;
+
+    PartitionedDispatcherControlInstantiator(
+            final List<Dispatcher<Dispatchable<? extends Entry<?>, ? extends State<?>>>> dispatchers,
+            final List<DispatcherControlDelegate<? extends Entry<?>, ? extends State<?>>> partitions,
+            final long checkConfirmationExpirationInterval,
+            final long confirmationExpiration,
+            final RedispatchPolicy policy,
+            final int maximumSignalsPerInterval) {
+      this.dispatchers = dispatchers;
+      this.partitions = partitions;
+      this.checkConfirmationExpirationInterval = checkConfirmationExpirationInterval;
+      this.confirmationExpiration = confirmationExpiration;
+      this.policy = policy;
+      this.maximumSignalsPerInterval = maximumSignalsPerInterval;
+    }
+
+    @Override
+    public PartitionedDispatcherControlActor instantiate() {
+      return new PartitionedDispatcherControlActor(
+              dispatchers,
+              partitions,
+              DefaultRedispatchDelay,
+              checkConfirmationExpirationInterval,
+              confirmationExpiration,
+              policy,
+              maximumSignalsPerInterval);
+    }
+
+    @Override
+    public Class<PartitionedDispatcherControlActor> type() {
+      return PartitionedDispatcherControlActor.class;
+    }
+  }
+}
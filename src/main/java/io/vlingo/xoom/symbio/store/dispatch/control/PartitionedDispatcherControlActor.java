@@ -0,0 +1,152 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.dispatch.control;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.vlingo.xoom.actors.Actor;
+import io.vlingo.xoom.common.Cancellable;
+import io.vlingo.xoom.common.Scheduled;
+import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.State;
+import io.vlingo.xoom.symbio.store.Result;
+import io.vlingo.xoom.symbio.store.dispatch.ConfirmDispatchedResultInterest;
+import io.vlingo.xoom.symbio.store.dispatch.Dispatchable;
+import io.vlingo.xoom.symbio.store.dispatch.Dispatcher;
+import io.vlingo.xoom.symbio.store.dispatch.DispatcherControl;
+
+/**
+ * A single {@code DispatcherControl} for the {@code DispatcherControlDelegate} of every partition
+ * of a store, registered with a {@code PartitionedDispatcherControl}. Rather than one schedule per
+ * partition, I am signaled at most {@code maximumSignalsPerInterval} times per check interval, and
+ * each signal redispatches the expired of its share of the partitions in turn, so that every
+ * partition is checked once per interval and the work is spread evenly across the interval.
+ * <p>
+ * As a dispatch id does not name its partition, each confirmation is sent to every partition,
+ * of which only the one holding the dispatch id confirms it.
+ */
+public class PartitionedDispatcherControlActor extends Actor implements DispatcherControl, Scheduled<Object> {
+  private final Cancellable cancellable;
+  private final long confirmationExpiration;
+  private int credit;
+  private final List<Dispatcher<Dispatchable<? extends Entry<?>, ? extends State<?>>>> dispatchers;
+  private int nextPartition;
+  private final List<DispatcherControlDelegate<? extends Entry<?>, ? extends State<?>>> partitions;
+  private final RedispatchPolicy policy;
+  private final Map<DispatcherControlDelegate<?,?>, Redispatcher> redispatchers;
+  private final int signalsPerInterval;
+
+  public PartitionedDispatcherControlActor(
+          final List<Dispatcher<Dispatchable<? extends Entry<?>, ? extends State<?>>>> dispatchers,
+          final List<DispatcherControlDelegate<? extends Entry<?>, ? extends State<?>>> partitions,
+          final long redispatchDelay,
+          final long checkConfirmationExpirationInterval,
+          final long confirmationExpiration,
+          final RedispatchPolicy policy,
+          final int maximumSignalsPerInterval) {
+    this.confirmationExpiration = confirmationExpiration;
+    this.dispatchers = dispatchers;
+    this.partitions = partitions;
+    this.policy = policy;
+    this.redispatchers = new IdentityHashMap<>();
+    this.signalsPerInterval = (int) Math.max(1, Math.min(maximumSignalsPerInterval, checkConfirmationExpirationInterval));
+    this.cancellable = scheduler().schedule(this, null, redispatchDelay, checkConfirmationExpirationInterval / signalsPerInterval);
+    this.dispatchers.forEach(d -> d.controlWith(this));
+  }
+
+  @Override
+  public void intervalSignal(final Scheduled<Object> scheduled, final Object data) {
+    final List<Redispatcher> current = currentRedispatchers();
+    if (current.isEmpty()) {
+      return;
+    }
+    credit += current.size();
+    while (credit >= signalsPerInterval) {
+      credit -= signalsPerInterval;
+      dispatchUnconfirmed(current.get(nextPartition++ % current.size()));
+    }
+    nextPartition %= current.size();
+  }
+
+  @Override
+  public void confirmDispatched(final String dispatchId, final ConfirmDispatchedResultInterest interest) {
+    try {
+      for (final DispatcherControlDelegate<?,?> partition : partitions) {
+        partition.confirmDispatched(dispatchId);
+      }
+      interest.confirmDispatchedResultedIn(Result.Success, dispatchId);
+    } catch (final Exception e) {
+      logger().error(getClass().getSimpleName() + " confirmDispatched() failed because: " + e.getMessage(), e);
+      interest.confirmDispatchedResultedIn(Result.Failure, dispatchId);
+    }
+  }
+
+  @Override
+  public void confirmDispatched(final Collection<String> dispatchIds, final ConfirmDispatchedResultInterest interest) {
+    try {
+      for (final DispatcherControlDelegate<?,?> partition : partitions) {
+        partition.confirmDispatched(dispatchIds);
+      }
+      interest.confirmDispatchedResultedIn(Result.Success, dispatchIds);
+    } catch (final Exception e) {
+      logger().error(getClass().getSimpleName() + " confirmDispatched() of " + dispatchIds.size() + " failed because: " + e.getMessage(), e);
+      interest.confirmDispatchedResultedIn(Result.Failure, dispatchIds);
+    }
+  }
+
+  @Override
+  public void dispatchUnconfirmed() {
+    currentRedispatchers().forEach(this::dispatchUnconfirmed);
+  }
+
+  @Override
+  public void redispatchParked() {
+    int unparked = 0;
+    for (final Redispatcher redispatcher : currentRedispatchers()) {
+      unparked += redispatcher.unpark();
+    }
+    logger().debug(getClass().getSimpleName() + " redispatching " + unparked + " parked dispatchables.");
+    dispatchUnconfirmed();
+  }
+
+  @Override
+  public void stop() {
+    if (cancellable != null) {
+      cancellable.cancel();
+    }
+    for (final Redispatcher redispatcher : currentRedispatchers()) {
+      redispatcher.clear();
+      redispatcher.delegate().stop();
+    }
+    super.stop();
+  }
+
+  // partitions may be registered and released on other threads
+  private List<Redispatcher> currentRedispatchers() {
+    final List<Redispatcher> current = new ArrayList<>(partitions.size());
+    for (final DispatcherControlDelegate<? extends Entry<?>, ? extends State<?>> partition : partitions) {
+      current.add(redispatchers.computeIfAbsent(partition, added -> new Redispatcher(partition, policy, confirmationExpiration)));
+    }
+    if (redispatchers.size() > current.size()) {
+      redispatchers.keySet().retainAll(partitions);
+    }
+    return current;
+  }
+
+  private void dispatchUnconfirmed(final Redispatcher redispatcher) {
+    try {
+      redispatcher.redispatch(dispatchers);
+    } catch (final Exception e) {
+      logger().error(getClass().getSimpleName() + " dispatchUnconfirmed() failed because: " + e.getMessage(), e);
+    }
+  }
+}
@@ -0,0 +1,45 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.dispatch.control;
+
+import io.vlingo.xoom.symbio.store.dispatch.Dispatchable;
+
+/**
+ * Receives the redispatch decisions of a {@code DispatcherControlActor}, which are made on the
+ * thread of the actor and so must not block. Every method does nothing by default.
+ */
+public interface RedispatchMetrics {
+  /**
+   * The {@code RedispatchMetrics} that ignores all decisions.
+   */
+  static final RedispatchMetrics None = new RedispatchMetrics() { };
+
+  /**
+   * The {@code dispatchable} expired and is due for redispatch to every dispatcher for the
+   * {@code attempt} time, within the retry budget of each.
+   * @param dispatchable the {@code Dispatchable<?,?>} redispatched
+   * @param attempt the int number of redispatches, starting with 1, or 0 when the delegate
+   * does not keep the identity of its dispatchables between intervals
+   */
+  default void redispatched(final Dispatchable<?,?> dispatchable, final int attempt) { }
+
+  /**
+   * The retry budget of {@code budget} redispatches to a dispatcher was spent before all of its
+   * due dispatchables were redispatched, and the remainder are deferred until the next interval.
+   * @param budget the int number of redispatches per dispatcher allowed in the interval
+   */
+  default void budgetExhausted(final int budget) { }
+
+  /**
+   * The {@code dispatchable} was parked after {@code attempts} redispatches and is no longer
+   * redispatched until {@code DispatcherControl#redispatchParked()}.
+   * @param dispatchable the {@code Dispatchable<?,?>} parked
+   * @param attempts the int number of redispatches made
+   */
+  default void parked(final Dispatchable<?,?> dispatchable, final int attempts) { }
+}
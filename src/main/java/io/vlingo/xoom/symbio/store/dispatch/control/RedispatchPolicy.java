@@ -0,0 +1,147 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.dispatch.control;
+
+/**
+ * Determines how a {@code DispatcherControlActor} redispatches unconfirmed dispatchables.
+ * <p>
+ * By default each unconfirmed dispatchable is redispatched once per confirmation expiration for
+ * as long as it remains unconfirmed. Otherwise:
+ * <ul>
+ * <li>with backoff, the wait after each redispatch doubles up to a maximum, less a random jitter;</li>
+ * <li>with a maximum of attempts, a dispatchable redispatched that many times is parked;</li>
+ * <li>with a retry budget, the redispatches sent to each dispatcher per interval are limited to a
+ * minimum plus a ratio of the dispatchables newly observed in the interval, and the rest wait.</li>
+ * </ul>
+ * Backoff and parking require a {@code DispatcherControl.IncrementalDispatcherControlDelegate},
+ * as other delegates do not keep the identity of their dispatchables between intervals.
+ */
+public final class RedispatchPolicy {
+  private final double jitter;
+  private final long maximumBackoffMillis;
+  private final int maximumAttempts;
+  private final RedispatchMetrics metrics;
+  private final int minimumRetriesPerInterval;
+  private final double retryRatio;
+
+  /**
+   * Answer the {@code RedispatchPolicy} that redispatches every expired dispatchable on each
+   * expiration, without limit.
+   * @return RedispatchPolicy
+   */
+  public static RedispatchPolicy unbounded() {
+    return new RedispatchPolicy(0, 0, 0, 0, 0, RedispatchMetrics.None);
+  }
+
+  /**
+   * Answer a copy of me that doubles the wait after each redispatch, up to {@code maximumBackoffMillis},
+   * and shortens each wait by a random fraction of up to {@code jitter}.
+   * @param maximumBackoffMillis the long maximum milliseconds to wait between redispatches
+   * @param jitter the double fraction, from 0 to 1, of each wait that is randomized
+   * @return RedispatchPolicy
+   */
+  public RedispatchPolicy withBackoff(final long maximumBackoffMillis, final double jitter) {
+    if (maximumBackoffMillis <= 0) {
+      throw new IllegalArgumentException("Maximum backoff must be positive.");
+    }
+    if (jitter < 0 || jitter > 1) {
+      throw new IllegalArgumentException("Jitter must be from 0 to 1.");
+    }
+    return new RedispatchPolicy(jitter, maximumBackoffMillis, maximumAttempts, minimumRetriesPerInterval, retryRatio, metrics);
+  }
+
+  /**
+   * Answer a copy of me that parks each dispatchable that remains unconfirmed after
+   * {@code maximumAttempts} redispatches.
+   * @param maximumAttempts the int maximum number of redispatches
+   * @return RedispatchPolicy
+   */
+  public RedispatchPolicy withMaximumAttempts(final int maximumAttempts) {
+    if (maximumAttempts <= 0) {
+      throw new IllegalArgumentException("Maximum attempts must be positive.");
+    }
+    return new RedispatchPolicy(jitter, maximumBackoffMillis, maximumAttempts, minimumRetriesPerInterval, retryRatio, metrics);
+  }
+
+  /**
+   * Answer a copy of me that limits the redispatches to each dispatcher per interval to
+   * {@code minimumPerInterval} plus {@code ratio} of the dispatchables newly observed in the interval.
+   * @param minimumPerInterval the int number of redispatches always allowed per interval
+   * @param ratio the double redispatches allowed per newly observed dispatchable
+   * @return RedispatchPolicy
+   */
+  public RedispatchPolicy withRetryBudget(final int minimumPerInterval, final double ratio) {
+    if (minimumPerInterval <= 0 || ratio < 0) {
+      throw new IllegalArgumentException("Retry budget minimum must be positive and ratio must not be negative.");
+    }
+    return new RedispatchPolicy(jitter, maximumBackoffMillis, maximumAttempts, minimumPerInterval, ratio, metrics);
+  }
+
+  /**
+   * Answer a copy of me that reports to {@code metrics}.
+   * @param metrics the RedispatchMetrics to report to
+   * @return RedispatchPolicy
+   */
+  public RedispatchPolicy withMetrics(final RedispatchMetrics metrics) {
+    return new RedispatchPolicy(jitter, maximumBackoffMillis, maximumAttempts, minimumRetriesPerInterval, retryRatio, metrics);
+  }
+
+  /**
+   * Answer the nanoseconds to wait after the {@code attempts} redispatch, or after the
+   * dispatch itself when {@code attempts} is 0, where {@code random} is from 0 to 1.
+   */
+  long backoffNanos(final long expirationMillis, final int attempts, final double random) {
+    if (maximumBackoffMillis == 0 || attempts == 0) {
+      return expirationMillis * 1_000_000L;
+    }
+    final int doublings = Math.min(attempts, 30);
+    final long backoffMillis = Math.min(maximumBackoffMillis, Math.max(expirationMillis, expirationMillis << doublings));
+    return (long) (backoffMillis * 1_000_000L * (1.0 - jitter * random));
+  }
+
+  /**
+   * Answer the redispatches allowed per dispatcher in an interval in which {@code observed}
+   * dispatchables were newly observed, where {@code Integer.MAX_VALUE} is unlimited.
+   */
+  int budgetFor(final int observed) {
+    if (minimumRetriesPerInterval == 0) {
+      return Integer.MAX_VALUE;
+    }
+    return (int) Math.min(Integer.MAX_VALUE, minimumRetriesPerInterval + (long) Math.ceil(retryRatio * observed));
+  }
+
+  boolean parks(final int attempts) {
+    return maximumAttempts > 0 && attempts >= maximumAttempts;
+  }
+
+  RedispatchMetrics metrics() {
+    return metrics;
+  }
+
+  @Override
+  public String toString() {
+    return "RedispatchPolicy[maximumBackoffMillis=" + maximumBackoffMillis + " jitter=" + jitter +
+            " maximumAttempts=" + maximumAttempts + " minimumRetriesPerInterval=" + minimumRetriesPerInterval +
+            " retryRatio=" + retryRatio + "]";
+  }
+
+  private RedispatchPolicy(
+          final double jitter,
+          final long maximumBackoffMillis,
+          final int maximumAttempts,
+          final int minimumRetriesPerInterval,
+          final double retryRatio,
+          final RedispatchMetrics metrics) {
+    this.jitter = jitter;
+    this.maximumBackoffMillis = maximumBackoffMillis;
+    this.maximumAttempts = maximumAttempts;
+    this.minimumRetriesPerInterval = minimumRetriesPerInterval;
+    this.retryRatio = retryRatio;
+    this.metrics = metrics;
+  }
+}
@@ -0,0 +1,205 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.dispatch.control;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+import java.util.function.Predicate;
+
+import io.vlingo.xoom.symbio.store.dispatch.Dispatchable;
+
+/**
+ * The redispatch deadlines of dispatched {@code Dispatchable} instances, measured in the
+ * monotonic time of {@code System.nanoTime()} and ordered earliest first. Answering the
+ * expired costs only the number of expired, as each is taken from the head of a heap.
+ * <p>
+ * Each deadline follows my {@code RedispatchPolicy}, which may back off with each attempt,
+ * and park dispatchables after a maximum of attempts. The retry budget of the policy is spent
+ * per dispatcher by the {@code Redispatcher} that owns me, which may hold back expired
+ * dispatchables. An expired dispatchable awaits its redispatch, and only once it is actually
+ * redispatched is its attempt counted and its next deadline scheduled.
+ * <p>
+ * I am not thread-safe, being used only by my {@code Redispatcher}.
+ */
+final class RedispatchSchedule {
+  private final Map<Dispatchable<?,?>, Deadline> awaiting;
+  private final PriorityQueue<Deadline> deadlines;
+  private final long expirationMillis;
+  private final List<Deadline> parked;
+  private final Set<Dispatchable<?,?>> parkedDispatchables;
+  private final RedispatchPolicy policy;
+  private final DoubleSupplier random;
+  private final Set<Dispatchable<?,?>> scheduled;
+
+  RedispatchSchedule(final long confirmationExpirationMillis) {
+    this(RedispatchPolicy.unbounded(), confirmationExpirationMillis);
+  }
+
+  RedispatchSchedule(final RedispatchPolicy policy, final long confirmationExpirationMillis) {
+    this(policy, confirmationExpirationMillis, () -> ThreadLocalRandom.current().nextDouble());
+  }
+
+  RedispatchSchedule(final RedispatchPolicy policy, final long confirmationExpirationMillis, final DoubleSupplier random) {
+    this.awaiting = new IdentityHashMap<>();
+    this.deadlines = new PriorityQueue<>((deadline1, deadline2) -> Long.signum(deadline1.deadlineNanos - deadline2.deadlineNanos));
+    this.expirationMillis = confirmationExpirationMillis;
+    this.parked = new ArrayList<>();
+    this.parkedDispatchables = Collections.newSetFromMap(new IdentityHashMap<>());
+    this.policy = policy;
+    this.random = random;
+    this.scheduled = Collections.newSetFromMap(new IdentityHashMap<>());
+  }
+
+  /**
+   * Schedule the deadline of each of the {@code dispatchables} that is not already scheduled,
+   * and answer how many were scheduled.
+   * @param dispatchables the {@code Collection<? extends Dispatchable<?,?>>} dispatched at about {@code nowNanos}
+   * @param nowNanos the long current monotonic time
+   * @return int
+   */
+  int schedule(final Collection<? extends Dispatchable<?,?>> dispatchables, final long nowNanos) {
+    int added = 0;
+    for (final Dispatchable<?,?> dispatchable : dispatchables) {
+      if (scheduled.add(dispatchable)) {
+        deadlines.add(new Deadline(nowNanos + policy.backoffNanos(expirationMillis, 0, 0), dispatchable, 0));
+        ++added;
+      }
+    }
+    return added;
+  }
+
+  /**
+   * Answer the dispatchables whose deadlines have expired and that are still unconfirmed, each
+   * of which awaits its {@code redispatched()}. Those confirmed are forgotten, and
+   * those that have already been redispatched the maximum of attempts are parked.
+   * @param nowNanos the long current monotonic time
+   * @param isUnconfirmed the {@code Predicate<Dispatchable<?,?>>} answering whether a dispatchable is unconfirmed
+   * @return {@code List<Dispatchable<?,?>>}
+   */
+  List<Dispatchable<?,?>> expired(final long nowNanos, final Predicate<Dispatchable<?,?>> isUnconfirmed) {
+    final List<Dispatchable<?,?>> expired = new ArrayList<>();
+    while (!deadlines.isEmpty() && deadlines.peek().deadlineNanos - nowNanos <= 0) {
+      final Deadline deadline = deadlines.poll();
+      if (!isUnconfirmed.test(deadline.dispatchable)) {
+        scheduled.remove(deadline.dispatchable);
+      } else if (policy.parks(deadline.attempts)) {
+        scheduled.remove(deadline.dispatchable);
+        parked.add(deadline);
+        parkedDispatchables.add(deadline.dispatchable);
+        policy.metrics().parked(deadline.dispatchable, deadline.attempts);
+      } else {
+        awaiting.put(deadline.dispatchable, deadline);
+        expired.add(deadline.dispatchable);
+      }
+    }
+    return expired;
+  }
+
+  /**
+   * Count the attempt of the expired {@code dispatchable}, which was redispatched at about
+   * {@code nowNanos}, and schedule its next deadline, unless it has already been since it expired.
+   * @param dispatchable the {@code Dispatchable<?,?>} that was redispatched
+   * @param nowNanos the long current monotonic time
+   */
+  void redispatched(final Dispatchable<?,?> dispatchable, final long nowNanos) {
+    final Deadline deadline = awaiting.remove(dispatchable);
+    if (deadline != null) {
+      final int attempts = deadline.attempts + 1;
+      deadlines.add(new Deadline(nowNanos + policy.backoffNanos(expirationMillis, attempts, random.getAsDouble()), dispatchable, attempts));
+      policy.metrics().redispatched(dispatchable, attempts);
+    }
+  }
+
+  /**
+   * Forget the expired {@code dispatchable}, which was confirmed while awaiting its redispatch.
+   * @param dispatchable the {@code Dispatchable<?,?>} that was confirmed
+   */
+  void confirmed(final Dispatchable<?,?> dispatchable) {
+    if (awaiting.remove(dispatchable) != null) {
+      scheduled.remove(dispatchable);
+    }
+  }
+
+  /**
+   * Answer whether the {@code dispatchable} is parked.
+   * @param dispatchable the {@code Dispatchable<?,?>} to check
+   * @return boolean
+   */
+  boolean isParked(final Dispatchable<?,?> dispatchable) {
+    return parkedDispatchables.contains(dispatchable);
+  }
+
+  /**
+   * Answer the parked dispatchables, which are no longer scheduled.
+   * @return {@code List<Dispatchable<?,?>>}
+   */
+  List<Dispatchable<?,?>> parked() {
+    final List<Dispatchable<?,?>> dispatchables = new ArrayList<>(parked.size());
+    for (final Deadline deadline : parked) {
+      dispatchables.add(deadline.dispatchable);
+    }
+    return dispatchables;
+  }
+
+  /**
+   * Schedule my parked dispatchables that are still unconfirmed as expired at {@code nowNanos},
+   * with their attempts reset, and answer how many were scheduled.
+   * @param nowNanos the long current monotonic time
+   * @param isUnconfirmed the {@code Predicate<Dispatchable<?,?>>} answering whether a dispatchable is unconfirmed
+   * @return int
+   */
+  int unpark(final long nowNanos, final Predicate<Dispatchable<?,?>> isUnconfirmed) {
+    int unparked = 0;
+    for (final Deadline deadline : parked) {
+      if (isUnconfirmed.test(deadline.dispatchable) && scheduled.add(deadline.dispatchable)) {
+        deadlines.add(new Deadline(nowNanos, deadline.dispatchable, 0));
+        ++unparked;
+      }
+    }
+    parked.clear();
+    parkedDispatchables.clear();
+    return unparked;
+  }
+
+  /**
+   * Answer the number of scheduled deadlines, some of which may since have been confirmed,
+   * not including the expired that await their redispatch.
+   * @return int
+   */
+  int size() {
+    return deadlines.size();
+  }
+
+  void clear() {
+    awaiting.clear();
+    deadlines.clear();
+    parked.clear();
+    parkedDispatchables.clear();
+    scheduled.clear();
+  }
+
+  private static final class Deadline {
+    final int attempts;
+    final long deadlineNanos;
+    final Dispatchable<?,?> dispatchable;
+
+    Deadline(final long deadlineNanos, final Dispatchable<?,?> dispatchable, final int attempts) {
+      this.attempts = attempts;
+      this.deadlineNanos = deadlineNanos;
+      this.dispatchable = dispatchable;
+    }
+  }
+}
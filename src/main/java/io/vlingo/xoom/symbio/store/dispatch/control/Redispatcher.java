@@ -0,0 +1,194 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.dispatch.control;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.State;
+import io.vlingo.xoom.symbio.store.dispatch.Dispatchable;
+import io.vlingo.xoom.symbio.store.dispatch.Dispatcher;
+import io.vlingo.xoom.symbio.store.dispatch.DispatcherControl.DispatcherControlDelegate;
+import io.vlingo.xoom.symbio.store.dispatch.DispatcherControl.IncrementalDispatcherControlDelegate;
+
+/**
+ * Redispatches the expired unconfirmed dispatchables of a single {@code DispatcherControlDelegate}
+ * according to a {@code RedispatchPolicy}. An incremental delegate has its dispatchables
+ * scheduled by deadline, and any other is read for those created before the expiration.
+ * <p>
+ * The retry budget of the policy is spent per dispatcher, each of which has its own due
+ * dispatchables. Those beyond the budget of a dispatcher remain due to it alone and are
+ * redispatched to it first in the following intervals, without holding back the others.
+ * An attempt is counted, and reported to the metrics, only once a dispatchable is actually
+ * redispatched to a dispatcher, so that those held back are neither backed off nor parked.
+ * <p>
+ * I am not thread-safe, being used only by the actor that owns me.
+ */
+final class Redispatcher {
+  private final long confirmationExpiration;
+  private final DispatcherControlDelegate<? extends Entry<?>, ? extends State<?>> delegate;
+  private final Map<Dispatcher<?>, Map<String, Dispatchable<? extends Entry<?>, ? extends State<?>>>> due;
+  private Set<String> expiredIds;
+  private int observed;
+  private final RedispatchPolicy policy;
+  private final RedispatchSchedule schedule;
+
+  Redispatcher(final DispatcherControlDelegate<? extends Entry<?>, ? extends State<?>> delegate, final RedispatchPolicy policy, final long confirmationExpiration) {
+    this.confirmationExpiration = confirmationExpiration;
+    this.delegate = delegate;
+    this.due = new IdentityHashMap<>();
+    this.expiredIds = Collections.emptySet();
+    this.policy = policy;
+    this.schedule = new RedispatchSchedule(policy, confirmationExpiration);
+  }
+
+  DispatcherControlDelegate<? extends Entry<?>, ? extends State<?>> delegate() {
+    return delegate;
+  }
+
+  boolean isIncremental() {
+    return delegate instanceof IncrementalDispatcherControlDelegate;
+  }
+
+  /**
+   * Redispatch to each of the {@code dispatchers} the expired unconfirmed dispatchables due to
+   * it, up to its retry budget for the dispatchables newly observed since the last redispatch.
+   * @param dispatchers the {@code List<Dispatcher<...>>} to which the expired are redispatched
+   * @throws Exception if the delegate cannot read its dispatchables
+   */
+  void redispatch(final List<Dispatcher<Dispatchable<? extends Entry<?>, ? extends State<?>>>> dispatchers) throws Exception {
+    final List<Dispatchable<? extends Entry<?>, ? extends State<?>>> expired = expired();
+    final int budget = policy.budgetFor(observed);
+    observed = 0;
+    final Set<Dispatchable<?,?>> redispatched = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (final Dispatcher<Dispatchable<? extends Entry<?>, ? extends State<?>>> dispatcher : dispatchers) {
+      final List<Dispatchable<? extends Entry<?>, ? extends State<?>>> redispatchable = dueTo(dispatcher, expired, budget);
+      if (!redispatchable.isEmpty()) {
+        dispatcher.dispatchAll(Collections.unmodifiableList(redispatchable));
+        redispatched.addAll(redispatchable);
+      }
+    }
+    final long now = System.nanoTime();
+    for (final Dispatchable<?,?> dispatchable : redispatched) {
+      if (isIncremental()) {
+        schedule.redispatched(dispatchable, now);
+      } else {
+        policy.metrics().redispatched(dispatchable, 0);
+      }
+    }
+  }
+
+  /**
+   * Answer the unconfirmed dispatchables that have expired since the last answer, of which
+   * those not seen before are counted as newly observed.
+   * @return {@code List<Dispatchable<? extends Entry<?>, ? extends State<?>>>}
+   * @throws Exception if the delegate cannot read its dispatchables
+   */
+  List<Dispatchable<? extends Entry<?>, ? extends State<?>>> expired() throws Exception {
+    if (isIncremental()) {
+      return expired((IncrementalDispatcherControlDelegate<?,?>) delegate);
+    }
+    final LocalDateTime expiredBefore = LocalDateTime.now().minus(Duration.ofMillis(confirmationExpiration));
+    final Collection<? extends Dispatchable<? extends Entry<?>, ? extends State<?>>> dispatchables = delegate.allUnconfirmedDispatchableStatesOlderThan(expiredBefore);
+    final List<Dispatchable<? extends Entry<?>, ? extends State<?>>> expired = new ArrayList<>(dispatchables.size());
+    final Set<String> ids = new HashSet<>(dispatchables.size());
+    for (final Dispatchable<? extends Entry<?>, ? extends State<?>> dispatchable : dispatchables) {
+      expired.add(dispatchable);
+      ids.add(dispatchable.id());
+      if (!expiredIds.contains(dispatchable.id())) {
+        ++observed;
+      }
+    }
+    expiredIds = ids;
+    return expired;
+  }
+
+  /**
+   * Schedule the parked dispatchables that are still unconfirmed as expired now, and answer
+   * how many were scheduled. Only an incremental delegate has parked dispatchables.
+   * @return int
+   */
+  int unpark() {
+    if (!isIncremental()) {
+      return 0;
+    }
+    return unpark((IncrementalDispatcherControlDelegate<?,?>) delegate);
+  }
+
+  void clear() {
+    due.clear();
+    expiredIds = Collections.emptySet();
+    observed = 0;
+    schedule.clear();
+  }
+
+  private List<Dispatchable<? extends Entry<?>, ? extends State<?>>> dueTo(
+          final Dispatcher<?> dispatcher,
+          final List<Dispatchable<? extends Entry<?>, ? extends State<?>>> expired,
+          final int budget) {
+
+    final Map<String, Dispatchable<? extends Entry<?>, ? extends State<?>>> dueDispatchables = due.computeIfAbsent(dispatcher, added -> new LinkedHashMap<>());
+    if (!isIncremental()) {
+      dueDispatchables.keySet().retainAll(expiredIds); // those no longer expired are confirmed
+    }
+    for (final Dispatchable<? extends Entry<?>, ? extends State<?>> dispatchable : expired) {
+      dueDispatchables.put(dispatchable.id(), dispatchable); // a conflated dispatchable replaces its predecessor
+    }
+
+    final List<Dispatchable<? extends Entry<?>, ? extends State<?>>> redispatchable = new ArrayList<>(Math.min(budget, dueDispatchables.size()));
+    final Iterator<Dispatchable<? extends Entry<?>, ? extends State<?>>> iterator = dueDispatchables.values().iterator();
+    while (iterator.hasNext() && redispatchable.size() < budget) {
+      final Dispatchable<? extends Entry<?>, ? extends State<?>> dispatchable = iterator.next();
+      iterator.remove();
+      if (!isUnconfirmed(dispatchable)) {
+        schedule.confirmed(dispatchable);
+      } else if (!schedule.isParked(dispatchable)) {
+        redispatchable.add(dispatchable);
+      }
+    }
+    if (iterator.hasNext()) {
+      policy.metrics().budgetExhausted(budget);
+    }
+    return redispatchable;
+  }
+
+  private boolean isUnconfirmed(final Dispatchable<? extends Entry<?>, ? extends State<?>> dispatchable) {
+    return !isIncremental() || isUnconfirmed((IncrementalDispatcherControlDelegate<?,?>) delegate, dispatchable);
+  }
+
+  @SuppressWarnings("unchecked")
+  private <E extends Entry<?>, RS extends State<?>> boolean isUnconfirmed(final IncrementalDispatcherControlDelegate<E,RS> incremental, final Dispatchable<?,?> dispatchable) {
+    return incremental.isUnconfirmed((Dispatchable<E,RS>) dispatchable);
+  }
+
+  private <E extends Entry<?>, RS extends State<?>> int unpark(final IncrementalDispatcherControlDelegate<E,RS> incremental) {
+    @SuppressWarnings("unchecked")
+    final int unparked = schedule.unpark(System.nanoTime(), dispatchable -> incremental.isUnconfirmed((Dispatchable<E,RS>) dispatchable));
+    return unparked;
+  }
+
+  private <E extends Entry<?>, RS extends State<?>> List<Dispatchable<? extends Entry<?>, ? extends State<?>>> expired(final IncrementalDispatcherControlDelegate<E,RS> incremental) {
+    final long now = System.nanoTime();
+    observed += schedule.schedule(incremental.unconfirmedDispatchableStatesAdded(), now);
+    @SuppressWarnings("unchecked")
+    final List<Dispatchable<? extends Entry<?>, ? extends State<?>>> expired =
+            schedule.expired(now, dispatchable -> incremental.isUnconfirmed((Dispatchable<E,RS>) dispatchable));
+    return expired;
+  }
+}
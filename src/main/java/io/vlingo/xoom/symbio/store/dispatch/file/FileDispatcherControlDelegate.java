@@ -0,0 +1,448 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.dispatch.file;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+
+import io.vlingo.xoom.actors.Logger;
+import io.vlingo.xoom.symbio.BaseEntry;
+import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.State;
+import io.vlingo.xoom.symbio.store.dispatch.DispatchPressure;
+import io.vlingo.xoom.symbio.store.dispatch.Dispatchable;
+import io.vlingo.xoom.symbio.store.dispatch.DispatcherControl;
+import io.vlingo.xoom.symbio.store.dispatch.inmemory.DispatchableLedger;
+import io.vlingo.xoom.symbio.store.journal.file.RecordCodec;
+
+/**
+ * A {@code DispatcherControlDelegate} whose unconfirmed dispatchables survive a restart. Each
+ * dispatchable persisted, and each confirmation, is appended as a record to a single outbox
+ * log file within my directory, framed by its length and a CRC32 checksum. When constructed,
+ * I scan the log once to rebuild the unconfirmed dispatchables, discarding a torn record at
+ * its tail, such as one left by a crash.
+ * <p>
+ * Once the confirmed records outnumber the unconfirmed, the log is compacted on a background
+ * thread by rewriting only the unconfirmed to a new file that then replaces the log. Appends
+ * continue while the new file is written, and those made meanwhile are carried over to it
+ * before it replaces the log. A failed compaction leaves the log as it was, and is logged.
+ * <p>
+ * Only text and binary entries and states may be persisted, as by {@code RecordCodec}. Entries
+ * keep their ids and positions, but not the deprecated {@code Metadata} object.
+ *
+ * @param <E> the concrete {@code Entry<?>} type
+ * @param <RS> the raw {@code State<?>} type
+ */
+public class FileDispatcherControlDelegate<E extends Entry<?>, RS extends State<?>> implements DispatcherControl.IncrementalDispatcherControlDelegate<E, RS> {
+  private static final int CompactionThreshold = 1024;
+  private static final byte DispatchedKind = 1;
+  private static final byte ConfirmedKind = 2;
+  private static final int HeaderSize = Integer.BYTES * 2;
+  private static final String LogName = "outbox.log";
+  private static final String CompactingName = "outbox.compacting";
+
+  private FileChannel channel;
+  private final AtomicBoolean compacting;
+  private final Object compactionLock;
+  private final Thread compactor;
+  private final File directory;
+  private final DispatchableLedger<E, RS> dispatchables;
+  private final Logger logger;
+  private int records;
+  private final boolean syncsEachAppend;
+
+  /**
+   * Construct my state from the outbox log within {@code directory}, which is created if it
+   * does not exist, syncing each append to the storage device.
+   * @param directory the File directory of my outbox log
+   */
+  public FileDispatcherControlDelegate(final File directory) {
+    this(directory, DispatchPressure.unbounded(), true);
+  }
+
+  /**
+   * Construct my state from the outbox log within {@code directory}, which is created if it
+   * does not exist, logging failed background compactions to a basic {@code Logger}.
+   * @param directory the File directory of my outbox log
+   * @param pressure the DispatchPressure of my unconfirmed dispatchables
+   * @param syncsEachAppend the boolean indicating whether each append is synced to the storage device before answering
+   */
+  public FileDispatcherControlDelegate(final File directory, final DispatchPressure pressure, final boolean syncsEachAppend) {
+    this(directory, pressure, syncsEachAppend, Logger.basicLogger());
+  }
+
+  /**
+   * Construct my state from the outbox log within {@code directory}, which is created if it
+   * does not exist.
+   * @param directory the File directory of my outbox log
+   * @param pressure the DispatchPressure of my unconfirmed dispatchables
+   * @param syncsEachAppend the boolean indicating whether each append is synced to the storage device before answering
+   * @param logger the Logger of failed background compactions
+   */
+  public FileDispatcherControlDelegate(final File directory, final DispatchPressure pressure, final boolean syncsEachAppend, final Logger logger) {
+    this.compacting = new AtomicBoolean();
+    this.compactionLock = new Object();
+    this.directory = directory;
+    this.dispatchables = new DispatchableLedger<>(pressure);
+    this.logger = logger;
+    this.syncsEachAppend = syncsEachAppend;
+
+    if (!directory.exists() && !directory.mkdirs()) {
+      throw new IllegalStateException("Cannot create outbox directory: " + directory);
+    }
+
+    this.channel = recover();
+    this.dispatchables.drainAdded(); // all recovered are answered by allUnconfirmedDispatchableStates()
+    this.compactor = new Thread(this::compactWhenDue, "outbox-compactor-" + directory.getName());
+    this.compactor.setDaemon(true);
+    this.compactor.start();
+  }
+
+  /**
+   * Durably append the {@code dispatchable}, which must be done before it is dispatched.
+   * @param dispatchable the {@code Dispatchable<E,RS>} to persist
+   */
+  public void persistDispatchable(final Dispatchable<E, RS> dispatchable) {
+    final byte[] record;
+    try {
+      record = recordOf(dispatchable);
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot encode dispatchable: " + dispatchable.id(), e);
+    }
+    synchronized (this) {
+      append(record);
+      dispatchables.add(dispatchable);
+    }
+  }
+
+  @Override
+  public Collection<Dispatchable<E, RS>> allUnconfirmedDispatchableStates() {
+    return dispatchables.unconfirmed();
+  }
+
+  @Override
+  public Collection<Dispatchable<E, RS>> allUnconfirmedDispatchableStatesOlderThan(final LocalDateTime cutoff) {
+    return dispatchables.unconfirmedOlderThan(cutoff);
+  }
+
+  @Override
+  public Collection<Dispatchable<E, RS>> unconfirmedDispatchableStatesAdded() {
+    return dispatchables.drainAdded();
+  }
+
+  @Override
+  public boolean isUnconfirmed(final Dispatchable<E, RS> dispatchable) {
+    return dispatchables.isUnconfirmed(dispatchable);
+  }
+
+  @Override
+  public void confirmDispatched(final String dispatchId) {
+    synchronized (this) {
+      if (dispatchables.confirm(dispatchId)) {
+        append(confirmedRecordOf(dispatchId));
+      }
+    }
+    signalCompactionIfDue();
+  }
+
+  @Override
+  public void confirmDispatched(final Collection<String> dispatchIds) {
+    final List<String> confirmed = new ArrayList<>(dispatchIds.size());
+    synchronized (this) {
+      for (final String dispatchId : dispatchIds) {
+        if (dispatchables.confirm(dispatchId)) {
+          confirmed.add(dispatchId);
+        }
+      }
+      if (!confirmed.isEmpty()) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(confirmed.size() * 64);
+        for (final String dispatchId : confirmed) {
+          final byte[] record = confirmedRecordOf(dispatchId);
+          bytes.write(record, 0, record.length);
+        }
+        write(bytes.toByteArray(), confirmed.size());
+      }
+    }
+    signalCompactionIfDue();
+  }
+
+  @Override
+  public boolean isOverloaded() {
+    return dispatchables.isOverloaded();
+  }
+
+  /**
+   * Answer the number of records in my outbox log, both dispatched and confirmed.
+   * @return int
+   */
+  public synchronized int records() {
+    return records;
+  }
+
+  /**
+   * Rewrite my outbox log with only the unconfirmed dispatchables. This is also done
+   * automatically in the background once the confirmed outnumber the unconfirmed. If the
+   * log cannot be rewritten it is left as it was, and appends continue to it.
+   * @throws IllegalStateException if the log cannot be rewritten
+   */
+  public void compact() {
+    synchronized (compactionLock) {
+      final File compactingFile = new File(directory, CompactingName);
+      final File logFile = new File(directory, LogName);
+      final List<Dispatchable<E, RS>> unconfirmed;
+      final long carriedFrom;
+      final int recordsBefore;
+      synchronized (this) {
+        unconfirmed = new ArrayList<>(dispatchables.unconfirmed());
+        recordsBefore = records;
+        try {
+          carriedFrom = channel.size();
+        } catch (IOException e) {
+          throw new IllegalStateException("Cannot compact outbox: " + directory, e);
+        }
+      }
+
+      FileChannel compactingChannel = null;
+      boolean moved = false;
+      try {
+        compactingChannel = FileChannel.open(compactingFile.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        for (final Dispatchable<E, RS> dispatchable : unconfirmed) {
+          final ByteBuffer record = ByteBuffer.wrap(recordOf(dispatchable));
+          while (record.hasRemaining()) {
+            compactingChannel.write(record);
+          }
+        }
+
+        synchronized (this) {
+          carryOver(logFile, carriedFrom, compactingChannel);
+          compactingChannel.force(true);
+          Files.move(compactingFile.toPath(), logFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+          moved = true;
+          final FileChannel compacted = channel;
+          channel = compactingChannel; // still open, now to the moved file
+          records = unconfirmed.size() + (records - recordsBefore);
+          closeQuietly(compacted);
+        }
+      } catch (IOException e) {
+        throw new IllegalStateException("Cannot compact outbox: " + directory, e);
+      } finally {
+        if (!moved) {
+          closeQuietly(compactingChannel);
+          compactingFile.delete(); // the log is still mine and open
+        }
+      }
+    }
+  }
+
+  @Override
+  public void stop() {
+    compactor.interrupt();
+    synchronized (this) {
+      try {
+        channel.force(true);
+        channel.close();
+      } catch (IOException e) {
+        // already closed
+      }
+    }
+  }
+
+  private void carryOver(final File logFile, final long carriedFrom, final FileChannel compactingChannel) throws IOException {
+    channel.force(false);
+    try (final FileChannel log = FileChannel.open(logFile.toPath(), StandardOpenOption.READ)) {
+      final long size = log.size();
+      long position = carriedFrom;
+      while (position < size) {
+        position += log.transferTo(position, size - position, compactingChannel);
+      }
+    }
+  }
+
+  private void closeQuietly(final FileChannel closing) {
+    if (closing != null) {
+      try {
+        closing.close();
+      } catch (IOException e) {
+        // nothing more to be done
+      }
+    }
+  }
+
+  private void append(final byte[] record) {
+    write(record, 1);
+  }
+
+  private void write(final byte[] framedRecords, final int count) {
+    try {
+      final ByteBuffer buffer = ByteBuffer.wrap(framedRecords);
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      if (syncsEachAppend) {
+        channel.force(false);
+      }
+      records += count;
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot append to outbox: " + directory, e);
+    }
+  }
+
+  private boolean isCompactionDue() {
+    return records >= CompactionThreshold && records - dispatchables.size() > dispatchables.size();
+  }
+
+  private void signalCompactionIfDue() {
+    final boolean due;
+    synchronized (this) {
+      due = isCompactionDue();
+    }
+    if (due && compacting.compareAndSet(false, true)) {
+      synchronized (compacting) {
+        compacting.notify();
+      }
+    }
+  }
+
+  private void compactWhenDue() {
+    while (!Thread.currentThread().isInterrupted()) {
+      try {
+        synchronized (compacting) {
+          while (!compacting.get()) {
+            compacting.wait();
+          }
+        }
+        final boolean due;
+        synchronized (this) {
+          due = channel.isOpen() && isCompactionDue();
+        }
+        if (due) {
+          compact();
+        }
+      } catch (InterruptedException e) {
+        return;
+      } catch (RuntimeException e) {
+        logger.error("Outbox left uncompacted until next due: " + directory, e);
+      } finally {
+        compacting.set(false);
+      }
+    }
+  }
+
+  private FileChannel recover() {
+    final File logFile = new File(directory, LogName);
+    try {
+      final ByteBuffer log = logFile.exists() ? ByteBuffer.wrap(Files.readAllBytes(logFile.toPath())) : ByteBuffer.allocate(0);
+      int offset = 0;
+      while (offset + HeaderSize <= log.limit()) {
+        final int length = log.getInt(offset);
+        if (length <= 0 || offset + HeaderSize + length > log.limit()) {
+          break;
+        }
+        final ByteBuffer payload = log.duplicate();
+        payload.limit(offset + HeaderSize + length);
+        payload.position(offset + HeaderSize);
+        if (checksumOf(payload.slice()) != log.getInt(offset + Integer.BYTES)) {
+          break;
+        }
+        recoverRecord(payload.slice());
+        ++records;
+        offset += HeaderSize + length;
+      }
+
+      final FileChannel recovered = FileChannel.open(logFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+      recovered.truncate(offset); // discards a torn record
+      recovered.position(offset);
+      return recovered;
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot recover outbox: " + directory, e);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void recoverRecord(final ByteBuffer record) {
+    final byte kind = record.get();
+    final String dispatchId = RecordCodec.readString(record);
+    if (kind == ConfirmedKind) {
+      dispatchables.confirm(dispatchId);
+      return;
+    }
+
+    final LocalDateTime createdOn = LocalDateTime.parse(RecordCodec.readString(record));
+    final RS state = record.get() != 0 ? (RS) RecordCodec.readState(record) : null;
+    final int count = record.getInt();
+    final List<Entry<?>> entries = new ArrayList<>(count);
+    for (int index = 0; index < count; ++index) {
+      final String entryId = RecordCodec.readString(record);
+      final long position = record.getLong();
+      final BaseEntry<?> entry = RecordCodec.readEntry(record, position);
+      if (!entryId.equals(entry.id())) {
+        entry.__internal__setId(entryId); // an id that is not derived from the position
+      }
+      entries.add(entry);
+    }
+    dispatchables.add(new Dispatchable<>(dispatchId, createdOn, state, (List<E>) entries));
+  }
+
+  private byte[] recordOf(final Dispatchable<E, RS> dispatchable) throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+    final DataOutputStream out = new DataOutputStream(bytes);
+    out.writeByte(DispatchedKind);
+    RecordCodec.writeString(out, dispatchable.id());
+    RecordCodec.writeString(out, dispatchable.createdOn().toString());
+    out.writeBoolean(dispatchable.state().isPresent());
+    if (dispatchable.state().isPresent()) {
+      RecordCodec.writeState(out, dispatchable.state().get());
+    }
+    out.writeInt(dispatchable.entries().size());
+    for (final Entry<?> entry : dispatchable.entries()) {
+      RecordCodec.writeString(out, entry.id());
+      out.writeLong(entry.position());
+      RecordCodec.writeEntry(out, entry);
+    }
+    return framed(bytes.toByteArray());
+  }
+
+  private byte[] confirmedRecordOf(final String dispatchId) {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream(dispatchId.length() + 8);
+    try (final DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeByte(ConfirmedKind);
+      RecordCodec.writeString(out, dispatchId);
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot encode confirmation: " + dispatchId, e);
+    }
+    return framed(bytes.toByteArray());
+  }
+
+  private byte[] framed(final byte[] payload) {
+    final ByteBuffer framed = ByteBuffer.allocate(HeaderSize + payload.length);
+    framed.putInt(payload.length);
+    framed.putInt(checksumOf(ByteBuffer.wrap(payload)));
+    framed.put(payload);
+    return framed.array();
+  }
+
+  private int checksumOf(final ByteBuffer payload) {
+    final CRC32 crc = new CRC32();
+    crc.update(payload);
+    return (int) crc.getValue();
+  }
+}
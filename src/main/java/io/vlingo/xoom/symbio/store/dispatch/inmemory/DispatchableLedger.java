@@ -0,0 +1,368 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.dispatch.inmemory;
+
+import java.time.LocalDateTime;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.State;
+import io.vlingo.xoom.symbio.store.dispatch.DispatchPressure;
+import io.vlingo.xoom.symbio.store.dispatch.Dispatchable;
+
+/**
+ * The unconfirmed {@code Dispatchable<E,RS>} instances of a store, keyed by dispatch id and kept
+ * in the order added, which is taken to be the order of their creation. Adding and confirming are
+ * constant time, and are safe from any number of threads. Confirmed dispatchables are unlinked from
+ * the order lazily, as it is iterated and whenever they come to outnumber the unconfirmed.
+ * <p>
+ * Once {@code drainAdded()} is first sent, I also track each dispatchable added since, so that
+ * a {@code DispatcherControl} may schedule each only once.
+ * <p>
+ * My outstanding dispatchables are measured against a {@code DispatchPressure}, whose listener is
+ * signaled on the thread that adds or confirms when I become or cease to be overloaded.
+ * <p>
+ * A dispatch id may be added again before it is confirmed, as is the case for a state that is
+ * written twice, in which case each confirmation of the id confirms the oldest of its dispatchables.
+ * When conflated instead, a single dispatchable stands for all of the id's, and my size remains
+ * the number of confirmations outstanding. Those of the superseded dispatchables are only counted,
+ * so that the conflated dispatchable is confirmed in one step by the last confirmation of the id.
+ *
+ * @param <E> the concrete {@code Entry<?>} type of the dispatchables
+ * @param <RS> the concrete {@code State<?>} type of the dispatchables
+ */
+public class DispatchableLedger<E extends Entry<?>, RS extends State<?>> {
+  private static final int CompactionThreshold = 1024;
+
+  private final ConcurrentLinkedQueue<Dispatchable<E,RS>> added;
+  private final AtomicInteger confirmedInOrder;
+  private final ConcurrentLinkedQueue<Dispatchable<E,RS>> order;
+  private final AtomicBoolean overloaded;
+  private final DispatchPressure pressure;
+  private final Map<String, Integer> superseded;
+  private final Map<String, Dispatchable<E,RS>[]> unconfirmed;
+  private final AtomicInteger unconfirmedCount;
+  private volatile boolean tracksAdded;
+
+  public DispatchableLedger() {
+    this(DispatchPressure.unbounded());
+  }
+
+  public DispatchableLedger(final DispatchPressure pressure) {
+    this.added = new ConcurrentLinkedQueue<>();
+    this.confirmedInOrder = new AtomicInteger();
+    this.order = new ConcurrentLinkedQueue<>();
+    this.overloaded = new AtomicBoolean();
+    this.pressure = pressure;
+    this.superseded = new ConcurrentHashMap<>();
+    this.unconfirmed = new ConcurrentHashMap<>();
+    this.unconfirmedCount = new AtomicInteger();
+  }
+
+  /**
+   * Add the {@code dispatchable} as unconfirmed.
+   * @param dispatchable the {@code Dispatchable<E,RS>} to add
+   */
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  public void add(final Dispatchable<E,RS> dispatchable) {
+    unconfirmed.merge(dispatchable.id(), new Dispatchable[] { dispatchable }, DispatchableLedger::joined);
+    track(dispatchable);
+  }
+
+  /**
+   * Add the {@code dispatchable} as unconfirmed, conflating it with any unconfirmed dispatchables
+   * of the same id, and answer the one dispatchable that then holds them all. It has the state and
+   * creation time of the {@code dispatchable} and the entries of all of them, in the order added.
+   * The superseded dispatchables are no longer redispatched, but each confirmation of the id
+   * is still counted, so that the conflated dispatchable is confirmed only by the last of them.
+   * @param dispatchable the {@code Dispatchable<E,RS>} to add
+   * @return {@code Dispatchable<E,RS>}
+   */
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  public Dispatchable<E,RS> conflate(final Dispatchable<E,RS> dispatchable) {
+    final Dispatchable<E,RS>[] conflated = new Dispatchable[1];
+    final int[] supersededInOrder = new int[1];
+    unconfirmed.compute(dispatchable.id(), (id, outstanding) -> {
+      if (outstanding == null) {
+        conflated[0] = dispatchable;
+        return new Dispatchable[] { dispatchable };
+      }
+      final List<E> entries = new ArrayList<>();
+      for (final Dispatchable<E,RS> each : outstanding) {
+        if (each.hasEntries()) {
+          entries.addAll(each.entries());
+        }
+      }
+      if (dispatchable.hasEntries()) {
+        entries.addAll(dispatchable.entries());
+      }
+      supersededInOrder[0] = outstanding.length;
+      superseded.merge(id, outstanding.length, Integer::sum);
+      conflated[0] = new Dispatchable<>(id, dispatchable.createdOn(), dispatchable.state().orElse(null), entries);
+      return new Dispatchable[] { conflated[0] };
+    });
+    track(conflated[0]);
+    if (supersededInOrder[0] > 0) {
+      compactAfter(supersededInOrder[0]);
+    }
+    return conflated[0];
+  }
+
+  /**
+   * Answer whether an unconfirmed dispatchable of {@code dispatchId} was confirmed, which
+   * removes the oldest of them.
+   * @param dispatchId the String unique identity of the dispatchable
+   * @return boolean
+   */
+  public boolean confirm(final String dispatchId) {
+    final int removed = removeOldest(dispatchId);
+    if (removed >= 0) {
+      compactAfter(removed);
+    }
+    return removed >= 0;
+  }
+
+  /**
+   * Answer the number of {@code dispatchIds} of which an unconfirmed dispatchable was confirmed,
+   * each removing the oldest of them. Compaction is considered once for all of them.
+   * @param dispatchIds the {@code Collection<String>} unique identities of the dispatchables
+   * @return int
+   */
+  public int confirmAll(final Collection<String> dispatchIds) {
+    int confirmed = 0;
+    int removed = 0;
+    for (final String dispatchId : dispatchIds) {
+      final int removedOfId = removeOldest(dispatchId);
+      if (removedOfId >= 0) {
+        ++confirmed;
+        removed += removedOfId;
+      }
+    }
+    if (confirmed > 0) {
+      compactAfter(removed);
+    }
+    return confirmed;
+  }
+
+  /**
+   * Answer the dispatchables added since this was last answered, or when first answered, all
+   * of my unconfirmed dispatchables. A dispatchable added concurrently with the first answer may
+   * be answered twice.
+   * @return {@code List<Dispatchable<E,RS>>}
+   */
+  public List<Dispatchable<E,RS>> drainAdded() {
+    final List<Dispatchable<E,RS>> drained = new ArrayList<>();
+    if (!tracksAdded) {
+      tracksAdded = true;
+      drained.addAll(unconfirmed());
+    }
+    for (Dispatchable<E,RS> dispatchable = added.poll(); dispatchable != null; dispatchable = added.poll()) {
+      drained.add(dispatchable);
+    }
+    return drained;
+  }
+
+  /**
+   * Answer whether the {@code dispatchable} is unconfirmed.
+   * @param dispatchable the {@code Dispatchable<E,RS>} to check
+   * @return boolean
+   */
+  public boolean isUnconfirmed(final Dispatchable<E,RS> dispatchable) {
+    final Dispatchable<E,RS>[] dispatchables = unconfirmed.get(dispatchable.id());
+    if (dispatchables != null) {
+      for (final Dispatchable<E,RS> each : dispatchables) {
+        if (each == dispatchable) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Answer whether my outstanding dispatchables have reached the high watermark of my
+   * {@code DispatchPressure}, and have not since fallen to its low watermark.
+   * @return boolean
+   */
+  public boolean isOverloaded() {
+    return overloaded.get();
+  }
+
+  /**
+   * Answer whether I have no unconfirmed dispatchables.
+   * @return boolean
+   */
+  public boolean isEmpty() {
+    return unconfirmedCount.get() == 0;
+  }
+
+  /**
+   * Answer the number of unconfirmed dispatchables.
+   * @return int
+   */
+  public int size() {
+    return unconfirmedCount.get();
+  }
+
+  /**
+   * Answer a live view of my unconfirmed dispatchables, in the order added.
+   * @return {@code Collection<Dispatchable<E,RS>>}
+   */
+  public Collection<Dispatchable<E,RS>> unconfirmed() {
+    return new UnconfirmedView(null);
+  }
+
+  /**
+   * Answer a copy of my unconfirmed dispatchables that were created before {@code cutoff}, in the
+   * order added. Only these and the first that is not older are iterated, however many remain.
+   * @param cutoff the LocalDateTime before which the dispatchables were created
+   * @return {@code List<Dispatchable<E,RS>>}
+   */
+  public List<Dispatchable<E,RS>> unconfirmedOlderThan(final LocalDateTime cutoff) {
+    final List<Dispatchable<E,RS>> older = new ArrayList<>();
+    for (final Dispatchable<E,RS> dispatchable : new UnconfirmedView(cutoff)) {
+      older.add(dispatchable);
+    }
+    return older;
+  }
+
+  /**
+   * Remove all of my dispatchables, confirmed or not.
+   */
+  public void clear() {
+    unconfirmed.clear();
+    superseded.clear();
+    order.clear();
+    added.clear();
+    unconfirmedCount.set(0);
+    confirmedInOrder.set(0);
+    relieveIfBelow(0);
+  }
+
+  private void track(final Dispatchable<E,RS> dispatchable) {
+    final int outstanding = unconfirmedCount.incrementAndGet();
+    order.add(dispatchable);
+    if (outstanding >= pressure.highWatermark() && overloaded.compareAndSet(false, true)) {
+      pressure.listener().pressureChanged(true, outstanding);
+    }
+    if (tracksAdded) {
+      added.add(dispatchable);
+    }
+  }
+
+  // answers -1 if none of dispatchId is unconfirmed, 0 if a confirmation of a superseded dispatchable
+  // was counted, and otherwise 1, having removed the oldest dispatchable
+  private int removeOldest(final String dispatchId) {
+    final int[] removed = { -1 };
+    unconfirmed.computeIfPresent(dispatchId, (id, dispatchables) -> {
+      superseded.computeIfPresent(id, (same, count) -> {
+        removed[0] = 0;
+        return count == 1 ? null : count - 1;
+      });
+      if (removed[0] == 0) {
+        return dispatchables;
+      }
+      removed[0] = 1;
+      return dispatchables.length == 1 ? null : Arrays.copyOfRange(dispatchables, 1, dispatchables.length);
+    });
+    if (removed[0] >= 0) {
+      unconfirmedCount.decrementAndGet();
+    }
+    return removed[0];
+  }
+
+  private void relieveIfBelow(final int outstanding) {
+    if (outstanding <= pressure.lowWatermark() && overloaded.compareAndSet(true, false)) {
+      pressure.listener().pressureChanged(false, outstanding);
+    }
+  }
+
+  private void compactAfter(final int confirmed) {
+    relieveIfBelow(unconfirmedCount.get());
+    if (confirmed > 0 && confirmedInOrder.addAndGet(confirmed) > Math.max(CompactionThreshold, unconfirmedCount.get())) {
+      compact();
+    }
+  }
+
+  private void compact() {
+    confirmedInOrder.set(0);
+    order.removeIf(dispatchable -> !isUnconfirmed(dispatchable));
+  }
+
+  private static <E extends Entry<?>, RS extends State<?>> Dispatchable<E,RS>[] joined(final Dispatchable<E,RS>[] older, final Dispatchable<E,RS>[] newer) {
+    final Dispatchable<E,RS>[] joined = Arrays.copyOf(older, older.length + newer.length);
+    System.arraycopy(newer, 0, joined, older.length, newer.length);
+    return joined;
+  }
+
+  private final class UnconfirmedView extends AbstractCollection<Dispatchable<E,RS>> {
+    private final LocalDateTime cutoff;
+
+    UnconfirmedView(final LocalDateTime cutoff) {
+      this.cutoff = cutoff;
+    }
+
+    @Override
+    public Iterator<Dispatchable<E,RS>> iterator() {
+      final Iterator<Dispatchable<E,RS>> ordered = order.iterator();
+
+      return new Iterator<Dispatchable<E,RS>>() {
+        private boolean leading = true; // confirmed dispatchables ahead of all unconfirmed are unlinked
+        private Dispatchable<E,RS> next = advance();
+
+        @Override
+        public boolean hasNext() {
+          return next != null;
+        }
+
+        @Override
+        public Dispatchable<E,RS> next() {
+          if (next == null) {
+            throw new NoSuchElementException();
+          }
+          final Dispatchable<E,RS> current = next;
+          next = advance();
+          return current;
+        }
+
+        private Dispatchable<E,RS> advance() {
+          while (ordered.hasNext()) {
+            final Dispatchable<E,RS> candidate = ordered.next();
+            if (isUnconfirmed(candidate)) {
+              leading = false;
+              if (cutoff != null && !candidate.createdOn().isBefore(cutoff)) {
+                return null;
+              }
+              return candidate;
+            } else if (leading) {
+              ordered.remove();
+              confirmedInOrder.decrementAndGet();
+            }
+          }
+          return null;
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return unconfirmedCount.get();
+    }
+  }
+}
@@ -6,37 +6,99 @@
 // one at https://mozilla.org/MPL/2.0/.
 package io.vlingo.xoom.symbio.store.dispatch.inmemory;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
 import io.vlingo.xoom.symbio.Entry;
 import io.vlingo.xoom.symbio.State;
 import io.vlingo.xoom.symbio.store.dispatch.Dispatchable;
 import io.vlingo.xoom.symbio.store.dispatch.DispatcherControl;
 
-import java.util.Collection;
-import java.util.List;
+public class InMemoryDispatcherControlDelegate<E extends Entry<?>, RS extends State<?>> implements DispatcherControl.IncrementalDispatcherControlDelegate<E, RS> {
+  private final DispatchableLedger<E, RS> dispatchables;
+  private final List<Dispatchable<E, RS>> listed;
 
-public class InMemoryDispatcherControlDelegate<E extends Entry<?>, RS extends State<?>> implements DispatcherControl.DispatcherControlDelegate<E, RS> {
-  private final List<Dispatchable<E, RS>> dispatchables;
+  public InMemoryDispatcherControlDelegate(final DispatchableLedger<E, RS> dispatchables) {
+    this.dispatchables = dispatchables;
+    this.listed = null;
+  }
 
+  /**
+   * Constructs my default state over the live {@code dispatchables}, which I search and
+   * remove from in linear time, and each of which I answer as added whenever asked.
+   * @param dispatchables the {@code List<Dispatchable<E, RS>>} of unconfirmed dispatchables
+   * @deprecated give the store's {@code DispatchableLedger<E, RS>} instead, which is constant time
+   */
+  @Deprecated
   public InMemoryDispatcherControlDelegate(final List<Dispatchable<E, RS>> dispatchables) {
-    this.dispatchables = dispatchables;
+    this.dispatchables = null;
+    this.listed = dispatchables;
   }
 
   @Override
   public Collection<Dispatchable<E, RS>> allUnconfirmedDispatchableStates() {
-    return dispatchables;
+    return listed != null ? listed : dispatchables.unconfirmed();
+  }
+
+  @Override
+  public Collection<Dispatchable<E, RS>> allUnconfirmedDispatchableStatesOlderThan(final LocalDateTime cutoff) {
+    if (listed != null) {
+      return listed.stream()
+              .filter(d -> d.createdOn().isBefore(cutoff))
+              .collect(Collectors.toList());
+    }
+    return dispatchables.unconfirmedOlderThan(cutoff);
+  }
+
+  @Override
+  public Collection<Dispatchable<E, RS>> unconfirmedDispatchableStatesAdded() {
+    return listed != null ? new ArrayList<>(listed) : dispatchables.drainAdded();
+  }
+
+  @Override
+  public boolean isUnconfirmed(final Dispatchable<E, RS> dispatchable) {
+    if (listed != null) {
+      return listed.stream().anyMatch(d -> d == dispatchable);
+    }
+    return dispatchables.isUnconfirmed(dispatchable);
   }
 
   @Override
   public void confirmDispatched(final String dispatchId) {
-    dispatchables
-            .stream()
-            .filter(d -> d.id().equals(dispatchId))
-            .findFirst()
-            .ifPresent(dispatchables::remove);
+    if (listed != null) {
+      listed
+              .stream()
+              .filter(d -> d.id().equals(dispatchId))
+              .findFirst()
+              .ifPresent(listed::remove);
+    } else {
+      dispatchables.confirm(dispatchId);
+    }
+  }
+
+  @Override
+  public void confirmDispatched(final Collection<String> dispatchIds) {
+    if (listed != null) {
+      dispatchIds.forEach(this::confirmDispatched);
+    } else {
+      dispatchables.confirmAll(dispatchIds);
+    }
+  }
+
+  @Override
+  public boolean isOverloaded() {
+    return listed == null && dispatchables.isOverloaded();
   }
 
   @Override
   public void stop() {
-     this.dispatchables.clear();
+    if (listed != null) {
+      listed.clear();
+    } else {
+      dispatchables.clear();
+    }
   }
 }
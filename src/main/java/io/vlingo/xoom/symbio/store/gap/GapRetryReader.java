@@ -17,7 +17,6 @@ import io.vlingo.xoom.symbio.store.EntryReader;
 
 import java.util.*;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 /**
  * Detection and fill up (gap prevention) functionality related to {@link EntryReader}.
@@ -34,14 +33,17 @@ public class GapRetryReader<T extends Entry<?>> {
         this.scheduler = scheduler;
     }
 
-    private Set<Long> collectIds(List<T> entries) {
-        if (entries == null) {
-            return new HashSet<>();
-        } else {
-            return entries.stream()
-                    .map(e -> Long.parseLong(e.id()))
-                    .collect(Collectors.toSet());
+    private BitSet collectPositions(List<T> entries, long startIndex, long count) {
+        BitSet positions = new BitSet();
+        if (entries != null) {
+            for (T entry : entries) {
+                long offset = entry.position() - startIndex;
+                if (offset >= 0 && offset < count) {
+                    positions.set((int) offset);
+                }
+            }
         }
+        return positions;
     }
 
     /**
@@ -49,7 +51,7 @@ public class GapRetryReader<T extends Entry<?>> {
      * If the entry is loaded successfully, no gap is detected. Otherwise a gap with one id is detected.
      *
      * @param entry The entry to detect gap for
-     * @param startIndex This index refers to {@link Entry#id()}
+     * @param startIndex This index refers to {@link Entry#position()}
      * @return One element list if entry is not loaded.
      */
     public List<Long> detectGaps(T entry, long startIndex) {
@@ -61,18 +63,16 @@ public class GapRetryReader<T extends Entry<?>> {
      * Detect gaps in entries.
      *
      * @param entries Entries to detect gaps for
-     * @param startIndex Start index to check for. This index refers to {@link Entry#id()}
+     * @param startIndex Start index to check for. This index refers to {@link Entry#position()}
      * @param count How many elements the list has to contain if no gaps would be present
      * @return Empty list if no gaps have been detected
      */
     public List<Long> detectGaps(List<T> entries, long startIndex, long count) {
-        Set<Long> allIds = collectIds(entries);
+        BitSet positions = collectPositions(entries, startIndex, count);
         List<Long> gapIds = new ArrayList<>();
 
-        for (long index = 0; index < count; index++) {
-            if (!allIds.contains(startIndex + index)) {
-                gapIds.add(startIndex + index);
-            }
+        for (int offset = positions.nextClearBit(0); offset < count; offset = positions.nextClearBit(offset + 1)) {
+            gapIds.add(startIndex + offset);
         }
 
         return gapIds;
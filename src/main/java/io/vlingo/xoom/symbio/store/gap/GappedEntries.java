@@ -44,10 +44,7 @@ public class GappedEntries<T extends Entry<?>> {
     }
 
     private int compare(T e1, T e2) {
-        long id1 = Long.parseLong(e1.id());
-        long id2 = Long.parseLong(e2.id());
-
-        return Long.compare(id1, id2);
+        return Long.compare(e1.position(), e2.position());
     }
 
     /**
@@ -106,8 +103,7 @@ public class GappedEntries<T extends Entry<?>> {
         List<T> newLoadedEntries = new ArrayList<>(loadedEntries);
         List<Long> newGapIds = new ArrayList<>(gapIds);
         for (T fillup : fillups) {
-            Long fillupId = Long.parseLong(fillup.id());
-            newGapIds.remove(fillupId);
+            newGapIds.remove(Long.valueOf(fillup.position()));
             newLoadedEntries.add(fillup);
         }
 
@@ -26,6 +26,7 @@ public class EntityStream<T> {
 
   /**
    * The {@code List<Entry<T>>} of the entries of the named stream, and possibly just a sub-stream.
+   * A long stream may be read a range at a time by {@code StreamReader#streamFor(String, int, int)}.
    */
   public final List<BaseEntry<T>> entries;
 
@@ -67,6 +68,22 @@ public class EntityStream<T> {
     return snapshot != null && !snapshot.isEmpty();
   }
 
+  /**
+   * Answer a new {@code EntityStream<T>} with only those of my entries up to and including
+   * {@code toStreamVersion}, or me if I have none beyond it.
+   *
+   * @param toStreamVersion the {@code int} version of the last entry to keep
+   * @return {@code EntityStream<T>}
+   */
+  public EntityStream<T> through(final int toStreamVersion) {
+    if (toStreamVersion >= streamVersion) {
+      return this;
+    }
+    final int firstVersion = streamVersion - entries.size() + 1;
+    final int kept = Math.max(0, toStreamVersion - firstVersion + 1);
+    return new EntityStream<>(streamName, firstVersion + kept - 1, entries.subList(0, kept), snapshot);
+  }
+
   /**
    * Answer my size, which is the number of entries.
    * @return int
@@ -28,6 +28,13 @@ import io.vlingo.xoom.symbio.store.dispatch.Dispatcher;
  * its {@code Entry<T>} instances for {@code EventSourced} and {@code CommandSourced} components. Each use of
  * the journal appends some number of {@code Entry<T>} instances and perhaps a single snapshot {@code State<ST>}.
  * The journal may also be queried for a {@code JournalReader<T>} and a {@code StreamReader<T>}.
+ * <p>
+ * A snapshot's data version is the version of the first {@code Entry<T>} of its stream that it does
+ * not include, so that a stream is read as its most recent snapshot followed by the entries from
+ * that version. A snapshot provided by {@code appendWith(...)} or {@code appendAllWith(...)} is the
+ * state before the appended sources are applied, and so has the data version of the first of them,
+ * and a snapshot taken by a {@code SnapshotPolicy} after the entry of version {@code n} has the
+ * data version {@code n + 1}.
  * Assuming that all successfully appended {@code Entry<T>} instances should be dispatched in some way
  * after each write transaction, you should register an {@code StreamJournalListener<T>} when first
  * creating your {@code StreamJournal<T>}.
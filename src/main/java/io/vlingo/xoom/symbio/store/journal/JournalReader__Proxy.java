@@ -27,6 +27,8 @@ public class JournalReader__Proxy<T extends Entry<?>> implements io.vlingo.xoom.
   private static final String readNextRepresentation5 = "readNext(int)";
   private static final String sizeRepresentation6 = "size()";
   private static final String sizeRepresentation7 = "streamAll()";
+  private static final String readNextFromPositionRepresentation8 = "readNextFromPosition(long, int)";
+  private static final String seekToPositionRepresentation9 = "seekToPosition(long)";
 
   private final Actor actor;
   private final Mailbox mailbox;
@@ -87,6 +89,35 @@ public class JournalReader__Proxy<T extends Entry<?>> implements io.vlingo.xoom.
     }
     return null;
   }
+
+  @Override
+  @SuppressWarnings("rawtypes")
+  public io.vlingo.xoom.common.Completes<java.util.List<T>> readNextFromPosition(long arg0, int arg1) {
+    if (!actor.isStopped()) {
+      final SerializableConsumer<JournalReader> consumer = (actor) -> actor.readNextFromPosition(arg0, arg1);
+      final io.vlingo.xoom.common.Completes<java.util.List<T>> completes = Completes.using(actor.scheduler());
+      if (mailbox.isPreallocated()) { mailbox.send(actor, JournalReader.class, consumer, Returns.value(completes), readNextFromPositionRepresentation8); }
+      else { mailbox.send(new LocalMessage<JournalReader>(actor, JournalReader.class, consumer, Returns.value(completes), readNextFromPositionRepresentation8)); }
+      return completes;
+    } else {
+      actor.deadLetters().failedDelivery(new DeadLetter(actor, readNextFromPositionRepresentation8));
+    }
+    return null;
+  }
+  @Override
+  @SuppressWarnings("rawtypes")
+  public io.vlingo.xoom.common.Completes<java.lang.Long> seekToPosition(long arg0) {
+    if (!actor.isStopped()) {
+      final SerializableConsumer<JournalReader> consumer = (actor) -> actor.seekToPosition(arg0);
+      final io.vlingo.xoom.common.Completes<java.lang.Long> completes = Completes.using(actor.scheduler());
+      if (mailbox.isPreallocated()) { mailbox.send(actor, JournalReader.class, consumer, Returns.value(completes), seekToPositionRepresentation9); }
+      else { mailbox.send(new LocalMessage<JournalReader>(actor, JournalReader.class, consumer, Returns.value(completes), seekToPositionRepresentation9)); }
+      return completes;
+    } else {
+      actor.deadLetters().failedDelivery(new DeadLetter(actor, seekToPositionRepresentation9));
+    }
+    return null;
+  }
   @Override
   @SuppressWarnings("rawtypes")
   public io.vlingo.xoom.common.Completes<T> readNext() {
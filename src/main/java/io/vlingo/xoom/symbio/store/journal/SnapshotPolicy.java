@@ -0,0 +1,70 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal;
+
+/**
+ * Decides when a {@code Journal<T>} should take a snapshot of a stream on its own, so that
+ * reading the stream replays a bounded number of entries however long its history. The
+ * journal consults me after each append to a stream that has no snapshot provided by the
+ * appender, answering the activity of the stream since its most recent snapshot.
+ */
+@FunctionalInterface
+public interface SnapshotPolicy {
+
+  /**
+   * Answer a {@code SnapshotPolicy} that never takes a snapshot.
+   * @return SnapshotPolicy
+   */
+  static SnapshotPolicy never() {
+    return (entries, bytes, replayNanos) -> false;
+  }
+
+  /**
+   * Answer a {@code SnapshotPolicy} that takes a snapshot once every {@code count} entries.
+   * @param count the int number of entries between snapshots
+   * @return SnapshotPolicy
+   */
+  static SnapshotPolicy everyEntries(final int count) {
+    if (count < 1) throw new IllegalArgumentException("Entry count must be at least 1.");
+    return (entries, bytes, replayNanos) -> entries >= count;
+  }
+
+  /**
+   * Answer a {@code SnapshotPolicy} that takes a snapshot once {@code count} bytes of entry
+   * data have been appended. Text data counts one byte per character, and {@code Object}
+   * data counts as none.
+   * @param count the long number of bytes between snapshots
+   * @return SnapshotPolicy
+   */
+  static SnapshotPolicy everyBytes(final long count) {
+    if (count < 1) throw new IllegalArgumentException("Byte count must be at least 1.");
+    return (entries, bytes, replayNanos) -> bytes >= count;
+  }
+
+  /**
+   * Answer a {@code SnapshotPolicy} that takes a snapshot once replaying the entries
+   * appended since the most recent snapshot is estimated to take {@code maximumReplayNanos}.
+   * The estimate is the number of entries multiplied by the replay cost per entry that the
+   * journal measures each time it takes a snapshot.
+   * @param maximumReplayNanos the long maximum time in nanoseconds to replay a stream
+   * @return SnapshotPolicy
+   */
+  static SnapshotPolicy adaptive(final long maximumReplayNanos) {
+    if (maximumReplayNanos < 1) throw new IllegalArgumentException("Maximum replay time must be positive.");
+    return (entries, bytes, replayNanos) -> replayNanos >= maximumReplayNanos;
+  }
+
+  /**
+   * Answer whether a snapshot of a stream should be taken.
+   * @param entries the int number of entries appended since the most recent snapshot
+   * @param bytes the long number of bytes of entry data appended since the most recent snapshot
+   * @param replayNanos the long estimated nanoseconds to replay the entries since the most recent snapshot
+   * @return boolean
+   */
+  boolean isSnapshotDue(final int entries, final long bytes, final long replayNanos);
+}
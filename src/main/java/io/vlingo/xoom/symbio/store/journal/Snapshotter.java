@@ -0,0 +1,135 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import io.vlingo.xoom.symbio.BaseEntry;
+import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.EntryAdapterProvider;
+import io.vlingo.xoom.symbio.Source;
+import io.vlingo.xoom.symbio.State;
+import io.vlingo.xoom.symbio.StateAdapterProvider;
+
+/**
+ * Takes the snapshots of the streams of a {@code Journal<T>} as decided by a {@code SnapshotPolicy}.
+ * The journal reports each append and each snapshot provided by an appender, and I answer a raw
+ * snapshot when one is due. I take it by folding the stream as a {@code StreamReader<T>} answers it,
+ * its most recent snapshot and the entries that follow it, with the {@code StateFolder<S>}. As with
+ * every snapshot of a {@code Journal<T>}, the raw snapshot's data version is that of the first entry
+ * it does not include, which is one beyond the last folded entry, so that reading the stream from it
+ * replays only later entries. I must be used by the journal's single writer only.
+ *
+ * @param <T> the concrete type of {@code Entry<T>} of the journal
+ */
+public final class Snapshotter<T> {
+  /** The replay cost per entry assumed until one is measured. */
+  public static final long DefaultReplayNanosPerEntry = 1_000L;
+
+  private final EntryAdapterProvider entryAdapterProvider;
+  private final StateFolder<Object> folder;
+  private final SnapshotPolicy policy;
+  private final Map<String, Progress> progress;
+  private final StateAdapterProvider stateAdapterProvider;
+
+  private long replayNanosPerEntry;
+
+  @SuppressWarnings("unchecked")
+  public Snapshotter(
+          final SnapshotPolicy policy,
+          final StateFolder<?> folder,
+          final EntryAdapterProvider entryAdapterProvider,
+          final StateAdapterProvider stateAdapterProvider) {
+
+    if (policy == null) throw new IllegalArgumentException("Snapshot policy must not be null.");
+    if (folder == null) throw new IllegalArgumentException("State folder must not be null.");
+
+    this.policy = policy;
+    this.folder = (StateFolder<Object>) folder;
+    this.entryAdapterProvider = entryAdapterProvider;
+    this.stateAdapterProvider = stateAdapterProvider;
+    this.progress = new HashMap<>();
+    this.replayNanosPerEntry = DefaultReplayNanosPerEntry;
+  }
+
+  /**
+   * Answer the raw snapshot of {@code streamName} if one is due after appending the
+   * {@code entries}, or null if none is due.
+   * @param streamName the String name of the stream
+   * @param entries the {@code List<Entry<T>>} just appended to the stream
+   * @param streamOf the {@code Function<String, EntityStream<T>>} answering the stream to fold
+   * @param <RS> the raw snapshot state type
+   * @return RS
+   */
+  public <RS extends State<?>> RS appended(
+          final String streamName,
+          final List<Entry<T>> entries,
+          final Function<String, EntityStream<T>> streamOf) {
+
+    final Progress current = progress.computeIfAbsent(streamName, name -> new Progress());
+    for (final Entry<T> entry : entries) {
+      ++current.entries;
+      current.bytes += bytesOf(entry);
+    }
+
+    if (!policy.isSnapshotDue(current.entries, current.bytes, current.entries * replayNanosPerEntry)) {
+      return null;
+    }
+
+    progress.remove(streamName);
+
+    return fold(streamOf.apply(streamName));
+  }
+
+  /**
+   * Record that the appender provided a snapshot of {@code streamName}.
+   * @param streamName the String name of the stream
+   */
+  public void snapshotProvided(final String streamName) {
+    progress.remove(streamName);
+  }
+
+  private <RS extends State<?>> RS fold(final EntityStream<T> stream) {
+    final long start = System.nanoTime();
+
+    Object state = stream.hasSnapshot() ? stateAdapterProvider.fromRaw(stream.snapshot) : null;
+    for (final BaseEntry<T> entry : stream.entries) {
+      final Source<?> source = entryAdapterProvider.asSource(entry);
+      state = folder.fold(stream.streamName, state, source);
+    }
+
+    if (!stream.entries.isEmpty()) {
+      final long measured = (System.nanoTime() - start) / stream.entries.size();
+      replayNanosPerEntry = Math.max(1L, (replayNanosPerEntry * 7 + measured) / 8);
+    }
+
+    if (state == null) {
+      return null;
+    }
+
+    return stateAdapterProvider.asRaw(stream.streamName, state, stream.streamVersion + 1);
+  }
+
+  private long bytesOf(final Entry<T> entry) {
+    final Object data = entry.entryData();
+    if (data instanceof String) {
+      return ((String) data).length();
+    } else if (data instanceof byte[]) {
+      return ((byte[]) data).length;
+    }
+    return 0;
+  }
+
+  private static final class Progress {
+    int entries;
+    long bytes;
+  }
+}
@@ -0,0 +1,32 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal;
+
+import io.vlingo.xoom.symbio.Source;
+
+/**
+ * Folds the {@code Source<?>} instances of a stream into the state of its entity, which a
+ * {@code Journal<T>} uses to take the snapshots decided by its {@code SnapshotPolicy}. A
+ * journal holding the streams of several entity types may answer each from the type of
+ * the {@code source} or the {@code streamName}.
+ *
+ * @param <S> the type of the entity state
+ */
+@FunctionalInterface
+public interface StateFolder<S> {
+
+  /**
+   * Answer the state that results from applying the {@code source} to the {@code state}, or
+   * null if no snapshot should be taken.
+   * @param streamName the String name of the stream
+   * @param state the S state as of the previous source, which is null before the first
+   * @param source the {@code Source<?>} to apply
+   * @return S
+   */
+  S fold(final String streamName, final S state, final Source<?> source);
+}
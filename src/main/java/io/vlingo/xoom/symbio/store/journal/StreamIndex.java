@@ -0,0 +1,105 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps each stream's dense versions to the 1-based journal positions
+ * of their entries, using one growable {@code int[]} per stream. Compared
+ * to a {@code Map<String, Map<Integer,Integer>>} this avoids a boxed key,
+ * a boxed value, and a map node for every entry, costing about four bytes
+ * per entry, and answers a position with an array access rather than a
+ * hashed lookup.
+ * <p>
+ * I have a single writer, which alone may send {@code index(...)}, and
+ * any number of concurrent readers, which may send {@code positionOf(...)}
+ * without locking. A reader sees each position once it is indexed.
+ */
+public final class StreamIndex {
+  /** The position answered for a version that is not indexed. */
+  public static final int NoPosition = 0;
+
+  private final Map<String, Versions> streams = new ConcurrentHashMap<>();
+
+  /**
+   * Index the {@code position} of the entry of {@code streamVersion} within {@code streamName}.
+   * Must be sent only by my single writer.
+   * @param streamName the String name of the stream
+   * @param streamVersion the int version of the entry within the stream
+   * @param position the int 1-based position of the entry within the journal
+   */
+  public void index(final String streamName, final int streamVersion, final int position) {
+    final Versions versions = streams.get(streamName);
+    if (versions == null) {
+      streams.put(streamName, new Versions(streamVersion, position));
+    } else if (streamVersion < versions.firstVersion) {
+      streams.put(streamName, versions.precededBy(streamVersion, position));
+    } else {
+      versions.put(streamVersion, position);
+    }
+  }
+
+  /**
+   * Answer the position of the entry of {@code streamVersion} within {@code streamName},
+   * or {@code NoPosition} if there is none.
+   * @param streamName the String name of the stream
+   * @param streamVersion the int version of the entry within the stream
+   * @return int
+   */
+  public int positionOf(final String streamName, final int streamVersion) {
+    final Versions versions = streams.get(streamName);
+    return versions == null ? NoPosition : versions.get(streamVersion);
+  }
+
+  private static final class Versions {
+    private final int firstVersion;
+    private volatile int lastVersion;
+    private volatile int[] positions;
+
+    Versions(final int streamVersion, final int position) {
+      this(streamVersion, streamVersion, new int[4]);
+      this.positions[0] = position;
+    }
+
+    private Versions(final int firstVersion, final int lastVersion, final int[] positions) {
+      this.firstVersion = firstVersion;
+      this.lastVersion = lastVersion;
+      this.positions = positions;
+    }
+
+    int get(final int streamVersion) {
+      // read lastVersion before positions so that a concurrent put() is seen whole
+      final int last = lastVersion;
+      if (streamVersion < firstVersion || streamVersion > last) {
+        return NoPosition;
+      }
+      return positions[streamVersion - firstVersion];
+    }
+
+    void put(final int streamVersion, final int position) {
+      int[] current = positions;
+      if (streamVersion - firstVersion >= current.length) {
+        current = Arrays.copyOf(current, Math.max(current.length * 2, streamVersion - firstVersion + 1));
+        positions = current;
+      }
+      current[streamVersion - firstVersion] = position;
+      lastVersion = Math.max(lastVersion, streamVersion); // always written to publish the position
+    }
+
+    Versions precededBy(final int streamVersion, final int position) {
+      final int shift = firstVersion - streamVersion;
+      final int[] shifted = new int[Math.max(positions.length, lastVersion - streamVersion + 1)];
+      System.arraycopy(positions, 0, shifted, shift, lastVersion - firstVersion + 1);
+      shifted[0] = position;
+      return new Versions(streamVersion, lastVersion, shifted);
+    }
+  }
+}
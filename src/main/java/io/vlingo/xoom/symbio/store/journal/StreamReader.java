@@ -7,6 +7,9 @@
 
 package io.vlingo.xoom.symbio.store.journal;
 
+import java.util.Collection;
+import java.util.List;
+
 import io.vlingo.xoom.common.Completes;
 
 /**
@@ -48,4 +51,79 @@ public interface StreamReader<T> {
    * @return the {@code Completes<Stream<T>>} of the full stream
    */
   Completes<EntityStream<T>> streamFor(final String streamName, final int fromStreamVersion);
+
+  /**
+   * Eventually answers the {@code Stream<T>} of the stream with {@code streamName}, from
+   * {@code fromStreamVersion} through {@code toStreamVersion} inclusive, or through the stream end
+   * if that is sooner. Implementations read exactly the entries of the range and no snapshot, so
+   * that a long stream may be replayed a range at a time, holding only the entries of one range.
+   * The default instead trims {@code streamFor(streamName, fromStreamVersion)}, which may begin
+   * with a snapshot.
+   *
+   * @param streamName the {@code String} name of the {@code Stream<T>} to answer
+   * @param fromStreamVersion the {@code int} version from which to begin reading, inclusive
+   * @param toStreamVersion the {@code int} version at which to end reading, inclusive
+   *
+   * @return the {@code Completes<Stream<T>>} of the sub-stream
+   */
+  default Completes<EntityStream<T>> streamFor(final String streamName, final int fromStreamVersion, final int toStreamVersion) {
+    return streamFor(streamName, fromStreamVersion).andThen(stream -> stream.through(toStreamVersion));
+  }
+
+  /**
+   * Reads the {@code EntityStream<T>} of each of the {@code streamNames}, as by {@code streamFor(streamName)},
+   * and answers them to the {@code interest} in chunks of up to {@code chunkSize} streams, followed by
+   * a single {@code streamsReadCompleted(int)}. This enables hydrating many entities/aggregates without
+   * a round-trip per stream. The default reads one stream at a time, answering each stream that cannot
+   * be read by {@code streamsReadFailed(List,Exception)}; implementations may read the chunks in parallel,
+   * in which case the chunks may be answered in any order.
+   *
+   * @param streamNames the {@code Collection<String>} names of the streams to read
+   * @param chunkSize the {@code int} maximum number of streams answered in each chunk
+   * @param interest the {@code StreamsResultInterest<T>} to which the chunks are answered
+   */
+  default void streamsFor(final Collection<String> streamNames, final int chunkSize, final StreamsResultInterest<T> interest) {
+    final StreamsCollector<T> collector = new StreamsCollector<>(streamNames.size(), chunkSize, interest);
+    for (final String streamName : streamNames) {
+      streamFor(streamName)
+        .andThenConsume(collector::collect)
+        .otherwise(stream -> {
+          collector.failed(streamName, new IllegalStateException("Cannot read stream: " + streamName));
+          return stream;
+        })
+        .recoverFrom(cause -> {
+          collector.failed(streamName, cause);
+          return null;
+        });
+    }
+  }
+
+  /**
+   * The interest in the chunks of streams read by {@code streamsFor(...)}. Unless it is an actor,
+   * my implementation must be safe for use by several threads.
+   *
+   * @param <T> the concrete type of the streams read
+   */
+  interface StreamsResultInterest<T> {
+    /**
+     * Answers the next chunk of {@code streams}.
+     * @param streams the {@code List<EntityStream<T>>} of the chunk
+     */
+    void streamsRead(final List<EntityStream<T>> streams);
+
+    /**
+     * Answers that the chunk of {@code streamNames} could not be read, or that its
+     * {@code streamsRead(List)} failed, because of {@code cause}. Such a chunk is not
+     * counted by {@code streamsReadCompleted(int)}. The default ignores the failure.
+     * @param streamNames the {@code List<String>} names of the streams of the failed chunk
+     * @param cause the {@code Exception} that caused the failure
+     */
+    default void streamsReadFailed(final List<String> streamNames, final Exception cause) { }
+
+    /**
+     * Answers that all of the streams have been answered, {@code streamCount} of which were read.
+     * @param streamCount the {@code int} number of streams read
+     */
+    void streamsReadCompleted(final int streamCount);
+  }
 }
@@ -12,6 +12,8 @@ public class StreamReader__Proxy<T> implements io.vlingo.xoom.symbio.store.journ
 
   private static final String streamForRepresentation1 = "streamFor(java.lang.String)";
   private static final String streamForRepresentation2 = "streamFor(java.lang.String, int)";
+  private static final String streamForRepresentation4 = "streamFor(java.lang.String, int, int)";
+  private static final String streamsForRepresentation3 = "streamsFor(java.util.Collection<java.lang.String>, int, io.vlingo.xoom.symbio.store.journal.StreamReader.StreamsResultInterest<T>)";
 
   private final Actor actor;
   private final Mailbox mailbox;
@@ -49,4 +51,33 @@ public class StreamReader__Proxy<T> implements io.vlingo.xoom.symbio.store.journ
     }
     return null;
   }
+  @Override
+  @SuppressWarnings("rawtypes")
+  public io.vlingo.xoom.common.Completes<io.vlingo.xoom.symbio.store.journal.EntityStream<T>> streamFor(java.lang.String arg0, int arg1, int arg2) {
+    if (!actor.isStopped()) {
+      final SerializableConsumer<StreamReader> consumer = (actor) -> actor.streamFor(arg0, arg1, arg2);
+      final io.vlingo.xoom.common.Completes<io.vlingo.xoom.symbio.store.journal.EntityStream<T>> completes = Completes.using(actor.scheduler());
+      if (mailbox.isPreallocated()) { mailbox.send(actor, StreamReader.class, consumer, Returns.value(completes), streamForRepresentation4); }
+      else { mailbox.send(new LocalMessage<StreamReader>(actor, StreamReader.class, consumer, Returns.value(completes), streamForRepresentation4)); }
+      return completes;
+    } else {
+      actor.deadLetters().failedDelivery(new DeadLetter(actor, streamForRepresentation4));
+    }
+    return null;
+  }
+  @Override
+  public void streamsFor(java.util.Collection<java.lang.String> arg0, int arg1, io.vlingo.xoom.symbio.store.journal.StreamReader.StreamsResultInterest<T> arg2) {
+    if (!actor.isStopped()) {
+      final SerializableConsumer<StreamReader<T>> consumer = (actor) -> actor.streamsFor(arg0, arg1, arg2);
+      if (mailbox.isPreallocated()) { mailbox.send(actor, StreamReader.class, consumer, null, streamsForRepresentation3); }
+      else { mailbox.send(new LocalMessage<StreamReader<T>>(actor, protocol(), consumer, streamsForRepresentation3)); }
+    } else {
+      actor.deadLetters().failedDelivery(new DeadLetter(actor, streamsForRepresentation3));
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> Class<StreamReader<T>> protocol() {
+    return (Class<StreamReader<T>>) (Class<?>) StreamReader.class;
+  }
 }
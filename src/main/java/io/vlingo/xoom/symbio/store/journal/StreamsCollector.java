@@ -0,0 +1,72 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import io.vlingo.xoom.symbio.store.journal.StreamReader.StreamsResultInterest;
+
+/**
+ * Collects the streams read by the default {@code StreamReader#streamsFor(...)} into chunks,
+ * answering each chunk to the interest once full, and the completion once all are collected or
+ * failed. Streams may be collected by several threads.
+ *
+ * @param <T> the concrete type of the streams collected
+ */
+final class StreamsCollector<T> {
+  private final int chunkSize;
+  private final StreamsResultInterest<T> interest;
+  private final int streamCount;
+  private List<EntityStream<T>> chunk;
+  private int collected;
+  private int read;
+
+  StreamsCollector(final int streamCount, final int chunkSize, final StreamsResultInterest<T> interest) {
+    if (chunkSize <= 0) {
+      throw new IllegalArgumentException("Chunk size must be positive.");
+    }
+    this.streamCount = streamCount;
+    this.chunkSize = chunkSize;
+    this.interest = interest;
+    this.chunk = new ArrayList<>(Math.min(chunkSize, streamCount));
+
+    if (streamCount == 0) {
+      interest.streamsReadCompleted(0);
+    }
+  }
+
+  synchronized void collect(final EntityStream<T> stream) {
+    chunk.add(stream);
+    ++collected;
+    answerChunkIfDue();
+  }
+
+  synchronized void failed(final String streamName, final Exception cause) {
+    ++collected;
+    interest.streamsReadFailed(Collections.singletonList(streamName), cause);
+    answerChunkIfDue();
+  }
+
+  private void answerChunkIfDue() {
+    if (!chunk.isEmpty() && (chunk.size() == chunkSize || collected == streamCount)) {
+      try {
+        interest.streamsRead(chunk);
+        read += chunk.size();
+      } catch (Exception e) {
+        interest.streamsReadFailed(chunk.stream().map(stream -> stream.streamName).collect(Collectors.toList()), e);
+      }
+      chunk = new ArrayList<>(Math.min(chunkSize, streamCount - collected));
+    }
+    if (collected == streamCount) {
+      interest.streamsReadCompleted(read);
+    }
+  }
+}
@@ -0,0 +1,316 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal.file;
+
+import java.io.File;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import io.vlingo.xoom.actors.Definition;
+import io.vlingo.xoom.actors.Stoppable;
+import io.vlingo.xoom.actors.World;
+import io.vlingo.xoom.common.Completes;
+import io.vlingo.xoom.common.Failure;
+import io.vlingo.xoom.common.Outcome;
+import io.vlingo.xoom.common.Success;
+import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.EntryAdapterProvider;
+import io.vlingo.xoom.symbio.Metadata;
+import io.vlingo.xoom.symbio.Source;
+import io.vlingo.xoom.symbio.State;
+import io.vlingo.xoom.symbio.StateAdapterProvider;
+import io.vlingo.xoom.symbio.store.Result;
+import io.vlingo.xoom.symbio.store.StorageException;
+import io.vlingo.xoom.symbio.store.dispatch.Dispatchable;
+import io.vlingo.xoom.symbio.store.dispatch.Dispatcher;
+import io.vlingo.xoom.symbio.store.dispatch.DispatcherControl;
+import io.vlingo.xoom.symbio.store.dispatch.DispatcherControl.DispatcherControlInstantiator;
+import io.vlingo.xoom.symbio.store.dispatch.control.DispatcherControlActor;
+import io.vlingo.xoom.symbio.store.dispatch.inmemory.DispatchableLedger;
+import io.vlingo.xoom.symbio.store.dispatch.inmemory.InMemoryDispatcherControlDelegate;
+import io.vlingo.xoom.symbio.store.journal.Journal;
+import io.vlingo.xoom.symbio.store.journal.JournalReader;
+import io.vlingo.xoom.symbio.store.journal.StreamReader;
+
+/**
+ * A durable {@code Journal<T>} that appends its entries to fixed-size segment files
+ * that are written and read through memory-mapped buffers. Entries are addressed by a
+ * global 1-based position, which is also their id, and each stream's versions are
+ * indexed to those positions, so appending and streaming do not depend on the size
+ * of the journal. Every append is forced to the storage device before it is dispatched
+ * and its {@code AppendResultInterest} is informed.
+ * <p>
+ * When constructed with a {@code batchWriteCount} greater than 1 the journal group-commits:
+ * appends are written as they arrive but are held in a pending batch, which is forced,
+ * dispatched, and acknowledged as a unit when it reaches {@code batchWriteCount} appends or
+ * when {@code flush()} is sent, whichever comes first. Readers see only flushed entries. The
+ * {@code FileJournalActor} sends {@code flush()} every {@code timeBetweenFlushWrites}
+ * milliseconds, which bounds the latency of a partial batch.
+ * <p>
+ * An append that cannot be written, or a batch that cannot be forced, is answered to its
+ * {@code AppendResultInterest} as a {@code Failure} of {@code Result.Error} and is not
+ * dispatched. The entries of an {@code appendAll()} that were written before one that could
+ * not be remain in the journal.
+ * <p>
+ * Only text and binary entries and snapshots are supported. Unconfirmed dispatchables are
+ * held in memory.
+ *
+ * @param <T> the concrete type of {@code Entry<T>} stored and read, which may be String or byte[]
+ * @param <RS> the raw snapshot state type
+ */
+public class FileJournal<T,RS extends State<?>> implements Journal<T>, Stoppable {
+  /**
+   * Each append is committed on its own unless a batch is given, because nothing but the
+   * {@code FileJournalActor} flushes a partial batch, and so that an acknowledged append is
+   * always readable.
+   */
+  public static final int DefaultBatchWriteCount = 1;
+  public static final int DefaultSegmentSize = 64 * 1024 * 1024;
+
+  private final EntryAdapterProvider entryAdapterProvider;
+  private final StateAdapterProvider stateAdapterProvider;
+  private final FileJournalStorage storage;
+  private final Map<String,JournalReader<? extends Entry<?>>> journalReaders;
+  private final Map<String,StreamReader<T>> streamReaders;
+  private final DispatchableLedger<Entry<T>, RS> dispatchables;
+  private final List<Dispatcher<Dispatchable<Entry<T>,RS>>> dispatchers;
+  private final DispatcherControl dispatcherControl;
+  private final int batchWriteCount;
+  private final List<Dispatchable<Entry<T>, RS>> pendingDispatchables;
+  private final List<Consumer<Outcome<StorageException, Result>>> pendingAcknowledgments;
+
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  public FileJournal(
+          final List<Dispatcher<Dispatchable<Entry<T>,RS>>> dispatchers,
+          final World world,
+          final File directory,
+          final int segmentSize,
+          final int batchWriteCount,
+          final long checkConfirmationExpirationInterval,
+          final long confirmationExpiration) {
+
+    if (batchWriteCount < 1) throw new IllegalArgumentException("Batch write count must be at least 1.");
+
+    this.batchWriteCount = batchWriteCount;
+    this.pendingDispatchables = new ArrayList<>(batchWriteCount);
+    this.pendingAcknowledgments = new ArrayList<>(batchWriteCount);
+    this.entryAdapterProvider = EntryAdapterProvider.instance(world);
+    this.stateAdapterProvider = StateAdapterProvider.instance(world);
+    this.storage = new FileJournalStorage(directory, segmentSize);
+    this.journalReaders = new HashMap<>(1);
+    this.streamReaders = new HashMap<>(1);
+
+    this.dispatchers = dispatchers;
+    this.dispatchables = new DispatchableLedger<>();
+    final InMemoryDispatcherControlDelegate<Entry<T>, RS> dispatcherControlDelegate = new InMemoryDispatcherControlDelegate<>(dispatchables);
+
+    this.dispatcherControl = world.stage().actorFor(
+            DispatcherControl.class,
+            Definition.has(
+                    DispatcherControlActor.class,
+                    new DispatcherControlInstantiator(
+                            dispatchers,
+                            dispatcherControlDelegate,
+                            checkConfirmationExpirationInterval,
+                            confirmationExpiration)));
+  }
+
+  public FileJournal(
+          final List<Dispatcher<Dispatchable<Entry<T>,RS>>> dispatchers,
+          final World world,
+          final File directory,
+          final int segmentSize,
+          final long checkConfirmationExpirationInterval,
+          final long confirmationExpiration) {
+    this(dispatchers, world, directory, segmentSize, DefaultBatchWriteCount, checkConfirmationExpirationInterval, confirmationExpiration);
+  }
+
+  public FileJournal(final List<Dispatcher<Dispatchable<Entry<T>,RS>>> dispatchers, final World world, final File directory) {
+    this(dispatchers, world, directory, DefaultSegmentSize, DefaultCheckConfirmationExpirationInterval, DefaultConfirmationExpiration);
+  }
+
+  public FileJournal(final Dispatcher<Dispatchable<Entry<T>, RS>> dispatcher, final World world, final File directory) {
+    this(Arrays.asList(dispatcher), world, directory);
+  }
+
+  @Override
+  public <S, ST> void append(final String streamName, final int streamVersion, final Source<S> source, final Metadata metadata,
+          final AppendResultInterest interest, final Object object) {
+    final Consumer<Outcome<StorageException, Result>> acknowledgment =
+            outcome -> interest.appendResultedIn(outcome, streamName, streamVersion, source, Optional.empty(), object);
+    final Entry<T> entry = entryAdapterProvider.asEntry(source, streamVersion, metadata);
+    try {
+      storage.append(streamName, streamVersion, entry);
+    } catch (IllegalArgumentException | IllegalStateException e) {
+      acknowledgment.accept(failureOf(streamName, e));
+      return;
+    }
+    commit(dispatchableOf(streamName, streamVersion, Collections.singletonList(entry), null), acknowledgment);
+  }
+
+  @Override
+  public <S, ST> void appendWith(final String streamName, final int streamVersion, final Source<S> source, final Metadata metadata, final ST snapshot,
+          final AppendResultInterest interest, final Object object) {
+    final Consumer<Outcome<StorageException, Result>> acknowledgment =
+            outcome -> interest.appendResultedIn(outcome, streamName, streamVersion, source, Optional.ofNullable(snapshot), object);
+    final Entry<T> entry = entryAdapterProvider.asEntry(source, streamVersion, metadata);
+    final RS raw;
+    try {
+      storage.append(streamName, streamVersion, entry);
+      raw = snapshot(streamName, snapshot, streamVersion);
+    } catch (IllegalArgumentException | IllegalStateException e) {
+      acknowledgment.accept(failureOf(streamName, e));
+      return;
+    }
+    commit(dispatchableOf(streamName, streamVersion, Collections.singletonList(entry), raw), acknowledgment);
+  }
+
+  @Override
+  public <S, ST> void appendAll(final String streamName, final int fromStreamVersion, final List<Source<S>> sources, final Metadata metadata,
+          final AppendResultInterest interest, final Object object) {
+    final Consumer<Outcome<StorageException, Result>> acknowledgment =
+            outcome -> interest.appendAllResultedIn(outcome, streamName, fromStreamVersion, sources, Optional.empty(), object);
+    final List<Entry<T>> entries = entryAdapterProvider.asEntries(sources, fromStreamVersion, metadata);
+    try {
+      append(streamName, fromStreamVersion, entries);
+    } catch (IllegalArgumentException | IllegalStateException e) {
+      acknowledgment.accept(failureOf(streamName, e));
+      return;
+    }
+    commit(dispatchableOf(streamName, fromStreamVersion, entries, null), acknowledgment);
+  }
+
+  @Override
+  public <S, ST> void appendAllWith(final String streamName, final int fromStreamVersion, final List<Source<S>> sources,
+          final Metadata metadata, final ST snapshot, final AppendResultInterest interest, final Object object) {
+    final Consumer<Outcome<StorageException, Result>> acknowledgment =
+            outcome -> interest.appendAllResultedIn(outcome, streamName, fromStreamVersion, sources, Optional.ofNullable(snapshot), object);
+    final List<Entry<T>> entries = entryAdapterProvider.asEntries(sources, fromStreamVersion, metadata);
+    final RS raw;
+    try {
+      append(streamName, fromStreamVersion, entries);
+      raw = snapshot(streamName, snapshot, fromStreamVersion);
+    } catch (IllegalArgumentException | IllegalStateException e) {
+      acknowledgment.accept(failureOf(streamName, e));
+      return;
+    }
+    commit(dispatchableOf(streamName, fromStreamVersion, entries, raw), acknowledgment);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <ET extends Entry<?>> Completes<JournalReader<ET>> journalReader(final String name) {
+    JournalReader<?> reader = journalReaders.get(name);
+    if (reader == null) {
+      reader = new FileJournalReader<>(storage, name);
+      journalReaders.put(name, reader);
+    }
+    return Completes.withSuccess((JournalReader<ET>) reader);
+  }
+
+  @Override
+  public Completes<StreamReader<T>> streamReader(final String name) {
+    StreamReader<T> reader = streamReaders.get(name);
+    if (reader == null) {
+      reader = new FileStreamReader<>(storage, name);
+      streamReaders.put(name, reader);
+    }
+    return Completes.withSuccess(reader);
+  }
+
+  /**
+   * Force, dispatch, and acknowledge all pending appends as a unit, or if they cannot be
+   * forced, answer the failure to each of them without dispatching any.
+   */
+  public void flush() {
+    if (pendingAcknowledgments.isEmpty()) {
+      return;
+    }
+
+    Outcome<StorageException, Result> outcome;
+    try {
+      storage.force();
+      pendingDispatchables.forEach(dispatchables::add);
+      dispatchers.forEach(d -> pendingDispatchables.forEach(d::dispatch));
+      outcome = Success.of(Result.Success);
+    } catch (IllegalStateException e) {
+      outcome = Failure.of(new StorageException(Result.Error, "Cannot force journal: " + e.getMessage(), e));
+    }
+    final Outcome<StorageException, Result> acknowledged = outcome;
+    pendingAcknowledgments.forEach(acknowledgment -> acknowledgment.accept(acknowledged));
+
+    pendingDispatchables.clear();
+    pendingAcknowledgments.clear();
+  }
+
+  @Override
+  public void conclude() {
+
+  }
+
+  @Override
+  public boolean isStopped() {
+    return false;
+  }
+
+  @Override
+  public void stop() {
+    flush();
+    dispatcherControl.stop();
+    storage.close();
+  }
+
+  private void append(final String streamName, final int fromStreamVersion, final List<Entry<T>> entries) {
+    int version = fromStreamVersion;
+    for (final Entry<T> entry : entries) {
+      storage.append(streamName, version++, entry);
+    }
+  }
+
+  private <ST> RS snapshot(final String streamName, final ST snapshot, final int streamVersion) {
+    if (snapshot == null) {
+      return null;
+    }
+    final RS raw = stateAdapterProvider.asRaw(streamName, snapshot, streamVersion);
+    storage.snapshot(streamName, raw);
+    return raw;
+  }
+
+  private void commit(final Dispatchable<Entry<T>, RS> dispatchable, final Consumer<Outcome<StorageException, Result>> acknowledgment) {
+    pendingDispatchables.add(dispatchable);
+    pendingAcknowledgments.add(acknowledgment);
+    if (pendingAcknowledgments.size() >= batchWriteCount) {
+      flush();
+    }
+  }
+
+  private Outcome<StorageException, Result> failureOf(final String streamName, final RuntimeException cause) {
+    return Failure.of(new StorageException(Result.Error, "Cannot append to stream: " + streamName + " because: " + cause.getMessage(), cause));
+  }
+
+  private Dispatchable<Entry<T>, RS> dispatchableOf(final String streamName, final int streamVersion, final List<Entry<T>> entries, final RS snapshot) {
+    final String id = getDispatchId(streamName, streamVersion, entries);
+    return new Dispatchable<>(id, LocalDateTime.now(), snapshot, entries);
+  }
+
+  private static <T> String getDispatchId(final String streamName, final int streamVersion, final Collection<Entry<T>> entries) {
+    final StringBuilder builder = new StringBuilder(streamName).append(':').append(streamVersion);
+    for (final Entry<T> entry : entries) {
+      builder.append(':').append(entry.position());
+    }
+    return builder.toString();
+  }
+}
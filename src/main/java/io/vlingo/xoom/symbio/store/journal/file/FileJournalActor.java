@@ -0,0 +1,207 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal.file;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.vlingo.xoom.actors.Actor;
+import io.vlingo.xoom.actors.ActorInstantiator;
+import io.vlingo.xoom.actors.Definition;
+import io.vlingo.xoom.common.Cancellable;
+import io.vlingo.xoom.common.Completes;
+import io.vlingo.xoom.common.Scheduled;
+import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.EntryAdapterProvider;
+import io.vlingo.xoom.symbio.Metadata;
+import io.vlingo.xoom.symbio.Source;
+import io.vlingo.xoom.symbio.State;
+import io.vlingo.xoom.symbio.store.dispatch.Dispatchable;
+import io.vlingo.xoom.symbio.store.dispatch.Dispatcher;
+import io.vlingo.xoom.symbio.store.journal.Journal;
+import io.vlingo.xoom.symbio.store.journal.JournalReader;
+import io.vlingo.xoom.symbio.store.journal.StreamReader;
+
+public class FileJournalActor<T,RS extends State<?>> extends Actor implements Journal<T>, Scheduled<Object> {
+  public static final String DefaultDirectory = "journal";
+
+  private final EntryAdapterProvider entryAdapterProvider;
+  private final Cancellable flushes;
+  private final FileJournal<T,RS> journal;
+  private final Map<String,JournalReader<? extends Entry<?>>> journalReaders;
+  private final Map<String,StreamReader<T>> streamReaders;
+
+  public FileJournalActor(final List<Dispatcher<Dispatchable<Entry<T>,RS>>> dispatchers) {
+    this(dispatchers, DefaultDirectory);
+  }
+
+  public FileJournalActor(final List<Dispatcher<Dispatchable<Entry<T>,RS>>> dispatchers, final String directory) {
+    this(dispatchers, directory, FileJournal.DefaultSegmentSize);
+  }
+
+  public FileJournalActor(final List<Dispatcher<Dispatchable<Entry<T>,RS>>> dispatchers, final String directory, final int segmentSize) {
+    this(dispatchers, directory, segmentSize, FileJournal.DefaultBatchWriteCount, 0L);
+  }
+
+  /**
+   * Construct a group-committing journal that forces, dispatches, and acknowledges its appends
+   * in batches of up to {@code batchWriteCount}, and no less often than every
+   * {@code timeBetweenFlushWrites} milliseconds.
+   * @param dispatchers the {@code List<Dispatcher<Dispatchable<Entry<T>,RS>>>} to dispatch to
+   * @param directory the String path of the directory of the journal files
+   * @param segmentSize the int size in bytes of each segment file
+   * @param batchWriteCount the int maximum number of appends in a batch, where 1 commits each append on its own
+   * @param timeBetweenFlushWrites the long milliseconds between flushes of a partial batch, unused when {@code batchWriteCount} is 1
+   */
+  @SuppressWarnings("unchecked")
+  public FileJournalActor(
+          final List<Dispatcher<Dispatchable<Entry<T>,RS>>> dispatchers,
+          final String directory,
+          final int segmentSize,
+          final int batchWriteCount,
+          final long timeBetweenFlushWrites) {
+    this.journal = new FileJournal<>(dispatchers, stage().world(), new File(directory), segmentSize, batchWriteCount,
+            DefaultCheckConfirmationExpirationInterval, DefaultConfirmationExpiration);
+    this.entryAdapterProvider = EntryAdapterProvider.instance(stage().world());
+    this.journalReaders = new HashMap<>(1);
+    this.streamReaders = new HashMap<>(1);
+    this.flushes = batchWriteCount > 1 ?
+            scheduler().schedule(selfAs(Scheduled.class), null, timeBetweenFlushWrites, timeBetweenFlushWrites) :
+            null;
+  }
+
+  @Override
+  public <S,ST> void append(final String streamName, final int streamVersion, final Source<S> source, final AppendResultInterest interest, final Object object) {
+    journal.append(streamName, streamVersion, source, interest, object);
+  }
+
+  @Override
+  public <S, ST> void append(final String streamName, final int streamVersion, final Source<S> source, final Metadata metadata,
+          final AppendResultInterest interest, final Object object) {
+    journal.append(streamName, streamVersion, source, metadata, interest, object);
+  }
+
+  @Override
+  public <S,ST> void appendWith(final String streamName, final int streamVersion, final Source<S> source, final ST snapshot, final AppendResultInterest interest, final Object object) {
+    journal.appendWith(streamName, streamVersion, source, snapshot, interest, object);
+  }
+
+  @Override
+  public <S, ST> void appendWith(final String streamName, final int streamVersion, final Source<S> source, final Metadata metadata, final ST snapshot,
+          final AppendResultInterest interest, final Object object) {
+    journal.appendWith(streamName, streamVersion, source, metadata, snapshot, interest, object);
+  }
+
+  @Override
+  public <S,ST> void appendAll(final String streamName, final int fromStreamVersion, final List<Source<S>> sources, final AppendResultInterest interest, final Object object) {
+    journal.appendAll(streamName, fromStreamVersion, sources, interest, object);
+  }
+
+  @Override
+  public <S, ST> void appendAll(final String streamName, final int fromStreamVersion, final List<Source<S>> sources, final Metadata metadata,
+          final AppendResultInterest interest, final Object object) {
+    journal.appendAll(streamName, fromStreamVersion, sources, metadata, interest, object);
+  }
+
+  @Override
+  public <S,ST> void appendAllWith(final String streamName, final int fromStreamVersion, final List<Source<S>> sources, final ST snapshot, final AppendResultInterest interest, final Object object) {
+    journal.appendAllWith(streamName, fromStreamVersion, sources, snapshot, interest, object);
+  }
+
+  @Override
+  public <S, ST> void appendAllWith(final String streamName, final int fromStreamVersion, final List<Source<S>> sources,
+          final Metadata metadata, final ST snapshot, final AppendResultInterest interest, final Object object) {
+    journal.appendAllWith(streamName, fromStreamVersion, sources, metadata, snapshot, interest, object);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <ET extends Entry<?>> Completes<JournalReader<ET>> journalReader(final String name) {
+    JournalReader<?> actor = journalReaders.get(name);
+    if (actor == null) {
+      final JournalReader<ET> file = (JournalReader<ET>) journal.journalReader(name).outcome();
+      actor = childActorFor(JournalReader.class, Definition.has(FileJournalReaderActor.class, new FileJournalReaderInstantiator<>(file, entryAdapterProvider)));
+      journalReaders.put(name, actor);
+    }
+    return completes().with((JournalReader<ET>) actor);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public Completes<StreamReader<T>> streamReader(final String name) {
+    StreamReader<T> actor = streamReaders.get(name);
+    if (actor == null) {
+      final StreamReader<T> file = journal.streamReader(name).outcome();
+      actor = childActorFor(StreamReader.class, Definition.has(FileStreamReaderActor.class, new FileStreamReaderInstantiator<>(file)));
+      streamReaders.put(name, actor);
+    }
+    return completes().with(actor);
+  }
+
+  @Override
+  public void intervalSignal(final Scheduled<Object> scheduled, final Object data) {
+    journal.flush();
+  }
+
+  @Override
+  public void stop() {
+    if (flushes != null) {
+      flushes.cancel();
+    }
+    journal.stop();
+    super.stop();
+  }
+
+  @SuppressWarnings("rawtypes")
+  private static class FileJournalReaderInstantiator<T extends Entry<?>> implements ActorInstantiator<FileJournalReaderActor> {
+    private static final long serialVersionUID = 3917652401458170263L;
+
+    private final EntryAdapterProvider entryAdapterProvider;
+    private final JournalReader<T> file;
+
+    FileJournalReaderInstantiator(final JournalReader<T> file, final EntryAdapterProvider entryAdapterProvider) {
+      this.file = file;
+      this.entryAdapterProvider = entryAdapterProvider;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public FileJournalReaderActor<T> instantiate() {
+      return new FileJournalReaderActor((FileJournalReader<T>) file, entryAdapterProvider);
+    }
+
+    @Override
+    public Class<FileJournalReaderActor> type() {
+      return FileJournalReaderActor.class;
+    }
+  }
+
+  @SuppressWarnings("rawtypes")
+  private static class FileStreamReaderInstantiator<T> implements ActorInstantiator<FileStreamReaderActor> {
+    private static final long serialVersionUID = -6158330417029647392L;
+
+    private final StreamReader<?> file;
+
+    FileStreamReaderInstantiator(final StreamReader<?> file) {
+      this.file = file;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public FileStreamReaderActor<T> instantiate() {
+      return new FileStreamReaderActor((FileStreamReader<T>) file);
+    }
+
+    @Override
+    public Class<FileStreamReaderActor> type() {
+      return FileStreamReaderActor.class;
+    }
+  }
+}
@@ -0,0 +1,132 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal.file;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.vlingo.xoom.common.Completes;
+import io.vlingo.xoom.reactivestreams.Stream;
+import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.store.journal.JournalReader;
+
+public class FileJournalReader<T extends Entry<?>> implements JournalReader<T> {
+  private int currentPosition;
+  private final String name;
+  private final FileJournalStorage storage;
+
+  FileJournalReader(final FileJournalStorage storage, final String name) {
+    this.storage = storage;
+    this.name = name;
+    this.currentPosition = 1;
+  }
+
+  @Override
+  public void close() {
+    // the storage is owned by the journal
+  }
+
+  @Override
+  public Completes<String> name() {
+    return Completes.withSuccess(name);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public Completes<T> readNext() {
+    if (currentPosition <= storage.size()) {
+      return Completes.withSuccess((T) storage.entryAt(currentPosition++));
+    }
+    return Completes.withSuccess(null);
+  }
+
+  @Override
+  public Completes<T> readNext(final String fromId) {
+    seekTo(fromId);
+    return readNext();
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public Completes<List<T>> readNext(final int maximumEntries) {
+    final int size = storage.size();
+    final List<T> entries = new ArrayList<>(Math.min(maximumEntries, Math.max(0, size - currentPosition + 1)));
+    for (int count = 0; count < maximumEntries && currentPosition <= size; ++count) {
+      entries.add((T) storage.entryAt(currentPosition++));
+    }
+    return Completes.withSuccess(entries);
+  }
+
+  @Override
+  public Completes<List<T>> readNext(final String fromId, final int maximumEntries) {
+    seekTo(fromId);
+    return readNext(maximumEntries);
+  }
+
+  @Override
+  public Completes<List<T>> readNextFromPosition(final long fromPosition, final int maximumEntries) {
+    to(fromPosition);
+    return readNext(maximumEntries);
+  }
+
+  @Override
+  public void rewind() {
+    currentPosition = 1;
+  }
+
+  @Override
+  public Completes<String> seekTo(final String id) {
+    switch (id) {
+    case Beginning:
+      rewind();
+      break;
+    case End:
+      currentPosition = storage.size() + 1;
+      break;
+    case Query:
+      break;
+    default:
+      to(id);
+      break;
+    }
+
+    return Completes.withSuccess(readCurrentId());
+  }
+
+  @Override
+  public Completes<Long> seekToPosition(final long position) {
+    to(position);
+    return Completes.withSuccess(currentPosition <= storage.size() ? (long) currentPosition : Entry.UnknownPosition);
+  }
+
+  @Override
+  public Completes<Long> size() {
+    return Completes.withSuccess((long) storage.size());
+  }
+
+  @Override
+  public Completes<Stream> streamAll() {
+    return null; // provided by FileJournalReaderActor
+  }
+
+  String readCurrentId() {
+    if (currentPosition <= storage.size()) {
+      return String.valueOf(currentPosition);
+    }
+    return "-1";
+  }
+
+  private void to(final String id) {
+    to(Entry.positionOf(id));
+  }
+
+  private void to(final long position) {
+    final int size = storage.size();
+    currentPosition = position >= 1 && position <= size ? (int) position : size + 1;
+  }
+}
@@ -0,0 +1,190 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal.file;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.vlingo.xoom.symbio.BaseEntry;
+import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.State;
+import io.vlingo.xoom.symbio.store.journal.StreamIndex;
+
+/**
+ * The durable storage shared by a {@code FileJournal<T>} and its readers: the segmented
+ * entry log, the per-stream version index, and the latest snapshot of each stream. The
+ * journal is the single writer, and readers may use me concurrently from other threads.
+ * Readers see only entries and snapshots that have been made durable by {@code force()}.
+ */
+final class FileJournalStorage {
+  private static final String SnapshotsFileName = "snapshots.log";
+
+  private final SegmentedLog log;
+  private final Map<String, State<?>> pendingSnapshots;
+  private final Map<String, State<?>> snapshots;
+  private final FileOutputStream snapshotsFile;
+  private final StreamIndex streamIndex;
+
+  private volatile int committed;
+
+  FileJournalStorage(final File directory, final int segmentSize) {
+    this.streamIndex = new StreamIndex();
+    this.log = new SegmentedLog(directory, segmentSize, this::recoverEntry);
+    this.committed = log.size();
+    this.pendingSnapshots = new HashMap<>();
+    this.snapshots = new HashMap<>();
+    this.snapshotsFile = openSnapshots(new File(directory, SnapshotsFileName));
+  }
+
+  /**
+   * Answer the position of the appended {@code entry}, which is also assigned as its id.
+   * The entry is not guaranteed to be durable until {@code force()}.
+   * @param streamName the String name of the stream
+   * @param streamVersion the int version of the entry within its stream
+   * @param entry the {@code Entry<?>} to append
+   * @return int
+   */
+  synchronized int append(final String streamName, final int streamVersion, final Entry<?> entry) {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+    try (final DataOutputStream out = new DataOutputStream(bytes)) {
+      RecordCodec.writeString(out, streamName);
+      out.writeInt(streamVersion);
+      RecordCodec.writeEntry(out, entry);
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot encode entry of stream: " + streamName, e);
+    }
+
+    final int position = log.append(bytes.toByteArray());
+    ((BaseEntry<?>) entry).__internal__setPosition(position);
+    streamIndex.index(streamName, streamVersion, position);
+    return position;
+  }
+
+  /**
+   * Answer the entry at {@code position}, or null if there is no such committed entry.
+   * @param position the int 1-based position of the entry
+   * @return {@code BaseEntry<?>}
+   */
+  BaseEntry<?> entryAt(final int position) {
+    if (position > committed) {
+      return null;
+    }
+    final ByteBuffer payload = log.read(position);
+    if (payload == null) {
+      return null;
+    }
+    RecordCodec.readString(payload); // stream name
+    payload.getInt();                // stream version
+    return RecordCodec.readEntry(payload, position);
+  }
+
+  /**
+   * Force all appended entries and snapshots to the storage device.
+   */
+  synchronized void force() {
+    log.force();
+    if (!pendingSnapshots.isEmpty()) {
+      try {
+        snapshotsFile.getFD().sync();
+      } catch (IOException e) {
+        throw new IllegalStateException("Cannot force journal snapshots.", e);
+      }
+      snapshots.putAll(pendingSnapshots);
+      pendingSnapshots.clear();
+    }
+    committed = log.size();
+  }
+
+  synchronized int positionOf(final String streamName, final int streamVersion) {
+    final int position = streamIndex.positionOf(streamName, streamVersion);
+    return position > committed ? StreamIndex.NoPosition : position;
+  }
+
+  /**
+   * Answer the number of committed entries, which is also the position of the last.
+   * @return int
+   */
+  int size() {
+    return committed;
+  }
+
+  synchronized void snapshot(final String streamName, final State<?> snapshot) {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+    try (final DataOutputStream out = new DataOutputStream(bytes)) {
+      RecordCodec.writeString(out, streamName);
+      RecordCodec.writeState(out, snapshot);
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot encode snapshot of stream: " + streamName, e);
+    }
+
+    try {
+      final ByteArrayOutputStream framed = new ByteArrayOutputStream(bytes.size() + Integer.BYTES);
+      final DataOutputStream out = new DataOutputStream(framed);
+      out.writeInt(bytes.size());
+      bytes.writeTo(out);
+      framed.writeTo(snapshotsFile);
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot write snapshot of stream: " + streamName, e);
+    }
+    pendingSnapshots.put(streamName, snapshot);
+  }
+
+  synchronized State<?> snapshotOf(final String streamName) {
+    return snapshots.get(streamName);
+  }
+
+  void close() {
+    try {
+      snapshotsFile.close();
+    } catch (IOException e) {
+      // ignore
+    }
+  }
+
+  private FileOutputStream openSnapshots(final File file) {
+    try {
+      if (file.exists()) {
+        final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+        int validLength = 0;
+        while (buffer.remaining() >= Integer.BYTES) {
+          final int length = buffer.getInt();
+          if (length <= 0 || length > buffer.remaining()) {
+            break;
+          }
+          final ByteBuffer record = buffer.slice();
+          record.limit(length);
+          snapshots.put(RecordCodec.readString(record), RecordCodec.readState(record));
+          buffer.position(buffer.position() + length);
+          validLength = buffer.position();
+        }
+        if (validLength < buffer.capacity()) {
+          try (final RandomAccessFile torn = new RandomAccessFile(file, "rw")) {
+            torn.setLength(validLength);
+          }
+        }
+      }
+      return new FileOutputStream(file, true);
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot open journal snapshots: " + file, e);
+    }
+  }
+
+  private void recoverEntry(final int position, final ByteBuffer payload) {
+    final String streamName = RecordCodec.readString(payload);
+    final int streamVersion = payload.getInt();
+    streamIndex.index(streamName, streamVersion, position);
+  }
+}
@@ -0,0 +1,70 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal.file;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.vlingo.xoom.common.Completes;
+import io.vlingo.xoom.symbio.BaseEntry;
+import io.vlingo.xoom.symbio.State;
+import io.vlingo.xoom.symbio.store.journal.StreamIndex;
+import io.vlingo.xoom.symbio.store.journal.EntityStream;
+import io.vlingo.xoom.symbio.store.journal.StreamReader;
+
+public class FileStreamReader<T> implements StreamReader<T> {
+  private final String name;
+  private final FileJournalStorage storage;
+
+  FileStreamReader(final FileJournalStorage storage, final String name) {
+    this.storage = storage;
+    this.name = name;
+  }
+
+  @Override
+  public Completes<EntityStream<T>> streamFor(final String streamName) {
+    return streamFor(streamName, 1);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public Completes<EntityStream<T>> streamFor(final String streamName, final int fromStreamVersion) {
+    int version = fromStreamVersion;
+    State<T> snapshot = (State<T>) storage.snapshotOf(streamName);
+    if (snapshot != null) {
+      if (snapshot.dataVersion > version) {
+        version = snapshot.dataVersion;
+      } else {
+        snapshot = null; // reading from beyond snapshot
+      }
+    }
+    return Completes.withSuccess(entityStreamFor(streamName, version, Integer.MAX_VALUE, snapshot));
+  }
+
+  @Override
+  public Completes<EntityStream<T>> streamFor(final String streamName, final int fromStreamVersion, final int toStreamVersion) {
+    return Completes.withSuccess(entityStreamFor(streamName, fromStreamVersion, toStreamVersion, null));
+  }
+
+  String name() {
+    return name;
+  }
+
+  @SuppressWarnings("unchecked")
+  private EntityStream<T> entityStreamFor(final String streamName, final int fromStreamVersion, final int toStreamVersion, final State<T> snapshot) {
+    int lastVersion = fromStreamVersion - 1;
+    while (lastVersion < toStreamVersion && storage.positionOf(streamName, lastVersion + 1) != StreamIndex.NoPosition) {
+      ++lastVersion;
+    }
+    final List<BaseEntry<T>> entries = new ArrayList<>(lastVersion - fromStreamVersion + 1);
+    for (int version = fromStreamVersion; version <= lastVersion; ++version) {
+      entries.add((BaseEntry<T>) storage.entryAt(storage.positionOf(streamName, version)));
+    }
+    return new EntityStream<>(streamName, lastVersion, entries, snapshot);
+  }
+}
@@ -0,0 +1,49 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal.file;
+
+import java.util.Collection;
+
+import io.vlingo.xoom.actors.Actor;
+import io.vlingo.xoom.common.Completes;
+import io.vlingo.xoom.symbio.store.journal.EntityStream;
+import io.vlingo.xoom.symbio.store.journal.StreamReader;
+
+public class FileStreamReaderActor<T> extends Actor implements StreamReader<T> {
+  private final FileStreamReader<T> reader;
+
+  public FileStreamReaderActor(final FileStreamReader<T> reader) {
+    this.reader = reader;
+  }
+
+  @Override
+  public void start() {
+    logger().debug("Starting FileStreamReaderActor named: " + reader.name());
+    super.start();
+  }
+
+  @Override
+  public Completes<EntityStream<T>> streamFor(final String streamName) {
+    return completes().with(reader.streamFor(streamName).outcome());
+  }
+
+  @Override
+  public Completes<EntityStream<T>> streamFor(final String streamName, final int fromStreamVersion) {
+    return completes().with(reader.streamFor(streamName, fromStreamVersion).outcome());
+  }
+
+  @Override
+  public Completes<EntityStream<T>> streamFor(final String streamName, final int fromStreamVersion, final int toStreamVersion) {
+    return completes().with(reader.streamFor(streamName, fromStreamVersion, toStreamVersion).outcome());
+  }
+
+  @Override
+  public void streamsFor(final Collection<String> streamNames, final int chunkSize, final StreamsResultInterest<T> interest) {
+    reader.streamsFor(streamNames, chunkSize, interest);
+  }
+}
@@ -0,0 +1,187 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal.file;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.vlingo.xoom.symbio.BaseEntry;
+import io.vlingo.xoom.symbio.BaseEntry.BinaryEntry;
+import io.vlingo.xoom.symbio.BaseEntry.TextEntry;
+import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.Metadata;
+import io.vlingo.xoom.symbio.State;
+import io.vlingo.xoom.symbio.State.BinaryState;
+import io.vlingo.xoom.symbio.State.TextState;
+
+/**
+ * Encodes and decodes {@code Entry<T>} and {@code State<T>} instances to and from
+ * their durable binary form. Only text ({@code String}) and binary ({@code byte[]})
+ * data are supported, and {@code Metadata} is kept by its value, operation, and
+ * properties; the deprecated {@code Metadata} object is not persisted.
+ */
+public final class RecordCodec {
+  private static final byte BinaryKind = 2;
+  private static final byte TextKind = 1;
+  private static final String UnassignedId = "";
+
+  /**
+   * Write the {@code entry} to {@code out}.
+   * @param out the DataOutputStream to write to
+   * @param entry the {@code Entry<?>} to write
+   * @throws IOException if the write fails
+   * @throws IllegalArgumentException if the entry data is neither text nor binary
+   */
+  public static void writeEntry(final DataOutputStream out, final Entry<?> entry) throws IOException {
+    writeKindAndData(out, entry.entryData(), entry.typeName());
+    writeString(out, entry.typeName());
+    out.writeInt(entry.typeVersion());
+    out.writeInt(entry.entryVersion());
+    writeMetadata(out, entry.metadata());
+  }
+
+  /**
+   * Answer the {@code BaseEntry<?>} read from the {@code buffer} at its current position, and
+   * assign it the {@code position}, which is also its id.
+   * @param buffer the ByteBuffer to read from
+   * @param position the long position to assign to the entry
+   * @return {@code BaseEntry<?>}
+   */
+  public static BaseEntry<?> readEntry(final ByteBuffer buffer, final long position) {
+    final byte kind = buffer.get();
+    final Object data = readData(buffer, kind);
+    final Class<?> type = Entry.typed(readString(buffer));
+    final int typeVersion = buffer.getInt();
+    final int entryVersion = buffer.getInt();
+    final Metadata metadata = readMetadata(buffer);
+
+    final BaseEntry<?> entry = kind == TextKind ?
+            new TextEntry(UnassignedId, type, typeVersion, (String) data, entryVersion, metadata) :
+            new BinaryEntry(UnassignedId, type, typeVersion, (byte[]) data, entryVersion, metadata);
+    entry.__internal__setPosition(position);
+    return entry;
+  }
+
+  /**
+   * Write the {@code state} to {@code out}.
+   * @param out the DataOutputStream to write to
+   * @param state the {@code State<?>} to write
+   * @throws IOException if the write fails
+   * @throws IllegalArgumentException if the state data is neither text nor binary
+   */
+  public static void writeState(final DataOutputStream out, final State<?> state) throws IOException {
+    writeKindAndData(out, state.data, state.type);
+    writeString(out, state.id);
+    writeString(out, state.type);
+    out.writeInt(state.typeVersion);
+    out.writeInt(state.dataVersion);
+    writeMetadata(out, state.metadata);
+  }
+
+  /**
+   * Answer the {@code State<?>} read from the {@code buffer} at its current position.
+   * @param buffer the ByteBuffer to read from
+   * @return {@code State<?>}
+   */
+  public static State<?> readState(final ByteBuffer buffer) {
+    final byte kind = buffer.get();
+    final Object data = readData(buffer, kind);
+    final String id = readString(buffer);
+    final Class<?> type = Entry.typed(readString(buffer));
+    final int typeVersion = buffer.getInt();
+    final int dataVersion = buffer.getInt();
+    final Metadata metadata = readMetadata(buffer);
+
+    if (kind == TextKind) {
+      return new TextState(id, type, typeVersion, (String) data, dataVersion, metadata);
+    }
+    return new BinaryState(id, type, typeVersion, (byte[]) data, dataVersion, metadata);
+  }
+
+  /**
+   * Write the {@code value} to {@code out} as its UTF-8 length and bytes.
+   * @param out the DataOutputStream to write to
+   * @param value the String to write
+   * @throws IOException if the write fails
+   */
+  public static void writeString(final DataOutputStream out, final String value) throws IOException {
+    final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  /**
+   * Answer the {@code String} read from the {@code buffer} at its current position.
+   * @param buffer the ByteBuffer to read from
+   * @return String
+   */
+  public static String readString(final ByteBuffer buffer) {
+    return new String(readBytes(buffer), StandardCharsets.UTF_8);
+  }
+
+  private static void writeKindAndData(final DataOutputStream out, final Object data, final String type) throws IOException {
+    if (data instanceof String) {
+      out.writeByte(TextKind);
+      writeString(out, (String) data);
+    } else if (data instanceof byte[]) {
+      out.writeByte(BinaryKind);
+      out.writeInt(((byte[]) data).length);
+      out.write((byte[]) data);
+    } else {
+      throw new IllegalArgumentException("Only text and binary data may be stored; not: " + type);
+    }
+  }
+
+  private static Object readData(final ByteBuffer buffer, final byte kind) {
+    switch (kind) {
+    case TextKind:
+      return readString(buffer);
+    case BinaryKind:
+      return readBytes(buffer);
+    default:
+      throw new IllegalStateException("Unknown record data kind: " + kind);
+    }
+  }
+
+  private static byte[] readBytes(final ByteBuffer buffer) {
+    final byte[] bytes = new byte[buffer.getInt()];
+    buffer.get(bytes);
+    return bytes;
+  }
+
+  private static void writeMetadata(final DataOutputStream out, final Metadata metadata) throws IOException {
+    writeString(out, metadata.value);
+    writeString(out, metadata.operation);
+    out.writeInt(metadata.properties.size());
+    for (final Map.Entry<String, String> property : metadata.properties.entrySet()) {
+      writeString(out, property.getKey());
+      writeString(out, property.getValue());
+    }
+  }
+
+  private static Metadata readMetadata(final ByteBuffer buffer) {
+    final String value = readString(buffer);
+    final String operation = readString(buffer);
+    final int count = buffer.getInt();
+    if (count == 0) {
+      return new Metadata(Collections.emptyMap(), value, operation);
+    }
+    final Map<String, String> properties = new HashMap<>(count);
+    for (int index = 0; index < count; ++index) {
+      properties.put(readString(buffer), readString(buffer));
+    }
+    return new Metadata(properties, value, operation);
+  }
+
+  private RecordCodec() { }
+}
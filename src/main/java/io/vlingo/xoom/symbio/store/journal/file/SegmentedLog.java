@@ -0,0 +1,200 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only log of byte records held in fixed-size segment files, each of which
+ * is written and read through a {@code MappedByteBuffer}. Every record is framed by its
+ * length and a CRC32 checksum, and is addressed by its 1-based global position. A
+ * torn record at the tail of the last segment, such as one left by a crash, is discarded
+ * when the log is reopened.
+ */
+final class SegmentedLog {
+  private static final int HeaderSize = Integer.BYTES * 2;
+  private static final String SegmentPrefix = "segment-";
+  private static final String SegmentSuffix = ".log";
+
+  private final File directory;
+  private final List<MappedByteBuffer> segments;
+  private final int segmentSize;
+
+  private int dirtyFromSegment;
+  private long[] locations;
+  private int size;
+  private int writeOffset;
+
+  /**
+   * Construct my state by opening or creating the segments within {@code directory}, and
+   * answer each recovered record to the {@code recovered} consumer in position order.
+   * @param directory the File directory of my segments
+   * @param segmentSize the int size in bytes of each segment
+   * @param recovered the {@code BiConsumer<Integer,ByteBuffer>} receiving the position and payload of each existing record
+   */
+  SegmentedLog(final File directory, final int segmentSize, final BiConsumer<Integer, ByteBuffer> recovered) {
+    if (segmentSize <= HeaderSize) throw new IllegalArgumentException("Segment size is too small: " + segmentSize);
+
+    this.directory = directory;
+    this.segmentSize = segmentSize;
+    this.segments = new ArrayList<>();
+    this.locations = new long[1024];
+
+    if (!directory.exists() && !directory.mkdirs()) {
+      throw new IllegalStateException("Cannot create journal directory: " + directory);
+    }
+
+    recover(recovered);
+  }
+
+  /**
+   * Answer the position of the newly appended {@code payload}.
+   * @param payload the byte[] record to append
+   * @return int
+   */
+  synchronized int append(final byte[] payload) {
+    final int recordSize = HeaderSize + payload.length;
+    if (recordSize > segmentSize) {
+      throw new IllegalArgumentException("Record of " + payload.length + " bytes exceeds segment size: " + segmentSize);
+    }
+    if (writeOffset + recordSize > segmentSize) {
+      segments.add(map(segments.size()));
+      writeOffset = 0;
+    }
+
+    final int segment = segments.size() - 1;
+    final ByteBuffer buffer = segments.get(segment).duplicate();
+    buffer.position(writeOffset);
+    buffer.putInt(payload.length);
+    buffer.putInt(checksumOf(ByteBuffer.wrap(payload)));
+    buffer.put(payload);
+
+    if (size == locations.length) {
+      locations = Arrays.copyOf(locations, size * 2);
+    }
+    locations[size++] = ((long) segment << 32) | writeOffset;
+    writeOffset += recordSize;
+
+    return size;
+  }
+
+  /**
+   * Force all appended records to the storage device.
+   */
+  synchronized void force() {
+    for (int segment = dirtyFromSegment; segment < segments.size(); ++segment) {
+      segments.get(segment).force();
+    }
+    dirtyFromSegment = segments.size() - 1;
+  }
+
+  /**
+   * Answer a read-only view of the payload at {@code position}, or null if there is none.
+   * @param position the int 1-based position of the record
+   * @return ByteBuffer
+   */
+  synchronized ByteBuffer read(final int position) {
+    if (position < 1 || position > size) {
+      return null;
+    }
+    final long location = locations[position - 1];
+    final int offset = (int) location;
+    final ByteBuffer buffer = segments.get((int) (location >>> 32)).asReadOnlyBuffer();
+    final int length = buffer.getInt(offset);
+    buffer.limit(offset + HeaderSize + length);
+    buffer.position(offset + HeaderSize);
+    return buffer.slice();
+  }
+
+  /**
+   * Answer the number of records, which is also the position of the last.
+   * @return int
+   */
+  synchronized int size() {
+    return size;
+  }
+
+  private void recover(final BiConsumer<Integer, ByteBuffer> recovered) {
+    int segment = 0;
+    while (segmentFile(segment).exists()) {
+      segments.add(map(segment));
+      ++segment;
+    }
+
+    if (segments.isEmpty()) {
+      segments.add(map(0));
+      return;
+    }
+
+    final int last = segments.size() - 1;
+    for (segment = 0; segment <= last; ++segment) {
+      final MappedByteBuffer buffer = segments.get(segment);
+      int offset = 0;
+      while (offset + HeaderSize <= segmentSize) {
+        final int length = buffer.getInt(offset);
+        if (length <= 0 || offset + HeaderSize + length > segmentSize) {
+          break;
+        }
+        final ByteBuffer payload = buffer.asReadOnlyBuffer();
+        payload.limit(offset + HeaderSize + length);
+        payload.position(offset + HeaderSize);
+        if (checksumOf(payload.slice()) != buffer.getInt(offset + Integer.BYTES)) {
+          if (segment != last) {
+            throw new IllegalStateException("Corrupt journal segment: " + segmentFile(segment));
+          }
+          discardFrom(buffer, offset);
+          break;
+        }
+        if (size == locations.length) {
+          locations = Arrays.copyOf(locations, size * 2);
+        }
+        locations[size++] = ((long) segment << 32) | offset;
+        recovered.accept(size, payload.slice());
+        offset += HeaderSize + length;
+      }
+      writeOffset = offset;
+    }
+    dirtyFromSegment = last;
+  }
+
+  private void discardFrom(final MappedByteBuffer buffer, final int offset) {
+    for (int index = offset; index < segmentSize; ++index) {
+      buffer.put(index, (byte) 0);
+    }
+    buffer.force();
+  }
+
+  private int checksumOf(final ByteBuffer payload) {
+    final CRC32 crc = new CRC32();
+    crc.update(payload);
+    return (int) crc.getValue();
+  }
+
+  private MappedByteBuffer map(final int segment) {
+    try (final RandomAccessFile file = new RandomAccessFile(segmentFile(segment), "rw")) {
+      file.setLength(segmentSize);
+      return file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot map journal segment: " + segmentFile(segment), e);
+    }
+  }
+
+  private File segmentFile(final int segment) {
+    return new File(directory, String.format("%s%010d%s", SegmentPrefix, segment, SegmentSuffix));
+  }
+}
@@ -0,0 +1,106 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal.inmemory;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * An append-only {@code List<E>} with a single writer and any number of concurrent readers.
+ * Elements are held in fixed-size chunks that are never copied or moved once allocated, and
+ * each append is published by a volatile write of my size. A reader on any thread that observes
+ * a size sees every element below it, without locks and without copying. Only {@code add(E)},
+ * {@code discard(int)}, and {@code releaseBelow(int)} may modify me, and only from the writer's
+ * thread; all other modifications are unsupported. A discarded or released element is answered
+ * as null, and its index is never reused.
+ *
+ * @param <E> the type of the elements
+ */
+public final class AppendOnlyLog<E> extends AbstractList<E> implements RandomAccess {
+  static final int ChunkShift = 12;
+  static final int ChunkSize = 1 << ChunkShift;
+  private static final int ChunkMask = ChunkSize - 1;
+
+  private volatile Object[][] chunks;
+  private int releasedChunks;
+  private volatile int size;
+
+  public AppendOnlyLog() {
+    this.chunks = new Object[16][];
+  }
+
+  /**
+   * Append the {@code element} and publish it to readers. Must be sent only by the writer.
+   * @param element the E to append
+   * @return boolean
+   */
+  @Override
+  public boolean add(final E element) {
+    final int index = size;
+    final int chunk = index >>> ChunkShift;
+    Object[][] directory = chunks;
+    if (chunk == directory.length) {
+      directory = Arrays.copyOf(directory, directory.length * 2);
+      chunks = directory;
+    }
+    if (directory[chunk] == null) {
+      directory[chunk] = new Object[ChunkSize];
+    }
+    directory[chunk][index & ChunkMask] = element;
+    size = index + 1;
+    return true;
+  }
+
+  /**
+   * Discard the element at {@code index} so that it may be reclaimed. Must be sent only by the writer.
+   * @param index the int index of the element to discard
+   */
+  public void discard(final int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + " Size: " + size);
+    }
+    final Object[] chunk = chunks[index >>> ChunkShift];
+    if (chunk != null) {
+      chunk[index & ChunkMask] = null;
+    }
+  }
+
+  /**
+   * Release every chunk that holds only elements below {@code index} so that they may be
+   * reclaimed, and answer the number of elements released. Must be sent only by the writer.
+   * @param index the int index below which whole chunks are released
+   * @return int
+   */
+  public int releaseBelow(final int index) {
+    final Object[][] directory = chunks;
+    final int belowChunk = Math.min(index, size) >>> ChunkShift;
+    int released = 0;
+    for (; releasedChunks < belowChunk; ++releasedChunks) {
+      directory[releasedChunks] = null;
+      released += ChunkSize;
+    }
+    chunks = directory; // publish the released chunks
+    return released;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public E get(final int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + " Size: " + size);
+    }
+    final Object[] chunk = chunks[index >>> ChunkShift];
+    return chunk == null ? null : (E) chunk[index & ChunkMask];
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+}
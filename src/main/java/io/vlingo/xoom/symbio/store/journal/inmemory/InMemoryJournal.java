@@ -16,13 +16,14 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import io.vlingo.xoom.actors.Definition;
 import io.vlingo.xoom.actors.Stoppable;
 import io.vlingo.xoom.actors.World;
 import io.vlingo.xoom.common.Completes;
+import io.vlingo.xoom.common.Failure;
 import io.vlingo.xoom.common.Success;
 import io.vlingo.xoom.symbio.BaseEntry;
 import io.vlingo.xoom.symbio.Entry;
@@ -32,56 +33,109 @@ import io.vlingo.xoom.symbio.Source;
 import io.vlingo.xoom.symbio.State;
 import io.vlingo.xoom.symbio.StateAdapterProvider;
 import io.vlingo.xoom.symbio.store.Result;
+import io.vlingo.xoom.symbio.store.StorageException;
+import io.vlingo.xoom.symbio.store.dispatch.DispatchBatcher;
+import io.vlingo.xoom.symbio.store.dispatch.DispatchSharding;
 import io.vlingo.xoom.symbio.store.dispatch.Dispatchable;
 import io.vlingo.xoom.symbio.store.dispatch.Dispatcher;
 import io.vlingo.xoom.symbio.store.dispatch.DispatcherControl;
 import io.vlingo.xoom.symbio.store.dispatch.DispatcherControl.DispatcherControlInstantiator;
+import io.vlingo.xoom.symbio.store.dispatch.FireAndForgetDispatcher;
 import io.vlingo.xoom.symbio.store.dispatch.control.DispatcherControlActor;
+import io.vlingo.xoom.symbio.store.dispatch.inmemory.DispatchableLedger;
 import io.vlingo.xoom.symbio.store.dispatch.inmemory.InMemoryDispatcherControlDelegate;
 import io.vlingo.xoom.symbio.store.journal.Journal;
 import io.vlingo.xoom.symbio.store.journal.JournalReader;
+import io.vlingo.xoom.symbio.store.journal.Snapshotter;
+import io.vlingo.xoom.symbio.store.journal.StreamIndex;
 import io.vlingo.xoom.symbio.store.journal.StreamReader;
 
 public class InMemoryJournal<T,RS extends State<?>> implements Journal<T>, Stoppable {
   private final EntryAdapterProvider entryAdapterProvider;
   private final StateAdapterProvider stateAdapterProvider;
-  private final List<Entry<T>> journal;
+  private final AppendOnlyLog<Entry<T>> journal;
+  private final JournalEntries<T> journalView;
   private final Map<String,JournalReader<? extends Entry<?>>> journalReaders;
   private final Map<String,StreamReader<T>> streamReaders;
-  private final Map<String, Map<Integer,Integer>> streamIndexes;
+  private final StreamIndex streamIndex;
   private final Map<String,RS> snapshots;
-  private final List<Dispatchable<Entry<T>, RS>> dispatchables;
-  private final List<Dispatcher<Dispatchable<Entry<T>,RS>>> dispatchers;
-  private final DispatcherControl dispatcherControl;
+  private final DispatchableLedger<Entry<T>, RS> dispatchables;
+  private final DispatchBatcher<Dispatchable<Entry<T>,RS>> dispatchBatcher;
+  private final List<Dispatcher<Dispatchable<Entry<T>,RS>>> dispatchTargets;
+  private final List<DispatcherControl> dispatcherControls;
+  private final List<JournalDispatchTracker<T,RS>> dispatchTrackers;
+  private final boolean retainsDispatchables;
+  private final Snapshotter<T> snapshotter;
+  private final InMemoryStreamReader<T> snapshotStreamReader;
+  private final Retention retention;
+  private final JournalSpill spill;
+  private final Map<String,Integer> truncatedVersions;
+  private long[] chunkFilledAt;
+  private boolean retentionDue;
+  private RetentionReport retained;
 
   @SuppressWarnings({ "rawtypes", "unchecked" })
   public InMemoryJournal(
           final List<Dispatcher<Dispatchable<Entry<T>,RS>>> dispatchers,
           final World world,
-          final long checkConfirmationExpirationInterval,
-          final long confirmationExpiration) {
+          final InMemoryJournalOptions options) {
 
     this.entryAdapterProvider = EntryAdapterProvider.instance(world);
     this.stateAdapterProvider = StateAdapterProvider.instance(world);
-    this.journal = new ArrayList<>();
+    this.journal = new AppendOnlyLog<>();
+    this.retention = options.retention();
+    this.spill = this.retention.spills() ? new JournalSpill(this.retention.spillDirectory()) : null;
+    this.journalView = new JournalEntries<>(journal, spill);
+    this.truncatedVersions = new HashMap<>();
+    this.chunkFilledAt = new long[16];
+    this.retained = RetentionReport.Empty;
     this.journalReaders = new HashMap<>(1);
     this.streamReaders = new HashMap<>(1);
-    this.streamIndexes = new HashMap<>();
-    this.snapshots = new HashMap<>();
+    this.streamIndex = new StreamIndex();
+    this.snapshots = new ConcurrentHashMap<>();
 
-    this.dispatchers = dispatchers;
-    this.dispatchables = new CopyOnWriteArrayList<>();
-    final InMemoryDispatcherControlDelegate<Entry<T>, RS> dispatcherControlDelegate = new InMemoryDispatcherControlDelegate<>(dispatchables);
+    if (options.snapshotPolicy() != null) {
+      this.snapshotter = new Snapshotter<>(options.snapshotPolicy(), options.stateFolder(), entryAdapterProvider, stateAdapterProvider);
+      this.snapshotStreamReader = new InMemoryStreamReader(journalView, streamIndex, snapshots, "__snapshotter");
+    } else {
+      this.snapshotter = null;
+      this.snapshotStreamReader = null;
+    }
 
-    this.dispatcherControl = world.stage().actorFor(
-            DispatcherControl.class,
-            Definition.has(
-                    DispatcherControlActor.class,
-                    new DispatcherControlInstantiator(
-                            dispatchers,
-                            dispatcherControlDelegate,
-                            checkConfirmationExpirationInterval,
-                            confirmationExpiration)));
+    final Function<Dispatchable<Entry<T>,RS>,String> streamNameOf = options.tracksDispatchedPositions() ?
+            dispatchable -> JournalDispatchTracker.streamNameOf(dispatchable.id()) :
+            InMemoryJournal::streamNameOf;
+    this.dispatchTargets = options.dispatchSharding().apply(dispatchers, streamNameOf, world.stage(), world.defaultLogger());
+    this.dispatchBatcher = new DispatchBatcher<>(dispatchTargets, options.dispatchBatchSize(), options.dispatchLingerMillis(), world.scheduler());
+    this.dispatchables = new DispatchableLedger<>(options.dispatchPressure());
+    this.dispatcherControls = new ArrayList<>(dispatchers.size());
+    this.dispatchTrackers = new ArrayList<>(dispatchers.size());
+    final List<Dispatcher<Dispatchable<Entry<T>,RS>>> confirming = FireAndForgetDispatcher.confirmingOf(dispatchers);
+
+    if (confirming.isEmpty()) {
+      // no dispatcher confirms, so nothing is retained or redispatched
+      this.retainsDispatchables = false;
+    } else if (options.tracksDispatchedPositions()) {
+      // each dispatcher confirms through its own control, which redispatches from the journal
+      this.retainsDispatchables = false;
+      for (final Dispatcher<Dispatchable<Entry<T>,RS>> dispatcher : confirming) {
+        final JournalDispatchTracker<T,RS> tracker = new JournalDispatchTracker<>(journalView, options.dispatchPressure());
+        dispatchTrackers.add(tracker);
+        dispatcherControls.add(dispatcherControlOf(world, Arrays.asList(dispatcher), tracker, options.checkConfirmationExpirationInterval(), options.confirmationExpiration()));
+      }
+    } else {
+      this.retainsDispatchables = true;
+      final InMemoryDispatcherControlDelegate<Entry<T>, RS> dispatcherControlDelegate = new InMemoryDispatcherControlDelegate<>(dispatchables);
+      dispatcherControls.add(dispatcherControlOf(world, confirming, dispatcherControlDelegate, options.checkConfirmationExpirationInterval(), options.confirmationExpiration()));
+    }
+  }
+
+  public InMemoryJournal(
+          final List<Dispatcher<Dispatchable<Entry<T>,RS>>> dispatchers,
+          final World world,
+          final long checkConfirmationExpirationInterval,
+          final long confirmationExpiration) {
+    this(dispatchers, world, InMemoryJournalOptions.defaults().withConfirmationExpiration(checkConfirmationExpirationInterval, confirmationExpiration));
   }
 
   public InMemoryJournal(final Dispatcher<Dispatchable<Entry<T>, RS>> dispatcher, final World world ) {
@@ -95,29 +149,40 @@ public class InMemoryJournal<T,RS extends State<?>> implements Journal<T>, Stopp
   @Override
   public <S, ST> void append(final String streamName, final int streamVersion, final Source<S> source, final Metadata metadata,
           final AppendResultInterest interest, final Object object) {
+    if (isOverloaded()) {
+      interest.appendResultedIn(Failure.of(overloaded()), streamName, streamVersion, source, Optional.empty(), object);
+      return;
+    }
     final Entry<T> entry = entryAdapterProvider.asEntry(source, streamVersion, metadata);
     insert(streamName, streamVersion, entry);
+    snapshotIfDue(streamName, Collections.singletonList(entry));
     dispatch(streamName, streamVersion, Collections.singletonList(entry), null);
+    retainIfDue();
     interest.appendResultedIn(Success.of(Result.Success), streamName, streamVersion, source, Optional.empty(), object);
   }
 
   @Override
   public <S, ST> void appendWith(final String streamName, final int streamVersion, final Source<S> source, final Metadata metadata, final ST snapshot,
           final AppendResultInterest interest, final Object object) {
+    if (isOverloaded()) {
+      interest.appendResultedIn(Failure.of(overloaded()), streamName, streamVersion, source, Optional.ofNullable(snapshot), object);
+      return;
+    }
     final Entry<T> entry = entryAdapterProvider.asEntry(source, streamVersion, metadata);
     insert(streamName, streamVersion, entry);
     final RS raw;
     final Optional<ST> snapshotResult;
     if (snapshot != null) {
-      raw = stateAdapterProvider.asRaw(streamName, snapshot, streamVersion);
-      snapshots.put(streamName, raw);
+      raw = snapshotProvided(streamName, snapshot, streamVersion);
       snapshotResult = Optional.of(snapshot);
     } else {
       raw = null;
+      snapshotIfDue(streamName, Collections.singletonList(entry));
       snapshotResult = Optional.empty();
     }
 
     dispatch(streamName, streamVersion, Collections.singletonList(entry), raw);
+    retainIfDue();
     interest.appendResultedIn(Success.of(Result.Success), streamName, streamVersion, source, snapshotResult, object);
   }
 
@@ -125,10 +190,16 @@ public class InMemoryJournal<T,RS extends State<?>> implements Journal<T>, Stopp
   @Override
   public <S, ST> void appendAll(final String streamName, final int fromStreamVersion, final List<Source<S>> sources, final Metadata metadata,
           final AppendResultInterest interest, final Object object) {
+    if (isOverloaded()) {
+      interest.appendAllResultedIn(Failure.of(overloaded()), streamName, fromStreamVersion, sources, Optional.empty(), object);
+      return;
+    }
     final List<Entry<T>> entries = entryAdapterProvider.asEntries(sources, fromStreamVersion, metadata);
     insert(streamName, fromStreamVersion, entries);
+    snapshotIfDue(streamName, entries);
 
     dispatch(streamName, fromStreamVersion, entries, null);
+    retainIfDue();
     interest.appendAllResultedIn(Success.of(Result.Success), streamName, fromStreamVersion, sources, Optional.empty(), object);
   }
 
@@ -136,20 +207,25 @@ public class InMemoryJournal<T,RS extends State<?>> implements Journal<T>, Stopp
   @Override
   public <S, ST> void appendAllWith(final String streamName, final int fromStreamVersion, final List<Source<S>> sources,
           final Metadata metadata, final ST snapshot, final AppendResultInterest interest, final Object object) {
+    if (isOverloaded()) {
+      interest.appendAllResultedIn(Failure.of(overloaded()), streamName, fromStreamVersion, sources, Optional.ofNullable(snapshot), object);
+      return;
+    }
     final List<Entry<T>> entries = entryAdapterProvider.asEntries(sources, fromStreamVersion, metadata);
     insert(streamName, fromStreamVersion, entries);
     final RS raw;
     final Optional<ST> snapshotResult;
     if (snapshot != null) {
-      raw = stateAdapterProvider.asRaw(streamName, snapshot, fromStreamVersion);
-      snapshots.put(streamName, raw);
+      raw = snapshotProvided(streamName, snapshot, fromStreamVersion);
       snapshotResult = Optional.of(snapshot);
     } else {
       raw = null;
+      snapshotIfDue(streamName, entries);
       snapshotResult = Optional.empty();
     }
 
     dispatch(streamName, fromStreamVersion, entries, raw);
+    retainIfDue();
     interest.appendAllResultedIn(Success.of(Result.Success), streamName, fromStreamVersion, sources, snapshotResult, object);
   }
 
@@ -158,7 +234,7 @@ public class InMemoryJournal<T,RS extends State<?>> implements Journal<T>, Stopp
   public <ET extends Entry<?>> Completes<JournalReader<ET>> journalReader(final String name) {
     JournalReader<?> reader = journalReaders.get(name);
     if (reader == null) {
-      reader = new InMemoryJournalReader(journal, name);
+      reader = new InMemoryJournalReader(journalView, name);
       journalReaders.put(name, reader);
     }
     return Completes.withSuccess((JournalReader<ET>) reader);
@@ -169,12 +245,47 @@ public class InMemoryJournal<T,RS extends State<?>> implements Journal<T>, Stopp
   public Completes<StreamReader<T>> streamReader(final String name) {
     StreamReader<T> reader = streamReaders.get(name);
     if (reader == null) {
-      reader = new InMemoryStreamReader(journal, streamIndexes, snapshots, name);
+      reader = new InMemoryStreamReader(journalView, streamIndex, snapshots, name);
       streamReaders.put(name, reader);
     }
     return Completes.withSuccess(reader);
   }
 
+  /**
+   * Release from memory the entries that my {@code Retention} no longer requires to be held,
+   * and answer what was released. This is also done automatically as entries are appended,
+   * and on the schedule of {@code retentionCheckIntervalMillis()} by my {@code InMemoryJournalActor},
+   * as entries may come to be older than the maximum age without further appends.
+   * @return RetentionReport
+   */
+  public RetentionReport retain() {
+    if (retention.isNone()) {
+      return RetentionReport.Empty;
+    }
+    retentionDue = false;
+    final RetentionReport report = spillRetained().plus(truncateBelowSnapshots());
+    retained = retained.plus(report);
+    return report;
+  }
+
+  /**
+   * Answer the milliseconds between scheduled checks of my age based {@code Retention}, which is
+   * half of the maximum age so that entries are held for at most one and a half times it, or 0
+   * when I do not spill by age.
+   * @return long
+   */
+  long retentionCheckIntervalMillis() {
+    return spill == null || retention.maximumAgeMillis() == 0 ? 0 : Math.max(1, retention.maximumAgeMillis() / 2);
+  }
+
+  /**
+   * Answer the total of what my {@code Retention} has released from memory.
+   * @return RetentionReport
+   */
+  public RetentionReport retained() {
+    return retained;
+  }
+
   @Override
   public void conclude() {
 
@@ -187,17 +298,24 @@ public class InMemoryJournal<T,RS extends State<?>> implements Journal<T>, Stopp
 
   @Override
   public void stop() {
-    dispatcherControl.stop();
+    dispatchBatcher.stop();
+    DispatchSharding.stopAll(dispatchTargets);
+    dispatcherControls.forEach(DispatcherControl::stop);
+    if (spill != null) {
+      spill.close();
+    }
   }
 
   private void insert(final String streamName, final int streamVersion, final Entry<T> entry) {
-    final int entryIndex = journal.size();
-    final String id = "" + (entryIndex + 1);
-    ((BaseEntry<T>) entry).__internal__setId(id); //questionable cast
+    final int position = journal.size() + 1;
+    ((BaseEntry<T>) entry).__internal__setPosition(position); //questionable cast
     journal.add(entry);
 
-    final Map<Integer, Integer> versionIndexes = streamIndexes.computeIfAbsent(streamName, k -> new HashMap<>());
-    versionIndexes.put(streamVersion, entryIndex);
+    streamIndex.index(streamName, streamVersion, position);
+
+    if ((position & (AppendOnlyLog.ChunkSize - 1)) == 0) {
+      chunkFilled(position >>> AppendOnlyLog.ChunkShift);
+    }
   }
 
   private void insert(final String streamName, final int fromStreamVersion, final List<Entry<T>> entries) {
@@ -208,15 +326,194 @@ public class InMemoryJournal<T,RS extends State<?>> implements Journal<T>, Stopp
     }
   }
 
+  private void chunkFilled(final int filledChunks) {
+    if (filledChunks > chunkFilledAt.length) {
+      chunkFilledAt = Arrays.copyOf(chunkFilledAt, chunkFilledAt.length * 2);
+    }
+    chunkFilledAt[filledChunks - 1] = System.currentTimeMillis();
+    retentionDue = !retention.isNone();
+  }
+
+  private void retainIfDue() {
+    if (retentionDue) {
+      retain();
+    }
+  }
+
+  private RetentionReport spillRetained() {
+    if (spill == null) {
+      return RetentionReport.Empty;
+    }
+
+    final int filledChunks = journal.size() >>> AppendOnlyLog.ChunkShift;
+    int retainedChunks = filledChunks;
+    if (retention.maximumEntries() > 0) {
+      retainedChunks = Math.max(0, journal.size() - retention.maximumEntries()) >>> AppendOnlyLog.ChunkShift;
+    }
+    if (retention.maximumAgeMillis() > 0) {
+      final long expiredAt = System.currentTimeMillis() - retention.maximumAgeMillis();
+      int expiredChunks = 0;
+      while (expiredChunks < filledChunks && chunkFilledAt[expiredChunks] <= expiredAt) {
+        ++expiredChunks;
+      }
+      retainedChunks = retention.maximumEntries() > 0 ? Math.max(retainedChunks, expiredChunks) : expiredChunks;
+    }
+
+    long spilledEntries = 0;
+    long reclaimedBytes = 0;
+    for (int chunk = spill.spilledChunks(); chunk < retainedChunks; ++chunk) {
+      final int firstIndex = chunk << AppendOnlyLog.ChunkShift;
+      final List<Entry<T>> entries = new ArrayList<>(AppendOnlyLog.ChunkSize);
+      for (int index = firstIndex; index < firstIndex + AppendOnlyLog.ChunkSize; ++index) {
+        entries.add(journal.get(index));
+      }
+      try {
+        spill.spill(entries);
+      } catch (IllegalArgumentException e) {
+        break; // only text and binary entries may be spilled, so these remain in memory
+      }
+      for (final Entry<T> entry : entries) {
+        if (entry != null) {
+          ++spilledEntries;
+          reclaimedBytes += bytesOf(entry);
+        }
+      }
+      journal.releaseBelow(firstIndex + AppendOnlyLog.ChunkSize);
+    }
+    return new RetentionReport(spilledEntries, 0, reclaimedBytes);
+  }
+
+  private RetentionReport truncateBelowSnapshots() {
+    if (!retention.truncatesBelowSnapshots()) {
+      return RetentionReport.Empty;
+    }
+
+    int readThrough = journal.size();
+    for (final JournalReader<?> reader : journalReaders.values()) {
+      readThrough = Math.min(readThrough, ((InMemoryJournalReader<?>) reader).readThrough());
+    }
+
+    long truncatedEntries = 0;
+    long reclaimedBytes = 0;
+    for (final Map.Entry<String,RS> snapshot : snapshots.entrySet()) {
+      final String streamName = snapshot.getKey();
+      final int belowVersion = snapshot.getValue().dataVersion;
+      int version = truncatedVersions.getOrDefault(streamName, 0) + 1;
+      for ( ; version < belowVersion; ++version) {
+        final int position = streamIndex.positionOf(streamName, version);
+        if (position > readThrough) {
+          break;
+        }
+        if (position != StreamIndex.NoPosition) {
+          final Entry<T> entry = journal.get(position - 1);
+          if (entry != null) {
+            journal.discard(position - 1);
+            ++truncatedEntries;
+            reclaimedBytes += bytesOf(entry);
+          } else if (spill != null && spill.discard(position)) {
+            ++truncatedEntries; // its bytes were reclaimed when spilled
+          }
+        }
+      }
+      truncatedVersions.put(streamName, version - 1);
+    }
+    return new RetentionReport(0, truncatedEntries, reclaimedBytes);
+  }
+
+  private static long bytesOf(final Entry<?> entry) {
+    final Object data = entry.entryData();
+    if (data instanceof String) {
+      return ((String) data).length() * (long) Character.BYTES;
+    } else if (data instanceof byte[]) {
+      return ((byte[]) data).length;
+    }
+    return 0;
+  }
+
+  private void snapshotIfDue(final String streamName, final List<Entry<T>> entries) {
+    if (snapshotter == null) {
+      return;
+    }
+    final RS raw = snapshotter.appended(streamName, entries, name -> snapshotStreamReader.streamFor(name).outcome());
+    if (raw != null) {
+      snapshots.put(streamName, raw);
+    }
+  }
+
+  // the appender's snapshot is the state before the entry at firstVersion, which is thus its data version
+  private <ST> RS snapshotProvided(final String streamName, final ST snapshot, final int firstVersion) {
+    final RS raw = stateAdapterProvider.asRaw(streamName, snapshot, firstVersion);
+    snapshots.put(streamName, raw);
+    if (snapshotter != null) {
+      snapshotter.snapshotProvided(streamName);
+    }
+    return raw;
+  }
+
   private void dispatch(final String streamName, final int streamVersion, final List<Entry<T>> entries, final RS snapshot){
-    final String id = getDispatchId(streamName, streamVersion, entries);
+    final String id = dispatchTrackers.isEmpty() ?
+            getDispatchId(streamName, streamVersion, entries) :
+            JournalDispatchTracker.dispatchIdOf(streamName, streamVersion, entries.get(0).position(), entries.get(entries.size() - 1).position());
     final Dispatchable<Entry<T>, RS> dispatchable = new Dispatchable<>(id,  LocalDateTime.now(), snapshot, entries);
-    this.dispatchables.add(dispatchable);
-    this.dispatchers.forEach(d -> d.dispatch(dispatchable));
+    if (retainsDispatchables) {
+      this.dispatchables.add(dispatchable);
+    }
+    this.dispatchBatcher.dispatch(dispatchable);
+  }
+
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  private static DispatcherControl dispatcherControlOf(
+          final World world,
+          final List dispatchers,
+          final DispatcherControl.DispatcherControlDelegate delegate,
+          final long checkConfirmationExpirationInterval,
+          final long confirmationExpiration) {
+    return world.stage().actorFor(
+            DispatcherControl.class,
+            Definition.has(
+                    DispatcherControlActor.class,
+                    new DispatcherControlInstantiator(
+                            dispatchers,
+                            delegate,
+                            checkConfirmationExpirationInterval,
+                            confirmationExpiration)));
+  }
+
+  private boolean isOverloaded() {
+    boolean overloaded = dispatchables.isOverloaded();
+    for (final JournalDispatchTracker<T,RS> tracker : dispatchTrackers) {
+      overloaded |= tracker.isOverloaded();
+    }
+    return overloaded;
+  }
+
+  private long outstandingDispatches() {
+    long outstanding = dispatchables.size();
+    for (final JournalDispatchTracker<T,RS> tracker : dispatchTrackers) {
+      outstanding = Math.max(outstanding, tracker.outstanding());
+    }
+    return outstanding;
+  }
+
+  // the dispatch id is the stream name followed by the version and the position of each entry
+  private static <T,RS extends State<?>> String streamNameOf(final Dispatchable<Entry<T>,RS> dispatchable) {
+    final String id = dispatchable.id();
+    int end = id.length();
+    for (int parts = dispatchable.entries().size() + 1; parts > 0 && end > 0; --parts) {
+      end = id.lastIndexOf(':', end - 1);
+    }
+    return end > 0 ? id.substring(0, end) : id;
+  }
+
+  private StorageException overloaded() {
+    return new StorageException(Result.Overloaded, "Overloaded by " + outstandingDispatches() + " unconfirmed dispatches.");
   }
 
   private static <T> String getDispatchId(final String streamName, final int streamVersion, final Collection<Entry<T>> entries) {
-    return streamName + ":" + streamVersion + ":"
-            + entries.stream().map(Entry::id).collect(Collectors.joining(":"));
+    final StringBuilder builder = new StringBuilder(streamName).append(':').append(streamVersion);
+    for (final Entry<T> entry : entries) {
+      builder.append(':').append(entry.position());
+    }
+    return builder.toString();
   }
 }
@@ -10,7 +10,9 @@ package io.vlingo.xoom.symbio.store.journal.inmemory;
 import io.vlingo.xoom.actors.Actor;
 import io.vlingo.xoom.actors.ActorInstantiator;
 import io.vlingo.xoom.actors.Definition;
+import io.vlingo.xoom.common.Cancellable;
 import io.vlingo.xoom.common.Completes;
+import io.vlingo.xoom.common.Scheduled;
 import io.vlingo.xoom.symbio.*;
 import io.vlingo.xoom.symbio.store.dispatch.Dispatchable;
 import io.vlingo.xoom.symbio.store.dispatch.Dispatcher;
@@ -20,13 +22,21 @@ import io.vlingo.xoom.symbio.store.journal.StreamReader;
 
 import java.util.List;
 
-public class InMemoryJournalActor<T,RS extends State<?>> extends Actor implements Journal<T> {
+public class InMemoryJournalActor<T,RS extends State<?>> extends Actor implements Journal<T>, Scheduled<Object> {
   private final EntryAdapterProvider entryAdapterProvider;
   private final InMemoryJournal<T,RS> journal;
+  private final Cancellable retentionChecks;
 
   public InMemoryJournalActor(final List<Dispatcher<Dispatchable<Entry<T>,RS>>> dispatchers) {
-    this.journal = new InMemoryJournal<>(dispatchers, stage().world());
+    this(dispatchers, InMemoryJournalOptions.defaults());
+  }
+
+  @SuppressWarnings("unchecked")
+  public InMemoryJournalActor(final List<Dispatcher<Dispatchable<Entry<T>,RS>>> dispatchers, final InMemoryJournalOptions options) {
+    this.journal = new InMemoryJournal<>(dispatchers, stage().world(), options);
     this.entryAdapterProvider = EntryAdapterProvider.instance(stage().world());
+    final long interval = journal.retentionCheckIntervalMillis();
+    this.retentionChecks = interval > 0 ? scheduler().schedule(selfAs(Scheduled.class), null, interval, interval) : null;
   }
 
   @Override
@@ -89,8 +99,16 @@ public class InMemoryJournalActor<T,RS extends State<?>> extends Actor implement
     return completes().with(actor);
   }
 
+  @Override
+  public void intervalSignal(final Scheduled<Object> scheduled, final Object data) {
+    journal.retain();
+  }
+
   @Override
   public void stop() {
+    if (retentionChecks != null) {
+      retentionChecks.cancel();
+    }
     journal.stop();
     super.stop();
   }
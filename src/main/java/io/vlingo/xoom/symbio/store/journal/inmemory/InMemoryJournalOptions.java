@@ -0,0 +1,197 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal.inmemory;
+
+import io.vlingo.xoom.symbio.store.dispatch.DispatchPressure;
+import io.vlingo.xoom.symbio.store.dispatch.DispatchSharding;
+import io.vlingo.xoom.symbio.store.journal.SnapshotPolicy;
+import io.vlingo.xoom.symbio.store.journal.StateFolder;
+
+/**
+ * The optional behaviors of an {@code InMemoryJournal<T,RS>}. By default a journal checks for
+ * expired confirmations every second, expires them after one second, takes no snapshots, retains
+ * every entry, dispatches each append immediately and in order on the appending thread, never
+ * signals pressure, and holds each unconfirmed dispatchable until it is confirmed.
+ */
+public final class InMemoryJournalOptions {
+  private final long checkConfirmationExpirationInterval;
+  private final long confirmationExpiration;
+  private final SnapshotPolicy snapshotPolicy;
+  private final StateFolder<?> stateFolder;
+  private final Retention retention;
+  private final int dispatchBatchSize;
+  private final long dispatchLingerMillis;
+  private final DispatchSharding dispatchSharding;
+  private final DispatchPressure dispatchPressure;
+  private final boolean tracksDispatchedPositions;
+
+  /**
+   * Answer the {@code InMemoryJournalOptions} of the default behaviors.
+   * @return InMemoryJournalOptions
+   */
+  public static InMemoryJournalOptions defaults() {
+    return new InMemoryJournalOptions(1000L, 1000L, null, null, Retention.none(), 1, 0, DispatchSharding.none(), DispatchPressure.unbounded(), false);
+  }
+
+  /**
+   * Answer a copy of me that checks for expired confirmations every {@code checkConfirmationExpirationInterval}
+   * milliseconds and expires those unconfirmed for {@code confirmationExpiration} milliseconds.
+   * @param checkConfirmationExpirationInterval the long milliseconds between checks
+   * @param confirmationExpiration the long milliseconds after which a confirmation expires
+   * @return InMemoryJournalOptions
+   */
+  public InMemoryJournalOptions withConfirmationExpiration(final long checkConfirmationExpirationInterval, final long confirmationExpiration) {
+    return new InMemoryJournalOptions(checkConfirmationExpirationInterval, confirmationExpiration, snapshotPolicy, stateFolder, retention,
+            dispatchBatchSize, dispatchLingerMillis, dispatchSharding, dispatchPressure, tracksDispatchedPositions);
+  }
+
+  /**
+   * Answer a copy of me that takes a snapshot of a stream whenever {@code snapshotPolicy} is due,
+   * by folding its entries with {@code stateFolder}.
+   * @param snapshotPolicy the SnapshotPolicy that determines when a snapshot is due
+   * @param stateFolder the {@code StateFolder<?>} that folds a stream's entries into its snapshot
+   * @return InMemoryJournalOptions
+   */
+  public InMemoryJournalOptions withSnapshots(final SnapshotPolicy snapshotPolicy, final StateFolder<?> stateFolder) {
+    if (snapshotPolicy == null || stateFolder == null) {
+      throw new IllegalArgumentException("Snapshot policy and state folder are required.");
+    }
+    return new InMemoryJournalOptions(checkConfirmationExpirationInterval, confirmationExpiration, snapshotPolicy, stateFolder, retention,
+            dispatchBatchSize, dispatchLingerMillis, dispatchSharding, dispatchPressure, tracksDispatchedPositions);
+  }
+
+  /**
+   * Answer a copy of me that releases entries from memory by {@code retention}.
+   * @param retention the Retention of my entries
+   * @return InMemoryJournalOptions
+   */
+  public InMemoryJournalOptions withRetention(final Retention retention) {
+    return new InMemoryJournalOptions(checkConfirmationExpirationInterval, confirmationExpiration, snapshotPolicy, stateFolder, retention,
+            dispatchBatchSize, dispatchLingerMillis, dispatchSharding, dispatchPressure, tracksDispatchedPositions);
+  }
+
+  /**
+   * Answer a copy of me that dispatches in batches of up to {@code dispatchBatchSize}, each waiting
+   * at most {@code dispatchLingerMillis} to fill.
+   * @param dispatchBatchSize the int maximum number of dispatchables in a batch
+   * @param dispatchLingerMillis the long maximum milliseconds a partial batch waits
+   * @return InMemoryJournalOptions
+   */
+  public InMemoryJournalOptions withDispatchBatching(final int dispatchBatchSize, final long dispatchLingerMillis) {
+    if (dispatchBatchSize <= 0 || dispatchLingerMillis < 0) {
+      throw new IllegalArgumentException("Dispatch batch size must be positive and linger must not be negative.");
+    }
+    return new InMemoryJournalOptions(checkConfirmationExpirationInterval, confirmationExpiration, snapshotPolicy, stateFolder, retention,
+            dispatchBatchSize, dispatchLingerMillis, dispatchSharding, dispatchPressure, tracksDispatchedPositions);
+  }
+
+  /**
+   * Answer a copy of me that dispatches through {@code dispatchSharding}.
+   * @param dispatchSharding the DispatchSharding of my dispatchers
+   * @return InMemoryJournalOptions
+   */
+  public InMemoryJournalOptions withDispatchSharding(final DispatchSharding dispatchSharding) {
+    return new InMemoryJournalOptions(checkConfirmationExpirationInterval, confirmationExpiration, snapshotPolicy, stateFolder, retention,
+            dispatchBatchSize, dispatchLingerMillis, dispatchSharding, dispatchPressure, tracksDispatchedPositions);
+  }
+
+  /**
+   * Answer a copy of me that signals the pressure of my unconfirmed dispatchables by {@code dispatchPressure}.
+   * @param dispatchPressure the DispatchPressure of my unconfirmed dispatchables
+   * @return InMemoryJournalOptions
+   */
+  public InMemoryJournalOptions withDispatchPressure(final DispatchPressure dispatchPressure) {
+    return new InMemoryJournalOptions(checkConfirmationExpirationInterval, confirmationExpiration, snapshotPolicy, stateFolder, retention,
+            dispatchBatchSize, dispatchLingerMillis, dispatchSharding, dispatchPressure, tracksDispatchedPositions);
+  }
+
+  /**
+   * Answer a copy of me that tracks each confirming dispatcher's dispatched journal positions,
+   * and redispatches from the journal, rather than holding each unconfirmed dispatchable.
+   * @return InMemoryJournalOptions
+   */
+  public InMemoryJournalOptions withDispatchedPositionTracking() {
+    return new InMemoryJournalOptions(checkConfirmationExpirationInterval, confirmationExpiration, snapshotPolicy, stateFolder, retention,
+            dispatchBatchSize, dispatchLingerMillis, dispatchSharding, dispatchPressure, true);
+  }
+
+  long checkConfirmationExpirationInterval() {
+    return checkConfirmationExpirationInterval;
+  }
+
+  long confirmationExpiration() {
+    return confirmationExpiration;
+  }
+
+  SnapshotPolicy snapshotPolicy() {
+    return snapshotPolicy;
+  }
+
+  StateFolder<?> stateFolder() {
+    return stateFolder;
+  }
+
+  Retention retention() {
+    return retention;
+  }
+
+  int dispatchBatchSize() {
+    return dispatchBatchSize;
+  }
+
+  long dispatchLingerMillis() {
+    return dispatchLingerMillis;
+  }
+
+  DispatchSharding dispatchSharding() {
+    return dispatchSharding;
+  }
+
+  DispatchPressure dispatchPressure() {
+    return dispatchPressure;
+  }
+
+  boolean tracksDispatchedPositions() {
+    return tracksDispatchedPositions;
+  }
+
+  @Override
+  public String toString() {
+    return "InMemoryJournalOptions[checkConfirmationExpirationInterval=" + checkConfirmationExpirationInterval +
+            " confirmationExpiration=" + confirmationExpiration + " snapshotPolicy=" + snapshotPolicy +
+            " retention=" + retention + " dispatchBatchSize=" + dispatchBatchSize + " dispatchLingerMillis=" + dispatchLingerMillis +
+            " dispatchSharding=" + dispatchSharding + " dispatchPressure=" + dispatchPressure +
+            " tracksDispatchedPositions=" + tracksDispatchedPositions + "]";
+  }
+
+  private InMemoryJournalOptions(
+          final long checkConfirmationExpirationInterval,
+          final long confirmationExpiration,
+          final SnapshotPolicy snapshotPolicy,
+          final StateFolder<?> stateFolder,
+          final Retention retention,
+          final int dispatchBatchSize,
+          final long dispatchLingerMillis,
+          final DispatchSharding dispatchSharding,
+          final DispatchPressure dispatchPressure,
+          final boolean tracksDispatchedPositions) {
+    if (retention == null || dispatchSharding == null || dispatchPressure == null) {
+      throw new IllegalArgumentException("Retention, dispatch sharding, and dispatch pressure are required.");
+    }
+    this.checkConfirmationExpirationInterval = checkConfirmationExpirationInterval;
+    this.confirmationExpiration = confirmationExpiration;
+    this.snapshotPolicy = snapshotPolicy;
+    this.stateFolder = stateFolder;
+    this.retention = retention;
+    this.dispatchBatchSize = dispatchBatchSize;
+    this.dispatchLingerMillis = dispatchLingerMillis;
+    this.dispatchSharding = dispatchSharding;
+    this.dispatchPressure = dispatchPressure;
+    this.tracksDispatchedPositions = tracksDispatchedPositions;
+  }
+}
@@ -13,10 +13,11 @@ import java.util.List;
 import io.vlingo.xoom.common.Completes;
 import io.vlingo.xoom.reactivestreams.Stream;
 import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.store.EntryPositions;
 import io.vlingo.xoom.symbio.store.journal.JournalReader;
 
 public class InMemoryJournalReader<T extends Entry<?>> implements JournalReader<T> {
-  private int currentIndex;
+  private volatile int currentIndex; // also read by the journal to gate retention
   private final List<Entry<T>> journalView;
   private final String name;
 
@@ -28,7 +29,7 @@ public class InMemoryJournalReader<T extends Entry<?>> implements JournalReader<
 
   @Override
   public void close() {
-    journalView.clear();
+    // the entries are owned by the journal
   }
 
   @Override
@@ -39,6 +40,7 @@ public class InMemoryJournalReader<T extends Entry<?>> implements JournalReader<
   @Override
   @SuppressWarnings("unchecked")
   public Completes<T> readNext() {
+    skipDropped();
     if (currentIndex < journalView.size()) {
       return Completes.withSuccess((T) journalView.get(currentIndex++));
     }
@@ -56,6 +58,7 @@ public class InMemoryJournalReader<T extends Entry<?>> implements JournalReader<
   public Completes<List<T>> readNext(final int maximumEntries) {
     final List<Entry<T>> entries = new ArrayList<>(maximumEntries);
     for (int count = 0; count < maximumEntries; ++count) {
+      skipDropped();
       if (currentIndex < journalView.size()) {
         entries.add(journalView.get(currentIndex++));
       } else {
@@ -71,6 +74,12 @@ public class InMemoryJournalReader<T extends Entry<?>> implements JournalReader<
     return readNext(maximumEntries);
   }
 
+  @Override
+  public Completes<List<T>> readNextFromPosition(final long fromPosition, final int maximumEntries) {
+    to(fromPosition);
+    return readNext(maximumEntries);
+  }
+
   @Override
   public void rewind() {
     currentIndex = 0;
@@ -101,6 +110,12 @@ public class InMemoryJournalReader<T extends Entry<?>> implements JournalReader<
     return Completes.withSuccess(currentId);
   }
 
+  @Override
+  public Completes<Long> seekToPosition(final long position) {
+    to(position);
+    return Completes.withSuccess(readCurrentPosition());
+  }
+
   @Override
   public Completes<Long> size() {
     return Completes.withSuccess((long) journalView.size());
@@ -111,11 +126,20 @@ public class InMemoryJournalReader<T extends Entry<?>> implements JournalReader<
     return null; // provided by InMemoryJournalReaderActor
   }
 
+  /**
+   * Answer the number of entries from the first that I have read past.
+   * @return int
+   */
+  int readThrough() {
+    return currentIndex;
+  }
+
   private void end() {
     currentIndex = journalView.size() - 1;
   }
 
   private String readCurrentId() {
+    skipDropped();
     if (currentIndex < journalView.size()) {
       final String currentId = journalView.get(currentIndex).id();
       return currentId;
@@ -123,13 +147,28 @@ public class InMemoryJournalReader<T extends Entry<?>> implements JournalReader<
     return "-1";
   }
 
+  private long readCurrentPosition() {
+    skipDropped();
+    if (currentIndex < journalView.size()) {
+      return journalView.get(currentIndex).position();
+    }
+    return Entry.UnknownPosition;
+  }
+
   private void to(final String id) {
-    rewind();
-    while (currentIndex < journalView.size()) {
-      final Entry<T> entry = journalView.get(currentIndex);
-      if (entry.id().equals(id)) {
-        return;
-      }
+    to(Entry.positionOf(id));
+  }
+
+  private void to(final long position) {
+    currentIndex = journalView instanceof JournalEntries ?
+            ((JournalEntries<?>) journalView).indexOf(position) :
+            EntryPositions.indexOf(journalView, position);
+  }
+
+  // entries dropped by the journal's retention are answered as null
+  private void skipDropped() {
+    final int size = journalView.size();
+    while (currentIndex < size && journalView.get(currentIndex) == null) {
       ++currentIndex;
     }
   }
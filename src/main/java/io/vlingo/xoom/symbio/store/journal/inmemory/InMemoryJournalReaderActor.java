@@ -56,6 +56,11 @@ public class InMemoryJournalReaderActor<T extends Entry<?>> extends Actor implem
     return completes().with(reader.readNext(fromId, maximumEntries).outcome());
   }
 
+  @Override
+  public Completes<List<T>> readNextFromPosition(final long fromPosition, final int maximumEntries) {
+    return completes().with(reader.readNextFromPosition(fromPosition, maximumEntries).outcome());
+  }
+
   @Override
   public void rewind() {
     reader.rewind();
@@ -66,6 +71,11 @@ public class InMemoryJournalReaderActor<T extends Entry<?>> extends Actor implem
     return completes().with(reader.seekTo(id).outcome());
   }
 
+  @Override
+  public Completes<Long> seekToPosition(final long position) {
+    return completes().with(reader.seekToPosition(position).outcome());
+  }
+
   @Override
   public Completes<Long> size() {
     return completes().with(reader.size().outcome());
@@ -8,29 +8,38 @@
 package io.vlingo.xoom.symbio.store.journal.inmemory;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import io.vlingo.xoom.common.Completes;
 import io.vlingo.xoom.symbio.BaseEntry;
 import io.vlingo.xoom.symbio.State;
 import io.vlingo.xoom.symbio.store.journal.EntityStream;
+import io.vlingo.xoom.symbio.store.journal.StreamIndex;
 import io.vlingo.xoom.symbio.store.journal.StreamReader;
 
 public class InMemoryStreamReader<T> implements StreamReader<T> {
+  private static final ForkJoinPool StreamsReadPool =
+          new ForkJoinPool(Runtime.getRuntime().availableProcessors(), InMemoryStreamReader::streamsReadThread, null, false);
+
   private final List<BaseEntry<T>> journalView;
   private final Map<String, State<T>> snapshotsView;
-  private final Map<String, Map<Integer,Integer>> streamIndexesView;
+  private final StreamIndex streamIndexView;
   private final String name;
 
   public InMemoryStreamReader(
           final List<BaseEntry<T>> journalView,
-          final Map<String, Map<Integer,Integer>> streamIndexesView,
+          final StreamIndex streamIndexView,
           final Map<String, State<T>> snapshotsView,
           final String name) {
 
     this.journalView = journalView;
-    this.streamIndexesView = streamIndexesView;
+    this.streamIndexView = streamIndexView;
     this.snapshotsView = snapshotsView;
     this.name = name;
   }
@@ -42,6 +51,47 @@ public class InMemoryStreamReader<T> implements StreamReader<T> {
 
   @Override
   public Completes<EntityStream<T>> streamFor(final String streamName, final int fromStreamVersion) {
+    return Completes.withSuccess(entityStreamFor(streamName, fromStreamVersion));
+  }
+
+  @Override
+  public Completes<EntityStream<T>> streamFor(final String streamName, final int fromStreamVersion, final int toStreamVersion) {
+    return Completes.withSuccess(entityStreamFor(streamName, fromStreamVersion, toStreamVersion, null));
+  }
+
+  /**
+   * Reads the chunks of streams in parallel on a {@code ForkJoinPool} dedicated to stream reads,
+   * which is safe because the journal publishes its entries, index, and snapshots to concurrent
+   * readers, and keeps reads of spilled entries off the common pool. I answer without waiting
+   * for the streams to be read. A chunk that fails is answered by {@code streamsReadFailed()},
+   * and {@code streamsReadCompleted()} is always answered once every chunk has been answered.
+   */
+  @Override
+  public void streamsFor(final Collection<String> streamNames, final int chunkSize, final StreamsResultInterest<T> interest) {
+    if (chunkSize <= 0) {
+      throw new IllegalArgumentException("Chunk size must be positive.");
+    }
+    final List<String> names = new ArrayList<>(streamNames);
+    if (names.isEmpty()) {
+      interest.streamsReadCompleted(0);
+      return;
+    }
+    final int chunks = (names.size() + chunkSize - 1) / chunkSize;
+    StreamsReadPool.execute(new StreamsReadTask(names, chunkSize, 0, chunks, interest, new AtomicInteger(chunks), new AtomicInteger()));
+  }
+
+  String name() {
+    return name;
+  }
+
+  private static ForkJoinWorkerThread streamsReadThread(final ForkJoinPool pool) {
+    final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+    thread.setName("xoom-symbio-streams-read-" + thread.getPoolIndex());
+    thread.setDaemon(true);
+    return thread;
+  }
+
+  private EntityStream<T> entityStreamFor(final String streamName, final int fromStreamVersion) {
     int version = fromStreamVersion;
     State<T> snapshot = snapshotsView.get(streamName);
     if (snapshot != null) {
@@ -51,21 +101,78 @@ public class InMemoryStreamReader<T> implements StreamReader<T> {
         snapshot = null; // reading from beyond snapshot
       }
     }
-    final List<BaseEntry<T>> entries = new ArrayList<>();
-    final Map<Integer,Integer> versionIndexes = streamIndexesView.get(streamName);
-    if (versionIndexes != null) {
-      Integer journalIndex = versionIndexes.get(version);
+    return entityStreamFor(streamName, version, Integer.MAX_VALUE, snapshot);
+  }
 
-      while (journalIndex != null) {
-        final BaseEntry<T> entry = journalView.get(journalIndex);
+  private EntityStream<T> entityStreamFor(final String streamName, final int fromStreamVersion, final int toStreamVersion, final State<T> snapshot) {
+    int lastVersion = fromStreamVersion - 1;
+    while (lastVersion < toStreamVersion && streamIndexView.positionOf(streamName, lastVersion + 1) != StreamIndex.NoPosition) {
+      ++lastVersion;
+    }
+    final List<BaseEntry<T>> entries = new ArrayList<>(lastVersion - fromStreamVersion + 1);
+    for (int version = fromStreamVersion; version <= lastVersion; ++version) {
+      final BaseEntry<T> entry = journalView.get(streamIndexView.positionOf(streamName, version) - 1);
+      if (entry != null) { // else dropped by retention, which drops only the earliest of a stream
         entries.add(entry);
-        journalIndex = versionIndexes.get(++version);
       }
     }
-    return Completes.withSuccess(new EntityStream<>(streamName, version - 1, entries, snapshot));
+    return new EntityStream<>(streamName, lastVersion, entries, snapshot);
   }
 
-  String name() {
-    return name;
+  private final class StreamsReadTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final int chunkSize;
+    private final AtomicInteger failedStreams;
+    private final int fromChunk;
+    private final StreamsResultInterest<T> interest;
+    private final List<String> names;
+    private final AtomicInteger remainingChunks;
+    private final int toChunk;
+
+    StreamsReadTask(
+            final List<String> names,
+            final int chunkSize,
+            final int fromChunk,
+            final int toChunk,
+            final StreamsResultInterest<T> interest,
+            final AtomicInteger remainingChunks,
+            final AtomicInteger failedStreams) {
+      this.names = names;
+      this.chunkSize = chunkSize;
+      this.fromChunk = fromChunk;
+      this.toChunk = toChunk;
+      this.interest = interest;
+      this.remainingChunks = remainingChunks;
+      this.failedStreams = failedStreams;
+    }
+
+    @Override
+    protected void compute() {
+      if (toChunk - fromChunk > 1) {
+        final int middle = (fromChunk + toChunk) >>> 1;
+        invokeAll(
+                new StreamsReadTask(names, chunkSize, fromChunk, middle, interest, remainingChunks, failedStreams),
+                new StreamsReadTask(names, chunkSize, middle, toChunk, interest, remainingChunks, failedStreams));
+        return;
+      }
+
+      final int from = fromChunk * chunkSize;
+      final int to = Math.min(from + chunkSize, names.size());
+      try {
+        final List<EntityStream<T>> streams = new ArrayList<>(to - from);
+        for (int index = from; index < to; ++index) {
+          streams.add(entityStreamFor(names.get(index), FirstStreamVersion));
+        }
+        interest.streamsRead(streams);
+      } catch (final Exception e) {
+        failedStreams.addAndGet(to - from);
+        interest.streamsReadFailed(names.subList(from, to), e);
+      } finally {
+        if (remainingChunks.decrementAndGet() == 0) {
+          interest.streamsReadCompleted(names.size() - failedStreams.get());
+        }
+      }
+    }
   }
 }
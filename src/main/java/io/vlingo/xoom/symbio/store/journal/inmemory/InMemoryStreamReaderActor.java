@@ -7,6 +7,8 @@
 
 package io.vlingo.xoom.symbio.store.journal.inmemory;
 
+import java.util.Collection;
+
 import io.vlingo.xoom.actors.Actor;
 import io.vlingo.xoom.common.Completes;
 import io.vlingo.xoom.symbio.store.journal.EntityStream;
@@ -34,4 +36,14 @@ public class InMemoryStreamReaderActor<T> extends Actor implements StreamReader<
   public Completes<EntityStream<T>> streamFor(final String streamName, final int fromStreamVersion) {
     return completes().with(reader.streamFor(streamName, fromStreamVersion).outcome());
   }
+
+  @Override
+  public Completes<EntityStream<T>> streamFor(final String streamName, final int fromStreamVersion, final int toStreamVersion) {
+    return completes().with(reader.streamFor(streamName, fromStreamVersion, toStreamVersion).outcome());
+  }
+
+  @Override
+  public void streamsFor(final Collection<String> streamNames, final int chunkSize, final StreamsResultInterest<T> interest) {
+    reader.streamsFor(streamNames, chunkSize, interest);
+  }
 }
@@ -0,0 +1,260 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal.inmemory;
+
+import java.time.LocalDateTime;
+import java.util.AbstractCollection;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+
+import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.State;
+import io.vlingo.xoom.symbio.store.dispatch.DispatchPressure;
+import io.vlingo.xoom.symbio.store.dispatch.Dispatchable;
+import io.vlingo.xoom.symbio.store.dispatch.DispatcherControl.DispatcherControlDelegate;
+
+/**
+ * The confirmations of a single {@code Dispatcher} of an {@code InMemoryJournal<T,RS>}, tracked
+ * as the journal position through which all entries are confirmed rather than by retaining each
+ * unconfirmed {@code Dispatchable}. Entries confirmed out of order beyond that watermark are held
+ * as ranges of positions, which merge into the watermark once the gaps below them are confirmed.
+ * <p>
+ * The dispatch id of an append covers its first and last positions, as in
+ * {@code streamName:streamVersion:firstPosition:lastPosition}. Unconfirmed entries are
+ * redispatched by reading the journal above the watermark, one entry per {@code Dispatchable},
+ * without snapshots, and with the id {@code position:position}. Their age is known only to
+ * within one interval of my {@code DispatcherControl}, as I mark the journal size each time
+ * that I am asked for the unconfirmed. Entries dropped by retention are not redispatched.
+ * <p>
+ * My confirmations are sent by my {@code DispatcherControl}, and {@code isOverloaded()} by the
+ * journal, each on its own thread.
+ *
+ * @param <T> the type of the entries
+ * @param <RS> the raw snapshot state type
+ */
+final class JournalDispatchTracker<T, RS extends State<?>> implements DispatcherControlDelegate<Entry<T>, RS> {
+  private final TreeMap<Long,Long> confirmedAhead;
+  private long confirmedAheadCount;
+  private long confirmedThrough;
+  private final JournalEntries<T> entries;
+  private final ArrayDeque<Mark> marks;
+  private boolean overloaded;
+  private final DispatchPressure pressure;
+
+  /**
+   * Answer the dispatch id of the append of {@code streamName} at {@code streamVersion}
+   * whose entries were inserted from {@code firstPosition} through {@code lastPosition}.
+   * @param streamName the String name of the stream
+   * @param streamVersion the int version of the first entry
+   * @param firstPosition the long position of the first entry
+   * @param lastPosition the long position of the last entry
+   * @return String
+   */
+  static String dispatchIdOf(final String streamName, final int streamVersion, final long firstPosition, final long lastPosition) {
+    return streamName + ':' + streamVersion + ':' + firstPosition + ':' + lastPosition;
+  }
+
+  /**
+   * Answer the stream name of the {@code dispatchId}, or the {@code dispatchId} itself if redispatched.
+   * @param dispatchId the String dispatch id
+   * @return String
+   */
+  static String streamNameOf(final String dispatchId) {
+    int end = dispatchId.length();
+    for (int parts = 3; parts > 0 && end > 0; --parts) {
+      end = dispatchId.lastIndexOf(':', end - 1);
+    }
+    return end > 0 ? dispatchId.substring(0, end) : dispatchId;
+  }
+
+  JournalDispatchTracker(final JournalEntries<T> entries, final DispatchPressure pressure) {
+    this.confirmedAhead = new TreeMap<>();
+    this.entries = entries;
+    this.marks = new ArrayDeque<>();
+    this.pressure = pressure;
+  }
+
+  @Override
+  public Collection<Dispatchable<Entry<T>, RS>> allUnconfirmedDispatchableStates() {
+    return unconfirmedThrough(entries.size(), LocalDateTime.now());
+  }
+
+  @Override
+  public synchronized Collection<Dispatchable<Entry<T>, RS>> allUnconfirmedDispatchableStatesOlderThan(final LocalDateTime cutoff) {
+    marks.add(new Mark(entries.size(), LocalDateTime.now()));
+
+    // only the latest mark before the cutoff is needed
+    Mark older = null;
+    while (!marks.isEmpty() && marks.peek().markedOn.isBefore(cutoff)) {
+      older = marks.poll();
+    }
+    if (older == null) {
+      return Collections.emptyList();
+    }
+    marks.addFirst(older);
+    return unconfirmedThrough(older.position, older.markedOn);
+  }
+
+  @Override
+  public void confirmDispatched(final String dispatchId) {
+    final int lastAt = dispatchId.lastIndexOf(':');
+    final int firstAt = dispatchId.lastIndexOf(':', lastAt - 1);
+    final long lastPosition = Long.parseLong(dispatchId.substring(lastAt + 1));
+    final long firstPosition = Long.parseLong(dispatchId.substring(firstAt + 1, lastAt));
+    confirm(firstPosition, lastPosition);
+  }
+
+  /**
+   * Answer whether my outstanding entries are above the high watermark of my {@code DispatchPressure},
+   * until they are at or below its low watermark, signaling its {@code Listener} of each change.
+   * @return boolean
+   */
+  @Override
+  public synchronized boolean isOverloaded() {
+    final long outstanding = outstanding();
+    if (!overloaded && outstanding >= pressure.highWatermark()) {
+      overloaded = true;
+      pressure.listener().pressureChanged(true, (int) Math.min(outstanding, Integer.MAX_VALUE));
+    } else if (overloaded && outstanding <= pressure.lowWatermark()) {
+      overloaded = false;
+      pressure.listener().pressureChanged(false, (int) outstanding);
+    }
+    return overloaded;
+  }
+
+  @Override
+  public synchronized void stop() {
+    confirmedAhead.clear();
+    marks.clear();
+  }
+
+  /**
+   * Answer the number of entries appended but not yet confirmed.
+   * @return long
+   */
+  synchronized long outstanding() {
+    return entries.size() - confirmedThrough - confirmedAheadCount;
+  }
+
+  /**
+   * Answer the position through which all entries are confirmed.
+   * @return long
+   */
+  synchronized long confirmedThrough() {
+    return confirmedThrough;
+  }
+
+  synchronized void confirm(final long firstPosition, final long lastPosition) {
+    if (lastPosition <= confirmedThrough) {
+      return;
+    }
+
+    if (firstPosition <= confirmedThrough + 1) {
+      confirmedThrough = lastPosition;
+      while (!confirmedAhead.isEmpty() && confirmedAhead.firstKey() <= confirmedThrough + 1) {
+        final Map.Entry<Long,Long> range = confirmedAhead.pollFirstEntry();
+        confirmedAheadCount -= range.getValue() - range.getKey() + 1;
+        confirmedThrough = Math.max(confirmedThrough, range.getValue());
+      }
+      return;
+    }
+
+    long first = firstPosition;
+    long last = lastPosition;
+    final Map.Entry<Long,Long> before = confirmedAhead.floorEntry(first);
+    if (before != null && before.getValue() >= first - 1) {
+      first = before.getKey();
+      last = Math.max(last, before.getValue());
+      confirmedAhead.remove(before.getKey());
+      confirmedAheadCount -= before.getValue() - before.getKey() + 1;
+    }
+    Map.Entry<Long,Long> after;
+    while ((after = confirmedAhead.ceilingEntry(first)) != null && after.getKey() <= last + 1) {
+      last = Math.max(last, after.getValue());
+      confirmedAhead.remove(after.getKey());
+      confirmedAheadCount -= after.getValue() - after.getKey() + 1;
+    }
+    confirmedAhead.put(first, last);
+    confirmedAheadCount += last - first + 1;
+  }
+
+  synchronized boolean isConfirmed(final long position) {
+    if (position <= confirmedThrough) {
+      return true;
+    }
+    final Map.Entry<Long,Long> range = confirmedAhead.floorEntry(position);
+    return range != null && range.getValue() >= position;
+  }
+
+  // the unconfirmed are read lazily, as my DispatcherControl may redispatch only some of them
+  private Collection<Dispatchable<Entry<T>, RS>> unconfirmedThrough(final long throughPosition, final LocalDateTime createdOn) {
+    final long fromPosition = confirmedThrough() + 1;
+
+    return new AbstractCollection<Dispatchable<Entry<T>, RS>>() {
+      @Override
+      public Iterator<Dispatchable<Entry<T>, RS>> iterator() {
+        return new Iterator<Dispatchable<Entry<T>, RS>>() {
+          private long position = fromPosition;
+          private Entry<T> next = advance();
+
+          @Override
+          public boolean hasNext() {
+            return next != null;
+          }
+
+          @Override
+          public Dispatchable<Entry<T>, RS> next() {
+            if (next == null) {
+              throw new NoSuchElementException();
+            }
+            final Entry<T> entry = next;
+            final long entryPosition = position++;
+            next = advance();
+            return new Dispatchable<>(entryPosition + ":" + entryPosition, createdOn, null, Collections.singletonList(entry));
+          }
+
+          private Entry<T> advance() {
+            for ( ; position <= throughPosition; ++position) {
+              if (!isConfirmed(position)) {
+                final Entry<T> entry = entries.get((int) position - 1);
+                if (entry != null) {
+                  return entry;
+                }
+              }
+            }
+            return null;
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        int size = 0;
+        for (final Iterator<?> iterator = iterator(); iterator.hasNext(); iterator.next()) {
+          ++size;
+        }
+        return size;
+      }
+    };
+  }
+
+  private static final class Mark {
+    final LocalDateTime markedOn;
+    final long position;
+
+    Mark(final long position, final LocalDateTime markedOn) {
+      this.markedOn = markedOn;
+      this.position = position;
+    }
+  }
+}
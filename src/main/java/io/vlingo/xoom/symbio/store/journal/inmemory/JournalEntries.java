@@ -0,0 +1,55 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal.inmemory;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+import io.vlingo.xoom.symbio.Entry;
+
+/**
+ * The read-only view of the entries of an {@code InMemoryJournal<T,RS>} given to its readers,
+ * in which the entry at index {@code i} has position {@code i + 1}. An entry spilled from memory
+ * is read back from the {@code JournalSpill}, and an entry dropped by retention is answered as null.
+ *
+ * @param <T> the type of the entries
+ */
+final class JournalEntries<T> extends AbstractList<Entry<T>> implements RandomAccess {
+  private final AppendOnlyLog<Entry<T>> log;
+  private final JournalSpill spill;
+
+  JournalEntries(final AppendOnlyLog<Entry<T>> log, final JournalSpill spill) {
+    this.log = log;
+    this.spill = spill;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public Entry<T> get(final int index) {
+    final Entry<T> entry = log.get(index);
+    if (entry == null && spill != null) {
+      return (Entry<T>) spill.entryAt(index + 1);
+    }
+    return entry;
+  }
+
+  /**
+   * Answer the index of the entry at {@code position}, or my size if there is no such entry.
+   * @param position the long position of the entry
+   * @return int
+   */
+  int indexOf(final long position) {
+    final int size = log.size();
+    return position >= 1 && position <= size ? (int) (position - 1) : size;
+  }
+
+  @Override
+  public int size() {
+    return log.size();
+  }
+}
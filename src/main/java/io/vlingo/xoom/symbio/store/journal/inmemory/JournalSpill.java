@@ -0,0 +1,204 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal.inmemory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.BitSet;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.store.journal.file.RecordCodec;
+
+/**
+ * The compressed files of the entries spilled from an {@code InMemoryJournal<T,RS>}, one file per
+ * {@code AppendOnlyLog} chunk. Chunks are spilled in order from the first, by the journal alone,
+ * and are read back on demand by any reader; the most recently read chunk is cached. A spilled
+ * entry that is later discarded remains in its file but is answered as null, and the file of a
+ * chunk is deleted once all of its entries are discarded.
+ * <p>
+ * The files are written to a subdirectory of the spill directory that is mine alone, so that
+ * journals may share a spill directory, and which is deleted when I am closed. A subdirectory
+ * left by a journal that was never stopped is not removed.
+ */
+final class JournalSpill {
+  private static final String DirectoryPrefix = "journal-";
+  private static final String FilePrefix = "spill-";
+  private static final String FileSuffix = ".gz";
+
+  private final File directory;
+  private final BitSet discarded;
+  private final BitSet present;
+  private volatile int spilledChunks;
+  private int cachedChunk;
+  private Entry<?>[] cachedEntries;
+
+  JournalSpill(final File spillDirectory) {
+    this.cachedChunk = -1;
+    this.discarded = new BitSet();
+    this.present = new BitSet();
+    if (!spillDirectory.exists() && !spillDirectory.mkdirs()) {
+      throw new IllegalStateException("Cannot create spill directory: " + spillDirectory);
+    }
+    try {
+      this.directory = Files.createTempDirectory(spillDirectory.toPath(), DirectoryPrefix).toFile();
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot create journal spill directory in: " + spillDirectory, e);
+    }
+  }
+
+  /**
+   * Answer the entry at {@code position} if it has been spilled, or null.
+   * @param position the long 1-based position of the entry
+   * @return {@code Entry<?>}
+   */
+  synchronized Entry<?> entryAt(final long position) {
+    final long index = position - 1;
+    final int chunk = (int) (index >>> AppendOnlyLog.ChunkShift);
+    if (index < 0 || chunk >= spilledChunks || discarded.get((int) index)) {
+      return null;
+    }
+    if (chunk != cachedChunk) {
+      cachedEntries = read(chunk);
+      cachedChunk = chunk;
+    }
+    return cachedEntries[(int) (index - ((long) chunk << AppendOnlyLog.ChunkShift))];
+  }
+
+  /**
+   * Discard the spilled entry at {@code position} so that it is no longer answered, and answer
+   * whether it was spilled and not already discarded. The file of its chunk is deleted once all
+   * of the chunk's spilled entries are discarded.
+   * @param position the long 1-based position of the entry
+   * @return boolean
+   */
+  synchronized boolean discard(final long position) {
+    final int index = (int) (position - 1);
+    final int chunk = index >>> AppendOnlyLog.ChunkShift;
+    if (index < 0 || chunk >= spilledChunks || !present.get(index) || discarded.get(index)) {
+      return false;
+    }
+    discarded.set(index);
+    final int first = chunk << AppendOnlyLog.ChunkShift;
+    final int end = first + AppendOnlyLog.ChunkSize;
+    if (present.get(first, end).cardinality() == discarded.get(first, end).cardinality()) {
+      fileOf(chunk).delete();
+      if (chunk == cachedChunk) {
+        cachedEntries = null;
+        cachedChunk = -1;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Answer the number of chunks spilled from the first.
+   * @return int
+   */
+  int spilledChunks() {
+    return spilledChunks;
+  }
+
+  /**
+   * Spill the {@code entries} of the next chunk, a null element being an entry already released.
+   * Answer the number of compressed bytes written.
+   * @param entries the {@code List<Entry<?>>} of the whole chunk
+   * @return long
+   * @throws IllegalArgumentException if an entry is neither text nor binary
+   */
+  long spill(final List<? extends Entry<?>> entries) {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream(entries.size() * 64);
+    try (final DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+      for (final Entry<?> entry : entries) {
+        out.writeBoolean(entry != null);
+        if (entry != null) {
+          RecordCodec.writeEntry(out, entry);
+        }
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot encode spilled entries.", e);
+    }
+
+    final int chunk = spilledChunks;
+    try {
+      Files.write(fileOf(chunk).toPath(), bytes.toByteArray());
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot write spilled entries: " + fileOf(chunk), e);
+    }
+    synchronized (this) {
+      int index = chunk << AppendOnlyLog.ChunkShift;
+      for (final Entry<?> entry : entries) {
+        if (entry != null) {
+          present.set(index);
+        }
+        ++index;
+      }
+    }
+    spilledChunks = chunk + 1;
+    return bytes.size();
+  }
+
+  void close() {
+    synchronized (this) {
+      cachedEntries = null;
+      cachedChunk = -1;
+    }
+    deleteFiles();
+    directory.delete();
+  }
+
+  /**
+   * Answer the directory of my files.
+   * @return File
+   */
+  File directory() {
+    return directory;
+  }
+
+  private void deleteFiles() {
+    final File[] files = directory.listFiles((dir, name) -> name.startsWith(FilePrefix) && name.endsWith(FileSuffix));
+    if (files != null) {
+      for (final File file : files) {
+        file.delete();
+      }
+    }
+  }
+
+  private File fileOf(final int chunk) {
+    return new File(directory, String.format("%s%010d%s", FilePrefix, chunk, FileSuffix));
+  }
+
+  private Entry<?>[] read(final int chunk) {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream(AppendOnlyLog.ChunkSize * 64);
+    try (final InputStream in = new GZIPInputStream(Files.newInputStream(fileOf(chunk).toPath()))) {
+      final byte[] buffer = new byte[8192];
+      for (int count = in.read(buffer); count != -1; count = in.read(buffer)) {
+        bytes.write(buffer, 0, count);
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot read spilled entries: " + fileOf(chunk), e);
+    }
+
+    final ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+    final Entry<?>[] entries = new Entry<?>[AppendOnlyLog.ChunkSize];
+    final long firstPosition = ((long) chunk << AppendOnlyLog.ChunkShift) + 1;
+    for (int index = 0; index < entries.length && buffer.hasRemaining(); ++index) {
+      if (buffer.get() != 0) {
+        entries[index] = RecordCodec.readEntry(buffer, firstPosition + index);
+      }
+    }
+    return entries;
+  }
+}
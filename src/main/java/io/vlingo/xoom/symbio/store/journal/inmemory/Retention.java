@@ -0,0 +1,141 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal.inmemory;
+
+import java.io.File;
+import java.time.Duration;
+
+/**
+ * Determines which entries an {@code InMemoryJournal<T,RS>} may release from memory.
+ * <p>
+ * The age and size based retentions spill the oldest entries, in chunks of several thousand,
+ * to compressed files in a spill directory, from which they remain readable by every
+ * {@code JournalReader} and {@code StreamReader}. Only text and binary entries may be spilled.
+ * Each journal spills to its own subdirectory of the spill directory, which may thus be shared.
+ * The age of entries is checked as chunks fill and, by an {@code InMemoryJournalActor}, every
+ * half of the maximum age.
+ * <p>
+ * The snapshot based retention drops each stream's entries whose versions are below that of
+ * its latest snapshot, once every registered {@code JournalReader} has read past them. A
+ * {@code StreamReader} never reads such entries because it starts from the snapshot, and a range
+ * read by {@code streamFor(name, from, to)} answers only those of its entries that are retained.
+ * <p>
+ * Retentions combine with {@code and(Retention)}.
+ */
+public final class Retention {
+  private final long maximumAgeMillis;
+  private final int maximumEntries;
+  private final File spillDirectory;
+  private final boolean truncateBelowSnapshots;
+
+  /**
+   * Answer a {@code Retention} that releases nothing.
+   * @return Retention
+   */
+  public static Retention none() {
+    return new Retention(0, 0, null, false);
+  }
+
+  /**
+   * Answer a {@code Retention} that spills entries appended longer ago than {@code maximumAge}
+   * to files in {@code spillDirectory}.
+   * @param maximumAge the Duration for which entries are held in memory
+   * @param spillDirectory the File directory of the spilled entries
+   * @return Retention
+   */
+  public static Retention spillOlderThan(final Duration maximumAge, final File spillDirectory) {
+    if (maximumAge.isNegative() || maximumAge.isZero()) {
+      throw new IllegalArgumentException("Maximum age must be positive.");
+    }
+    return new Retention(maximumAge.toMillis(), 0, spillDirectory, false);
+  }
+
+  /**
+   * Answer a {@code Retention} that spills the oldest entries to files in {@code spillDirectory}
+   * whenever more than {@code maximumEntries} are held in memory.
+   * @param maximumEntries the int number of entries held in memory
+   * @param spillDirectory the File directory of the spilled entries
+   * @return Retention
+   */
+  public static Retention spillBeyond(final int maximumEntries, final File spillDirectory) {
+    if (maximumEntries <= 0) {
+      throw new IllegalArgumentException("Maximum entries must be positive.");
+    }
+    return new Retention(0, maximumEntries, spillDirectory, false);
+  }
+
+  /**
+   * Answer a {@code Retention} that drops the entries below each stream's latest snapshot
+   * once every registered {@code JournalReader} has read past them.
+   * @return Retention
+   */
+  public static Retention truncateBelowSnapshots() {
+    return new Retention(0, 0, null, true);
+  }
+
+  /**
+   * Answer a new {@code Retention} that applies both me and {@code other}. When both spill,
+   * they must use the same spill directory.
+   * @param other the Retention to combine with me
+   * @return Retention
+   */
+  public Retention and(final Retention other) {
+    if (spillDirectory != null && other.spillDirectory != null && !spillDirectory.equals(other.spillDirectory)) {
+      throw new IllegalArgumentException("Retentions must spill to the same directory.");
+    }
+    return new Retention(
+            minimumOf(maximumAgeMillis, other.maximumAgeMillis),
+            (int) minimumOf(maximumEntries, other.maximumEntries),
+            spillDirectory != null ? spillDirectory : other.spillDirectory,
+            truncateBelowSnapshots || other.truncateBelowSnapshots);
+  }
+
+  boolean isNone() {
+    return !spills() && !truncateBelowSnapshots;
+  }
+
+  long maximumAgeMillis() {
+    return maximumAgeMillis;
+  }
+
+  int maximumEntries() {
+    return maximumEntries;
+  }
+
+  File spillDirectory() {
+    return spillDirectory;
+  }
+
+  boolean spills() {
+    return spillDirectory != null;
+  }
+
+  boolean truncatesBelowSnapshots() {
+    return truncateBelowSnapshots;
+  }
+
+  @Override
+  public String toString() {
+    return "Retention[maximumAgeMillis=" + maximumAgeMillis + " maximumEntries=" + maximumEntries +
+            " spillDirectory=" + spillDirectory + " truncateBelowSnapshots=" + truncateBelowSnapshots + "]";
+  }
+
+  private Retention(final long maximumAgeMillis, final int maximumEntries, final File spillDirectory, final boolean truncateBelowSnapshots) {
+    this.maximumAgeMillis = maximumAgeMillis;
+    this.maximumEntries = maximumEntries;
+    this.spillDirectory = spillDirectory;
+    this.truncateBelowSnapshots = truncateBelowSnapshots;
+  }
+
+  // zero means unlimited
+  private static long minimumOf(final long limit1, final long limit2) {
+    if (limit1 == 0) return limit2;
+    if (limit2 == 0) return limit1;
+    return Math.min(limit1, limit2);
+  }
+}
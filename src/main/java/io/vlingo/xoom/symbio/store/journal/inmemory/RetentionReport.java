@@ -0,0 +1,52 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal.inmemory;
+
+/**
+ * Reports the entries released from memory by a {@code Retention}, and an estimate of the
+ * bytes of entry data reclaimed by their release.
+ */
+public final class RetentionReport {
+  public static final RetentionReport Empty = new RetentionReport(0, 0, 0);
+
+  public final long spilledEntries;
+  public final long truncatedEntries;
+  public final long reclaimedBytes;
+
+  public RetentionReport(final long spilledEntries, final long truncatedEntries, final long reclaimedBytes) {
+    this.spilledEntries = spilledEntries;
+    this.truncatedEntries = truncatedEntries;
+    this.reclaimedBytes = reclaimedBytes;
+  }
+
+  /**
+   * Answer the number of entries released from memory.
+   * @return long
+   */
+  public long releasedEntries() {
+    return spilledEntries + truncatedEntries;
+  }
+
+  /**
+   * Answer a new {@code RetentionReport} that totals me and {@code other}.
+   * @param other the RetentionReport to add to me
+   * @return RetentionReport
+   */
+  public RetentionReport plus(final RetentionReport other) {
+    return new RetentionReport(
+            spilledEntries + other.spilledEntries,
+            truncatedEntries + other.truncatedEntries,
+            reclaimedBytes + other.reclaimedBytes);
+  }
+
+  @Override
+  public String toString() {
+    return "RetentionReport[spilledEntries=" + spilledEntries + " truncatedEntries=" + truncatedEntries +
+            " reclaimedBytes=" + reclaimedBytes + "]";
+  }
+}
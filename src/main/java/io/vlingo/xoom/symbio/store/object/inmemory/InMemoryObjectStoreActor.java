@@ -32,10 +32,14 @@ import io.vlingo.xoom.symbio.store.EntryReader;
 import io.vlingo.xoom.symbio.store.QueryExpression;
 import io.vlingo.xoom.symbio.store.Result;
 import io.vlingo.xoom.symbio.store.StorageException;
+import io.vlingo.xoom.symbio.store.dispatch.DispatchBatcher;
+import io.vlingo.xoom.symbio.store.dispatch.DispatchPressure;
+import io.vlingo.xoom.symbio.store.dispatch.DispatchSharding;
 import io.vlingo.xoom.symbio.store.dispatch.Dispatchable;
 import io.vlingo.xoom.symbio.store.dispatch.Dispatcher;
 import io.vlingo.xoom.symbio.store.dispatch.DispatcherControl;
 import io.vlingo.xoom.symbio.store.dispatch.DispatcherControl.DispatcherControlInstantiator;
+import io.vlingo.xoom.symbio.store.dispatch.FireAndForgetDispatcher;
 import io.vlingo.xoom.symbio.store.dispatch.control.DispatcherControlActor;
 import io.vlingo.xoom.symbio.store.object.ObjectStore;
 import io.vlingo.xoom.symbio.store.object.ObjectStoreDelegate;
@@ -51,7 +55,8 @@ import io.vlingo.xoom.symbio.store.state.StateStoreEntryReader;
 public class InMemoryObjectStoreActor extends Actor implements ObjectStore {
   private final EntryAdapterProvider entryAdapterProvider;
 
-  private final List<Dispatcher<Dispatchable<BaseEntry<?>,State<?>>>> dispatchers;
+  private final DispatchBatcher<Dispatchable<BaseEntry<?>,State<?>>> dispatchBatcher;
+  private final List<Dispatcher<Dispatchable<BaseEntry<?>,State<?>>>> dispatchTargets;
   private final DispatcherControl dispatcherControl;
   private final Map<String,StateStoreEntryReader<?>> entryReaders;
 
@@ -65,29 +70,67 @@ public class InMemoryObjectStoreActor extends Actor implements ObjectStore {
     this(dispatchers, 1000L, 1000L);
   }
 
-  @SuppressWarnings({ "unchecked", "rawtypes" })
   public InMemoryObjectStoreActor(
           final List<Dispatcher<Dispatchable<BaseEntry<?>,State<?>>>> dispatchers,
           final long checkConfirmationExpirationInterval,
           final long confirmationExpiration ) {
+    this(dispatchers, checkConfirmationExpirationInterval, confirmationExpiration, 1, 0);
+  }
+
+  public InMemoryObjectStoreActor(
+          final List<Dispatcher<Dispatchable<BaseEntry<?>,State<?>>>> dispatchers,
+          final long checkConfirmationExpirationInterval,
+          final long confirmationExpiration,
+          final int dispatchBatchSize,
+          final long dispatchLingerMillis) {
+    this(dispatchers, checkConfirmationExpirationInterval, confirmationExpiration, dispatchBatchSize, dispatchLingerMillis, DispatchSharding.none());
+  }
+
+  public InMemoryObjectStoreActor(
+          final List<Dispatcher<Dispatchable<BaseEntry<?>,State<?>>>> dispatchers,
+          final long checkConfirmationExpirationInterval,
+          final long confirmationExpiration,
+          final int dispatchBatchSize,
+          final long dispatchLingerMillis,
+          final DispatchSharding dispatchSharding) {
+    this(dispatchers, checkConfirmationExpirationInterval, confirmationExpiration, dispatchBatchSize, dispatchLingerMillis, dispatchSharding, DispatchPressure.unbounded());
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  public InMemoryObjectStoreActor(
+          final List<Dispatcher<Dispatchable<BaseEntry<?>,State<?>>>> dispatchers,
+          final long checkConfirmationExpirationInterval,
+          final long confirmationExpiration,
+          final int dispatchBatchSize,
+          final long dispatchLingerMillis,
+          final DispatchSharding dispatchSharding,
+          final DispatchPressure dispatchPressure) {
 
     this.entryAdapterProvider = EntryAdapterProvider.instance(stage().world());
 
-    this.dispatchers = dispatchers;
+    this.dispatchTargets = dispatchSharding.apply(dispatchers, InMemoryObjectStoreActor::stateIdOf, stage(), logger());
+    this.dispatchBatcher = new DispatchBatcher<>(dispatchTargets, dispatchBatchSize, dispatchLingerMillis, scheduler());
 
     this.entryReaders = new HashMap<>();
 
-    this.storeDelegate = new InMemoryObjectStoreDelegate(StateAdapterProvider.instance(stage().world()));
+    this.storeDelegate = new InMemoryObjectStoreDelegate(StateAdapterProvider.instance(stage().world()), dispatchPressure);
 
-    this.dispatcherControl = stage().actorFor(
-            DispatcherControl.class,
-            Definition.has(
-                    DispatcherControlActor.class,
-                    new DispatcherControlInstantiator(
-                            dispatchers,
-                            this.storeDelegate,
-                            checkConfirmationExpirationInterval,
-                            confirmationExpiration)));
+    final List<Dispatcher<Dispatchable<BaseEntry<?>,State<?>>>> confirming = FireAndForgetDispatcher.confirmingOf(dispatchers);
+
+    if (confirming.isEmpty()) {
+      // no dispatcher confirms, so nothing is retained or redispatched
+      this.dispatcherControl = null;
+    } else {
+      this.dispatcherControl = stage().actorFor(
+              DispatcherControl.class,
+              Definition.has(
+                      DispatcherControlActor.class,
+                      new DispatcherControlInstantiator(
+                              confirming,
+                              this.storeDelegate,
+                              checkConfirmationExpirationInterval,
+                              confirmationExpiration)));
+    }
   }
 
   /*
@@ -114,6 +157,10 @@ public class InMemoryObjectStoreActor extends Actor implements ObjectStore {
 
   @Override
   public <T extends StateObject, E> void persist(StateSources<T, E> stateSources, Metadata metadata, long updateId, PersistResultInterest interest, Object object) {
+    if (storeDelegate.isOverloaded()) {
+      interest.persistResultedIn(Failure.of(overloaded()), stateSources.stateObject(), 1, 0, object);
+      return;
+    }
     try {
       final T stateObject = stateSources.stateObject();
       final List<Source<E>> sources = stateSources.sources();
@@ -125,7 +172,9 @@ public class InMemoryObjectStoreActor extends Actor implements ObjectStore {
       final Dispatchable<BaseEntry<?>, State<?>> dispatchable = buildDispatchable(raw, entries);
 
       this.storeDelegate.persistEntries(entries);
-      this.storeDelegate.persistDispatchable(dispatchable);
+      if (dispatcherControl != null) {
+        this.storeDelegate.persistDispatchable(dispatchable);
+      }
 
       dispatch(dispatchable);
       interest.persistResultedIn(Success.of(Result.Success), stateObject, 1, 1, object);
@@ -137,7 +186,12 @@ public class InMemoryObjectStoreActor extends Actor implements ObjectStore {
 
   @Override
   public <T extends StateObject, E> void persistAll(Collection<StateSources<T, E>> allStateSources, Metadata metadata, long updateId, PersistResultInterest interest, Object object) {
+    if (storeDelegate.isOverloaded()) {
+      interest.persistResultedIn(Failure.of(overloaded()), null, allStateSources.size(), 0, object);
+      return;
+    }
     final Collection<T> allPersistentObjects = new ArrayList<>();
+    final List<Dispatchable<BaseEntry<?>, State<?>>> dispatchables = new ArrayList<>(allStateSources.size());
     try {
       for (StateSources<T, E> stateSources : allStateSources) {
         final T stateObject = stateSources.stateObject();
@@ -149,10 +203,13 @@ public class InMemoryObjectStoreActor extends Actor implements ObjectStore {
         this.storeDelegate.persistEntries(entries);
 
         final Dispatchable<BaseEntry<?>, State<?>> dispatchable = buildDispatchable(state, entries);
-        this.storeDelegate.persistDispatchable(dispatchable);
+        if (dispatcherControl != null) {
+          this.storeDelegate.persistDispatchable(dispatchable);
+        }
 
-        dispatch(buildDispatchable(state, entries));
+        dispatchables.add(dispatchable);
       }
+      dispatchBatcher.dispatchAll(dispatchables);
 
       interest.persistResultedIn(Success.of(Result.Success), allPersistentObjects, allPersistentObjects.size(), allPersistentObjects.size(), object);
     } catch (final StorageException e){
@@ -186,13 +243,17 @@ public class InMemoryObjectStoreActor extends Actor implements ObjectStore {
 
   @Override
   public void stop() {
-    dispatcherControl.stop();
+    dispatchBatcher.stop();
+    DispatchSharding.stopAll(dispatchTargets);
+    if (dispatcherControl != null) {
+      dispatcherControl.stop();
+    }
     super.stop();
   }
 
 
   private void dispatch(final Dispatchable<BaseEntry<?>, State<?>> dispatchable){
-    this.dispatchers.forEach(d -> d.dispatch(dispatchable));
+    this.dispatchBatcher.dispatch(dispatchable);
   }
 
   private static Dispatchable<BaseEntry<?>, State<?>> buildDispatchable(final State<?> state, final List<BaseEntry<?>> entries) {
@@ -200,6 +261,14 @@ public class InMemoryObjectStoreActor extends Actor implements ObjectStore {
     return new Dispatchable<>(id, LocalDateTime.now(), state, entries);
   }
 
+  private StorageException overloaded() {
+    return new StorageException(Result.Overloaded, "Overloaded by unconfirmed dispatches.");
+  }
+
+  private static String stateIdOf(final Dispatchable<BaseEntry<?>, State<?>> dispatchable) {
+    return dispatchable.state().map(state -> state.id).orElse(dispatchable.id());
+  }
+
   private static String getDispatchId(final State<?> raw, final List<BaseEntry<?>> entries) {
     return raw.id + ":" + entries.stream().map(Entry::id).collect(Collectors.joining(":"));
   }
@@ -12,11 +12,10 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.CopyOnWriteArrayList;
 
-import io.vlingo.xoom.common.identity.IdentityGenerator;
 import io.vlingo.xoom.symbio.BaseEntry;
 import io.vlingo.xoom.symbio.Metadata;
 import io.vlingo.xoom.symbio.State;
@@ -24,8 +23,10 @@ import io.vlingo.xoom.symbio.StateAdapterProvider;
 import io.vlingo.xoom.symbio.store.QueryExpression;
 import io.vlingo.xoom.symbio.store.Result;
 import io.vlingo.xoom.symbio.store.StorageException;
+import io.vlingo.xoom.symbio.store.dispatch.DispatchPressure;
 import io.vlingo.xoom.symbio.store.dispatch.Dispatchable;
 import io.vlingo.xoom.symbio.store.dispatch.DispatcherControl;
+import io.vlingo.xoom.symbio.store.dispatch.inmemory.DispatchableLedger;
 import io.vlingo.xoom.symbio.store.object.ObjectStoreDelegate;
 import io.vlingo.xoom.symbio.store.object.ObjectStoreReader.QueryMultiResults;
 import io.vlingo.xoom.symbio.store.object.ObjectStoreReader.QuerySingleResult;
@@ -33,23 +34,29 @@ import io.vlingo.xoom.symbio.store.object.StateObject;
 import io.vlingo.xoom.symbio.store.object.StateObjectMapper;
 
 public class InMemoryObjectStoreDelegate
-        implements ObjectStoreDelegate<BaseEntry<?>, State<?>>, DispatcherControl.DispatcherControlDelegate<BaseEntry<?>, State<?>> {
+        implements ObjectStoreDelegate<BaseEntry<?>, State<?>>, DispatcherControl.IncrementalDispatcherControlDelegate<BaseEntry<?>, State<?>> {
 
+  private long nextEntryPosition;
   private long nextId;
 
   private final Map<Class<?>,Map<Long, State<?>>> stores;
   private final List<BaseEntry<?>> entries;
-  private final List<Dispatchable<BaseEntry<?>, State<?>>> dispatchables;
+  private final DispatchableLedger<BaseEntry<?>, State<?>> dispatchables;
+  private final DispatchPressure pressure;
   private final StateAdapterProvider stateAdapterProvider;
-  private final IdentityGenerator identityGenerator;
 
   public InMemoryObjectStoreDelegate(final StateAdapterProvider stateAdapterProvider) {
+    this(stateAdapterProvider, DispatchPressure.unbounded());
+  }
+
+  public InMemoryObjectStoreDelegate(final StateAdapterProvider stateAdapterProvider, final DispatchPressure pressure) {
     this.stateAdapterProvider = stateAdapterProvider;
     this.stores = new HashMap<>();
     this.entries = new ArrayList<>();
-    this.dispatchables = new CopyOnWriteArrayList<>();
-    this.identityGenerator = new IdentityGenerator.RandomIdentityGenerator();
+    this.pressure = pressure;
+    this.dispatchables = new DispatchableLedger<>(pressure);
 
+    this.nextEntryPosition = 1;
     this.nextId = 1;
   }
 
@@ -98,7 +105,7 @@ public class InMemoryObjectStoreDelegate
   @Override
   @SuppressWarnings("rawtypes")
   public ObjectStoreDelegate copy() {
-    return new InMemoryObjectStoreDelegate(this.stateAdapterProvider);
+    return new InMemoryObjectStoreDelegate(this.stateAdapterProvider, this.pressure);
   }
 
   /**
@@ -162,7 +169,7 @@ public class InMemoryObjectStoreDelegate
   @Override
   public void persistEntries(final Collection<BaseEntry<?>> entries) {
     entries.forEach(baseEntry -> {
-      baseEntry.__internal__setId(identityGenerator.generate().toString());
+      baseEntry.__internal__setPosition(nextEntryPosition++);
     });
     this.entries.addAll(entries);
   }
@@ -221,7 +228,39 @@ public class InMemoryObjectStoreDelegate
    */
   @Override
   public Collection<Dispatchable<BaseEntry<?>, State<?>>> allUnconfirmedDispatchableStates() {
-    return new ArrayList<>(dispatchables);
+    return new ArrayList<>(dispatchables.unconfirmed());
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Collection<Dispatchable<BaseEntry<?>, State<?>>> allUnconfirmedDispatchableStatesOlderThan(final LocalDateTime cutoff) {
+    return dispatchables.unconfirmedOlderThan(cutoff);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Collection<Dispatchable<BaseEntry<?>, State<?>>> unconfirmedDispatchableStatesAdded() {
+    return dispatchables.drainAdded();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isUnconfirmed(final Dispatchable<BaseEntry<?>, State<?>> dispatchable) {
+    return dispatchables.isUnconfirmed(dispatchable);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isOverloaded() {
+    return dispatchables.isOverloaded();
   }
 
   /**
@@ -229,10 +268,15 @@ public class InMemoryObjectStoreDelegate
    */
   @Override
   public void confirmDispatched(final String dispatchId) {
-    dispatchables.stream()
-            .filter(d -> d.id().equals(dispatchId))
-            .findFirst()
-            .ifPresent(dispatchables::remove);
+    dispatchables.confirm(dispatchId);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void confirmDispatched(final Collection<String> dispatchIds) {
+    dispatchables.confirmAll(dispatchIds);
   }
 
   List<BaseEntry<?>> readOnlyJournal() {
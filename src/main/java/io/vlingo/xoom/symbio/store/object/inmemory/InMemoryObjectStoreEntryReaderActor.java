@@ -8,6 +8,7 @@ import io.vlingo.xoom.common.Completes;
 import io.vlingo.xoom.reactivestreams.Stream;
 import io.vlingo.xoom.symbio.Entry;
 import io.vlingo.xoom.symbio.EntryAdapterProvider;
+import io.vlingo.xoom.symbio.store.EntryPositions;
 import io.vlingo.xoom.symbio.store.EntryReaderStream;
 import io.vlingo.xoom.symbio.store.journal.JournalReader;
 import io.vlingo.xoom.symbio.store.object.ObjectStoreEntryReader;
@@ -69,6 +70,12 @@ public class InMemoryObjectStoreEntryReaderActor extends Actor implements Object
     return readNext(maximumEntries);
   }
 
+  @Override
+  public Completes<List<Entry<String>>> readNextFromPosition(final long fromPosition, final int maximumEntries) {
+    to(fromPosition);
+    return readNext(maximumEntries);
+  }
+
   @Override
   public void rewind() {
     this.currentIndex = 0;
@@ -99,6 +106,12 @@ public class InMemoryObjectStoreEntryReaderActor extends Actor implements Object
     return completes().with(currentId);
   }
 
+  @Override
+  public Completes<Long> seekToPosition(final long position) {
+    to(position);
+    return completes().with(readCurrentPosition());
+  }
+
   @Override
   public Completes<Long> size() {
     return completes().with((long) entriesView.size());
@@ -122,14 +135,18 @@ public class InMemoryObjectStoreEntryReaderActor extends Actor implements Object
     return "-1";
   }
 
-  private void to(final String id) {
-    rewind();
-    while (currentIndex < entriesView.size()) {
-      final Entry<String> entry = entriesView.get(currentIndex);
-      if (entry.id().equals(id)) {
-        return;
-      }
-      ++currentIndex;
+  private long readCurrentPosition() {
+    if (currentIndex < entriesView.size()) {
+      return entriesView.get(currentIndex).position();
     }
+    return Entry.UnknownPosition;
+  }
+
+  private void to(final String id) {
+    to(Entry.positionOf(id));
+  }
+
+  private void to(final long position) {
+    currentIndex = EntryPositions.indexOf(entriesView, position);
   }
 }
@@ -7,9 +7,13 @@
 
 package io.vlingo.xoom.symbio.store.state;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import io.vlingo.xoom.actors.Actor;
 import io.vlingo.xoom.actors.ActorInstantiator;
@@ -17,12 +21,15 @@ import io.vlingo.xoom.actors.Definition;
 import io.vlingo.xoom.actors.Environment;
 import io.vlingo.xoom.actors.Stage;
 import io.vlingo.xoom.common.Completes;
+import io.vlingo.xoom.common.Outcome;
 import io.vlingo.xoom.common.Tuple2;
 import io.vlingo.xoom.reactivestreams.Stream;
 import io.vlingo.xoom.symbio.Entry;
 import io.vlingo.xoom.symbio.Metadata;
 import io.vlingo.xoom.symbio.Source;
 import io.vlingo.xoom.symbio.store.QueryExpression;
+import io.vlingo.xoom.symbio.store.Result;
+import io.vlingo.xoom.symbio.store.StorageException;
 
 /**
  * Provides a partitioning {@code StateStore}. All reads and writes are from/to the same storage and tables.
@@ -35,6 +42,8 @@ import io.vlingo.xoom.symbio.store.QueryExpression;
  * (2) The underlying {@code Actor} must use a {@code Mailbox} that supports {@code int pendingMessages()}. Otherwise,
  * the smallest mailbox (least busy reader) operations cannot be supported, and it does not make much sense to use
  * this a partitioning {@code StateStore}.
+ * (3) Each writer that dispatches would otherwise create its own {@code DispatcherControl} and schedule, so an
+ * {@code InstantiatorProvider} should instead give its writers one shared {@code PartitionedDispatcherControl}.
  */
 public class PartitioningStateStore implements StateStore {
 
@@ -169,6 +178,45 @@ public class PartitioningStateStore implements StateStore {
     writerOf(id).write(id, state, stateVersion, sources, metadata, interest, object);
   }
 
+  /**
+   * Scatters the {@code bundles} to their writers by id, each writing its own part as a whole.
+   * The writes are not atomic across parts. Once all parts are done, the {@code interest} receives
+   * a single result when every part succeeded or every part failed. Otherwise it receives the
+   * written and the failed bundles separately, by {@code writeResultedIn(failure, written, failed, object)}.
+   * @see io.vlingo.xoom.symbio.store.state.StateStoreWriter#writeAll(java.util.Collection, io.vlingo.xoom.symbio.store.state.StateStore.WriteResultInterest, java.lang.Object)
+   */
+  @Override
+  public void writeAll(final Collection<TypedStateBundle> bundles, final WriteResultInterest interest, final Object object) {
+    final List<List<TypedStateBundle>> parts = new ArrayList<>(writers.length);
+    for (int idx = 0; idx < writers.length; ++idx) {
+      parts.add(null);
+    }
+
+    int partitions = 0;
+    for (final TypedStateBundle bundle : bundles) {
+      final int index = partitionOf(bundle.id, writers.length);
+      if (parts.get(index) == null) {
+        parts.set(index, new ArrayList<>());
+        ++partitions;
+      }
+      parts.get(index).add(bundle);
+    }
+
+    if (partitions <= 1) {
+      final int index = bundles.isEmpty() ? 0 : partitionOf(bundles.iterator().next().id, writers.length);
+      writers[index]._1.writeAll(bundles, interest, object);
+      return;
+    }
+
+    final ScatteredWriteResultInterest scattered = new ScatteredWriteResultInterest(interest, object, partitions);
+    for (int idx = 0; idx < writers.length; ++idx) {
+      final List<TypedStateBundle> part = parts.get(idx);
+      if (part != null) {
+        writers[idx]._1.writeAll(part, scattered, null);
+      }
+    }
+  }
+
   /*
    * @see io.vlingo.xoom.symbio.store.state.StateStore#entryReader(java.lang.String)
    */
@@ -250,6 +298,51 @@ public class PartitioningStateStore implements StateStore {
     return writers[index]._1;
   }
 
+  private static class ScatteredWriteResultInterest implements WriteResultInterest {
+    private final Collection<TypedStateBundle> failed;
+    private final AtomicReference<Outcome<StorageException,Result>> failure;
+    private final WriteResultInterest interest;
+    private final Object object;
+    private final AtomicInteger remaining;
+    private final Collection<TypedStateBundle> written;
+
+    @Override
+    public <S,C> void writeResultedIn(final Outcome<StorageException,Result> outcome, final String id, final S state, final int stateVersion, final List<Source<C>> sources, final Object object) {
+      interest.writeResultedIn(outcome, id, state, stateVersion, sources, this.object);
+    }
+
+    @Override
+    public void writeResultedIn(final Outcome<StorageException,Result> outcome, final Collection<TypedStateBundle> bundles, final Object object) {
+      outcome.andThen(result -> {
+        written.addAll(bundles);
+        return result;
+      }).otherwise(cause -> {
+        failure.compareAndSet(null, outcome);
+        failed.addAll(bundles);
+        return cause.result;
+      });
+      if (remaining.decrementAndGet() == 0) {
+        final Outcome<StorageException,Result> firstFailure = failure.get();
+        if (firstFailure == null) {
+          interest.writeResultedIn(outcome, new ArrayList<>(written), this.object);
+        } else if (written.isEmpty()) {
+          interest.writeResultedIn(firstFailure, new ArrayList<>(failed), this.object);
+        } else {
+          interest.writeResultedIn(firstFailure, new ArrayList<>(written), new ArrayList<>(failed), this.object);
+        }
+      }
+    }
+
+    private ScatteredWriteResultInterest(final WriteResultInterest interest, final Object object, final int partitions) {
+      this.failed = new ConcurrentLinkedQueue<>();
+      this.failure = new AtomicReference<>();
+      this.interest = interest;
+      this.object = object;
+      this.remaining = new AtomicInteger(partitions);
+      this.written = new ConcurrentLinkedQueue<>();
+    }
+  }
+
   private class HookInstantiator<A extends Actor> implements ActorInstantiator<A> {
     private static final long serialVersionUID = 1L;
 
@@ -8,12 +8,14 @@
 package io.vlingo.xoom.symbio.store.state;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import io.vlingo.xoom.actors.Actor;
 import io.vlingo.xoom.actors.ActorInstantiator;
 import io.vlingo.xoom.common.Completes;
 import io.vlingo.xoom.common.Outcome;
+import io.vlingo.xoom.common.Success;
 import io.vlingo.xoom.symbio.Entry;
 import io.vlingo.xoom.symbio.Metadata;
 import io.vlingo.xoom.symbio.Source;
@@ -47,15 +49,25 @@ public interface StateStore extends StateStoreReader, StateStoreWriter {
     public final Object state;
     public final int stateVersion;
     public final Metadata metadata;
+    public final List<Source<?>> sources;
 
-    public TypedStateBundle(final String id, final Class<?> type, final Object state, final int stateVersion, final Metadata metadata) {
+    public TypedStateBundle(final String id, final Class<?> type, final Object state, final int stateVersion, final List<Source<?>> sources, final Metadata metadata) {
       this.id = id;
       this.type = type;
       this.state = state;
       this.stateVersion = stateVersion;
+      this.sources = sources == null ? Collections.emptyList() : sources;
       this.metadata = metadata;
     }
 
+    public TypedStateBundle(final String id, final Class<?> type, final Object state, final int stateVersion, final Metadata metadata) {
+      this(id, type, state, stateVersion, Collections.emptyList(), metadata);
+    }
+
+    public TypedStateBundle(final String id, final Object state, final int stateVersion, final List<Source<?>> sources, final Metadata metadata) {
+      this(id, null, state, stateVersion, sources, metadata);
+    }
+
     public TypedStateBundle(final String id, final Object state, final int stateVersion, final Metadata metadata) {
       this(id, null, state, stateVersion, metadata);
     }
@@ -117,6 +129,40 @@ public interface StateStore extends StateStoreReader, StateStoreWriter {
      * @param <C> the native source type
      */
     <S,C> void writeResultedIn(final Outcome<StorageException,Result> outcome, final String id, final S state, final int stateVersion, final List<Source<C>> sources, final Object object);
+
+    /**
+     * Implemented by the interest of a given State Store for multi-write operation results.
+     * <p>NOTE: The {@code outcome} applies to all {@code bundles}, which were written or failed as a
+     * whole. If not overridden, the {@code outcome} is answered for each of the {@code bundles}
+     * as if they were written one by one.
+     * @param outcome the {@code Outcome<StorageException,Result>} of the multi-write
+     * @param bundles the {@code Collection<TypedStateBundle>} that were possibly written
+     * @param object the Object passed to writeAll() that is sent back to the receiver
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    default void writeResultedIn(final Outcome<StorageException,Result> outcome, final Collection<TypedStateBundle> bundles, final Object object) {
+      for (final TypedStateBundle bundle : bundles) {
+        writeResultedIn(outcome, bundle.id, bundle.state, bundle.stateVersion, (List) bundle.sources, object);
+      }
+    }
+
+    /**
+     * Implemented by the interest of a given State Store for the results of a multi-write that
+     * was written in parts, of which some were written while others failed.
+     * <p>NOTE: The {@code written} bundles succeeded, and the {@code failed} bundles were not written
+     * and failed by {@code failure}, the first of the failed parts. If not overridden, each is answered
+     * to {@code writeResultedIn(outcome, bundles, object)} with its own outcome.
+     * @param failure the {@code Outcome<StorageException,Result>} of the first failed part
+     * @param written the {@code Collection<TypedStateBundle>} that were written
+     * @param failed the {@code Collection<TypedStateBundle>} that were not written
+     * @param object the Object passed to writeAll() that is sent back to the receiver
+     */
+    default void writeResultedIn(final Outcome<StorageException,Result> failure, final Collection<TypedStateBundle> written, final Collection<TypedStateBundle> failed, final Object object) {
+      if (!written.isEmpty()) {
+        writeResultedIn(Success.of(Result.Success), written, object);
+      }
+      writeResultedIn(failure, failed, object);
+    }
   }
 
   /**
@@ -22,6 +22,8 @@ public class StateStoreEntryReader__Proxy<T extends io.vlingo.xoom.symbio.Entry<
   private static final String readNextRepresentation8 = "readNext()";
   private static final String seekToRepresentation9 = "seekTo(java.lang.String)";
   private static final String streamAllRepresentation10 = "streamAll()";
+  private static final String readNextFromPositionRepresentation11 = "readNextFromPosition(long, int)";
+  private static final String seekToPositionRepresentation12 = "seekToPosition(long)";
 
   private final Actor actor;
   private final Mailbox mailbox;
@@ -143,6 +145,33 @@ public class StateStoreEntryReader__Proxy<T extends io.vlingo.xoom.symbio.Entry<
     return null;
   }
 
+  @Override
+  public io.vlingo.xoom.common.Completes<java.util.List<T>> readNextFromPosition(long arg0, int arg1) {
+    if (!actor.isStopped()) {
+      final SerializableConsumer<StateStoreEntryReader> consumer = (actor) -> actor.readNextFromPosition(arg0, arg1);
+      final io.vlingo.xoom.common.Completes<java.util.List<T>> completes = Completes.using(actor.scheduler());
+      if (mailbox.isPreallocated()) { mailbox.send(actor, StateStoreEntryReader.class, consumer, Returns.value(completes), readNextFromPositionRepresentation11); }
+      else { mailbox.send(new LocalMessage<StateStoreEntryReader>(actor, StateStoreEntryReader.class, consumer, Returns.value(completes), readNextFromPositionRepresentation11)); }
+      return completes;
+    } else {
+      actor.deadLetters().failedDelivery(new DeadLetter(actor, readNextFromPositionRepresentation11));
+    }
+    return null;
+  }
+  @Override
+  public io.vlingo.xoom.common.Completes<java.lang.Long> seekToPosition(long arg0) {
+    if (!actor.isStopped()) {
+      final SerializableConsumer<StateStoreEntryReader> consumer = (actor) -> actor.seekToPosition(arg0);
+      final io.vlingo.xoom.common.Completes<java.lang.Long> completes = Completes.using(actor.scheduler());
+      if (mailbox.isPreallocated()) { mailbox.send(actor, StateStoreEntryReader.class, consumer, Returns.value(completes), seekToPositionRepresentation12); }
+      else { mailbox.send(new LocalMessage<StateStoreEntryReader>(actor, StateStoreEntryReader.class, consumer, Returns.value(completes), seekToPositionRepresentation12)); }
+      return completes;
+    } else {
+      actor.deadLetters().failedDelivery(new DeadLetter(actor, seekToPositionRepresentation12));
+    }
+    return null;
+  }
+
   @Override
   public Completes<Stream> streamAll() {
     if (!actor.isStopped()) {
@@ -13,13 +13,17 @@ import io.vlingo.xoom.actors.LocalMessage;
 import io.vlingo.xoom.actors.Mailbox;
 import io.vlingo.xoom.common.SerializableConsumer;
 import io.vlingo.xoom.symbio.Source;
+import io.vlingo.xoom.symbio.store.state.StateStore.TypedStateBundle;
 import io.vlingo.xoom.symbio.store.state.StateStore.WriteResultInterest;
 
+import java.util.Collection;
 import java.util.List;
 
 public class StateStoreWriteResultInterest__Proxy implements io.vlingo.xoom.symbio.store.state.StateStore.WriteResultInterest {
 
   private static final String writeResultedInRepresentation1 = "writeResultedIn(io.vlingo.xoom.common.Outcome<io.vlingo.xoom.symbio.store.StorageException, io.vlingo.xoom.symbio.store.Result>, java.lang.String, S, int, List<Source<C>>, java.lang.Object)";
+  private static final String writeResultedInRepresentation2 = "writeResultedIn(io.vlingo.xoom.common.Outcome<io.vlingo.xoom.symbio.store.StorageException, io.vlingo.xoom.symbio.store.Result>, java.util.Collection<io.vlingo.xoom.symbio.store.state.StateStore.TypedStateBundle>, java.lang.Object)";
+  private static final String writeResultedInRepresentation3 = "writeResultedIn(io.vlingo.xoom.common.Outcome<io.vlingo.xoom.symbio.store.StorageException, io.vlingo.xoom.symbio.store.Result>, java.util.Collection<io.vlingo.xoom.symbio.store.state.StateStore.TypedStateBundle>, java.util.Collection<io.vlingo.xoom.symbio.store.state.StateStore.TypedStateBundle>, java.lang.Object)";
 
   private final Actor actor;
   private final Mailbox mailbox;
@@ -39,4 +43,26 @@ public class StateStoreWriteResultInterest__Proxy implements io.vlingo.xoom.symb
       actor.deadLetters().failedDelivery(new DeadLetter(actor, writeResultedInRepresentation1));
     }
   }
+
+  @Override
+  public void writeResultedIn(io.vlingo.xoom.common.Outcome<io.vlingo.xoom.symbio.store.StorageException, io.vlingo.xoom.symbio.store.Result> arg0, final Collection<TypedStateBundle> arg1, java.lang.Object arg2) {
+    if (!actor.isStopped()) {
+      final SerializableConsumer<WriteResultInterest> consumer = (actor) -> actor.writeResultedIn(arg0, arg1, arg2);
+      if (mailbox.isPreallocated()) { mailbox.send(actor, WriteResultInterest.class, consumer, null, writeResultedInRepresentation2); }
+      else { mailbox.send(new LocalMessage<WriteResultInterest>(actor, WriteResultInterest.class, consumer, writeResultedInRepresentation2)); }
+    } else {
+      actor.deadLetters().failedDelivery(new DeadLetter(actor, writeResultedInRepresentation2));
+    }
+  }
+
+  @Override
+  public void writeResultedIn(io.vlingo.xoom.common.Outcome<io.vlingo.xoom.symbio.store.StorageException, io.vlingo.xoom.symbio.store.Result> arg0, final Collection<TypedStateBundle> arg1, final Collection<TypedStateBundle> arg2, java.lang.Object arg3) {
+    if (!actor.isStopped()) {
+      final SerializableConsumer<WriteResultInterest> consumer = (actor) -> actor.writeResultedIn(arg0, arg1, arg2, arg3);
+      if (mailbox.isPreallocated()) { mailbox.send(actor, WriteResultInterest.class, consumer, null, writeResultedInRepresentation3); }
+      else { mailbox.send(new LocalMessage<WriteResultInterest>(actor, WriteResultInterest.class, consumer, writeResultedInRepresentation3)); }
+    } else {
+      actor.deadLetters().failedDelivery(new DeadLetter(actor, writeResultedInRepresentation3));
+    }
+  }
 }
@@ -7,11 +7,21 @@
 
 package io.vlingo.xoom.symbio.store.state;
 
+import io.vlingo.xoom.common.Outcome;
+import io.vlingo.xoom.common.Success;
 import io.vlingo.xoom.symbio.Metadata;
 import io.vlingo.xoom.symbio.Source;
+import io.vlingo.xoom.symbio.store.Result;
+import io.vlingo.xoom.symbio.store.StorageException;
+import io.vlingo.xoom.symbio.store.state.StateStore.TypedStateBundle;
 import io.vlingo.xoom.symbio.store.state.StateStore.WriteResultInterest;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Defines the writer of the {@code StateStore}.
@@ -130,4 +140,93 @@ public interface StateStoreWriter {
    * @param <C> the concrete type of the sources
    */
   <S,C> void write(final String id, final S state, final int stateVersion, final List<Source<C>> sources, final Metadata metadata, final WriteResultInterest interest, final Object object);
+
+  /**
+   * Write the states of all {@code bundles} along with appending their sources, and dispatch the
+   * single result of all to the {@code interest}. Each bundle must have its id, state, stateVersion,
+   * and optionally its sources and metadata. Whether the states are written as a whole depends on
+   * the implementation, which documents its own atomicity: some write all states or none, while
+   * others write in parts, of which some may be written while others fail.
+   * @param bundles the {@code Collection<TypedStateBundle>} of the states to write
+   * @param interest the WriteResultInterest to which the result is dispatched
+   */
+  default void writeAll(final Collection<TypedStateBundle> bundles, final WriteResultInterest interest) {
+    writeAll(bundles, interest, null);
+  }
+
+  /**
+   * Write the states of all {@code bundles} along with appending their sources, and dispatch the
+   * single result of all to the {@code interest}. Each bundle must have its id, state, stateVersion,
+   * and optionally its sources and metadata. Whether the states are written as a whole depends on
+   * the implementation, which documents its own atomicity: some write all states or none, while
+   * others write in parts, of which some may be written while others fail.
+   * <p>NOTE: By default each state is written by {@code write()}, and so some may be written while
+   * others fail, which the {@code interest} learns by {@code writeResultedIn(failure, written, failed, object)}.
+   * An implementation that writes all states or none overrides this.
+   * @param bundles the {@code Collection<TypedStateBundle>} of the states to write
+   * @param interest the WriteResultInterest to which the result is dispatched
+   * @param object an Object that will be sent to the WriteResultInterest when the writes have succeeded or failed
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  default void writeAll(final Collection<TypedStateBundle> bundles, final WriteResultInterest interest, final Object object) {
+    if (bundles.isEmpty()) {
+      interest.writeResultedIn(Success.of(Result.Success), bundles, object);
+      return;
+    }
+    final WriteAllResultCollector collector = new WriteAllResultCollector(bundles, interest, object);
+    for (final TypedStateBundle bundle : bundles) {
+      write(bundle.id, bundle.state, bundle.stateVersion, (List) bundle.sources, bundle.metadata, collector, bundle);
+    }
+  }
+
+  /**
+   * Collects results of the writes of {@code StateStoreWriter#writeAll()} into the single result of all.
+   */
+  static class WriteAllResultCollector implements WriteResultInterest {
+    private final Collection<TypedStateBundle> bundles;
+    private final Collection<TypedStateBundle> failed;
+    private final AtomicReference<Outcome<StorageException, Result>> failure;
+    private final WriteResultInterest interest;
+    private final Object object;
+    private final AtomicInteger remaining;
+    private final Collection<TypedStateBundle> written;
+
+    public WriteAllResultCollector(final Collection<TypedStateBundle> bundles, final WriteResultInterest interest, final Object object) {
+      this.bundles = bundles;
+      this.failed = new ConcurrentLinkedQueue<>();
+      this.failure = new AtomicReference<>();
+      this.interest = interest;
+      this.object = object;
+      this.remaining = new AtomicInteger(bundles.size());
+      this.written = new ConcurrentLinkedQueue<>();
+    }
+
+    /**
+     * Single result collector, for which the {@code object} is the written {@code TypedStateBundle}.
+     */
+    @Override
+    public <S,C> void writeResultedIn(final Outcome<StorageException, Result> outcome, final String id, final S state, final int stateVersion, final List<Source<C>> sources, final Object object) {
+      final TypedStateBundle bundle = (TypedStateBundle) object;
+      outcome.andThen(result -> {
+        written.add(bundle);
+        return result;
+      })
+      .otherwise(cause -> {
+        failure.compareAndSet(null, outcome);
+        failed.add(bundle);
+        return cause.result;
+      });
+
+      if (remaining.decrementAndGet() == 0) {
+        final Outcome<StorageException, Result> firstFailure = failure.get();
+        if (firstFailure == null) {
+          interest.writeResultedIn(outcome, bundles, this.object);
+        } else if (written.isEmpty()) {
+          interest.writeResultedIn(firstFailure, bundles, this.object);
+        } else {
+          interest.writeResultedIn(firstFailure, new ArrayList<>(written), new ArrayList<>(failed), this.object);
+        }
+      }
+    }
+  }
 }
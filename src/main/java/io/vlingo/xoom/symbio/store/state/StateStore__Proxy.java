@@ -25,6 +25,7 @@ import io.vlingo.xoom.symbio.store.QueryExpression;
 public class StateStore__Proxy implements io.vlingo.xoom.symbio.store.state.StateStore {
 
   private static final String writeRepresentation1 = "write(java.lang.String, S, int, java.util.List<Source<?>>, io.vlingo.xoom.symbio.Metadata, io.vlingo.xoom.symbio.store.state.StateStore.WriteResultInterest, java.lang.Object)";
+  private static final String writeRepresentation1a = "writeAll(java.util.Collection<io.vlingo.xoom.symbio.store.state.StateStore.TypedStateBundle>, io.vlingo.xoom.symbio.store.state.StateStore.WriteResultInterest, java.lang.Object)";
   private static final String readRepresentation2 = "read(java.lang.String, java.lang.Class<?>, io.vlingo.xoom.symbio.store.state.StateStore.ReadResultInterest, java.lang.Object)";
   private static final String readRepresentation2a = "readAll(java.util.Collection<io.vlingo.xoom.symbio.store.state.StateStore.TypedStateBundle>, io.vlingo.xoom.symbio.store.state.StateStore.ReadResultInterest, java.lang.Object)";
   private static final String entryReaderRepresentation3 = "entryReader(java.lang.String)";
@@ -50,6 +51,16 @@ public class StateStore__Proxy implements io.vlingo.xoom.symbio.store.state.Stat
     }
   }
   @Override
+  public void writeAll(final Collection<TypedStateBundle> arg0, final WriteResultInterest arg1, final Object arg2) {
+    if (!actor.isStopped()) {
+      final SerializableConsumer<StateStore> consumer = (actor) -> actor.writeAll(arg0, arg1, arg2);
+      if (mailbox.isPreallocated()) { mailbox.send(actor, StateStore.class, consumer, null, writeRepresentation1a); }
+      else { mailbox.send(new LocalMessage<StateStore>(actor, StateStore.class, consumer, writeRepresentation1a)); }
+    } else {
+      actor.deadLetters().failedDelivery(new DeadLetter(actor, writeRepresentation1a));
+    }
+  }
+  @Override
   public void read(java.lang.String arg0, java.lang.Class<?> arg1, io.vlingo.xoom.symbio.store.state.StateStore.ReadResultInterest arg2, java.lang.Object arg3) {
     if (!actor.isStopped()) {
       final SerializableConsumer<StateStore> consumer = (actor) -> actor.read(arg0, arg1, arg2, arg3);
@@ -0,0 +1,449 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.state;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.vlingo.xoom.actors.Actor;
+import io.vlingo.xoom.common.Cancellable;
+import io.vlingo.xoom.common.Completes;
+import io.vlingo.xoom.common.Failure;
+import io.vlingo.xoom.common.Outcome;
+import io.vlingo.xoom.common.Scheduled;
+import io.vlingo.xoom.common.Success;
+import io.vlingo.xoom.reactivestreams.Stream;
+import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.Metadata;
+import io.vlingo.xoom.symbio.Source;
+import io.vlingo.xoom.symbio.store.QueryExpression;
+import io.vlingo.xoom.symbio.store.Result;
+import io.vlingo.xoom.symbio.store.StorageException;
+
+/**
+ * A write-behind {@code StateStore} in front of any other {@code StateStore}. I acknowledge each
+ * write as soon as it is buffered, coalescing the repeated writes of an id into its latest state
+ * along with all of their sources, and write the buffer to my {@code store} by {@code writeAll()}
+ * once it holds {@code batchWriteCount} states, and no less often than every
+ * {@code timeBetweenFlushWrites} milliseconds.
+ * <p>
+ * My reads answer the buffered state of an id, if any, and otherwise read from my {@code store}.
+ * The buffered states are keyed by store name, as my {@code store} keys them, so that a state
+ * whose own type is not mapped to a store name is read by its nearest mapped supertype.
+ * Streams and entry readers are answered by my {@code store} following a flush, and so may not
+ * yet include the states of the flush.
+ * <p>
+ * Only one flush is written at a time. The states of a flush that fails for any reason other than
+ * a concurrency violation are buffered again, ahead of any later writes of the same ids, and are
+ * retried by the next flush, up to {@code maximumFlushRetries} times per state, after which they
+ * are dropped. A later write of a retried state is retried as many times as remain to it. Each
+ * failed flush is logged and signaled to my {@code FlushListener}, separating those dropped.
+ * <p>
+ * When stopped, I flush my buffer a final time, as I do any write received meanwhile, and stop
+ * only once the results of all flushes are received, none of which are then retried, so that
+ * each failed flush is still signaled.
+ * <p>
+ * WARNING: A write is acknowledged before it is stored. A write of a stale version that is not
+ * detected against my buffer fails only when flushed, after which it is discarded, as are all
+ * buffered writes if I am not stopped before my process ends.
+ */
+public class WriteBehindStateStoreActor extends Actor implements StateStore, Scheduled<Object>, StateStore.WriteResultInterest {
+  /**
+   * Receives each failed flush on my thread, which must not block.
+   */
+  @FunctionalInterface
+  public static interface FlushListener {
+    /**
+     * The flush of the {@code failed} states failed by {@code cause}.
+     * @param cause the StorageException by which the flush failed
+     * @param failed the {@code Collection<TypedStateBundle>} of the states that were not written
+     * @param retried the boolean indicating whether the failed states are buffered to be retried
+     */
+    void flushFailed(final StorageException cause, final Collection<TypedStateBundle> failed, final boolean retried);
+  }
+
+  /**
+   * The default maximum number of times the states of a failed flush are retried.
+   */
+  public static final int DefaultMaximumFlushRetries = 10;
+
+  private final long batchWriteCount;
+  private Map<String, Pending> buffer;
+  private final Cancellable flushes;
+  private final Map<String, Pending> inFlight;
+  private final WriteResultInterest flushInterest;
+  private final FlushListener listener;
+  private final int maximumFlushRetries;
+  private final StateStore store;
+  private boolean stopping;
+
+  public WriteBehindStateStoreActor(final StateStore store) {
+    this(store, DefaultTimeBetweenFlushWrites, DefaultBatchWriteCount);
+  }
+
+  /**
+   * Construct my state.
+   * @param store the StateStore to which my buffered writes are flushed
+   * @param timeBetweenFlushWrites the long milliseconds between flushes of a partial buffer
+   * @param batchWriteCount the long number of distinct buffered states that causes a flush
+   */
+  public WriteBehindStateStoreActor(final StateStore store, final long timeBetweenFlushWrites, final long batchWriteCount) {
+    this(store, timeBetweenFlushWrites, batchWriteCount, (cause, failed, retried) -> { });
+  }
+
+  /**
+   * Construct my state.
+   * @param store the StateStore to which my buffered writes are flushed
+   * @param timeBetweenFlushWrites the long milliseconds between flushes of a partial buffer
+   * @param batchWriteCount the long number of distinct buffered states that causes a flush
+   * @param listener the FlushListener to which each failed flush is signaled
+   */
+  public WriteBehindStateStoreActor(final StateStore store, final long timeBetweenFlushWrites, final long batchWriteCount, final FlushListener listener) {
+    this(store, timeBetweenFlushWrites, batchWriteCount, listener, DefaultMaximumFlushRetries);
+  }
+
+  /**
+   * Construct my state.
+   * @param store the StateStore to which my buffered writes are flushed
+   * @param timeBetweenFlushWrites the long milliseconds between flushes of a partial buffer
+   * @param batchWriteCount the long number of distinct buffered states that causes a flush
+   * @param listener the FlushListener to which each failed flush is signaled
+   * @param maximumFlushRetries the int maximum number of times the states of a failed flush are retried
+   */
+  @SuppressWarnings("unchecked")
+  public WriteBehindStateStoreActor(final StateStore store, final long timeBetweenFlushWrites, final long batchWriteCount, final FlushListener listener, final int maximumFlushRetries) {
+    if (store == null) {
+      throw new IllegalArgumentException("StateStore must not be null.");
+    }
+    if (listener == null) {
+      throw new IllegalArgumentException("FlushListener must not be null.");
+    }
+    if (maximumFlushRetries < 0) {
+      throw new IllegalArgumentException("Maximum flush retries must not be negative.");
+    }
+    this.store = store;
+    this.listener = listener;
+    this.maximumFlushRetries = maximumFlushRetries;
+    this.batchWriteCount = Math.max(1, batchWriteCount);
+    this.buffer = new LinkedHashMap<>();
+    this.inFlight = new HashMap<>();
+    this.flushInterest = selfAs(WriteResultInterest.class);
+    this.flushes = scheduler().schedule(selfAs(Scheduled.class), null, timeBetweenFlushWrites, timeBetweenFlushWrites);
+  }
+
+  @Override
+  public void read(final String id, final Class<?> type, final ReadResultInterest interest, final Object object) {
+    final Pending pending = type == null ? null : pendingOf(keyOf(type, id));
+    if (pending != null) {
+      interest.readResultedIn(Success.of(Result.Success), id, pending.state, pending.stateVersion, pending.metadata, object);
+    } else {
+      store.read(id, type, interest, object);
+    }
+  }
+
+  @Override
+  public void readAll(final Collection<TypedStateBundle> bundles, final ReadResultInterest interest, final Object object) {
+    final List<TypedStateBundle> buffered = new ArrayList<>();
+    final List<TypedStateBundle> stored = new ArrayList<>();
+    for (final TypedStateBundle bundle : bundles) {
+      final Pending pending = bundle.type == null ? null : pendingOf(keyOf(bundle.type, bundle.id));
+      if (pending != null) {
+        buffered.add(new TypedStateBundle(bundle.id, bundle.type, pending.state, pending.stateVersion, pending.metadata));
+      } else {
+        stored.add(bundle);
+      }
+    }
+
+    if (stored.isEmpty()) {
+      interest.readResultedIn(Success.of(Result.Success), buffered, object);
+    } else if (buffered.isEmpty()) {
+      store.readAll(bundles, interest, object);
+    } else {
+      store.readAll(stored, new BufferedReadResultInterest(interest, buffered), object);
+    }
+  }
+
+  @Override
+  public Completes<Stream> streamAllOf(final Class<?> stateType) {
+    flush();
+    return store.streamAllOf(stateType);
+  }
+
+  @Override
+  public Completes<Stream> streamSomeUsing(final QueryExpression query) {
+    flush();
+    return store.streamSomeUsing(query);
+  }
+
+  @Override
+  public <ET extends Entry<?>> Completes<StateStoreEntryReader<ET>> entryReader(final String name) {
+    flush();
+    return store.entryReader(name);
+  }
+
+  @Override
+  public <S,C> void write(final String id, final S state, final int stateVersion, final List<Source<C>> sources, final Metadata metadata, final WriteResultInterest interest, final Object object) {
+    if (interest == null) {
+      logger().warn(getClass().getSimpleName() + " write() missing WriteResultInterest for: " + (id == null ? "unknown id" : id));
+      return;
+    }
+    final Outcome<StorageException, Result> outcome = buffer(id, state, stateVersion, sources, metadata);
+    interest.writeResultedIn(outcome, id, state, stateVersion, sources, object);
+    flushIfFull();
+  }
+
+  @Override
+  public void writeAll(final Collection<TypedStateBundle> bundles, final WriteResultInterest interest, final Object object) {
+    if (interest == null) {
+      logger().warn(getClass().getSimpleName() + " writeAll() missing WriteResultInterest for: " + bundles.size() + " states");
+      return;
+    }
+    // validate all before buffering any, so that either all are buffered or none are
+    final Map<String, Integer> versions = new HashMap<>(bundles.size());
+    for (final TypedStateBundle bundle : bundles) {
+      if (bundle.state == null) {
+        interest.writeResultedIn(Failure.of(new StorageException(Result.Error, "The state is null: " + bundle.id)), bundles, object);
+        return;
+      }
+      final String key = keyOf(bundle.state.getClass(), bundle.id);
+      final Pending pending = pendingOf(key);
+      final int version = versions.containsKey(key) ? versions.get(key) : pending == null ? 0 : pending.stateVersion;
+      if (version >= bundle.stateVersion) {
+        interest.writeResultedIn(Failure.of(new StorageException(Result.ConcurrencyViolation, "Version conflict: " + bundle.id)), bundles, object);
+        return;
+      }
+      versions.put(key, bundle.stateVersion);
+    }
+    for (final TypedStateBundle bundle : bundles) {
+      buffer(bundle.id, bundle.state, bundle.stateVersion, bundle.sources, bundle.metadata);
+    }
+    interest.writeResultedIn(Success.of(Result.Success), bundles, object);
+    flushIfFull();
+  }
+
+  @Override
+  public void intervalSignal(final Scheduled<Object> scheduled, final Object data) {
+    flush();
+  }
+
+  /**
+   * Receives the result of the flush of the {@code Map<String, Pending>} given as the {@code object}.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public void writeResultedIn(final Outcome<StorageException, Result> outcome, final Collection<TypedStateBundle> bundles, final Object object) {
+    final Map<String, Pending> flushed = (Map<String, Pending>) object;
+    outcome.otherwise(cause -> {
+      flushFailed(cause, flushed);
+      return cause.result;
+    });
+    flushed.forEach((key, pending) -> inFlight.remove(key, pending));
+    flushedOrStopped();
+  }
+
+  /**
+   * Receives the result of the flush of the {@code Map<String, Pending>} given as the {@code object}
+   * when my {@code store} wrote some of its states but not the {@code failed}.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public void writeResultedIn(final Outcome<StorageException, Result> failure, final Collection<TypedStateBundle> written, final Collection<TypedStateBundle> failed, final Object object) {
+    final Map<String, Pending> flushed = (Map<String, Pending>) object;
+    final Map<String, Pending> unwritten = new LinkedHashMap<>(failed.size());
+    for (final TypedStateBundle bundle : failed) {
+      final String key = keyOf(bundle.state.getClass(), bundle.id);
+      final Pending pending = flushed.get(key);
+      if (pending != null) {
+        unwritten.put(key, pending);
+      }
+    }
+    failure.otherwise(cause -> {
+      flushFailed(cause, unwritten);
+      return cause.result;
+    });
+    flushed.forEach((key, pending) -> inFlight.remove(key, pending));
+    flushedOrStopped();
+  }
+
+  @Override
+  public <S,C> void writeResultedIn(final Outcome<StorageException, Result> outcome, final String id, final S state, final int stateVersion, final List<Source<C>> sources, final Object object) {
+    // flushes are written by writeAll() only
+  }
+
+  @Override
+  public void stop() {
+    if (stopping) {
+      return;
+    }
+    stopping = true;
+    flushes.cancel();
+    if (!buffer.isEmpty()) {
+      // a final flush, even while another is written
+      writeBuffer();
+    }
+    flushedOrStopped();
+  }
+
+  private Outcome<StorageException, Result> buffer(final String id, final Object state, final int stateVersion, final List<? extends Source<?>> sources, final Metadata metadata) {
+    if (state == null) {
+      return Failure.of(new StorageException(Result.Error, "The state is null."));
+    }
+    final String key = keyOf(state.getClass(), id);
+    final Pending pending = pendingOf(key);
+    if (pending != null && pending.stateVersion >= stateVersion) {
+      return Failure.of(new StorageException(Result.ConcurrencyViolation, "Version conflict."));
+    }
+    final Pending buffered = buffer.get(key);
+    final List<Source<?>> coalesced = buffered == null ? new ArrayList<>() : buffered.sources;
+    if (sources != null) {
+      coalesced.addAll(sources);
+    }
+    buffer.put(key, new Pending(id, state, stateVersion, coalesced, metadata, buffered == null ? 0 : buffered.retries));
+    return Success.of(Result.Success);
+  }
+
+  private void flush() {
+    if (buffer.isEmpty() || (!inFlight.isEmpty() && !stopping)) {
+      return;
+    }
+    writeBuffer();
+  }
+
+  private void flushedOrStopped() {
+    if (stopping) {
+      if (inFlight.isEmpty()) {
+        super.stop();
+      }
+    } else {
+      flushIfFull();
+    }
+  }
+
+  private void flushIfFull() {
+    if (buffer.size() >= batchWriteCount || stopping) {
+      flush();
+    }
+  }
+
+  /**
+   * Buffer the {@code unwritten} states of a flush that failed by {@code cause} again ahead of my
+   * current buffer, unless it was a concurrency violation, I am stopping, or they have been retried
+   * the maximum number of times, and signal my listener.
+   */
+  private void flushFailed(final StorageException cause, final Map<String, Pending> unwritten) {
+    final boolean retries = cause.result != Result.ConcurrencyViolation && !stopping;
+    final Map<String, Pending> requeued = new LinkedHashMap<>(unwritten.size() + buffer.size());
+    final List<TypedStateBundle> retried = new ArrayList<>();
+    final List<TypedStateBundle> dropped = new ArrayList<>();
+    unwritten.forEach((key, pending) -> {
+      if (!retries || pending.retries >= maximumFlushRetries) {
+        dropped.add(pending.asBundle());
+        return;
+      }
+      retried.add(pending.asBundle());
+      // a later write of the state supersedes it, but must also append the unwritten sources
+      final Pending later = buffer.get(key);
+      if (later == null) {
+        requeued.put(key, new Pending(pending.id, pending.state, pending.stateVersion, pending.sources, pending.metadata, pending.retries + 1));
+      } else {
+        final List<Source<?>> sources = new ArrayList<>(pending.sources);
+        sources.addAll(later.sources);
+        requeued.put(key, new Pending(later.id, later.state, later.stateVersion, sources, later.metadata, pending.retries + 1));
+      }
+    });
+    buffer.forEach(requeued::putIfAbsent);
+    buffer = requeued;
+
+    logger().error(getClass().getSimpleName() + " flush of " + unwritten.size() + " states failed, of which " +
+            retried.size() + " will be retried and " + dropped.size() + " are dropped, because: " + cause.getMessage(), cause);
+    if (!retried.isEmpty()) {
+      listener.flushFailed(cause, retried, true);
+    }
+    if (!dropped.isEmpty()) {
+      listener.flushFailed(cause, dropped, false);
+    }
+  }
+
+  private void writeBuffer() {
+    final Map<String, Pending> flushed = buffer;
+    buffer = new LinkedHashMap<>();
+    inFlight.putAll(flushed);
+    final List<TypedStateBundle> bundles = new ArrayList<>(flushed.size());
+    for (final Pending pending : flushed.values()) {
+      bundles.add(pending.asBundle());
+    }
+    store.writeAll(bundles, flushInterest, flushed);
+  }
+
+  private String keyOf(final Class<?> type, final String id) {
+    for (Class<?> mapped = type; mapped != null; mapped = mapped.getSuperclass()) {
+      final String storeName = StateTypeStateStoreMap.storeNameFrom(mapped);
+      if (storeName != null) {
+        return storeName + ":" + id;
+      }
+    }
+    return type.getName() + ":" + id;
+  }
+
+  private Pending pendingOf(final String key) {
+    final Pending pending = buffer.get(key);
+    return pending != null ? pending : inFlight.get(key);
+  }
+
+  private static class Pending {
+    final String id;
+    final Metadata metadata;
+    final List<Source<?>> sources;
+    final int retries;
+    final Object state;
+    final int stateVersion;
+
+    Pending(final String id, final Object state, final int stateVersion, final List<Source<?>> sources, final Metadata metadata, final int retries) {
+      this.id = id;
+      this.state = state;
+      this.stateVersion = stateVersion;
+      this.sources = sources;
+      this.metadata = metadata;
+      this.retries = retries;
+    }
+
+    TypedStateBundle asBundle() {
+      return new TypedStateBundle(id, state, stateVersion, sources, metadata);
+    }
+  }
+
+  private static class BufferedReadResultInterest implements ReadResultInterest {
+    private final List<TypedStateBundle> buffered;
+    private final ReadResultInterest interest;
+
+    BufferedReadResultInterest(final ReadResultInterest interest, final List<TypedStateBundle> buffered) {
+      this.interest = interest;
+      this.buffered = buffered;
+    }
+
+    @Override
+    public <S> void readResultedIn(final Outcome<StorageException, Result> outcome, final String id, final S state, final int stateVersion, final Metadata metadata, final Object object) {
+      interest.readResultedIn(outcome, id, state, stateVersion, metadata, object);
+    }
+
+    @Override
+    public <S> void readResultedIn(final Outcome<StorageException, Result> outcome, final Collection<TypedStateBundle> bundles, final Object object) {
+      final List<TypedStateBundle> all = new ArrayList<>(buffered);
+      all.addAll(bundles);
+      // some states were found in the buffer, so any failure of the others is partial
+      final Outcome<StorageException, Result> merged = outcome.resolve(
+              cause -> Failure.of(new StorageException(Result.NotAllFound, "Not all states were found.")),
+              result -> outcome);
+      interest.readResultedIn(merged, all, object);
+    }
+  }
+}
@@ -0,0 +1,142 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.state.inmemory;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.vlingo.xoom.common.Completes;
+import io.vlingo.xoom.common.Failure;
+import io.vlingo.xoom.common.Success;
+import io.vlingo.xoom.symbio.State;
+import io.vlingo.xoom.symbio.StateAdapterProvider;
+import io.vlingo.xoom.symbio.store.Result;
+import io.vlingo.xoom.symbio.store.StorageException;
+import io.vlingo.xoom.symbio.store.state.StateStore.ReadResultInterest;
+import io.vlingo.xoom.symbio.store.state.StateStore.TypedStateBundle;
+import io.vlingo.xoom.symbio.store.state.StateStoreReader.ReadAllResultCollector;
+import io.vlingo.xoom.symbio.store.state.StateTypeStateStoreMap;
+
+/**
+ * The states of an {@code InMemoryStateStoreActor}, held in concurrent maps so that they may
+ * be read directly on any thread, without a message to the actor. Only the actor that owns
+ * me writes, so the writes of each id remain serialized, while reads scale with the readers.
+ * <p>
+ * Create me and give me to the {@code InMemoryStateStoreActor} by {@code InMemoryStateStoreOptions#withStorage()},
+ * and keep me for the direct reads by {@code read(id, type, interest, object)} and {@code read(id, type)}.
+ * A direct read sees each write once it is complete, but may not see a write that is still
+ * in the actor's mailbox.
+ *
+ * @param <RS> the raw {@code State<?>} type
+ */
+public class InMemoryStateStorage<RS extends State<?>> {
+  private final StateAdapterProvider stateAdapterProvider;
+  private final Map<String, Map<String, RS>> store;
+
+  /**
+   * Construct my state.
+   * @param stateAdapterProvider the StateAdapterProvider used to adapt raw states of direct reads
+   */
+  public InMemoryStateStorage(final StateAdapterProvider stateAdapterProvider) {
+    this.stateAdapterProvider = stateAdapterProvider;
+    this.store = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Read the state of {@code id} and {@code type} on the calling thread, and answer the result
+   * to {@code interest} just as {@code StateStoreReader#read()} would.
+   * @param id the String unique identity of the state to read
+   * @param type the {@code Class<?>} type of the state to read
+   * @param interest the ReadResultInterest to which the result is answered
+   * @param object the Object to pass to the interest, or null
+   */
+  public void read(final String id, final Class<?> type, final ReadResultInterest interest, final Object object) {
+    if (id == null || type == null) {
+      interest.readResultedIn(Failure.of(new StorageException(Result.Error, id == null ? "The id is null." : "The type is null.")), id, null, -1, null, object);
+      return;
+    }
+
+    final String storeName = StateTypeStateStoreMap.storeNameFrom(type);
+
+    if (storeName == null) {
+      interest.readResultedIn(Failure.of(new StorageException(Result.NoTypeStore, "No type store for: " + type.getSimpleName())), id, null, -1, null, object);
+      return;
+    }
+
+    final Map<String, RS> typeStore = store.get(storeName);
+
+    if (typeStore == null) {
+      interest.readResultedIn(Failure.of(new StorageException(Result.NotFound, "Store not found: " + storeName)), id, null, -1, null, object);
+      return;
+    }
+
+    final RS raw = typeStore.get(id);
+
+    if (raw != null) {
+      final Object state = stateAdapterProvider.fromRaw(raw);
+      interest.readResultedIn(Success.of(Result.Success), id, state, raw.dataVersion, raw.metadata, object);
+    } else {
+      interest.readResultedIn(Failure.of(new StorageException(Result.NotFound, "Not found.")), id, null, -1, null, object);
+    }
+  }
+
+  /**
+   * Answer the {@code Completes<TypedStateBundle>} of the state of {@code id} and {@code type},
+   * which is read on the calling thread and so is already completed. It completes with a
+   * failure when the state is not found.
+   * @param id the String unique identity of the state to read
+   * @param type the {@code Class<?>} type of the state to read
+   * @return {@code Completes<TypedStateBundle>}
+   */
+  public Completes<TypedStateBundle> read(final String id, final Class<?> type) {
+    final ReadAllResultCollector collector = new ReadAllResultCollector();
+    read(id, type, collector, null);
+    if (collector.isFailure()) {
+      return Completes.withFailure(new TypedStateBundle(id, type));
+    }
+    return Completes.withSuccess(collector.readResultBundles().get(0));
+  }
+
+  /**
+   * Read the states of all {@code bundles} on the calling thread, and answer the results
+   * to {@code interest} just as {@code StateStoreReader#readAll()} would.
+   * @param bundles the {@code Collection<TypedStateBundle>} of the states to read
+   * @param interest the ReadResultInterest to which the results are answered
+   * @param object the Object to pass to the interest, or null
+   */
+  public void readAll(final Collection<TypedStateBundle> bundles, final ReadResultInterest interest, final Object object) {
+    final ReadAllResultCollector collector = new ReadAllResultCollector();
+
+    for (final TypedStateBundle bundle : bundles) {
+      read(bundle.id, bundle.type, collector, null);
+    }
+
+    interest.readResultedIn(collector.readResultOutcome(bundles.size()), collector.readResultBundles(), object);
+  }
+
+  /**
+   * Answer the states of the store named {@code storeName}, which may be empty.
+   * @param storeName the String name of the store
+   * @return {@code Map<String, RS>}
+   */
+  Map<String, RS> typeStoreOf(final String storeName) {
+    final Map<String, RS> typeStore = store.get(storeName);
+    return typeStore == null ? Collections.emptyMap() : typeStore;
+  }
+
+  /**
+   * Answer the states of the store named {@code storeName}, created if it does not exist.
+   * @param storeName the String name of the store
+   * @return {@code Map<String, RS>}
+   */
+  Map<String, RS> typeStoreFor(final String storeName) {
+    return store.computeIfAbsent(storeName, name -> new ConcurrentHashMap<>());
+  }
+}
@@ -8,6 +8,7 @@
 package io.vlingo.xoom.symbio.store.state.inmemory;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -19,7 +20,6 @@ import io.vlingo.xoom.actors.ActorInstantiator;
 import io.vlingo.xoom.actors.Definition;
 import io.vlingo.xoom.common.Completes;
 import io.vlingo.xoom.common.Failure;
-import io.vlingo.xoom.common.Outcome;
 import io.vlingo.xoom.common.Success;
 import io.vlingo.xoom.reactivestreams.Stream;
 import io.vlingo.xoom.symbio.BaseEntry;
@@ -32,11 +32,16 @@ import io.vlingo.xoom.symbio.StateAdapterProvider;
 import io.vlingo.xoom.symbio.store.QueryExpression;
 import io.vlingo.xoom.symbio.store.Result;
 import io.vlingo.xoom.symbio.store.StorageException;
+import io.vlingo.xoom.symbio.store.dispatch.DispatchBatcher;
+import io.vlingo.xoom.symbio.store.dispatch.DispatchSharding;
 import io.vlingo.xoom.symbio.store.dispatch.Dispatchable;
 import io.vlingo.xoom.symbio.store.dispatch.Dispatcher;
 import io.vlingo.xoom.symbio.store.dispatch.DispatcherControl;
 import io.vlingo.xoom.symbio.store.dispatch.DispatcherControl.DispatcherControlInstantiator;
+import io.vlingo.xoom.symbio.store.dispatch.FireAndForgetDispatcher;
 import io.vlingo.xoom.symbio.store.dispatch.control.DispatcherControlActor;
+import io.vlingo.xoom.symbio.store.dispatch.control.PartitionedDispatcherControl;
+import io.vlingo.xoom.symbio.store.dispatch.inmemory.DispatchableLedger;
 import io.vlingo.xoom.symbio.store.dispatch.inmemory.InMemoryDispatcherControlDelegate;
 import io.vlingo.xoom.symbio.store.state.StateStore;
 import io.vlingo.xoom.symbio.store.state.StateStoreEntryReader;
@@ -46,54 +51,86 @@ import io.vlingo.xoom.symbio.store.state.StateTypeStateStoreMap;
 public class InMemoryStateStoreActor<RS extends State<?>> extends Actor
     implements StateStore {
 
-  private final List<Dispatchable<Entry<?>,RS>> dispatchables;
-  private final List<Dispatcher<Dispatchable<Entry<?>,RS>>> dispatchers;
+  private final boolean conflatesDispatches;
+  private final DispatchableLedger<Entry<?>,RS> dispatchables;
+  private final DispatchBatcher<Dispatchable<Entry<?>,RS>> dispatchBatcher;
+  private final List<Dispatcher<Dispatchable<Entry<?>,RS>>> dispatchTargets;
   private final DispatcherControl dispatcherControl;
+  private final InMemoryDispatcherControlDelegate<Entry<?>, RS> dispatcherControlDelegate;
   private final List<Entry<?>> entries;
   private final Map<String,StateStoreEntryReader<?>> entryReaders;
   private final EntryAdapterProvider entryAdapterProvider;
   private final StateAdapterProvider stateAdapterProvider;
-  private final ReadAllResultCollector readAllResultCollector;
-  private final Map<String, Map<String, RS>> store;
+  private final PartitionedDispatcherControl partitionedControl;
+  private final InMemoryStateStorage<RS> storage;
+
+  private long nextEntryPosition;
 
   public InMemoryStateStoreActor(final List<Dispatcher<Dispatchable<Entry<?>, RS>>> dispatchers) {
     this(dispatchers, 1000L, 1000L);
   }
 
-  @SuppressWarnings({ "unchecked", "rawtypes" })
   public InMemoryStateStoreActor(
           final List<Dispatcher<Dispatchable<Entry<?>, RS>>> dispatchers,
           final long checkConfirmationExpirationInterval,
           final long confirmationExpiration) {
+    this(dispatchers, InMemoryStateStoreOptions.<RS>defaults().withConfirmationExpiration(checkConfirmationExpirationInterval, confirmationExpiration));
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  public InMemoryStateStoreActor(
+          final List<Dispatcher<Dispatchable<Entry<?>, RS>>> dispatchers,
+          final InMemoryStateStoreOptions<RS> options) {
 
     if (dispatchers == null) {
       throw new IllegalArgumentException("Dispatcher must not be null.");
     }
-    this.dispatchers = dispatchers;
+    // the dispatch id of a state is unique to the state, and so orders its dispatches
+    this.dispatchTargets = options.dispatchSharding().apply(dispatchers, Dispatchable::id, stage(), logger());
+    this.dispatchBatcher = new DispatchBatcher<>(dispatchTargets, options.dispatchBatchSize(), options.dispatchLingerMillis(), scheduler());
     this.entryAdapterProvider = EntryAdapterProvider.instance(stage().world());
     this.stateAdapterProvider = StateAdapterProvider.instance(stage().world());
     this.entries = new CopyOnWriteArrayList<>();
     this.entryReaders = new HashMap<>();
-    this.store = new HashMap<>();
-    this.dispatchables = new CopyOnWriteArrayList<>();
-    this.readAllResultCollector = new ReadAllResultCollector();
-
-    final InMemoryDispatcherControlDelegate<Entry<?>, RS> dispatcherControlDelegate = new InMemoryDispatcherControlDelegate<>(dispatchables);
-
-    this.dispatcherControl = stage().actorFor(
-      DispatcherControl.class,
-      Definition.has(
-        DispatcherControlActor.class,
-        new DispatcherControlInstantiator(
-          dispatchers,
-          dispatcherControlDelegate,
-          checkConfirmationExpirationInterval,
-          confirmationExpiration)));
+    this.storage = options.storage() == null ? new InMemoryStateStorage<>(stateAdapterProvider) : options.storage();
+    this.dispatchables = new DispatchableLedger<>(options.dispatchPressure());
+    this.conflatesDispatches = options.conflatesDispatches();
+    this.nextEntryPosition = 0;
+    this.partitionedControl = options.partitionedControl();
+
+    final List<Dispatcher<Dispatchable<Entry<?>, RS>>> confirming = FireAndForgetDispatcher.confirmingOf(dispatchers);
+
+    if (confirming.isEmpty()) {
+      // no dispatcher confirms, so nothing is retained or redispatched
+      this.dispatcherControlDelegate = null;
+      this.dispatcherControl = null;
+    } else if (options.partitionedControl() != null) {
+      this.dispatcherControlDelegate = new InMemoryDispatcherControlDelegate<>(dispatchables);
+      this.dispatcherControl = options.partitionedControl().controlFor(dispatcherControlDelegate);
+    } else {
+      this.dispatcherControlDelegate = new InMemoryDispatcherControlDelegate<>(dispatchables);
+
+      this.dispatcherControl = stage().actorFor(
+        DispatcherControl.class,
+        Definition.has(
+          DispatcherControlActor.class,
+          new DispatcherControlInstantiator(
+            confirming,
+            dispatcherControlDelegate,
+            options.checkConfirmationExpirationInterval(),
+            options.confirmationExpiration())));
+    }
   }
 
   @Override
   public void stop() {
-    if (dispatcherControl != null) {
+    dispatchBatcher.stop();
+    DispatchSharding.stopAll(dispatchTargets);
+    if (partitionedControl != null) {
+      if (dispatcherControlDelegate != null) {
+        partitionedControl.release(dispatcherControlDelegate);
+      }
+    } else if (dispatcherControl != null) {
       dispatcherControl.stop();
     }
     super.stop();
@@ -117,25 +154,13 @@ public class InMemoryStateStoreActor<RS extends State<?>> extends Actor
 
   @Override
   public void readAll(final Collection<TypedStateBundle> bundles, final ReadResultInterest interest, final Object object) {
-    readAllResultCollector.prepare();
-
-    for (final TypedStateBundle bundle : bundles) {
-      readFor(bundle.id, bundle.type, readAllResultCollector, null);
-    }
-
-    final Outcome<StorageException, Result> outcome = readAllResultCollector.readResultOutcome(bundles.size());
-
-    interest.readResultedIn(outcome, readAllResultCollector.readResultBundles(), object);
+    storage.readAll(bundles, interest, object);
   }
 
   @Override
   public Completes<Stream> streamAllOf(final Class<?> stateType) {
     final String storeName = StateTypeStateStoreMap.storeNameFrom(stateType);
-    Map<String, RS> typeStore = store.get(storeName);
-    if (typeStore == null) {
-      typeStore = new HashMap<>();
-    }
-    return completes().with(new StateStream<>(stage(), typeStore, stateAdapterProvider));
+    return completes().with(new StateStream<>(stage(), storage.typeStoreOf(storeName), stateAdapterProvider));
   }
 
   @Override
@@ -149,39 +174,67 @@ public class InMemoryStateStoreActor<RS extends State<?>> extends Actor
     writeWith(id, state, stateVersion, sources, metadata, interest, object);
   }
 
-  private void readFor(final String id, final Class<?> type, final ReadResultInterest interest, final Object object) {
-    if (interest != null) {
-      if (id == null || type == null) {
-        interest.readResultedIn(Failure.of(new StorageException(Result.Error, id == null ? "The id is null." : "The type is null.")), id, null, -1, null, object);
-        return;
-      }
-
-      final String storeName = StateTypeStateStoreMap.storeNameFrom(type);
-
-      if (storeName == null) {
-        interest.readResultedIn(Failure.of(new StorageException(Result.NoTypeStore, "No type store for: " + type.getSimpleName())), id, null, -1, null, object);
-        return;
+  @Override
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  public void writeAll(final Collection<TypedStateBundle> bundles, final WriteResultInterest interest, final Object object) {
+    if (interest == null) {
+      logger().warn(getClass().getSimpleName() + " writeAll() missing WriteResultInterest for: " + bundles.size() + " states");
+      return;
+    }
+    if (dispatchables.isOverloaded()) {
+      interest.writeResultedIn(Failure.of(new StorageException(Result.Overloaded, "Overloaded by " + dispatchables.size() + " unconfirmed dispatches.")), bundles, object);
+      return;
+    }
+    try {
+      // validate all before writing any, so that either all are written or none are
+      final List<String> storeNames = new ArrayList<>(bundles.size());
+      final List<RS> raws = new ArrayList<>(bundles.size());
+      final Map<String, RS> written = new HashMap<>(bundles.size());
+      for (final TypedStateBundle bundle : bundles) {
+        if (bundle.state == null) {
+          interest.writeResultedIn(Failure.of(new StorageException(Result.Error, "The state is null: " + bundle.id)), bundles, object);
+          return;
+        }
+        final String storeName = StateTypeStateStoreMap.storeNameFrom(bundle.state.getClass());
+        if (storeName == null) {
+          interest.writeResultedIn(Failure.of(new StorageException(Result.NoTypeStore, "No type store for: " + bundle.state.getClass())), bundles, object);
+          return;
+        }
+        final RS raw = bundle.metadata == null ?
+                stateAdapterProvider.asRaw(bundle.id, bundle.state, bundle.stateVersion) :
+                stateAdapterProvider.asRaw(bundle.id, bundle.state, bundle.stateVersion, bundle.metadata);
+        final String key = storeName + ":" + bundle.id;
+        final RS persistedState = written.containsKey(key) ? written.get(key) : storage.typeStoreOf(storeName).get(bundle.id);
+        if (persistedState != null && persistedState.dataVersion >= raw.dataVersion) {
+          interest.writeResultedIn(Failure.of(new StorageException(Result.ConcurrencyViolation, "Version conflict: " + bundle.id)), bundles, object);
+          return;
+        }
+        written.put(key, raw);
+        storeNames.add(storeName);
+        raws.add(raw);
       }
 
-      final Map<String, RS> typeStore = store.get(storeName);
-
-      if (typeStore == null) {
-        interest.readResultedIn(Failure.of(new StorageException(Result.NotFound, "Store not found: " + storeName)), id, null, -1, null, object);
-        return;
+      final List<Dispatchable<Entry<?>, RS>> batch = new ArrayList<>(raws.size());
+      int index = 0;
+      for (final TypedStateBundle bundle : bundles) {
+        final String storeName = storeNames.get(index);
+        final RS raw = raws.get(index++);
+        storage.typeStoreFor(storeName).put(bundle.id, raw);
+        final List<Entry<?>> entries = appendEntries((List) bundle.sources, bundle.stateVersion, bundle.metadata);
+        batch.add(dispatchableOf(bundle.id, storeName, raw, entries));
       }
+      dispatchBatcher.dispatchAll(batch);
 
-      final RS raw = typeStore.get(id);
+      interest.writeResultedIn(Success.of(Result.Success), bundles, object);
+    } catch (final Exception e) {
+      logger().error(getClass().getSimpleName() + " writeAll() error because: " + e.getMessage(), e);
+      interest.writeResultedIn(Failure.of(new StorageException(Result.Error, e.getMessage(), e)), bundles, object);
+    }
+  }
 
-      if (raw != null) {
-        final Object state = stateAdapterProvider.fromRaw(raw);
-        interest.readResultedIn(Success.of(Result.Success), id, state, raw.dataVersion, raw.metadata, object);
-      } else {
-        for (final String storeId : typeStore.keySet()) {
-          logger().debug("UNFOUND STATES\n=====================");
-          logger().debug("STORE ID: '" + storeId + "' STATE: " + typeStore.get(storeId));
-        }
-        interest.readResultedIn(Failure.of(new StorageException(Result.NotFound, "Not found.")), id, null, -1, null, object);
-      }
+  private void readFor(final String id, final Class<?> type, final ReadResultInterest interest, final Object object) {
+    if (interest != null) {
+      storage.read(id, type, interest, object);
     } else {
       logger().warn(
               getClass().getSimpleName() +
@@ -194,6 +247,8 @@ public class InMemoryStateStoreActor<RS extends State<?>> extends Actor
     if (interest != null) {
       if (state == null) {
         interest.writeResultedIn(Failure.of(new StorageException(Result.Error, "The state is null.")), id, state, stateVersion, sources, object);
+      } else if (dispatchables.isOverloaded()) {
+        interest.writeResultedIn(Failure.of(new StorageException(Result.Overloaded, "Overloaded by " + dispatchables.size() + " unconfirmed dispatches.")), id, state, stateVersion, sources, object);
       } else {
         try {
           final String storeName = StateTypeStateStoreMap.storeNameFrom(state.getClass());
@@ -203,21 +258,14 @@ public class InMemoryStateStoreActor<RS extends State<?>> extends Actor
             return;
           }
 
-          Map<String, RS> typeStore = store.get(storeName);
-
-          if (typeStore == null) {
-            typeStore = new HashMap<>();
-            final Map<String, RS> existingTypeStore = store.putIfAbsent(storeName, typeStore);
-            if (existingTypeStore != null) {
-              typeStore = existingTypeStore;
-            }
-          }
+          // only I write, so the check and put of an id are not interleaved with another write
+          final Map<String, RS> typeStore = storage.typeStoreFor(storeName);
 
           final RS raw = metadata == null ?
                   stateAdapterProvider.asRaw(id, state, stateVersion) :
                   stateAdapterProvider.asRaw(id, state, stateVersion, metadata);
 
-          final RS persistedState = typeStore.putIfAbsent(raw.id, raw);
+          final RS persistedState = typeStore.get(raw.id);
           if (persistedState != null) {
             if (persistedState.dataVersion >= raw.dataVersion) {
               interest.writeResultedIn(Failure.of(new StorageException(Result.ConcurrencyViolation, "Version conflict.")), id, state, stateVersion, sources, object);
@@ -245,17 +293,27 @@ public class InMemoryStateStoreActor<RS extends State<?>> extends Actor
   private <C> List<Entry<?>> appendEntries(final List<Source<C>> sources, final int stateVersion, final Metadata metadata) {
     final List<Entry<?>> adapted = entryAdapterProvider.asEntries(sources, stateVersion, metadata);
     for (final Entry<?> each : adapted) {
-      ((BaseEntry<?>) each).__internal__setId(String.valueOf(entries.size()));
+      ((BaseEntry<?>) each).__internal__setPosition(nextEntryPosition++);
       entries.add(each);
     }
     return adapted;
   }
 
   private void dispatch(final String id, final String storeName, final RS raw, final List<Entry<?>> entries) {
+    this.dispatchBatcher.dispatch(dispatchableOf(id, storeName, raw, entries));
+  }
+
+  private Dispatchable<Entry<?>, RS> dispatchableOf(final String id, final String storeName, final RS raw, final List<Entry<?>> entries) {
     final String dispatchId = storeName + ":" + id;
     final Dispatchable<Entry<?>, RS> dispatchable = new Dispatchable<>(dispatchId, LocalDateTime.now(), raw, entries);
-    this.dispatchables.add(dispatchable);
-    this.dispatchers.forEach(p -> p.dispatch(dispatchable));
+    if (dispatcherControl != null) {
+      if (conflatesDispatches) {
+        this.dispatchables.conflate(dispatchable);
+      } else {
+        this.dispatchables.add(dispatchable);
+      }
+    }
+    return dispatchable;
   }
 
   @SuppressWarnings({"rawtypes", "unchecked"})
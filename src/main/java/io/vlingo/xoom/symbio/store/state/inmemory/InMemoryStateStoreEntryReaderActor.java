@@ -15,6 +15,7 @@ import io.vlingo.xoom.common.Completes;
 import io.vlingo.xoom.reactivestreams.Stream;
 import io.vlingo.xoom.symbio.Entry;
 import io.vlingo.xoom.symbio.EntryAdapterProvider;
+import io.vlingo.xoom.symbio.store.EntryPositions;
 import io.vlingo.xoom.symbio.store.EntryReaderStream;
 import io.vlingo.xoom.symbio.store.journal.JournalReader;
 import io.vlingo.xoom.symbio.store.state.StateStoreEntryReader;
@@ -79,6 +80,12 @@ public class InMemoryStateStoreEntryReaderActor<T extends Entry<?>> extends Acto
     return readNext(maximumEntries);
   }
 
+  @Override
+  public Completes<List<T>> readNextFromPosition(final long fromPosition, final int maximumEntries) {
+    to(fromPosition);
+    return readNext(maximumEntries);
+  }
+
   @Override
   public void rewind() {
     currentIndex = 0;
@@ -109,6 +116,12 @@ public class InMemoryStateStoreEntryReaderActor<T extends Entry<?>> extends Acto
     return completes().with(currentId);
   }
 
+  @Override
+  public Completes<Long> seekToPosition(final long position) {
+    to(position);
+    return completes().with(readCurrentPosition());
+  }
+
   @Override
   public Completes<Long> size() {
     return completes().with((long) entriesView.size());
@@ -132,14 +145,18 @@ public class InMemoryStateStoreEntryReaderActor<T extends Entry<?>> extends Acto
     return "-1";
   }
 
-  private void to(final String id) {
-    rewind();
-    while (currentIndex < entriesView.size()) {
-      final Entry<T> entry = entriesView.get(currentIndex);
-      if (entry.id().equals(id)) {
-        return;
-      }
-      ++currentIndex;
+  private long readCurrentPosition() {
+    if (currentIndex < entriesView.size()) {
+      return entriesView.get(currentIndex).position();
     }
+    return Entry.UnknownPosition;
+  }
+
+  private void to(final String id) {
+    to(Entry.positionOf(id));
+  }
+
+  private void to(final long position) {
+    currentIndex = EntryPositions.indexOf(entriesView, position);
   }
 }
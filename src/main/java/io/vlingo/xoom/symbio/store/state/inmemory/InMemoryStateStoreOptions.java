@@ -0,0 +1,198 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.state.inmemory;
+
+import io.vlingo.xoom.symbio.State;
+import io.vlingo.xoom.symbio.store.dispatch.DispatchPressure;
+import io.vlingo.xoom.symbio.store.dispatch.DispatchSharding;
+import io.vlingo.xoom.symbio.store.dispatch.control.PartitionedDispatcherControl;
+
+/**
+ * The optional behaviors of an {@code InMemoryStateStoreActor<RS>}. By default a store checks
+ * for expired confirmations every second, expires them after one second, dispatches each write
+ * immediately and in order on the store's thread, never signals pressure, redispatches every
+ * unconfirmed write, creates its own {@code DispatcherControl}, and holds its own states.
+ *
+ * @param <RS> the raw {@code State<?>} type
+ */
+public final class InMemoryStateStoreOptions<RS extends State<?>> {
+  private final long checkConfirmationExpirationInterval;
+  private final long confirmationExpiration;
+  private final int dispatchBatchSize;
+  private final long dispatchLingerMillis;
+  private final DispatchSharding dispatchSharding;
+  private final DispatchPressure dispatchPressure;
+  private final boolean conflatesDispatches;
+  private final PartitionedDispatcherControl partitionedControl;
+  private final InMemoryStateStorage<RS> storage;
+
+  /**
+   * Answer the {@code InMemoryStateStoreOptions<RS>} of the default behaviors.
+   * @param <RS> the raw {@code State<?>} type
+   * @return {@code InMemoryStateStoreOptions<RS>}
+   */
+  public static <RS extends State<?>> InMemoryStateStoreOptions<RS> defaults() {
+    return new InMemoryStateStoreOptions<>(1000L, 1000L, 1, 0, DispatchSharding.none(), DispatchPressure.unbounded(), false, null, null);
+  }
+
+  /**
+   * Answer a copy of me that checks for expired confirmations every {@code checkConfirmationExpirationInterval}
+   * milliseconds and expires those unconfirmed for {@code confirmationExpiration} milliseconds.
+   * @param checkConfirmationExpirationInterval the long milliseconds between checks
+   * @param confirmationExpiration the long milliseconds after which a confirmation expires
+   * @return {@code InMemoryStateStoreOptions<RS>}
+   */
+  public InMemoryStateStoreOptions<RS> withConfirmationExpiration(final long checkConfirmationExpirationInterval, final long confirmationExpiration) {
+    return new InMemoryStateStoreOptions<>(checkConfirmationExpirationInterval, confirmationExpiration, dispatchBatchSize, dispatchLingerMillis,
+            dispatchSharding, dispatchPressure, conflatesDispatches, partitionedControl, storage);
+  }
+
+  /**
+   * Answer a copy of me that dispatches in batches of up to {@code dispatchBatchSize}, each waiting
+   * at most {@code dispatchLingerMillis} to fill.
+   * @param dispatchBatchSize the int maximum number of dispatchables in a batch
+   * @param dispatchLingerMillis the long maximum milliseconds a partial batch waits
+   * @return {@code InMemoryStateStoreOptions<RS>}
+   */
+  public InMemoryStateStoreOptions<RS> withDispatchBatching(final int dispatchBatchSize, final long dispatchLingerMillis) {
+    if (dispatchBatchSize <= 0 || dispatchLingerMillis < 0) {
+      throw new IllegalArgumentException("Dispatch batch size must be positive and linger must not be negative.");
+    }
+    return new InMemoryStateStoreOptions<>(checkConfirmationExpirationInterval, confirmationExpiration, dispatchBatchSize, dispatchLingerMillis,
+            dispatchSharding, dispatchPressure, conflatesDispatches, partitionedControl, storage);
+  }
+
+  /**
+   * Answer a copy of me that dispatches through {@code dispatchSharding}.
+   * @param dispatchSharding the DispatchSharding of my dispatchers
+   * @return {@code InMemoryStateStoreOptions<RS>}
+   */
+  public InMemoryStateStoreOptions<RS> withDispatchSharding(final DispatchSharding dispatchSharding) {
+    return new InMemoryStateStoreOptions<>(checkConfirmationExpirationInterval, confirmationExpiration, dispatchBatchSize, dispatchLingerMillis,
+            dispatchSharding, dispatchPressure, conflatesDispatches, partitionedControl, storage);
+  }
+
+  /**
+   * Answer a copy of me that signals the pressure of my unconfirmed dispatchables by {@code dispatchPressure}.
+   * @param dispatchPressure the DispatchPressure of my unconfirmed dispatchables
+   * @return {@code InMemoryStateStoreOptions<RS>}
+   */
+  public InMemoryStateStoreOptions<RS> withDispatchPressure(final DispatchPressure dispatchPressure) {
+    return new InMemoryStateStoreOptions<>(checkConfirmationExpirationInterval, confirmationExpiration, dispatchBatchSize, dispatchLingerMillis,
+            dispatchSharding, dispatchPressure, conflatesDispatches, partitionedControl, storage);
+  }
+
+  /**
+   * Answer a copy of me by which a write of a state whose previous dispatch is unconfirmed
+   * supersedes the previous state for redispatch, while keeping the entries of both, so that
+   * hot states are redispatched once rather than once per write.
+   * @return {@code InMemoryStateStoreOptions<RS>}
+   */
+  public InMemoryStateStoreOptions<RS> withConflatedDispatches() {
+    return new InMemoryStateStoreOptions<>(checkConfirmationExpirationInterval, confirmationExpiration, dispatchBatchSize, dispatchLingerMillis,
+            dispatchSharding, dispatchPressure, true, partitionedControl, storage);
+  }
+
+  /**
+   * Answer a copy of me by which the store is one partition of a store, and registers its
+   * unconfirmed dispatchables with the shared {@code partitionedControl} rather than creating its
+   * own {@code DispatcherControl}, in which case the check interval and expiration are its own.
+   * @param partitionedControl the PartitionedDispatcherControl shared by the partitions
+   * @return {@code InMemoryStateStoreOptions<RS>}
+   */
+  public InMemoryStateStoreOptions<RS> withPartitionedControl(final PartitionedDispatcherControl partitionedControl) {
+    if (partitionedControl == null) {
+      throw new IllegalArgumentException("Partitioned control must not be null.");
+    }
+    return new InMemoryStateStoreOptions<>(checkConfirmationExpirationInterval, confirmationExpiration, dispatchBatchSize, dispatchLingerMillis,
+            dispatchSharding, dispatchPressure, conflatesDispatches, partitionedControl, storage);
+  }
+
+  /**
+   * Answer a copy of me by which the store writes its states to {@code storage}, so that its
+   * holder may read them directly on any thread.
+   * @param storage the {@code InMemoryStateStorage<RS>} of the states
+   * @return {@code InMemoryStateStoreOptions<RS>}
+   */
+  public InMemoryStateStoreOptions<RS> withStorage(final InMemoryStateStorage<RS> storage) {
+    if (storage == null) {
+      throw new IllegalArgumentException("Storage must not be null.");
+    }
+    return new InMemoryStateStoreOptions<>(checkConfirmationExpirationInterval, confirmationExpiration, dispatchBatchSize, dispatchLingerMillis,
+            dispatchSharding, dispatchPressure, conflatesDispatches, partitionedControl, storage);
+  }
+
+  long checkConfirmationExpirationInterval() {
+    return checkConfirmationExpirationInterval;
+  }
+
+  long confirmationExpiration() {
+    return confirmationExpiration;
+  }
+
+  int dispatchBatchSize() {
+    return dispatchBatchSize;
+  }
+
+  long dispatchLingerMillis() {
+    return dispatchLingerMillis;
+  }
+
+  DispatchSharding dispatchSharding() {
+    return dispatchSharding;
+  }
+
+  DispatchPressure dispatchPressure() {
+    return dispatchPressure;
+  }
+
+  boolean conflatesDispatches() {
+    return conflatesDispatches;
+  }
+
+  PartitionedDispatcherControl partitionedControl() {
+    return partitionedControl;
+  }
+
+  InMemoryStateStorage<RS> storage() {
+    return storage;
+  }
+
+  @Override
+  public String toString() {
+    return "InMemoryStateStoreOptions[checkConfirmationExpirationInterval=" + checkConfirmationExpirationInterval +
+            " confirmationExpiration=" + confirmationExpiration + " dispatchBatchSize=" + dispatchBatchSize +
+            " dispatchLingerMillis=" + dispatchLingerMillis + " dispatchSharding=" + dispatchSharding +
+            " dispatchPressure=" + dispatchPressure + " conflatesDispatches=" + conflatesDispatches +
+            " partitioned=" + (partitionedControl != null) + " sharedStorage=" + (storage != null) + "]";
+  }
+
+  private InMemoryStateStoreOptions(
+          final long checkConfirmationExpirationInterval,
+          final long confirmationExpiration,
+          final int dispatchBatchSize,
+          final long dispatchLingerMillis,
+          final DispatchSharding dispatchSharding,
+          final DispatchPressure dispatchPressure,
+          final boolean conflatesDispatches,
+          final PartitionedDispatcherControl partitionedControl,
+          final InMemoryStateStorage<RS> storage) {
+    if (dispatchSharding == null || dispatchPressure == null) {
+      throw new IllegalArgumentException("Dispatch sharding and dispatch pressure are required.");
+    }
+    this.checkConfirmationExpirationInterval = checkConfirmationExpirationInterval;
+    this.confirmationExpiration = confirmationExpiration;
+    this.dispatchBatchSize = dispatchBatchSize;
+    this.dispatchLingerMillis = dispatchLingerMillis;
+    this.dispatchSharding = dispatchSharding;
+    this.dispatchPressure = dispatchPressure;
+    this.conflatesDispatches = conflatesDispatches;
+    this.partitionedControl = partitionedControl;
+    this.storage = storage;
+  }
+}
@@ -0,0 +1,119 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.dispatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import io.vlingo.xoom.common.Scheduler;
+import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.State;
+
+public class DispatchBatcherTest {
+  private final BatchingDispatcher dispatcher = new BatchingDispatcher();
+  private final Scheduler scheduler = new Scheduler();
+
+  @Test
+  public void testThatImmediateDispatchesEach() {
+    final DispatchBatcher<Dispatchable<Entry<?>, State<?>>> batcher = DispatchBatcher.immediate(Collections.singletonList(dispatcher));
+
+    batcher.dispatch(dispatchable("d1"));
+    batcher.dispatchAll(Arrays.asList(dispatchable("d2"), dispatchable("d3")));
+
+    assertEquals(3, dispatcher.dispatched.size());
+    assertTrue(dispatcher.batches.isEmpty());
+  }
+
+  @Test
+  public void testThatFullBatchesAreHandedOver() {
+    final DispatchBatcher<Dispatchable<Entry<?>, State<?>>> batcher = new DispatchBatcher<>(Collections.singletonList(dispatcher), 3, 60_000, scheduler);
+
+    for (int count = 1; count <= 7; ++count) {
+      batcher.dispatch(dispatchable("d" + count));
+    }
+
+    assertEquals(2, dispatcher.batches.size());
+    assertEquals("d1", dispatcher.batches.get(0).get(0).id());
+    assertEquals("d6", dispatcher.batches.get(1).get(2).id());
+    assertTrue(dispatcher.dispatched.isEmpty());
+
+    batcher.stop();
+    assertEquals(1, dispatcher.dispatched.size());
+    assertEquals("d7", dispatcher.dispatched.get(0).id());
+  }
+
+  @Test
+  public void testThatLingeringBatchIsHandedOver() throws InterruptedException {
+    final DispatchBatcher<Dispatchable<Entry<?>, State<?>>> batcher = new DispatchBatcher<>(Collections.singletonList(dispatcher), 100, 20, scheduler);
+
+    batcher.dispatch(dispatchable("d1"));
+    batcher.dispatch(dispatchable("d2"));
+
+    assertTrue(dispatcher.handedOver.await(5, TimeUnit.SECONDS));
+    assertEquals(1, dispatcher.batches.size());
+    assertEquals(2, dispatcher.batches.get(0).size());
+  }
+
+  @Test
+  public void testThatDispatchAllDefaultsToEach() {
+    final List<Dispatchable<Entry<?>, State<?>>> dispatched = new ArrayList<>();
+    final Dispatcher<Dispatchable<Entry<?>, State<?>>> each = new Dispatcher<Dispatchable<Entry<?>, State<?>>>() {
+      @Override
+      public void controlWith(final DispatcherControl control) { }
+
+      @Override
+      public void dispatch(final Dispatchable<Entry<?>, State<?>> dispatchable) {
+        dispatched.add(dispatchable);
+      }
+    };
+
+    each.dispatchAll(Arrays.asList(dispatchable("d1"), dispatchable("d2")));
+
+    assertEquals(2, dispatched.size());
+  }
+
+  @After
+  public void tearDown() {
+    scheduler.close();
+  }
+
+  private static Dispatchable<Entry<?>, State<?>> dispatchable(final String id) {
+    return new Dispatchable<>(id, LocalDateTime.now(), null, Collections.emptyList());
+  }
+
+  private static final class BatchingDispatcher implements Dispatcher<Dispatchable<Entry<?>, State<?>>> {
+    final List<List<Dispatchable<Entry<?>, State<?>>>> batches = Collections.synchronizedList(new ArrayList<>());
+    final List<Dispatchable<Entry<?>, State<?>>> dispatched = Collections.synchronizedList(new ArrayList<>());
+    final CountDownLatch handedOver = new CountDownLatch(1);
+
+    @Override
+    public void controlWith(final DispatcherControl control) { }
+
+    @Override
+    public void dispatch(final Dispatchable<Entry<?>, State<?>> dispatchable) {
+      dispatched.add(dispatchable);
+    }
+
+    @Override
+    public void dispatchAll(final List<Dispatchable<Entry<?>, State<?>>> dispatchables) {
+      batches.add(dispatchables);
+      handedOver.countDown();
+    }
+  }
+}
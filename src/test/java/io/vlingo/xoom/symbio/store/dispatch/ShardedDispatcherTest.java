@@ -0,0 +1,186 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.dispatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vlingo.xoom.actors.World;
+import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.State;
+
+public class ShardedDispatcherTest {
+  private static final int Capacity = 10;
+  private static final int Keys = 50;
+  private static final int PerKey = 200;
+  private static final int Senders = 8;
+
+  private RecordingDispatcher recording;
+  private ShardedDispatcher<Dispatchable<Entry<?>, State<?>>> sharded;
+  private World world;
+
+  @Test
+  public void testThatEachKeyIsDispatchedInOrder() throws InterruptedException {
+    for (int sequence = 0; sequence < PerKey; ++sequence) {
+      for (int key = 0; key < Keys; ++key) {
+        sharded.dispatch(dispatchable(key, sequence));
+      }
+    }
+
+    assertTrue(recording.dispatched.await(10, TimeUnit.SECONDS));
+    assertOrdered();
+    assertTrue(recording.threads.size() > 1);
+  }
+
+  @Test
+  public void testThatBatchesAreSplitByShardInOrder() throws InterruptedException {
+    for (int sequence = 0; sequence < PerKey; ++sequence) {
+      final List<Dispatchable<Entry<?>, State<?>>> batch = new ArrayList<>();
+      for (int key = 0; key < Keys; ++key) {
+        batch.add(dispatchable(key, sequence));
+      }
+      sharded.dispatchAll(Collections.unmodifiableList(batch));
+    }
+
+    assertTrue(recording.dispatched.await(10, TimeUnit.SECONDS));
+    assertOrdered();
+  }
+
+  @Test
+  public void testThatFullShardRejectsWithoutWaiting() throws InterruptedException {
+    final CountDownLatch release = new CountDownLatch(1);
+    final RecordingDispatcher blocked = new RecordingDispatcher(1) {
+      @Override
+      public void dispatch(final Dispatchable<Entry<?>, State<?>> dispatchable) {
+        try {
+          release.await(10, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        super.dispatch(dispatchable);
+      }
+    };
+    final ShardedDispatcher<Dispatchable<Entry<?>, State<?>>> single =
+            new ShardedDispatcher<>(blocked, 1, 1, ShardedDispatcherTest::keyOf, world.stage(), null);
+
+    single.dispatch(dispatchable(0, 0));
+    single.dispatch(dispatchable(0, 1));
+    single.dispatchAll(Arrays.asList(dispatchable(0, 2), dispatchable(0, 3)));
+    assertEquals(3, single.rejected());
+
+    release.countDown();
+    assertTrue(blocked.dispatched.await(10, TimeUnit.SECONDS));
+    assertEquals(Arrays.asList(0), blocked.byKey.get("key-0"));
+    single.stop();
+  }
+
+  @Test
+  public void testThatCapacityCountsDispatchablesOfConcurrentDispatches() throws InterruptedException {
+    final CountDownLatch release = new CountDownLatch(1);
+    final RecordingDispatcher blocked = new RecordingDispatcher(Capacity) {
+      @Override
+      public void dispatch(final Dispatchable<Entry<?>, State<?>> dispatchable) {
+        try {
+          release.await(10, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        super.dispatch(dispatchable);
+      }
+    };
+    final ShardedDispatcher<Dispatchable<Entry<?>, State<?>>> single =
+            new ShardedDispatcher<>(blocked, 1, Capacity, ShardedDispatcherTest::keyOf, world.stage(), null);
+
+    final List<Thread> senders = new ArrayList<>();
+    for (int sender = 0; sender < Senders; ++sender) {
+      final int key = sender;
+      senders.add(new Thread(() -> {
+        for (int sequence = 0; sequence < PerKey; ++sequence) {
+          single.dispatch(dispatchable(key, sequence));
+        }
+      }));
+    }
+    senders.forEach(Thread::start);
+    for (final Thread sender : senders) {
+      sender.join();
+    }
+    assertEquals(Senders * PerKey - Capacity, single.rejected());
+
+    release.countDown();
+    assertTrue(blocked.dispatched.await(10, TimeUnit.SECONDS));
+    single.stop();
+  }
+
+  @Before
+  public void setUp() {
+    world = World.startWithDefaults("test-sharded-dispatcher");
+    recording = new RecordingDispatcher(Keys * PerKey);
+    sharded = new ShardedDispatcher<>(recording, 4, Keys * PerKey, ShardedDispatcherTest::keyOf, world.stage(), null);
+  }
+
+  @After
+  public void tearDown() {
+    sharded.stop();
+    world.terminate();
+  }
+
+  private void assertOrdered() {
+    assertEquals(Keys, recording.byKey.size());
+    for (final List<Integer> sequences : recording.byKey.values()) {
+      assertEquals(PerKey, sequences.size());
+      for (int sequence = 0; sequence < PerKey; ++sequence) {
+        assertEquals(sequence, (int) sequences.get(sequence));
+      }
+    }
+  }
+
+  private static Dispatchable<Entry<?>, State<?>> dispatchable(final int key, final int sequence) {
+    return new Dispatchable<>("key-" + key + ":" + sequence, LocalDateTime.now(), null, Collections.emptyList());
+  }
+
+  private static String keyOf(final Dispatchable<Entry<?>, State<?>> dispatchable) {
+    return dispatchable.id().substring(0, dispatchable.id().indexOf(':'));
+  }
+
+  private static class RecordingDispatcher implements Dispatcher<Dispatchable<Entry<?>, State<?>>> {
+    final Map<String, List<Integer>> byKey = new ConcurrentHashMap<>();
+    final CountDownLatch dispatched;
+    final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+    RecordingDispatcher(final int total) {
+      this.dispatched = new CountDownLatch(total);
+    }
+
+    @Override
+    public void controlWith(final DispatcherControl control) { }
+
+    @Override
+    public void dispatch(final Dispatchable<Entry<?>, State<?>> dispatchable) {
+      threads.add(Thread.currentThread());
+      final String id = dispatchable.id();
+      // each key is dispatched by one thread only
+      byKey.computeIfAbsent(keyOf(dispatchable), key -> new ArrayList<>()).add(Integer.parseInt(id.substring(id.indexOf(':') + 1)));
+      dispatched.countDown();
+    }
+  }
+}
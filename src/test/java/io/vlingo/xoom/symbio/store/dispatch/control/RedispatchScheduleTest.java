@@ -0,0 +1,245 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.dispatch.control;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.junit.Test;
+
+import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.State;
+import io.vlingo.xoom.symbio.store.dispatch.Dispatchable;
+
+public class RedispatchScheduleTest {
+  private static final long ExpirationMillis = 1000;
+  private static final long ExpirationNanos = ExpirationMillis * 1_000_000L;
+
+  private final Set<String> confirmed = new HashSet<>();
+  private final RedispatchSchedule schedule = new RedispatchSchedule(ExpirationMillis);
+
+  @Test
+  public void testThatNothingExpiresBeforeDeadline() {
+    schedule.schedule(Arrays.asList(dispatchable("d1"), dispatchable("d2")), 0);
+
+    assertTrue(redispatchExpired(schedule, ExpirationNanos - 1, this::isUnconfirmed).isEmpty());
+    assertEquals(2, schedule.size());
+  }
+
+  @Test
+  public void testThatExpiredAreAnsweredInDeadlineOrderAndRescheduled() {
+    final Dispatchable<Entry<?>, State<?>> d1 = dispatchable("d1");
+    final Dispatchable<Entry<?>, State<?>> d2 = dispatchable("d2");
+    final Dispatchable<Entry<?>, State<?>> d3 = dispatchable("d3");
+    schedule.schedule(Arrays.asList(d1, d2), 0);
+    schedule.schedule(Collections.singletonList(d3), 10);
+
+    final List<Dispatchable<?,?>> expired = redispatchExpired(schedule, ExpirationNanos, this::isUnconfirmed);
+    assertEquals(2, expired.size());
+    assertSame(d1, expired.get(0));
+    assertSame(d2, expired.get(1));
+    assertEquals(3, schedule.size());
+
+    final List<Dispatchable<?,?>> next = redispatchExpired(schedule, ExpirationNanos + 10, this::isUnconfirmed);
+    assertEquals(1, next.size());
+    assertSame(d3, next.get(0));
+
+    assertTrue(redispatchExpired(schedule, 2 * ExpirationNanos - 1, this::isUnconfirmed).isEmpty());
+    assertEquals(2, redispatchExpired(schedule, 2 * ExpirationNanos, this::isUnconfirmed).size());
+  }
+
+  @Test
+  public void testThatConfirmedAreForgotten() {
+    final Dispatchable<Entry<?>, State<?>> d1 = dispatchable("d1");
+    final Dispatchable<Entry<?>, State<?>> d2 = dispatchable("d2");
+    schedule.schedule(Arrays.asList(d1, d2), 0);
+    confirmed.add("d1");
+
+    final List<Dispatchable<?,?>> expired = redispatchExpired(schedule, ExpirationNanos, this::isUnconfirmed);
+    assertEquals(1, expired.size());
+    assertSame(d2, expired.get(0));
+    assertEquals(1, schedule.size());
+
+    schedule.schedule(Collections.singletonList(d2), ExpirationNanos);
+    assertEquals(1, schedule.size());
+  }
+
+  @Test
+  public void testThatDeadlinesSurviveNanoTimeOverflow() {
+    final long nearOverflow = Long.MAX_VALUE - ExpirationNanos / 2;
+    schedule.schedule(Collections.singletonList(dispatchable("d1")), nearOverflow);
+
+    assertTrue(redispatchExpired(schedule, nearOverflow + 1, this::isUnconfirmed).isEmpty());
+    assertEquals(1, redispatchExpired(schedule, nearOverflow + ExpirationNanos, this::isUnconfirmed).size());
+  }
+
+  @Test
+  public void testThatManyScheduledCostOnlyTheExpired() {
+    final List<Dispatchable<Entry<?>, State<?>>> dispatchables = new ArrayList<>();
+    for (int count = 0; count < 100_000; ++count) {
+      dispatchables.add(dispatchable("d" + count));
+    }
+    schedule.schedule(dispatchables.subList(0, 10), 0);
+    schedule.schedule(dispatchables.subList(10, dispatchables.size()), 1);
+
+    final int[] checked = new int[1];
+    final List<Dispatchable<?,?>> expired = redispatchExpired(schedule, ExpirationNanos, dispatchable -> { ++checked[0]; return true; });
+
+    assertEquals(10, expired.size());
+    assertEquals(10, checked[0]);
+  }
+
+  @Test
+  public void testThatRedispatchBacksOffWithJitter() {
+    final RedispatchSchedule backoff = new RedispatchSchedule(RedispatchPolicy.unbounded().withBackoff(5 * ExpirationMillis, 0.5), ExpirationMillis, () -> 1.0);
+    backoff.schedule(Collections.singletonList(dispatchable("d1")), 0);
+
+    long now = ExpirationNanos;
+    assertEquals(1, redispatchExpired(backoff, now, this::isUnconfirmed).size());
+    // 2 expirations less half
+    assertTrue(redispatchExpired(backoff, now + ExpirationNanos - 1, this::isUnconfirmed).isEmpty());
+    now += ExpirationNanos;
+    assertEquals(1, redispatchExpired(backoff, now, this::isUnconfirmed).size());
+    // 4 expirations less half
+    assertTrue(redispatchExpired(backoff, now + 2 * ExpirationNanos - 1, this::isUnconfirmed).isEmpty());
+    now += 2 * ExpirationNanos;
+    assertEquals(1, redispatchExpired(backoff, now, this::isUnconfirmed).size());
+    // capped at 5 expirations less half
+    assertTrue(redispatchExpired(backoff, now + 5 * ExpirationNanos / 2 - 1, this::isUnconfirmed).isEmpty());
+    assertEquals(1, redispatchExpired(backoff, now + 5 * ExpirationNanos / 2, this::isUnconfirmed).size());
+  }
+
+  @Test
+  public void testThatAllExpiredAreAnsweredRegardlessOfRetryBudget() {
+    final AccessMetrics metrics = new AccessMetrics();
+    final RedispatchSchedule budgeted = new RedispatchSchedule(RedispatchPolicy.unbounded().withRetryBudget(3, 0.1).withMetrics(metrics), ExpirationMillis);
+    final List<Dispatchable<Entry<?>, State<?>>> dispatchables = new ArrayList<>();
+    for (int count = 0; count < 20; ++count) {
+      dispatchables.add(dispatchable("d" + count));
+    }
+    assertEquals(20, budgeted.schedule(dispatchables, 0));
+    assertEquals(0, budgeted.schedule(dispatchables, 0));
+
+    // the budget is spent per dispatcher by the Redispatcher
+    final List<Dispatchable<?,?>> expired = budgeted.expired(ExpirationNanos, this::isUnconfirmed);
+    assertEquals(20, expired.size());
+    assertSame(dispatchables.get(0), expired.get(0));
+    assertEquals(0, metrics.budgetsExhausted);
+    assertEquals(0, metrics.redispatched);
+
+    // only those redispatched are counted and rescheduled
+    for (final Dispatchable<?,?> dispatchable : expired.subList(0, 3)) {
+      budgeted.redispatched(dispatchable, ExpirationNanos);
+    }
+    assertEquals(3, metrics.redispatched);
+    assertEquals(3, budgeted.size());
+  }
+
+  @Test
+  public void testThatHeldBackAreNeitherCountedNorParked() {
+    final AccessMetrics metrics = new AccessMetrics();
+    final RedispatchSchedule parking = new RedispatchSchedule(RedispatchPolicy.unbounded().withMaximumAttempts(1).withMetrics(metrics), ExpirationMillis);
+    final Dispatchable<Entry<?>, State<?>> held = dispatchable("held");
+    parking.schedule(Collections.singletonList(held), 0);
+
+    assertEquals(1, parking.expired(ExpirationNanos, this::isUnconfirmed).size());
+    // held back by the budget, so it awaits its redispatch rather than expiring again
+    assertTrue(parking.expired(5 * ExpirationNanos, this::isUnconfirmed).isEmpty());
+    assertEquals(0, metrics.parked);
+    assertFalse(parking.isParked(held));
+
+    parking.redispatched(held, 5 * ExpirationNanos);
+    parking.redispatched(held, 5 * ExpirationNanos); // once per expiration
+    assertEquals(1, metrics.redispatched);
+    assertEquals(1, parking.size());
+
+    assertTrue(parking.expired(6 * ExpirationNanos, this::isUnconfirmed).isEmpty());
+    assertEquals(1, metrics.parked);
+    assertTrue(parking.isParked(held));
+  }
+
+  @Test
+  public void testThatConfirmedWhileHeldBackAreForgotten() {
+    final Dispatchable<Entry<?>, State<?>> d1 = dispatchable("d1");
+    schedule.schedule(Collections.singletonList(d1), 0);
+
+    assertEquals(1, schedule.expired(ExpirationNanos, this::isUnconfirmed).size());
+    schedule.confirmed(d1);
+    schedule.redispatched(d1, ExpirationNanos);
+
+    assertEquals(0, schedule.size());
+    assertEquals(1, schedule.schedule(Collections.singletonList(d1), ExpirationNanos));
+  }
+
+  @Test
+  public void testThatMaximumAttemptsParkAndUnpark() {
+    final AccessMetrics metrics = new AccessMetrics();
+    final RedispatchSchedule parking = new RedispatchSchedule(RedispatchPolicy.unbounded().withMaximumAttempts(2).withMetrics(metrics), ExpirationMillis);
+    final Dispatchable<Entry<?>, State<?>> poison = dispatchable("poison");
+    parking.schedule(Collections.singletonList(poison), 0);
+
+    assertEquals(1, redispatchExpired(parking, ExpirationNanos, this::isUnconfirmed).size());
+    assertEquals(1, redispatchExpired(parking, 2 * ExpirationNanos, this::isUnconfirmed).size());
+    assertTrue(redispatchExpired(parking, 3 * ExpirationNanos, this::isUnconfirmed).isEmpty());
+    assertEquals(0, parking.size());
+    assertEquals(1, metrics.parked);
+    assertSame(poison, parking.parked().get(0));
+
+    assertEquals(1, parking.unpark(4 * ExpirationNanos, this::isUnconfirmed));
+    assertTrue(parking.parked().isEmpty());
+    assertEquals(1, redispatchExpired(parking, 4 * ExpirationNanos, this::isUnconfirmed).size());
+  }
+
+  private List<Dispatchable<?,?>> redispatchExpired(final RedispatchSchedule schedule, final long nowNanos, final Predicate<Dispatchable<?,?>> isUnconfirmed) {
+    final List<Dispatchable<?,?>> expired = schedule.expired(nowNanos, isUnconfirmed);
+    for (final Dispatchable<?,?> dispatchable : expired) {
+      schedule.redispatched(dispatchable, nowNanos);
+    }
+    return expired;
+  }
+
+  private boolean isUnconfirmed(final Dispatchable<?,?> dispatchable) {
+    return !confirmed.contains(dispatchable.id());
+  }
+
+  private static final class AccessMetrics implements RedispatchMetrics {
+    int budgetsExhausted;
+    int parked;
+    int redispatched;
+
+    @Override
+    public void redispatched(final Dispatchable<?,?> dispatchable, final int attempt) {
+      ++redispatched;
+    }
+
+    @Override
+    public void budgetExhausted(final int budget) {
+      ++budgetsExhausted;
+    }
+
+    @Override
+    public void parked(final Dispatchable<?,?> dispatchable, final int attempts) {
+      ++parked;
+    }
+  }
+
+  private static Dispatchable<Entry<?>, State<?>> dispatchable(final String id) {
+    return new Dispatchable<>(id, LocalDateTime.now(), null, Collections.emptyList());
+  }
+}
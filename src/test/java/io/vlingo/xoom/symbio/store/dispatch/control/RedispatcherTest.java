@@ -0,0 +1,182 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.dispatch.control;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.State;
+import io.vlingo.xoom.symbio.store.dispatch.Dispatchable;
+import io.vlingo.xoom.symbio.store.dispatch.Dispatcher;
+import io.vlingo.xoom.symbio.store.dispatch.DispatcherControl;
+import io.vlingo.xoom.symbio.store.dispatch.DispatcherControl.DispatcherControlDelegate;
+import io.vlingo.xoom.symbio.store.dispatch.inmemory.DispatchableLedger;
+import io.vlingo.xoom.symbio.store.dispatch.inmemory.InMemoryDispatcherControlDelegate;
+
+public class RedispatcherTest {
+  private final DispatchableLedger<Entry<?>, State<?>> ledger = new DispatchableLedger<>();
+
+  @Test
+  public void testThatIncrementalExpiredExcludeConfirmed() throws Exception {
+    final Redispatcher redispatcher = new Redispatcher(new InMemoryDispatcherControlDelegate<>(ledger), RedispatchPolicy.unbounded(), 0);
+    assertTrue(redispatcher.isIncremental());
+
+    final Dispatchable<Entry<?>, State<?>> d1 = dispatchable("d1");
+    ledger.add(d1);
+    ledger.add(dispatchable("d2"));
+    redispatcher.delegate().confirmDispatched("d2");
+
+    final List<Dispatchable<? extends Entry<?>, ? extends State<?>>> expired = redispatcher.expired();
+    assertEquals(1, expired.size());
+    assertSame(d1, expired.get(0));
+  }
+
+  @Test
+  public void testThatRetryBudgetIsSpentPerDispatcher() throws Exception {
+    final Redispatcher redispatcher = new Redispatcher(new InMemoryDispatcherControlDelegate<>(ledger), RedispatchPolicy.unbounded().withRetryBudget(2, 0.1), 0);
+    final AccessDispatcher dispatcher1 = new AccessDispatcher();
+    final AccessDispatcher dispatcher2 = new AccessDispatcher();
+    for (int count = 0; count < 20; ++count) {
+      ledger.add(dispatchable("d" + count));
+    }
+
+    // 2 plus a tenth of the 20 observed, to each dispatcher
+    redispatcher.redispatch(Arrays.asList(dispatcher1, dispatcher2));
+    assertEquals(4, dispatcher1.ids.size());
+    assertEquals(dispatcher1.ids, dispatcher2.ids);
+
+    final List<String> first = new ArrayList<>(dispatcher1.ids);
+    dispatcher1.ids.clear();
+    dispatcher2.ids.clear();
+    final List<String> confirmed = new ArrayList<>();
+    for (int count = 0; count < 20 && confirmed.size() < 10; ++count) {
+      if (!first.contains("d" + count)) {
+        confirmed.add("d" + count);
+      }
+    }
+    redispatcher.delegate().confirmDispatched(confirmed);
+
+    // none newly observed, so the remainder is first, less those confirmed
+    redispatcher.redispatch(Arrays.asList(dispatcher1, dispatcher2));
+    assertEquals(2, dispatcher1.ids.size());
+    assertEquals(dispatcher1.ids, dispatcher2.ids);
+    for (final String id : dispatcher1.ids) {
+      assertFalse(first.contains(id));
+      assertFalse(confirmed.contains(id));
+    }
+  }
+
+  @Test
+  public void testThatOlderThanExpiredAreLimitedByBudget() throws Exception {
+    final Redispatcher redispatcher = new Redispatcher(new LedgerDelegate(), RedispatchPolicy.unbounded().withRetryBudget(1, 0.1), 0);
+    assertFalse(redispatcher.isIncremental());
+    final AccessDispatcher dispatcher = new AccessDispatcher();
+
+    ledger.add(dispatchable("d1"));
+    ledger.add(dispatchable("d2"));
+    ledger.add(dispatchable("d3"));
+    Thread.sleep(2);
+
+    // 1 plus a tenth of the 3 observed
+    redispatcher.redispatch(Arrays.asList(dispatcher));
+    assertEquals(Arrays.asList("d1", "d2"), dispatcher.ids);
+
+    dispatcher.ids.clear();
+    ledger.confirm("d1");
+
+    // none newly observed, so the remainder is first
+    redispatcher.redispatch(Arrays.asList(dispatcher));
+    assertEquals(Arrays.asList("d3"), dispatcher.ids);
+    assertEquals(0, redispatcher.unpark());
+  }
+
+  @Test
+  public void testThatOnlyRedispatchedAreCounted() throws Exception {
+    final CountingMetrics metrics = new CountingMetrics();
+    final Redispatcher redispatcher = new Redispatcher(new InMemoryDispatcherControlDelegate<>(ledger),
+            RedispatchPolicy.unbounded().withRetryBudget(1, 0.1).withMaximumAttempts(1).withMetrics(metrics), 0);
+    final AccessDispatcher dispatcher = new AccessDispatcher();
+    for (int count = 0; count < 10; ++count) {
+      ledger.add(dispatchable("d" + count));
+    }
+
+    // 1 plus a tenth of the 10 observed, the remainder held back
+    redispatcher.redispatch(Arrays.asList(dispatcher));
+    assertEquals(2, dispatcher.ids.size());
+    assertEquals(2, metrics.redispatched);
+
+    // those held back are redispatched rather than parked, and those redispatched are parked
+    dispatcher.ids.clear();
+    redispatcher.redispatch(Arrays.asList(dispatcher));
+    assertEquals(1, dispatcher.ids.size());
+    assertEquals(3, metrics.redispatched);
+    assertEquals(2, metrics.parked);
+    assertFalse(dispatcher.ids.contains("d0"));
+    assertFalse(dispatcher.ids.contains("d1"));
+  }
+
+  private Dispatchable<Entry<?>, State<?>> dispatchable(final String id) {
+    return new Dispatchable<>(id, LocalDateTime.now().minusSeconds(1), null, Collections.emptyList());
+  }
+
+  private static class AccessDispatcher implements Dispatcher<Dispatchable<? extends Entry<?>, ? extends State<?>>> {
+    final List<String> ids = new ArrayList<>();
+
+    @Override
+    public void controlWith(final DispatcherControl control) { }
+
+    @Override
+    public void dispatch(final Dispatchable<? extends Entry<?>, ? extends State<?>> dispatchable) {
+      ids.add(dispatchable.id());
+    }
+  }
+
+  private static class CountingMetrics implements RedispatchMetrics {
+    int parked;
+    int redispatched;
+
+    @Override
+    public void redispatched(final Dispatchable<?,?> dispatchable, final int attempt) {
+      ++redispatched;
+    }
+
+    @Override
+    public void parked(final Dispatchable<?,?> dispatchable, final int attempts) {
+      ++parked;
+    }
+  }
+
+  private class LedgerDelegate implements DispatcherControlDelegate<Entry<?>, State<?>> {
+    @Override
+    public Collection<Dispatchable<Entry<?>, State<?>>> allUnconfirmedDispatchableStates() {
+      return new ArrayList<>(ledger.unconfirmed());
+    }
+
+    @Override
+    public void confirmDispatched(final String dispatchId) {
+      ledger.confirm(dispatchId);
+    }
+
+    @Override
+    public void stop() {
+      ledger.clear();
+    }
+  }
+}
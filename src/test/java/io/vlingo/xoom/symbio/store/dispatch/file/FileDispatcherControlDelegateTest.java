@@ -0,0 +1,202 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.dispatch.file;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vlingo.xoom.symbio.BaseEntry.TextEntry;
+import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.Metadata;
+import io.vlingo.xoom.symbio.State.TextState;
+import io.vlingo.xoom.symbio.store.dispatch.DispatchPressure;
+import io.vlingo.xoom.symbio.store.dispatch.Dispatchable;
+
+public class FileDispatcherControlDelegateTest {
+  private FileDispatcherControlDelegate<Entry<?>, TextState> delegate;
+  private File directory;
+
+  @Test
+  public void testThatUnconfirmedAreRecovered() {
+    delegate.persistDispatchable(dispatchable("d1", 1));
+    delegate.persistDispatchable(dispatchable("d2", 2));
+    delegate.persistDispatchable(dispatchable("d3", 3));
+    delegate.confirmDispatched("d2");
+    delegate.stop();
+
+    delegate = new FileDispatcherControlDelegate<>(directory);
+
+    final List<Dispatchable<Entry<?>, TextState>> recovered = unconfirmed();
+    assertEquals(2, recovered.size());
+    final Dispatchable<Entry<?>, TextState> first = recovered.get(0);
+    assertEquals("d1", first.id());
+    assertEquals("state-1", first.state().get().data);
+    assertEquals("1", first.entries().get(0).id());
+    assertEquals(1, first.entries().get(0).position());
+    assertEquals("data-1", first.entries().get(0).entryData());
+    assertEquals("d3", recovered.get(1).id());
+  }
+
+  @Test
+  public void testThatRepeatedIdsAreConfirmedOldestFirst() {
+    delegate.persistDispatchable(dispatchable("same", 1));
+    delegate.persistDispatchable(dispatchable("same", 2));
+    delegate.confirmDispatched(Arrays.asList("same", "unknown"));
+    delegate.stop();
+
+    delegate = new FileDispatcherControlDelegate<>(directory);
+
+    final List<Dispatchable<Entry<?>, TextState>> recovered = unconfirmed();
+    assertEquals(1, recovered.size());
+    assertEquals("state-2", recovered.get(0).state().get().data);
+    assertEquals(3, delegate.records());
+  }
+
+  @Test
+  public void testThatTornTailIsDiscarded() throws IOException {
+    delegate.persistDispatchable(dispatchable("d1", 1));
+    delegate.persistDispatchable(dispatchable("d2", 2));
+    delegate.stop();
+
+    final File log = new File(directory, "outbox.log");
+    try (final RandomAccessFile file = new RandomAccessFile(log, "rw")) {
+      file.setLength(file.length() - 3);
+    }
+
+    delegate = new FileDispatcherControlDelegate<>(directory);
+    assertEquals(1, unconfirmed().size());
+
+    delegate.persistDispatchable(dispatchable("d3", 3));
+    delegate.stop();
+    delegate = new FileDispatcherControlDelegate<>(directory);
+    assertEquals(2, unconfirmed().size());
+    assertEquals("d3", unconfirmed().get(1).id());
+  }
+
+  @Test
+  public void testThatConfirmedAreCompacted() {
+    delegate.stop();
+    delegate = new FileDispatcherControlDelegate<>(directory, DispatchPressure.unbounded(), false);
+
+    delegate.persistDispatchable(dispatchable("kept", 0));
+    for (int count = 1; count <= 2_000; ++count) {
+      delegate.persistDispatchable(dispatchable("d" + count, count));
+      delegate.confirmDispatched("d" + count);
+    }
+    delegate.compact();
+
+    assertEquals(1, delegate.records());
+    delegate.stop();
+
+    delegate = new FileDispatcherControlDelegate<>(directory);
+    assertEquals(1, delegate.records());
+    assertEquals("kept", unconfirmed().get(0).id());
+  }
+
+  @Test
+  public void testThatCompactionRunsInBackground() throws InterruptedException {
+    delegate.stop();
+    delegate = new FileDispatcherControlDelegate<>(directory, DispatchPressure.unbounded(), false);
+
+    for (int count = 1; count <= 2_000; ++count) {
+      delegate.persistDispatchable(dispatchable("d" + count, count));
+      delegate.confirmDispatched("d" + count);
+    }
+
+    for (int wait = 0; wait < 100 && delegate.records() >= 1024; ++wait) {
+      Thread.sleep(10);
+    }
+    assertTrue(delegate.records() < 1024);
+  }
+
+  @Test
+  public void testThatAppendsDuringCompactionAreKept() throws InterruptedException {
+    delegate.stop();
+    delegate = new FileDispatcherControlDelegate<>(directory, DispatchPressure.unbounded(), false);
+
+    for (int count = 1; count <= 2_000; ++count) {
+      delegate.persistDispatchable(dispatchable("d" + count, count));
+      delegate.confirmDispatched("d" + count);
+      if (count > 1_000) {
+        delegate.persistDispatchable(dispatchable("kept" + count, count));
+      }
+    }
+    for (int wait = 0; wait < 100 && delegate.records() >= 1024; ++wait) {
+      Thread.sleep(10);
+    }
+    delegate.stop();
+
+    delegate = new FileDispatcherControlDelegate<>(directory);
+    assertEquals(1_000, unconfirmed().size());
+    assertEquals("kept1001", unconfirmed().get(0).id());
+  }
+
+  @Test
+  public void testThatFailedCompactionLeavesLog() {
+    delegate.persistDispatchable(dispatchable("kept", 0));
+    delegate.persistDispatchable(dispatchable("d1", 1));
+    delegate.confirmDispatched("d1");
+    assertTrue(new File(directory, "outbox.compacting").mkdir()); // cannot be opened as a file
+
+    try {
+      delegate.compact();
+      fail("Compaction should have failed.");
+    } catch (IllegalStateException e) {
+      // expected
+    }
+
+    delegate.persistDispatchable(dispatchable("after", 2));
+    assertEquals(4, delegate.records());
+    delegate.stop();
+
+    delegate = new FileDispatcherControlDelegate<>(directory);
+    assertEquals(2, unconfirmed().size());
+    assertEquals("after", unconfirmed().get(1).id());
+  }
+
+  @Before
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("outbox").toFile();
+    delegate = new FileDispatcherControlDelegate<>(directory);
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    delegate.stop();
+    Files.walk(directory.toPath()).sorted(Comparator.reverseOrder()).map(java.nio.file.Path::toFile).forEach(File::delete);
+  }
+
+  private Dispatchable<Entry<?>, TextState> dispatchable(final String id, final int count) {
+    final TextEntry entry = new TextEntry(Object.class, 1, "data-" + count, Metadata.nullMetadata());
+    entry.__internal__setPosition(count);
+    final TextState state = new TextState("state-id-" + count, Object.class, 1, "state-" + count, count + 1);
+    return new Dispatchable<>(id, LocalDateTime.now(), state, Collections.singletonList(entry));
+  }
+
+  private List<Dispatchable<Entry<?>, TextState>> unconfirmed() {
+    final List<Dispatchable<Entry<?>, TextState>> unconfirmed = new ArrayList<>();
+    delegate.allUnconfirmedDispatchableStates().forEach(unconfirmed::add);
+    return unconfirmed;
+  }
+}
@@ -0,0 +1,232 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.dispatch.inmemory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import io.vlingo.xoom.symbio.BaseEntry;
+import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.Metadata;
+import io.vlingo.xoom.symbio.State;
+import io.vlingo.xoom.symbio.store.dispatch.DispatchPressure;
+import io.vlingo.xoom.symbio.store.dispatch.Dispatchable;
+
+public class DispatchableLedgerTest {
+  private final LocalDateTime now = LocalDateTime.now();
+  private final DispatchableLedger<Entry<?>, State<?>> ledger = new DispatchableLedger<>();
+
+  @Test
+  public void testThatUnconfirmedAreKeptInOrder() {
+    for (int count = 0; count < 10; ++count) {
+      ledger.add(dispatchable("d" + count, count));
+    }
+
+    assertTrue(ledger.confirm("d3"));
+    assertTrue(ledger.confirm("d0"));
+    assertFalse(ledger.confirm("d0"));
+    assertFalse(ledger.confirm("unknown"));
+
+    assertEquals(8, ledger.size());
+    final List<String> ids = new ArrayList<>();
+    ledger.unconfirmed().forEach(dispatchable -> ids.add(dispatchable.id()));
+    assertEquals("[d1, d2, d4, d5, d6, d7, d8, d9]", ids.toString());
+  }
+
+  @Test
+  public void testThatOnlyOlderThanCutoffAreAnswered() {
+    for (int count = 0; count < 10; ++count) {
+      ledger.add(dispatchable("d" + count, count));
+    }
+    ledger.confirm("d1");
+
+    final List<Dispatchable<Entry<?>, State<?>>> older = ledger.unconfirmedOlderThan(now.plusSeconds(4));
+
+    assertEquals(3, older.size());
+    assertEquals("d0", older.get(0).id());
+    assertEquals("d3", older.get(2).id());
+  }
+
+  @Test
+  public void testThatRepeatedIdConfirmsOldest() {
+    final Dispatchable<Entry<?>, State<?>> first = dispatchable("same", 0);
+    final Dispatchable<Entry<?>, State<?>> second = dispatchable("same", 1);
+    ledger.add(first);
+    ledger.add(second);
+
+    assertEquals(2, ledger.size());
+    assertTrue(ledger.confirm("same"));
+    assertEquals(1, ledger.size());
+    assertSame(second, ledger.unconfirmed().iterator().next());
+    assertTrue(ledger.confirm("same"));
+    assertTrue(ledger.isEmpty());
+    assertFalse(ledger.unconfirmed().iterator().hasNext());
+  }
+
+  @Test
+  public void testThatConfirmationsAreCompacted() {
+    final int total = 100_000;
+    ledger.add(dispatchable("oldest", 0));
+    for (int count = 0; count < total; ++count) {
+      ledger.add(dispatchable("d" + count, 1));
+      assertTrue(ledger.confirm("d" + count));
+    }
+
+    assertEquals(1, ledger.size());
+    assertEquals(1, ledger.unconfirmedOlderThan(now.plusSeconds(2)).size());
+  }
+
+  @Test
+  public void testThatConcurrentAddsAndConfirmsAreSafe() throws InterruptedException {
+    final int threads = 4;
+    final int perThread = 25_000;
+    final CountDownLatch done = new CountDownLatch(threads);
+    for (int thread = 0; thread < threads; ++thread) {
+      final String prefix = "t" + thread + "-";
+      new Thread(() -> {
+        for (int count = 0; count < perThread; ++count) {
+          ledger.add(dispatchable(prefix + count, 0));
+          if (count % 2 == 0) {
+            ledger.confirm(prefix + count);
+          }
+        }
+        done.countDown();
+      }).start();
+    }
+
+    assertTrue(done.await(30, TimeUnit.SECONDS));
+    assertEquals(threads * perThread / 2, ledger.size());
+    int iterated = 0;
+    for (final Dispatchable<Entry<?>, State<?>> dispatchable : ledger.unconfirmed()) {
+      assertTrue(Integer.parseInt(dispatchable.id().substring(dispatchable.id().indexOf('-') + 1)) % 2 == 1);
+      ++iterated;
+    }
+    assertEquals(threads * perThread / 2, iterated);
+  }
+
+  @Test
+  public void testThatManyAreConfirmedAtOnce() {
+    final List<String> ids = new ArrayList<>();
+    for (int count = 0; count < 5_000; ++count) {
+      ledger.add(dispatchable("d" + count, 0));
+      if (count % 5 != 0) {
+        ids.add("d" + count);
+      }
+    }
+    ids.add("unknown");
+
+    assertEquals(4_000, ledger.confirmAll(ids));
+    assertEquals(1_000, ledger.size());
+    assertEquals(0, ledger.confirmAll(ids));
+    for (final Dispatchable<Entry<?>, State<?>> dispatchable : ledger.unconfirmed()) {
+      assertEquals(0, Integer.parseInt(dispatchable.id().substring(1)) % 5);
+    }
+  }
+
+  @Test
+  public void testThatPressureFollowsWatermarks() {
+    final List<String> signals = new ArrayList<>();
+    final DispatchableLedger<Entry<?>, State<?>> pressured = new DispatchableLedger<>(
+            DispatchPressure.watermarks(3, 1).withListener((overloaded, outstanding) -> signals.add(overloaded + ":" + outstanding)));
+
+    pressured.add(dispatchable("d0", 0));
+    pressured.add(dispatchable("d1", 0));
+    assertFalse(pressured.isOverloaded());
+    pressured.add(dispatchable("d2", 0));
+    assertTrue(pressured.isOverloaded());
+    pressured.add(dispatchable("d3", 0));
+
+    pressured.confirm("d0");
+    pressured.confirm("d1");
+    assertTrue(pressured.isOverloaded());
+    pressured.confirmAll(Arrays.asList("d2"));
+    assertFalse(pressured.isOverloaded());
+
+    assertEquals("[true:3, false:1]", signals.toString());
+  }
+
+  @Test
+  public void testThatSameIdIsConflated() {
+    final Entry<?> entry1 = new BaseEntry.TextEntry("e1", Object.class, 1, "1", Metadata.nullMetadata());
+    final Entry<?> entry2 = new BaseEntry.TextEntry("e2", Object.class, 1, "2", Metadata.nullMetadata());
+    final Entry<?> entry3 = new BaseEntry.TextEntry("e3", Object.class, 1, "3", Metadata.nullMetadata());
+    ledger.add(dispatchable("other", 0));
+    ledger.conflate(new Dispatchable<>("hot", now, null, Collections.singletonList(entry1)));
+    ledger.conflate(new Dispatchable<>("hot", now.plusSeconds(1), null, Collections.singletonList(entry2)));
+    final Dispatchable<Entry<?>, State<?>> conflated = ledger.conflate(new Dispatchable<>("hot", now.plusSeconds(2), null, Collections.singletonList(entry3)));
+
+    assertEquals(4, ledger.size());
+    assertEquals(Arrays.asList(entry1, entry2, entry3), conflated.entries());
+    assertEquals(now.plusSeconds(2), conflated.createdOn());
+    final List<Dispatchable<Entry<?>, State<?>>> unconfirmed = new ArrayList<>();
+    ledger.unconfirmed().forEach(unconfirmed::add);
+    assertEquals(2, unconfirmed.size());
+    assertSame(conflated, unconfirmed.get(1));
+
+    assertTrue(ledger.confirm("hot"));
+    assertTrue(ledger.confirm("hot"));
+    assertTrue(ledger.isUnconfirmed(conflated));
+    assertTrue(ledger.confirm("hot"));
+    assertFalse(ledger.isUnconfirmed(conflated));
+    assertEquals(1, ledger.size());
+  }
+
+  @Test
+  public void testThatConflatedIsConfirmedByLastOfAll() {
+    ledger.conflate(dispatchable("hot", 0));
+    ledger.conflate(dispatchable("hot", 1));
+    final Dispatchable<Entry<?>, State<?>> conflated = ledger.conflate(dispatchable("hot", 2));
+
+    assertEquals(2, ledger.confirmAll(Arrays.asList("hot", "hot")));
+    assertTrue(ledger.isUnconfirmed(conflated));
+    assertEquals(1, ledger.size());
+
+    assertEquals(1, ledger.confirmAll(Arrays.asList("hot", "hot")));
+    assertFalse(ledger.isUnconfirmed(conflated));
+    assertTrue(ledger.isEmpty());
+
+    final Dispatchable<Entry<?>, State<?>> written = ledger.conflate(dispatchable("hot", 3));
+    assertSame(written, ledger.unconfirmed().iterator().next());
+    assertTrue(ledger.confirm("hot"));
+    assertTrue(ledger.isEmpty());
+  }
+
+  @Test
+  public void testThatAddedAreDrainedOnce() {
+    ledger.add(dispatchable("d0", 0));
+    ledger.add(dispatchable("d1", 1));
+
+    assertEquals(2, ledger.drainAdded().size());
+    assertTrue(ledger.drainAdded().isEmpty());
+
+    final Dispatchable<Entry<?>, State<?>> d2 = dispatchable("d2", 2);
+    ledger.add(d2);
+    final List<Dispatchable<Entry<?>, State<?>>> added = ledger.drainAdded();
+    assertEquals(1, added.size());
+    assertSame(d2, added.get(0));
+    assertTrue(ledger.isUnconfirmed(d2));
+    ledger.confirm("d2");
+    assertFalse(ledger.isUnconfirmed(d2));
+  }
+
+  private Dispatchable<Entry<?>, State<?>> dispatchable(final String id, final int secondsAfterNow) {
+    return new Dispatchable<>(id, now.plusSeconds(secondsAfterNow), null, Collections.emptyList());
+  }
+}
@@ -0,0 +1,66 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.dispatch.inmemory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.State;
+import io.vlingo.xoom.symbio.store.dispatch.Dispatchable;
+
+public class InMemoryDispatcherControlDelegateTest {
+
+  @Test
+  @SuppressWarnings("deprecation")
+  public void testThatListedDispatchablesAreLive() {
+    final List<Dispatchable<Entry<?>, State<?>>> listed = new ArrayList<>();
+    final InMemoryDispatcherControlDelegate<Entry<?>, State<?>> delegate = new InMemoryDispatcherControlDelegate<>(listed);
+
+    final Dispatchable<Entry<?>, State<?>> d1 = dispatchable("d1");
+    listed.add(d1);
+
+    assertEquals(1, delegate.allUnconfirmedDispatchableStates().size());
+    assertEquals(1, delegate.unconfirmedDispatchableStatesAdded().size());
+    assertTrue(delegate.isUnconfirmed(d1));
+
+    delegate.confirmDispatched("d1");
+
+    assertTrue(listed.isEmpty());
+    assertFalse(delegate.isUnconfirmed(d1));
+  }
+
+  @Test
+  public void testThatLedgerDispatchablesAreLive() {
+    final DispatchableLedger<Entry<?>, State<?>> ledger = new DispatchableLedger<>();
+    final InMemoryDispatcherControlDelegate<Entry<?>, State<?>> delegate = new InMemoryDispatcherControlDelegate<>(ledger);
+
+    final Dispatchable<Entry<?>, State<?>> d1 = dispatchable("d1");
+    ledger.add(d1);
+
+    assertEquals(1, delegate.allUnconfirmedDispatchableStates().size());
+    assertTrue(delegate.isUnconfirmed(d1));
+
+    delegate.confirmDispatched(Collections.singletonList("d1"));
+
+    assertTrue(ledger.isEmpty());
+    assertFalse(delegate.isUnconfirmed(d1));
+  }
+
+  private Dispatchable<Entry<?>, State<?>> dispatchable(final String id) {
+    return new Dispatchable<>(id, LocalDateTime.now(), null, Collections.emptyList());
+  }
+}
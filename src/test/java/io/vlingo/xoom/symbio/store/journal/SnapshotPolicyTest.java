@@ -0,0 +1,50 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class SnapshotPolicyTest {
+
+  @Test
+  public void testThatEveryEntriesIsDueByCount() {
+    final SnapshotPolicy policy = SnapshotPolicy.everyEntries(10);
+
+    assertFalse(policy.isSnapshotDue(9, Long.MAX_VALUE, Long.MAX_VALUE));
+    assertTrue(policy.isSnapshotDue(10, 0, 0));
+  }
+
+  @Test
+  public void testThatEveryBytesIsDueBySize() {
+    final SnapshotPolicy policy = SnapshotPolicy.everyBytes(1024);
+
+    assertFalse(policy.isSnapshotDue(Integer.MAX_VALUE, 1023, Long.MAX_VALUE));
+    assertTrue(policy.isSnapshotDue(1, 1024, 0));
+  }
+
+  @Test
+  public void testThatAdaptiveIsDueByReplayCost() {
+    final SnapshotPolicy policy = SnapshotPolicy.adaptive(1_000_000L);
+
+    assertFalse(policy.isSnapshotDue(Integer.MAX_VALUE, Long.MAX_VALUE, 999_999L));
+    assertTrue(policy.isSnapshotDue(1, 0, 1_000_000L));
+  }
+
+  @Test
+  public void testThatNeverIsNeverDue() {
+    assertFalse(SnapshotPolicy.never().isSnapshotDue(Integer.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testThatEntryCountMustBePositive() {
+    SnapshotPolicy.everyEntries(0);
+  }
+}
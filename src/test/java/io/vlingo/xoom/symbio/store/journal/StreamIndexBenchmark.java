@@ -0,0 +1,127 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compares the heap retained by, and the time to stream every version through, a
+ * {@code StreamIndex} and the {@code Map<String, Map<Integer,Integer>>} of boxed versions that it
+ * replaced. The heap is measured as the growth of the used heap after a full collection, so it is
+ * best run with a single collector such as {@code -XX:+UseParallelGC}. It is not part of the unit
+ * tests, and is run with optional numbers of streams and versions per stream by:
+ * <pre>
+ * mvn -B test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=io.vlingo.xoom.symbio.store.journal.StreamIndexBenchmark \
+ *     -Dexec.args="100000 100"
+ * </pre>
+ */
+public final class StreamIndexBenchmark {
+  private static final int Passes = 3;
+
+  public static void main(final String[] args) {
+    final int streams = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+    final int versions = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+    final long entries = (long) streams * versions;
+
+    final long boxedBase = usedHeap();
+    final Map<String, Map<Integer,Integer>> boxed = boxedIndexOf(streams, versions);
+    final long boxedBytes = usedHeap() - boxedBase;
+    final double boxedNanos = nanosPerEntry(entries, () -> streamBoxed(boxed, streams));
+    boxed.clear();
+
+    final long indexBase = usedHeap();
+    final StreamIndex index = streamIndexOf(streams, versions);
+    final long indexBytes = usedHeap() - indexBase;
+    final double indexNanos = nanosPerEntry(entries, () -> streamIndex(index, streams));
+
+    System.out.println(String.format("%d streams of %d versions (%d entries)", streams, versions, entries));
+    System.out.println(String.format("  boxed maps:  %d MB (%.1f bytes/entry), %.1f ns/entry streamed", boxedBytes >> 20, (double) boxedBytes / entries, boxedNanos));
+    System.out.println(String.format("  StreamIndex: %d MB (%.1f bytes/entry), %.1f ns/entry streamed", indexBytes >> 20, (double) indexBytes / entries, indexNanos));
+  }
+
+  // entries are appended round-robin across the streams, as by many writers
+  private static Map<String, Map<Integer,Integer>> boxedIndexOf(final int streams, final int versions) {
+    final Map<String, Map<Integer,Integer>> boxed = new HashMap<>();
+    int position = 0;
+    for (int version = 1; version <= versions; ++version) {
+      for (int stream = 0; stream < streams; ++stream) {
+        boxed.computeIfAbsent(nameOf(stream), name -> new HashMap<>()).put(version, ++position);
+      }
+    }
+    return boxed;
+  }
+
+  private static StreamIndex streamIndexOf(final int streams, final int versions) {
+    final StreamIndex index = new StreamIndex();
+    int position = 0;
+    for (int version = 1; version <= versions; ++version) {
+      for (int stream = 0; stream < streams; ++stream) {
+        index.index(nameOf(stream), version, ++position);
+      }
+    }
+    return index;
+  }
+
+  private static long streamBoxed(final Map<String, Map<Integer,Integer>> boxed, final int streams) {
+    long sum = 0;
+    for (int stream = 0; stream < streams; ++stream) {
+      final Map<Integer,Integer> versions = boxed.get(nameOf(stream));
+      for (int version = 1; ; ++version) {
+        final Integer position = versions.get(version);
+        if (position == null) break;
+        sum += position;
+      }
+    }
+    return sum;
+  }
+
+  private static long streamIndex(final StreamIndex index, final int streams) {
+    long sum = 0;
+    for (int stream = 0; stream < streams; ++stream) {
+      final String streamName = nameOf(stream);
+      for (int version = 1; ; ++version) {
+        final int position = index.positionOf(streamName, version);
+        if (position == StreamIndex.NoPosition) break;
+        sum += position;
+      }
+    }
+    return sum;
+  }
+
+  private static double nanosPerEntry(final long entries, final Pass pass) {
+    long checksum = pass.run(); // warm up
+    final long start = System.nanoTime();
+    for (int count = 0; count < Passes; ++count) {
+      checksum ^= pass.run();
+    }
+    final long elapsed = System.nanoTime() - start;
+    if (checksum == 0) System.out.print(""); // keeps the passes from being eliminated
+    return (double) elapsed / Passes / entries;
+  }
+
+  private static String nameOf(final int stream) {
+    return "stream-" + stream;
+  }
+
+  private static long usedHeap() {
+    final Runtime runtime = Runtime.getRuntime();
+    for (int count = 0; count < 3; ++count) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  @FunctionalInterface
+  private static interface Pass {
+    long run();
+  }
+
+  private StreamIndexBenchmark() { }
+}
@@ -0,0 +1,54 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class StreamIndexTest {
+
+  @Test
+  public void testThatVersionsIndexPositions() {
+    final StreamIndex index = new StreamIndex();
+
+    for (int version = 1; version <= 100; ++version) {
+      index.index("a", version, version * 2 - 1);
+      index.index("b", version, version * 2);
+    }
+
+    assertEquals(1, index.positionOf("a", 1));
+    assertEquals(199, index.positionOf("a", 100));
+    assertEquals(2, index.positionOf("b", 1));
+    assertEquals(200, index.positionOf("b", 100));
+  }
+
+  @Test
+  public void testThatMissingVersionsAnswerNoPosition() {
+    final StreamIndex index = new StreamIndex();
+    index.index("a", 3, 10);
+    index.index("a", 4, 11);
+
+    assertEquals(StreamIndex.NoPosition, index.positionOf("a", 2));
+    assertEquals(StreamIndex.NoPosition, index.positionOf("a", 5));
+    assertEquals(StreamIndex.NoPosition, index.positionOf("b", 1));
+  }
+
+  @Test
+  public void testThatEarlierVersionsShiftTheIndex() {
+    final StreamIndex index = new StreamIndex();
+    index.index("a", 5, 50);
+    index.index("a", 2, 20);
+    index.index("a", 3, 30);
+
+    assertEquals(20, index.positionOf("a", 2));
+    assertEquals(30, index.positionOf("a", 3));
+    assertEquals(StreamIndex.NoPosition, index.positionOf("a", 4));
+    assertEquals(50, index.positionOf("a", 5));
+  }
+}
@@ -0,0 +1,269 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal.file;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vlingo.xoom.actors.World;
+import io.vlingo.xoom.actors.testkit.AccessSafely;
+import io.vlingo.xoom.common.serialization.JsonSerialization;
+import io.vlingo.xoom.symbio.BaseEntry;
+import io.vlingo.xoom.symbio.BaseEntry.ObjectEntry;
+import io.vlingo.xoom.symbio.BaseEntry.TextEntry;
+import io.vlingo.xoom.symbio.EntryAdapter;
+import io.vlingo.xoom.symbio.EntryAdapterProvider;
+import io.vlingo.xoom.symbio.Metadata;
+import io.vlingo.xoom.symbio.Source;
+import io.vlingo.xoom.symbio.StateAdapterProvider;
+import io.vlingo.xoom.symbio.store.Result;
+import io.vlingo.xoom.symbio.store.StorageException;
+import io.vlingo.xoom.symbio.store.dispatch.MockConfirmDispatchedResultInterest;
+import io.vlingo.xoom.symbio.store.dispatch.MockDispatcher;
+import io.vlingo.xoom.symbio.store.journal.Journal;
+import io.vlingo.xoom.symbio.store.journal.inmemory.MockAppendResultInterest;
+import io.vlingo.xoom.symbio.store.journal.inmemory.SnapshotState;
+import io.vlingo.xoom.symbio.store.state.SnapshotStateAdapter;
+
+@SuppressWarnings({ "unchecked", "rawtypes" })
+public class FileJournalActorTest {
+  private File directory;
+  private MockDispatcher<String, SnapshotState> dispatcher;
+  private MockAppendResultInterest interest = new MockAppendResultInterest<String, SnapshotState>();
+  private Journal<String> journal;
+  private Object object = new Object();
+  private World world;
+
+  @Test
+  public void testThatJournalAppendsAndDispatchesOneEvent() {
+    dispatcher.afterCompleting(1);
+    interest.afterCompleting(1);
+
+    journal.append("123", 1, new Test1Source(), interest, object);
+
+    assertEquals(1, interest.getReceivedAppendsSize());
+    assertEquals(Result.Success, ((MockAppendResultInterest.JournalData) interest.getEntries().get(0)).result);
+    assertEquals(1, dispatcher.dispatchedCount());
+    assertEquals(1, dispatcher.getDispatched().get(0).entries().size());
+  }
+
+  @Test
+  public void testThatJournalReaderReadsThreeEvents() {
+    interest.afterCompleting(1);
+    dispatcher.afterCompleting(1);
+
+    final List<Source<String>> three = Arrays.asList(new Test1Source(), new Test1Source(), new Test1Source());
+    journal.appendAll("123", 1, three, interest, object);
+
+    final AccessSafely accessResults = new TestResults().afterCompleting(1);
+    journal.journalReader("test").andThenTo(reader -> reader.readNext(5)).andThenConsume(entries -> {
+      accessResults.writeUsing("addAll", entries);
+    });
+
+    assertEquals(3, (int) accessResults.readFrom("size"));
+    assertEquals("1", accessResults.readFrom("entryId", 0));
+    assertEquals("2", accessResults.readFrom("entryId", 1));
+    assertEquals("3", accessResults.readFrom("entryId", 2));
+  }
+
+  @Test
+  public void testThatStreamReaderReadsFromSnapshot() {
+    dispatcher.afterCompleting(5);
+    interest.afterCompleting(5);
+    journal.append("123", 1, new Test1Source(), interest, object);
+    journal.append("123", 2, new Test1Source(), interest, object);
+    journal.appendWith("123", 3, new Test1Source(), new SnapshotState(), interest, object);
+    journal.append("456", 1, new Test1Source(), interest, object);
+    journal.append("123", 4, new Test1Source(), interest, object);
+
+    final AccessSafely accessResults = new TestResults().afterCompleting(1);
+    journal.streamReader("test").andThenTo(reader -> reader.streamFor("123")).andThenConsume(eventStream -> {
+      assertTrue(eventStream.hasSnapshot());
+      assertEquals(4, eventStream.streamVersion);
+      accessResults.writeUsing("addAll", eventStream.entries);
+    });
+
+    assertEquals(2, (int) accessResults.readFrom("size"));
+    assertEquals("3", accessResults.readFrom("entryId", 0));
+    assertEquals("5", accessResults.readFrom("entryId", 1));
+  }
+
+  @Test
+  public void testThatReopenedJournalRecoversEntriesAndSnapshots() {
+    dispatcher.afterCompleting(3);
+    interest.afterCompleting(3);
+    journal.append("123", 1, new Test1Source(), interest, object);
+    journal.appendWith("123", 2, new Test1Source(), new SnapshotState(), interest, object);
+    journal.append("123", 3, new Test1Source(), interest, object);
+    assertEquals(3, interest.getReceivedAppendsSize());
+
+    final Journal<String> reopened = world.actorFor(Journal.class, FileJournalActor.class, Arrays.asList(dispatcher), directory.getAbsolutePath());
+
+    final AccessSafely accessResults = new TestResults().afterCompleting(1);
+    reopened.streamReader("test").andThenTo(reader -> reader.streamFor("123")).andThenConsume(eventStream -> {
+      assertTrue(eventStream.hasSnapshot());
+      accessResults.writeUsing("addAll", eventStream.entries);
+    });
+
+    assertEquals(2, (int) accessResults.readFrom("size"));
+    assertEquals("2", accessResults.readFrom("entryId", 0));
+    assertEquals("3", accessResults.readFrom("entryId", 1));
+
+    final AccessSafely accessNext = new TestResults().afterCompleting(1);
+    reopened.journalReader("test").andThenTo(reader -> reader.readNext("3", 10)).andThenConsume(entries -> {
+      accessNext.writeUsing("addAll", entries);
+    });
+
+    assertEquals(1, (int) accessNext.readFrom("size"));
+    final BaseEntry<String> entry = accessNext.readFrom("entry", 0);
+    assertNotNull(entry);
+    assertEquals(3, entry.entryVersion());
+    assertFalse(entry.entryData().isEmpty());
+  }
+
+  @Test
+  public void testThatGroupCommitAcknowledgesFullAndPartialBatches() {
+    final String groupDirectory = new File(directory, "group").getAbsolutePath();
+    final Journal<String> grouped = world.actorFor(Journal.class, FileJournalActor.class, Arrays.asList(dispatcher), groupDirectory, 1024 * 1024, 3, 20L);
+
+    dispatcher.afterCompleting(4);
+    interest.afterCompleting(4);
+    grouped.append("123", 1, new Test1Source(), interest, object);
+    grouped.append("123", 2, new Test1Source(), interest, object);
+    grouped.append("123", 3, new Test1Source(), interest, object); // full batch
+    grouped.append("456", 1, new Test1Source(), interest, object); // flushed by time
+
+    assertEquals(4, interest.getReceivedAppendsSize());
+    assertEquals(4, dispatcher.dispatchedCount());
+
+    final AccessSafely accessResults = new TestResults().afterCompleting(1);
+    grouped.journalReader("test").andThenTo(reader -> reader.readNext(10)).andThenConsume(entries -> {
+      accessResults.writeUsing("addAll", entries);
+    });
+
+    assertEquals(4, (int) accessResults.readFrom("size"));
+  }
+
+  @Test
+  public void testThatUnwritableAppendFails() {
+    interest.afterCompleting(2);
+    dispatcher.afterCompleting(1);
+
+    journal.append("123", 1, new Test2Source(), interest, object);
+    journal.append("123", 1, new Test1Source(), interest, object);
+
+    assertEquals(2, interest.getReceivedAppendsSize());
+    final MockAppendResultInterest.JournalData failed = (MockAppendResultInterest.JournalData) interest.getEntries().get(0);
+    assertEquals(Result.Error, ((StorageException) failed.errorCauses).result);
+    assertEquals(Result.Success, ((MockAppendResultInterest.JournalData) interest.getEntries().get(1)).result);
+    assertEquals(1, dispatcher.dispatchedCount());
+  }
+
+  @Before
+  public void setUp() throws IOException {
+    world = World.startWithDefaults("test-file-journal");
+    directory = Files.createTempDirectory("file-journal").toFile();
+    dispatcher = new MockDispatcher<>(new MockConfirmDispatchedResultInterest());
+
+    journal = world.actorFor(Journal.class, FileJournalActor.class, Arrays.asList(dispatcher), directory.getAbsolutePath());
+    EntryAdapterProvider.instance(world).registerAdapter(Test1Source.class, new Test1SourceAdapter());
+    EntryAdapterProvider.instance(world).registerAdapter(Test2Source.class, new Test2SourceAdapter());
+    StateAdapterProvider.instance(world).registerAdapter(SnapshotState.class, new SnapshotStateAdapter());
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    world.terminate();
+    Files.walk(directory.toPath()).sorted(Comparator.reverseOrder()).map(java.nio.file.Path::toFile).forEach(File::delete);
+  }
+
+  public static final class Test1Source extends Source<String> {
+    private final int one = 1;
+
+    public int one() {
+      return one;
+    }
+  }
+
+  private static final class Test1SourceAdapter implements EntryAdapter<Test1Source, TextEntry> {
+    @Override
+    public Test1Source fromEntry(final TextEntry entry) {
+      return JsonSerialization.deserialized(entry.entryData(), Test1Source.class);
+    }
+
+    @Override
+    public TextEntry toEntry(final Test1Source source, final Metadata metadata) {
+      return new TextEntry(Test1Source.class, 1, JsonSerialization.serialized(source), metadata);
+    }
+
+    @Override
+    public TextEntry toEntry(final Test1Source source, final String id, final Metadata metadata) {
+      return new TextEntry(id, Test1Source.class, 1, JsonSerialization.serialized(source), metadata);
+    }
+
+    @Override
+    public TextEntry toEntry(final Test1Source source, final int version, final String id, final Metadata metadata) {
+      return new TextEntry(id, Test1Source.class, 1, JsonSerialization.serialized(source), version, metadata);
+    }
+  }
+
+  public static final class Test2Source extends Source<Object> { }
+
+  private static final class Test2SourceAdapter implements EntryAdapter<Test2Source, ObjectEntry<Test2Source>> {
+    @Override
+    public Test2Source fromEntry(final ObjectEntry<Test2Source> entry) {
+      return (Test2Source) entry.entryData();
+    }
+
+    @Override
+    public ObjectEntry<Test2Source> toEntry(final Test2Source source, final Metadata metadata) {
+      return new ObjectEntry<>(Test2Source.class, 1, source, metadata);
+    }
+
+    @Override
+    public ObjectEntry<Test2Source> toEntry(final Test2Source source, final String id, final Metadata metadata) {
+      return new ObjectEntry<>(id, Test2Source.class, 1, source, metadata);
+    }
+
+    @Override
+    public ObjectEntry<Test2Source> toEntry(final Test2Source source, final int version, final String id, final Metadata metadata) {
+      return new ObjectEntry<>(id, Test2Source.class, 1, source, version);
+    }
+  }
+
+  private static final class TestResults {
+    AccessSafely access;
+    public final List<BaseEntry<String>> entries = new ArrayList<>();
+
+    public AccessSafely afterCompleting(final int times) {
+      access = AccessSafely.afterCompleting(times)
+              .writingWith("addAll", (values) -> this.entries.addAll((Collection<BaseEntry<String>>) values))
+              .readingWith("entry", (index) -> this.entries.get((int) index))
+              .readingWith("entryId", (index) -> this.entries.get((int) index).id())
+              .readingWith("size", () -> this.entries.size());
+
+      return access;
+    }
+  }
+}
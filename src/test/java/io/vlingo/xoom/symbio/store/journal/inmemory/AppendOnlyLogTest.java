@@ -0,0 +1,86 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal.inmemory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+public class AppendOnlyLogTest {
+
+  @Test
+  public void testThatAppendedElementsAreRead() {
+    final AppendOnlyLog<Integer> log = new AppendOnlyLog<>();
+    for (int value = 0; value < 100_000; ++value) {
+      log.add(value);
+    }
+
+    assertEquals(100_000, log.size());
+    assertEquals(0, (int) log.get(0));
+    assertEquals(4096, (int) log.get(4096));
+    assertEquals(99_999, (int) log.get(99_999));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testThatUnpublishedIndexIsRejected() {
+    final AppendOnlyLog<Integer> log = new AppendOnlyLog<>();
+    log.add(1);
+    log.get(1);
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testThatClearIsUnsupported() {
+    final AppendOnlyLog<Integer> log = new AppendOnlyLog<>();
+    log.add(1);
+    log.clear();
+  }
+
+  @Test
+  public void testThatReadersScanWhileWriterAppends() throws Exception {
+    final int total = 500_000;
+    final AppendOnlyLog<Integer> log = new AppendOnlyLog<>();
+    final AtomicReference<String> failure = new AtomicReference<>();
+    final CountDownLatch readersDone = new CountDownLatch(3);
+
+    for (int reader = 0; reader < 3; ++reader) {
+      new Thread(() -> {
+        int next = 0;
+        try {
+          while (next < total) {
+            final int size = log.size();
+            for (; next < size; ++next) {
+              final Integer value = log.get(next);
+              if (value == null || value != next) {
+                failure.compareAndSet(null, "Expected " + next + " but read " + value);
+                return;
+              }
+            }
+          }
+        } catch (Exception e) {
+          failure.compareAndSet(null, e.toString());
+        } finally {
+          readersDone.countDown();
+        }
+      }).start();
+    }
+
+    for (int value = 0; value < total; ++value) {
+      log.add(value);
+    }
+
+    assertTrue(readersDone.await(30, TimeUnit.SECONDS));
+    assertNull(failure.get());
+    assertEquals(total, log.size());
+  }
+}
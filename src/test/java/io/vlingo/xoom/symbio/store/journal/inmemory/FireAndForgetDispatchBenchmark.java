@@ -0,0 +1,69 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal.inmemory;
+
+import io.vlingo.xoom.actors.World;
+import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.EntryAdapterProvider;
+import io.vlingo.xoom.symbio.State.TextState;
+import io.vlingo.xoom.symbio.store.dispatch.DispatchPressure;
+import io.vlingo.xoom.symbio.store.dispatch.Dispatchable;
+import io.vlingo.xoom.symbio.store.dispatch.Dispatcher;
+import io.vlingo.xoom.symbio.store.dispatch.FireAndForgetDispatcher;
+import io.vlingo.xoom.symbio.store.journal.inmemory.FireAndForgetDispatchTest.Counted;
+import io.vlingo.xoom.symbio.store.journal.inmemory.FireAndForgetDispatchTest.CountedAdapter;
+import io.vlingo.xoom.symbio.store.journal.inmemory.FireAndForgetDispatchTest.CountingAppendInterest;
+import io.vlingo.xoom.symbio.store.journal.inmemory.FireAndForgetDispatchTest.CountingDispatcher;
+
+/**
+ * Compares the append throughput of an {@code InMemoryJournal} with a confirming dispatcher and
+ * with a {@code FireAndForgetDispatcher}. It is not part of the unit tests, and is run by:
+ * <pre>
+ * mvn -B test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=io.vlingo.xoom.symbio.store.journal.inmemory.FireAndForgetDispatchBenchmark
+ * </pre>
+ */
+public final class FireAndForgetDispatchBenchmark {
+  private static final int Appends = 200_000;
+
+  public static void main(final String[] args) {
+    final World world = World.startWithDefaults("fire-and-forget-benchmark");
+    EntryAdapterProvider.instance(world).registerAdapter(Counted.class, new CountedAdapter());
+
+    final double confirming = appendsPerSecond(world, new CountingDispatcher(true));
+    final double fireAndForget = appendsPerSecond(world, FireAndForgetDispatcher.of(new CountingDispatcher(false)));
+
+    world.defaultLogger().info(String.format("Appends/second confirming: %.0f fire-and-forget: %.0f (%.2fx)", confirming, fireAndForget, fireAndForget / confirming));
+    world.terminate();
+  }
+
+  private static double appendsPerSecond(final World world, final Dispatcher<Dispatchable<Entry<String>, TextState>> dispatcher) {
+    final CountingAppendInterest interest = new CountingAppendInterest();
+    final InMemoryJournal<String, TextState> journal = FireAndForgetDispatchTest.journalOf(world, dispatcher, DispatchPressure.unbounded());
+    final Counted source = new Counted(1);
+
+    // warm up before measuring, so that both modes are compiled alike
+    for (int count = 0; count < Appends / 10; ++count) {
+      journal.append("warmup-" + count, 1, source, interest, null);
+    }
+
+    final long start = System.nanoTime();
+    for (int count = 0; count < Appends; ++count) {
+      journal.append("stream-" + count, 1, source, interest, null);
+    }
+    final long elapsed = System.nanoTime() - start;
+
+    journal.stop();
+    if (interest.succeeded.get() != Appends + Appends / 10) {
+      throw new IllegalStateException("Only " + interest.succeeded.get() + " appends succeeded.");
+    }
+    return Appends * 1_000_000_000.0 / elapsed;
+  }
+
+  private FireAndForgetDispatchBenchmark() { }
+}
@@ -0,0 +1,158 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal.inmemory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vlingo.xoom.actors.World;
+import io.vlingo.xoom.common.Outcome;
+import io.vlingo.xoom.symbio.BaseEntry.TextEntry;
+import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.EntryAdapter;
+import io.vlingo.xoom.symbio.EntryAdapterProvider;
+import io.vlingo.xoom.symbio.Metadata;
+import io.vlingo.xoom.symbio.Source;
+import io.vlingo.xoom.symbio.State.TextState;
+import io.vlingo.xoom.symbio.store.Result;
+import io.vlingo.xoom.symbio.store.StorageException;
+import io.vlingo.xoom.symbio.store.dispatch.ConfirmDispatchedResultInterest;
+import io.vlingo.xoom.symbio.store.dispatch.DispatchPressure;
+import io.vlingo.xoom.symbio.store.dispatch.Dispatchable;
+import io.vlingo.xoom.symbio.store.dispatch.Dispatcher;
+import io.vlingo.xoom.symbio.store.dispatch.DispatcherControl;
+import io.vlingo.xoom.symbio.store.dispatch.FireAndForgetDispatcher;
+import io.vlingo.xoom.symbio.store.journal.Journal.AppendResultInterest;
+
+public class FireAndForgetDispatchTest {
+  private World world;
+
+  @Test
+  public void testThatFireAndForgetDispatchesAreNotRetained() {
+    final CountingDispatcher counting = new CountingDispatcher(false);
+    final CountingAppendInterest interest = new CountingAppendInterest();
+    // retaining even two dispatchables would overload the journal
+    final InMemoryJournal<String, TextState> journal = journalOf(world, FireAndForgetDispatcher.of(counting), DispatchPressure.watermarks(2, 1));
+
+    for (int count = 1; count <= 100; ++count) {
+      journal.append("stream-" + count, 1, new Counted(count), interest, null);
+    }
+
+    assertEquals(100, interest.succeeded.get());
+    assertEquals(100, counting.dispatched.get());
+    assertNull(counting.control);
+    journal.stop();
+  }
+
+  @Before
+  public void setUp() {
+    world = World.startWithDefaults("fire-and-forget-test");
+    EntryAdapterProvider.instance(world).registerAdapter(Counted.class, new CountedAdapter());
+  }
+
+  @After
+  public void tearDown() {
+    world.terminate();
+  }
+
+  static InMemoryJournal<String, TextState> journalOf(final World world, final Dispatcher<Dispatchable<Entry<String>, TextState>> dispatcher, final DispatchPressure pressure) {
+    final List<Dispatcher<Dispatchable<Entry<String>, TextState>>> dispatchers = Arrays.asList(dispatcher);
+    return new InMemoryJournal<>(dispatchers, world, InMemoryJournalOptions.defaults().withDispatchPressure(pressure));
+  }
+
+  public static final class Counted extends Source<String> {
+    public final int value;
+
+    public Counted(final int value) {
+      this.value = value;
+    }
+  }
+
+  static final class CountedAdapter implements EntryAdapter<Counted, TextEntry> {
+    @Override
+    public Counted fromEntry(final TextEntry entry) {
+      return new Counted(Integer.parseInt(entry.entryData()));
+    }
+
+    @Override
+    public TextEntry toEntry(final Counted source, final Metadata metadata) {
+      return new TextEntry(Counted.class, 1, String.valueOf(source.value), metadata);
+    }
+
+    @Override
+    public TextEntry toEntry(final Counted source, final String id, final Metadata metadata) {
+      return new TextEntry(id, Counted.class, 1, String.valueOf(source.value), metadata);
+    }
+
+    @Override
+    public TextEntry toEntry(final Counted source, final int version, final String id, final Metadata metadata) {
+      return new TextEntry(id, Counted.class, 1, String.valueOf(source.value), version, metadata);
+    }
+  }
+
+  static final class CountingDispatcher implements Dispatcher<Dispatchable<Entry<String>, TextState>> {
+    private final boolean confirms;
+    private DispatcherControl control;
+    final AtomicInteger dispatched = new AtomicInteger(0);
+    private final ConfirmDispatchedResultInterest interest = (result, dispatchId) -> { };
+
+    CountingDispatcher(final boolean confirms) {
+      this.confirms = confirms;
+    }
+
+    @Override
+    public void controlWith(final DispatcherControl control) {
+      this.control = control;
+    }
+
+    @Override
+    public void dispatch(final Dispatchable<Entry<String>, TextState> dispatchable) {
+      dispatched.incrementAndGet();
+      if (confirms) {
+        control.confirmDispatched(dispatchable.id(), interest);
+      }
+    }
+  }
+
+  static final class CountingAppendInterest implements AppendResultInterest {
+    final AtomicInteger succeeded = new AtomicInteger(0);
+
+    @Override
+    public <S, ST> void appendResultedIn(final Outcome<StorageException, Result> outcome, final String streamName, final int streamVersion,
+            final Source<S> source, final Optional<ST> snapshot, final Object object) {
+      outcome.andThen(result -> succeeded.incrementAndGet());
+    }
+
+    @Override
+    public <S, ST> void appendResultedIn(final Outcome<StorageException, Result> outcome, final String streamName, final int streamVersion,
+            final Source<S> source, final Metadata metadata, final Optional<ST> snapshot, final Object object) {
+      appendResultedIn(outcome, streamName, streamVersion, source, snapshot, object);
+    }
+
+    @Override
+    public <S, ST> void appendAllResultedIn(final Outcome<StorageException, Result> outcome, final String streamName, final int streamVersion,
+            final List<Source<S>> sources, final Optional<ST> snapshot, final Object object) {
+      outcome.andThen(result -> succeeded.addAndGet(sources.size()));
+    }
+
+    @Override
+    public <S, ST> void appendAllResultedIn(final Outcome<StorageException, Result> outcome, final String streamName, final int streamVersion,
+            final List<Source<S>> sources, final Metadata metadata, final Optional<ST> snapshot, final Object object) {
+      appendAllResultedIn(outcome, streamName, streamVersion, sources, snapshot, object);
+    }
+  }
+}
@@ -10,11 +10,16 @@ package io.vlingo.xoom.symbio.store.journal.inmemory;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
@@ -42,7 +47,12 @@ import io.vlingo.xoom.symbio.store.Result;
 import io.vlingo.xoom.symbio.store.dispatch.Dispatchable;
 import io.vlingo.xoom.symbio.store.dispatch.MockConfirmDispatchedResultInterest;
 import io.vlingo.xoom.symbio.store.dispatch.MockDispatcher;
+import io.vlingo.xoom.symbio.store.journal.EntityStream;
 import io.vlingo.xoom.symbio.store.journal.Journal;
+import io.vlingo.xoom.symbio.store.journal.JournalReader;
+import io.vlingo.xoom.symbio.store.journal.SnapshotPolicy;
+import io.vlingo.xoom.symbio.store.journal.StateFolder;
+import io.vlingo.xoom.symbio.store.journal.StreamReader;
 import io.vlingo.xoom.symbio.store.journal.inmemory.MockAppendResultInterest.JournalData;
 import io.vlingo.xoom.symbio.store.state.SnapshotStateAdapter;
 
@@ -159,6 +169,25 @@ public class InMemoryEventJournalActorTest {
     assertEquals("3", accessResults.readFrom("entryId", 2));
   }
 
+  @Test
+  public void testThatJournalReaderReadsFromPosition() {
+    interest.afterCompleting(1);
+    dispatcher.afterCompleting(1);
+
+    final List<Source<String>> three = Arrays.asList(new Test1Source(), new Test2Source(), new Test1Source());
+    journal.appendAll("123", 1, three, interest, object);
+
+    final AccessSafely accessResults = new TestResults().afterCompleting(1);
+    journal.journalReader("test").andThenTo(reader -> reader.readNextFromPosition(2, 5)).andThenConsume(entries -> {
+      accessResults.writeUsing("addAll", entries);
+    });
+
+    assertEquals(2, (int) accessResults.readFrom("size"));
+    assertEquals(2L, (long) accessResults.readFrom("entryPosition", 0));
+    assertEquals("2", accessResults.readFrom("entryId", 0));
+    assertEquals(3L, (long) accessResults.readFrom("entryPosition", 1));
+  }
+
   @Test
   public void testThatStreamReaderReadsFiveEventsWithSnapshot() {
     dispatcher.afterCompleting(5);
@@ -180,6 +209,30 @@ public class InMemoryEventJournalActorTest {
     assertEquals("5", accessResults.readFrom("entryId", 2));
   }
 
+  @Test
+  public void testThatProvidedAndTakenSnapshotsShareDataVersion() {
+    final StateFolder<Tally> folder = (streamName, tally, source) ->
+            new Tally((tally == null ? 0 : tally.total) + ((Test1Source) source).one());
+    final InMemoryJournal<String, SnapshotState> snapshotting = new InMemoryJournal<>(Arrays.asList(dispatcher), world,
+            InMemoryJournalOptions.defaults().withSnapshots(SnapshotPolicy.everyEntries(2), folder));
+    final StreamReader<String> streamReader = snapshotting.streamReader("test").outcome();
+
+    dispatcher.afterCompleting(3);
+    interest.afterCompleting(3);
+    snapshotting.appendAllWith("123", 1, Arrays.asList(new Test1Source(1), new Test1Source(2)), new SnapshotState(), interest, object);
+
+    final EntityStream<String> provided = streamReader.streamFor("123").outcome();
+    assertEquals(1, provided.snapshot.dataVersion);
+    assertEquals(2, provided.entries.size());
+
+    snapshotting.append("456", 1, new Test1Source(1), interest, object);
+    snapshotting.append("456", 2, new Test1Source(2), interest, object);
+
+    final EntityStream<String> taken = streamReader.streamFor("456").outcome();
+    assertEquals(3, taken.snapshot.dataVersion);
+    assertEquals(0, taken.entries.size());
+  }
+
   @Test
   public void testThatStreamReaderReadsFromBeyondSnapshot() {
     dispatcher.afterCompleting(5);
@@ -201,6 +254,96 @@ public class InMemoryEventJournalActorTest {
     assertEquals("5", accessResults.readFrom("entryId", 1));
   }
 
+  @Test
+  public void testThatJournalTakesSnapshotsByPolicy() {
+    final StateFolder<Tally> folder = (streamName, tally, source) ->
+            new Tally((tally == null ? 0 : tally.total) + ((Test1Source) source).one());
+    final Journal<String> snapshotting =
+            world.actorFor(Journal.class, InMemoryJournalActor.class, Arrays.asList(dispatcher),
+                    InMemoryJournalOptions.defaults().withSnapshots(SnapshotPolicy.everyEntries(3), folder));
+
+    dispatcher.afterCompleting(5);
+    interest.afterCompleting(5);
+    snapshotting.append("123", 1, new Test1Source(1), interest, object);
+    snapshotting.append("123", 2, new Test1Source(2), interest, object);
+    snapshotting.append("123", 3, new Test1Source(3), interest, object);
+    snapshotting.append("123", 4, new Test1Source(4), interest, object);
+    snapshotting.append("123", 5, new Test1Source(5), interest, object);
+
+    final AccessSafely accessResults = new TestResults().afterCompleting(1);
+    final AtomicInteger snapshotTotal = new AtomicInteger();
+    final AtomicInteger snapshotVersion = new AtomicInteger();
+    snapshotting.streamReader("test").andThenTo(reader -> reader.streamFor("123")).andThenConsume(eventStream -> {
+      final Tally tally = StateAdapterProvider.instance(world).fromRaw(eventStream.snapshot);
+      snapshotTotal.set(tally.total);
+      snapshotVersion.set(eventStream.snapshot.dataVersion);
+      accessResults.writeUsing("addAll", eventStream.entries);
+    });
+
+    assertEquals(2, (int) accessResults.readFrom("size"));
+    assertEquals("4", accessResults.readFrom("entryId", 0));
+    assertEquals("5", accessResults.readFrom("entryId", 1));
+    assertEquals(6, snapshotTotal.get());
+    assertEquals(4, snapshotVersion.get());
+  }
+
+  @Test
+  public void testThatRetentionTruncatesEntriesBelowSnapshots() {
+    final InMemoryJournal<String, SnapshotState> retaining =
+            new InMemoryJournal<>(Arrays.asList(dispatcher), world, InMemoryJournalOptions.defaults().withRetention(Retention.truncateBelowSnapshots()));
+    final JournalReader<TextEntry> reader = retaining.<TextEntry>journalReader("test").outcome();
+
+    dispatcher.afterCompleting(4);
+    interest.afterCompleting(4);
+    retaining.append("123", 1, new Test1Source(1), interest, object);
+    retaining.append("123", 2, new Test1Source(2), interest, object);
+    retaining.appendWith("123", 3, new Test1Source(3), new SnapshotState(), interest, object);
+    retaining.append("123", 4, new Test1Source(4), interest, object);
+
+    assertEquals(0, retaining.retain().truncatedEntries); // not yet read past by the reader
+
+    reader.readNext(2);
+    final RetentionReport report = retaining.retain();
+    assertEquals(2, report.truncatedEntries);
+    assertTrue(report.reclaimedBytes > 0);
+
+    reader.rewind();
+    final List<TextEntry> entries = reader.readNext(10).await();
+    assertEquals(2, entries.size());
+    assertEquals(3L, entries.get(0).position());
+
+    final StreamReader<String> streamReader = retaining.streamReader("test").outcome();
+    final EntityStream<String> stream = streamReader.streamFor("123").outcome();
+    assertNotNull(stream.snapshot);
+    assertEquals(2, stream.entries.size());
+  }
+
+  @Test
+  public void testThatRetentionSpillsAndReadsBackEntries() throws IOException {
+    final File directory = Files.createTempDirectory("journal-spill").toFile();
+    final InMemoryJournal<String, SnapshotState> retaining = new InMemoryJournal<>(
+            Arrays.asList(dispatcher), world, InMemoryJournalOptions.defaults().withRetention(Retention.spillBeyond(AppendOnlyLog.ChunkSize, directory)));
+
+    final List<Source<String>> sources = new ArrayList<>();
+    for (int count = 1; count <= AppendOnlyLog.ChunkSize * 2 + 1; ++count) {
+      sources.add(new Test1Source(count));
+    }
+    dispatcher.afterCompleting(1);
+    interest.afterCompleting(1);
+    retaining.appendAll("123", 1, sources, interest, object);
+
+    assertEquals(AppendOnlyLog.ChunkSize, retaining.retained().spilledEntries);
+
+    final StreamReader<String> streamReader = retaining.streamReader("test").outcome();
+    final EntityStream<String> stream = streamReader.streamFor("123").outcome();
+    assertEquals(sources.size(), stream.entries.size());
+    assertEquals("1", stream.entries.get(0).id());
+    assertEquals(1, ((Test1Source) EntryAdapterProvider.instance(world).asSource(stream.entries.get(0))).one());
+
+    retaining.stop();
+    Files.walk(directory.toPath()).sorted(Comparator.reverseOrder()).map(java.nio.file.Path::toFile).forEach(File::delete);
+  }
+
   private ConsumerSink<EntryBundle> sink;
 
   private AtomicInteger totalSources = new AtomicInteger(0);
@@ -267,6 +410,14 @@ public class InMemoryEventJournalActorTest {
     }
   }
 
+  public static final class Tally {
+    public final int total;
+
+    public Tally(final int total) {
+      this.total = total;
+    }
+  }
+
   public static final class Test2Source extends Source<String> {
     private final int two = 2;
 
@@ -334,6 +485,7 @@ public class InMemoryEventJournalActorTest {
               .writingWith("addAll", (values) -> this.entries.addAll((Collection<BaseEntry<String>>) values))
               .readingWith("entry", (index) -> this.entries.get((int) index))
               .readingWith("entryId", (index) -> this.entries.get((int) index).id())
+              .readingWith("entryPosition", (index) -> this.entries.get((int) index).position())
               .readingWith("size", () -> this.entries.size());
 
       return access;
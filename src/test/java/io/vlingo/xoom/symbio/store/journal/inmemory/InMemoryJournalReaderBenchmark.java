@@ -0,0 +1,65 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal.inmemory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.vlingo.xoom.symbio.BaseEntry.TextEntry;
+import io.vlingo.xoom.symbio.Entry;
+
+/**
+ * Measures the seeks of an {@code InMemoryJournalReader} over a journal of a million entries,
+ * both with the dense positions of appends and with sparse positions, which are searched. It is
+ * not part of the unit tests, and is run by:
+ * <pre>
+ * mvn -B test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=io.vlingo.xoom.symbio.store.journal.inmemory.InMemoryJournalReaderBenchmark
+ * </pre>
+ */
+public final class InMemoryJournalReaderBenchmark {
+  private static final int JournalSize = 1_000_000;
+  private static final int Seeks = 1_000;
+  private static final int SparseSeeks = 100;
+
+  public static void main(final String[] args) {
+    final List<Entry<TextEntry>> dense = new ArrayList<>(JournalSize);
+    final List<Entry<TextEntry>> sparse = new ArrayList<>(JournalSize);
+    for (int position = 1; position <= JournalSize; ++position) {
+      dense.add(InMemoryJournalReaderTest.entryAt(position));
+      sparse.add(InMemoryJournalReaderTest.entryAt(position * 2L));
+    }
+
+    // warm up before measuring, so that both layouts are compiled alike
+    microsPerSeek(dense, 1, Seeks);
+    microsPerSeek(sparse, 2, SparseSeeks);
+
+    final double denseMicros = microsPerSeek(dense, 1, Seeks);
+    final double sparseMicros = microsPerSeek(sparse, 2, SparseSeeks);
+
+    System.out.println(String.format("Microseconds/seek of %d entries dense: %.2f sparse: %.2f", JournalSize, denseMicros, sparseMicros));
+  }
+
+  private static double microsPerSeek(final List<Entry<TextEntry>> journal, final long stride, final int seeks) {
+    final InMemoryJournalReader<TextEntry> reader = new InMemoryJournalReader<>(journal, "benchmark");
+    final long step = JournalSize / seeks;
+
+    final long start = System.nanoTime();
+    for (int seek = 1; seek <= seeks; ++seek) {
+      final long position = seek * step * stride;
+      if ((long) reader.seekToPosition(position).await() != position) {
+        throw new IllegalStateException("Did not seek to position: " + position);
+      }
+    }
+    final long elapsed = System.nanoTime() - start;
+
+    return elapsed / 1_000.0 / seeks;
+  }
+
+  private InMemoryJournalReaderBenchmark() { }
+}
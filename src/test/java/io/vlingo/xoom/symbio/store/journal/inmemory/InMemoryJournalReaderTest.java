@@ -0,0 +1,84 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal.inmemory;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vlingo.xoom.symbio.BaseEntry.TextEntry;
+import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.Metadata;
+import io.vlingo.xoom.symbio.store.EntryReader;
+
+public class InMemoryJournalReaderTest {
+  private static final int JournalSize = 10_000;
+
+  private List<Entry<TextEntry>> journal;
+  private InMemoryJournalReader<TextEntry> reader;
+
+  @Test
+  public void testThatReaderResumesFromIdOfLargeJournal() {
+    final List<TextEntry> entries = reader.readNext(String.valueOf(JournalSize - 2), 5).await();
+
+    assertEquals(3, entries.size());
+    assertEquals(String.valueOf(JournalSize - 2), entries.get(0).id());
+    assertEquals(JournalSize, entries.get(2).position());
+  }
+
+  @Test
+  public void testThatReaderSeeksToPositionOfLargeJournal() {
+    assertEquals(JournalSize / 2, (long) reader.seekToPosition(JournalSize / 2).await());
+    final TextEntry entry = reader.readNext().await();
+    assertEquals(JournalSize / 2, entry.position());
+
+    assertEquals("1", reader.seekTo("1").await());
+    assertEquals(Entry.UnknownPosition, (long) reader.seekToPosition(JournalSize + 1).await());
+    assertEquals("-1", reader.seekTo(EntryReader.Query).await());
+  }
+
+  @Test
+  public void testThatReaderSeeksWithinSparsePositions() {
+    final List<Entry<TextEntry>> sparse = new ArrayList<>();
+    for (int position = 10; position <= 50; position += 10) {
+      sparse.add(entryAt(position));
+    }
+    final InMemoryJournalReader<TextEntry> sparseReader = new InMemoryJournalReader<>(sparse, "sparse");
+
+    assertEquals(30L, (long) sparseReader.seekToPosition(30).await());
+    assertEquals(Entry.UnknownPosition, (long) sparseReader.seekToPosition(35).await());
+    assertEquals(10L, (long) sparseReader.seekToPosition(10).await());
+  }
+
+  @Test
+  public void testThatReaderSeeksWithinEmptyJournal() {
+    final InMemoryJournalReader<TextEntry> emptyReader = new InMemoryJournalReader<>(new ArrayList<>(), "empty");
+
+    assertEquals(Entry.UnknownPosition, (long) emptyReader.seekToPosition(1).await());
+  }
+
+  @Before
+  public void setUp() {
+    journal = new ArrayList<>(JournalSize);
+    for (int position = 1; position <= JournalSize; ++position) {
+      journal.add(entryAt(position));
+    }
+    reader = new InMemoryJournalReader<>(journal, "test");
+  }
+
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  static Entry<TextEntry> entryAt(final long position) {
+    final TextEntry entry = new TextEntry(String.class, 1, "data", Metadata.nullMetadata());
+    entry.__internal__setPosition(position);
+    return (Entry) entry;
+  }
+}
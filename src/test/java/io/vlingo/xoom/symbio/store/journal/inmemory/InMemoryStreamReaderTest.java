@@ -0,0 +1,246 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal.inmemory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vlingo.xoom.common.Completes;
+import io.vlingo.xoom.symbio.BaseEntry;
+import io.vlingo.xoom.symbio.BaseEntry.TextEntry;
+import io.vlingo.xoom.symbio.Metadata;
+import io.vlingo.xoom.symbio.State;
+import io.vlingo.xoom.symbio.store.journal.EntityStream;
+import io.vlingo.xoom.symbio.store.journal.StreamIndex;
+import io.vlingo.xoom.symbio.store.journal.StreamReader;
+import io.vlingo.xoom.symbio.store.journal.StreamReader.StreamsResultInterest;
+
+public class InMemoryStreamReaderTest {
+  private static final int EntriesPerStream = 3;
+  private static final int StreamCount = 10_000;
+
+  private List<BaseEntry<String>> journal;
+  private List<String> streamNames;
+  private InMemoryStreamReader<String> reader;
+
+  @Test
+  public void testThatStreamsAreReadInParallelChunks() throws InterruptedException {
+    final ChunksInterest interest = new ChunksInterest();
+
+    reader.streamsFor(streamNames, 100, interest);
+
+    assertTrue(interest.completed.await(10, TimeUnit.SECONDS));
+    assertEquals(StreamCount, interest.streamCount);
+    assertEquals(StreamCount / 100, interest.chunks.get());
+    assertEquals(StreamCount, interest.streams.size());
+    for (final String streamName : streamNames) {
+      assertEquals(EntriesPerStream, interest.streams.get(streamName).size());
+    }
+  }
+
+  @Test
+  public void testThatStreamsAreReadSequentiallyByDefault() throws InterruptedException {
+    final StreamReader<String> sequential = new StreamReader<String>() {
+      @Override
+      public Completes<EntityStream<String>> streamFor(final String streamName) {
+        return reader.streamFor(streamName);
+      }
+
+      @Override
+      public Completes<EntityStream<String>> streamFor(final String streamName, final int fromStreamVersion) {
+        return reader.streamFor(streamName, fromStreamVersion);
+      }
+    };
+    final ChunksInterest interest = new ChunksInterest();
+
+    sequential.streamsFor(streamNames.subList(0, 250), 100, interest);
+
+    assertTrue(interest.completed.await(10, TimeUnit.SECONDS));
+    assertEquals(250, interest.streamCount);
+    assertEquals(3, interest.chunks.get());
+    assertEquals(EntriesPerStream, interest.streams.get(streamNames.get(249)).size());
+  }
+
+  @Test
+  public void testThatSequentialFailedChunkIsAnsweredAndCompletes() throws InterruptedException {
+    final StreamReader<String> sequential = new StreamReader<String>() {
+      @Override
+      public Completes<EntityStream<String>> streamFor(final String streamName) {
+        return reader.streamFor(streamName);
+      }
+
+      @Override
+      public Completes<EntityStream<String>> streamFor(final String streamName, final int fromStreamVersion) {
+        return reader.streamFor(streamName, fromStreamVersion);
+      }
+    };
+    final ChunksInterest interest = new ChunksInterest() {
+      @Override
+      public void streamsRead(final List<EntityStream<String>> chunk) {
+        if (chunk.get(0).streamName.equals("stream-0")) {
+          throw new IllegalStateException("Cannot hydrate.");
+        }
+        super.streamsRead(chunk);
+      }
+    };
+
+    sequential.streamsFor(streamNames.subList(0, 250), 100, interest);
+
+    assertTrue(interest.completed.await(10, TimeUnit.SECONDS));
+    assertEquals(150, interest.streamCount);
+    assertEquals(100, interest.failed.size());
+    assertEquals("stream-0", interest.failed.get(0));
+  }
+
+  @Test
+  public void testThatNoStreamsCompleteImmediately() throws InterruptedException {
+    final ChunksInterest interest = new ChunksInterest();
+
+    reader.streamsFor(new ArrayList<>(), 100, interest);
+
+    assertTrue(interest.completed.await(0, TimeUnit.SECONDS));
+    assertEquals(0, interest.chunks.get());
+  }
+
+  @Test
+  public void testThatLongStreamIsReadInRanges() {
+    final StreamIndex streamIndex = new StreamIndex();
+    final List<BaseEntry<String>> longJournal = new ArrayList<>();
+    for (int version = 1; version <= 1000; ++version) {
+      final TextEntry entry = new TextEntry(String.class, 1, "data-" + version, version, Metadata.nullMetadata());
+      entry.__internal__setPosition(version);
+      appendTo(longJournal, entry);
+      streamIndex.index("long", version, version);
+    }
+    final InMemoryStreamReader<String> longReader = new InMemoryStreamReader<>(longJournal, streamIndex, new HashMap<>(), "long");
+
+    int count = 0;
+    for (int fromVersion = 1; fromVersion <= 1000; fromVersion += 256) {
+      final EntityStream<String> range = longReader.streamFor("long", fromVersion, fromVersion + 255).outcome();
+      assertEquals(Math.min(256, 1001 - fromVersion), range.size());
+      for (final BaseEntry<String> entry : range.entries) {
+        assertEquals("data-" + (++count), entry.entryData());
+      }
+    }
+    assertEquals(1000, count);
+  }
+
+  @Test
+  public void testThatStreamEntriesOutliveRetention() {
+    final EntityStream<String> stream = reader.streamFor("stream-7").outcome();
+
+    for (int version = 1; version < EntriesPerStream; ++version) {
+      journal.set(StreamCount * (version - 1) + 7, null);
+    }
+
+    assertEquals(EntriesPerStream, stream.size());
+    assertEquals(StreamCount + 8, stream.entries.get(1).position());
+
+    final EntityStream<String> retained = reader.streamFor("stream-7", 1, EntriesPerStream).outcome();
+    assertEquals(1, retained.size());
+    assertEquals(EntriesPerStream, retained.streamVersion);
+    assertEquals(0, retained.through(EntriesPerStream - 1).size());
+  }
+
+  @Test
+  public void testThatFailedChunkIsAnsweredAndCompletes() throws InterruptedException {
+    final ChunksInterest interest = new ChunksInterest() {
+      @Override
+      public void streamsRead(final List<EntityStream<String>> chunk) {
+        if (chunk.get(0).streamName.equals("stream-0")) {
+          throw new IllegalStateException("Cannot hydrate.");
+        }
+        super.streamsRead(chunk);
+      }
+    };
+
+    reader.streamsFor(streamNames, 100, interest);
+
+    assertTrue(interest.completed.await(10, TimeUnit.SECONDS));
+    assertEquals(StreamCount - 100, interest.streamCount);
+    assertEquals(100, interest.failed.size());
+    assertEquals("stream-0", interest.failed.get(0));
+  }
+
+  @Test
+  public void testThatStreamRangeIsRead() {
+    final EntityStream<String> range = reader.streamFor("stream-7", 2, 2).outcome();
+    assertEquals(1, range.size());
+    assertEquals(2, range.streamVersion);
+    assertEquals(StreamCount + 8, range.entries.get(0).position());
+
+    final EntityStream<String> beyond = reader.streamFor("stream-7", 2, 10).outcome();
+    assertEquals(2, beyond.size());
+    assertEquals(EntriesPerStream, beyond.streamVersion);
+  }
+
+  @Before
+  public void setUp() {
+    journal = new ArrayList<>();
+    streamNames = new ArrayList<>();
+    final StreamIndex streamIndex = new StreamIndex();
+    for (int version = 1; version <= EntriesPerStream; ++version) {
+      for (int stream = 0; stream < StreamCount; ++stream) {
+        final TextEntry entry = new TextEntry(String.class, 1, "data", version, Metadata.nullMetadata());
+        entry.__internal__setPosition(journal.size() + 1);
+        appendTo(journal, entry);
+        streamIndex.index("stream-" + stream, version, journal.size());
+      }
+    }
+    for (int stream = 0; stream < StreamCount; ++stream) {
+      streamNames.add("stream-" + stream);
+    }
+    final Map<String, State<String>> snapshots = new HashMap<>();
+    reader = new InMemoryStreamReader<>(journal, streamIndex, snapshots, "test");
+  }
+
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  private static void appendTo(final List<BaseEntry<String>> journal, final TextEntry entry) {
+    journal.add((BaseEntry) entry);
+  }
+
+  private static class ChunksInterest implements StreamsResultInterest<String> {
+    final AtomicInteger chunks = new AtomicInteger();
+    final CountDownLatch completed = new CountDownLatch(1);
+    final List<String> failed = new CopyOnWriteArrayList<>();
+    final Map<String, List<BaseEntry<String>>> streams = new ConcurrentHashMap<>();
+    volatile int streamCount = -1;
+
+    @Override
+    public void streamsRead(final List<EntityStream<String>> chunk) {
+      chunks.incrementAndGet();
+      for (final EntityStream<String> stream : chunk) {
+        streams.put(stream.streamName, stream.entries);
+      }
+    }
+
+    @Override
+    public void streamsReadFailed(final List<String> streamNames, final Exception cause) {
+      failed.addAll(streamNames);
+    }
+
+    @Override
+    public void streamsReadCompleted(final int streamCount) {
+      this.streamCount = streamCount;
+      completed.countDown();
+    }
+  }
+}
@@ -0,0 +1,138 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal.inmemory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vlingo.xoom.symbio.BaseEntry.TextEntry;
+import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.Metadata;
+import io.vlingo.xoom.symbio.State.TextState;
+import io.vlingo.xoom.symbio.store.dispatch.DispatchPressure;
+import io.vlingo.xoom.symbio.store.dispatch.Dispatchable;
+
+public class JournalDispatchTrackerTest {
+  private AppendOnlyLog<Entry<String>> log;
+  private JournalDispatchTracker<String, TextState> tracker;
+
+  @Test
+  public void testThatInOrderConfirmationsAdvanceWatermark() {
+    append(10);
+
+    tracker.confirmDispatched(JournalDispatchTracker.dispatchIdOf("stream:1", 1, 1, 3));
+    tracker.confirmDispatched(JournalDispatchTracker.dispatchIdOf("stream:2", 1, 4, 4));
+
+    assertEquals(4, tracker.confirmedThrough());
+    assertEquals(6, tracker.outstanding());
+  }
+
+  @Test
+  public void testThatOutOfOrderConfirmationsMergeIntoWatermark() {
+    append(10);
+
+    tracker.confirm(7, 8);
+    tracker.confirm(3, 4);
+    tracker.confirm(5, 5);
+    assertEquals(0, tracker.confirmedThrough());
+    assertEquals(5, tracker.outstanding());
+    assertTrue(tracker.isConfirmed(5));
+    assertFalse(tracker.isConfirmed(6));
+
+    tracker.confirm(6, 6);
+    tracker.confirm(4, 7); // overlaps what is already confirmed
+    assertEquals(4, tracker.outstanding());
+
+    tracker.confirm(1, 2);
+    assertEquals(8, tracker.confirmedThrough());
+    assertEquals(2, tracker.outstanding());
+  }
+
+  @Test
+  public void testThatUnconfirmedAreReadFromJournal() {
+    append(6);
+    tracker.confirm(1, 2);
+    tracker.confirm(4, 4);
+
+    final List<String> ids = new ArrayList<>();
+    final List<Long> positions = new ArrayList<>();
+    for (final Dispatchable<Entry<String>, TextState> dispatchable : tracker.allUnconfirmedDispatchableStates()) {
+      ids.add(dispatchable.id());
+      positions.add(dispatchable.entries().get(0).position());
+    }
+
+    assertEquals("[3:3, 5:5, 6:6]", ids.toString());
+    assertEquals("[3, 5, 6]", positions.toString());
+
+    tracker.confirmDispatched(ids.get(0));
+    assertEquals(4, tracker.confirmedThrough());
+  }
+
+  @Test
+  public void testThatOnlyMarkedBeforeCutoffAreRedispatched() throws InterruptedException {
+    append(2);
+    assertFalse(tracker.allUnconfirmedDispatchableStatesOlderThan(LocalDateTime.now()).iterator().hasNext());
+    Thread.sleep(10);
+    final LocalDateTime cutoff = LocalDateTime.now();
+    Thread.sleep(10);
+
+    append(2);
+    final Iterator<Dispatchable<Entry<String>, TextState>> unconfirmed = tracker.allUnconfirmedDispatchableStatesOlderThan(cutoff).iterator();
+    assertEquals("1:1", unconfirmed.next().id());
+    assertEquals("2:2", unconfirmed.next().id());
+    assertFalse(unconfirmed.hasNext());
+  }
+
+  @Test
+  public void testThatPressureFollowsOutstanding() {
+    final List<String> signals = new ArrayList<>();
+    final JournalDispatchTracker<String, TextState> pressured = new JournalDispatchTracker<>(new JournalEntries<>(log, null),
+            DispatchPressure.watermarks(3, 1).withListener((overloaded, outstanding) -> signals.add(overloaded + ":" + outstanding)));
+
+    append(2);
+    assertFalse(pressured.isOverloaded());
+    append(2);
+    assertTrue(pressured.isOverloaded());
+    pressured.confirm(1, 2);
+    assertTrue(pressured.isOverloaded());
+    pressured.confirm(3, 3);
+    assertFalse(pressured.isOverloaded());
+
+    assertEquals("[true:4, false:1]", signals.toString());
+  }
+
+  @Test
+  public void testThatStreamNameIsAnsweredFromDispatchId() {
+    assertEquals("stream:1", JournalDispatchTracker.streamNameOf(JournalDispatchTracker.dispatchIdOf("stream:1", 2, 10, 12)));
+    assertEquals("5:5", JournalDispatchTracker.streamNameOf("5:5"));
+  }
+
+  @Before
+  public void setUp() {
+    log = new AppendOnlyLog<>();
+    tracker = new JournalDispatchTracker<>(new JournalEntries<>(log, null), DispatchPressure.unbounded());
+  }
+
+  private void append(final int total) {
+    for (int count = 0; count < total; ++count) {
+      final int position = log.size() + 1;
+      final TextEntry entry = new TextEntry(String.valueOf(position), Object.class, 1, "data-" + position, Metadata.nullMetadata());
+      entry.__internal__setPosition(position);
+      log.add(entry);
+    }
+  }
+}
@@ -0,0 +1,143 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.journal.inmemory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vlingo.xoom.symbio.BaseEntry.ObjectEntry;
+import io.vlingo.xoom.symbio.BaseEntry.TextEntry;
+import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.Metadata;
+
+public class JournalSpillTest {
+  private File directory;
+  private AppendOnlyLog<Entry<String>> log;
+  private JournalSpill spill;
+  private JournalEntries<String> view;
+
+  @Test
+  public void testThatSpilledEntriesAreReadBack() {
+    append(AppendOnlyLog.ChunkSize + 10);
+
+    spill.spill(chunkOf(0));
+    assertEquals(AppendOnlyLog.ChunkSize, log.releaseBelow(AppendOnlyLog.ChunkSize));
+
+    assertNull(log.get(0));
+    assertEquals(1, view.get(0).position());
+    assertEquals("data-1", view.get(0).entryData());
+    assertEquals("data-" + AppendOnlyLog.ChunkSize, view.get(AppendOnlyLog.ChunkSize - 1).entryData());
+    assertEquals("data-" + (AppendOnlyLog.ChunkSize + 1), view.get(AppendOnlyLog.ChunkSize).entryData());
+  }
+
+  @Test
+  public void testThatReaderReadsAcrossSpilledAndDroppedEntries() {
+    append(AppendOnlyLog.ChunkSize + 10);
+
+    spill.spill(chunkOf(0));
+    log.releaseBelow(AppendOnlyLog.ChunkSize);
+    log.discard(AppendOnlyLog.ChunkSize + 1); // position ChunkSize + 2
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    final InMemoryJournalReader<TextEntry> reader = new InMemoryJournalReader(view, "test");
+
+    final TextEntry first = reader.readNext().await();
+    assertEquals(1, first.position());
+
+    assertEquals(AppendOnlyLog.ChunkSize + 1L, (long) reader.seekToPosition(AppendOnlyLog.ChunkSize + 1).await());
+    final List<TextEntry> entries = reader.readNext(3).await();
+    assertEquals(AppendOnlyLog.ChunkSize + 1L, entries.get(0).position());
+    assertEquals(AppendOnlyLog.ChunkSize + 3L, entries.get(1).position());
+    assertEquals(AppendOnlyLog.ChunkSize + 4L, entries.get(2).position());
+  }
+
+  @Test
+  public void testThatDiscardedSpilledEntriesAreNotReadBack() {
+    append(AppendOnlyLog.ChunkSize + 10);
+
+    spill.spill(chunkOf(0));
+    log.releaseBelow(AppendOnlyLog.ChunkSize);
+
+    assertTrue(spill.discard(2));
+    assertFalse(spill.discard(2));
+    assertFalse(spill.discard(AppendOnlyLog.ChunkSize + 1)); // not spilled
+    assertNull(view.get(1));
+    assertEquals("data-3", view.get(2).entryData());
+
+    for (int position = 1; position <= AppendOnlyLog.ChunkSize; ++position) {
+      spill.discard(position);
+    }
+    assertEquals(0, spill.directory().listFiles().length);
+    assertNull(view.get(0));
+  }
+
+  @Test
+  public void testThatJournalsSpillToTheirOwnDirectories() {
+    final JournalSpill other = new JournalSpill(directory);
+    append(AppendOnlyLog.ChunkSize);
+    spill.spill(chunkOf(0));
+    other.spill(chunkOf(0));
+
+    other.close();
+
+    assertFalse(other.directory().exists());
+    assertEquals(1, spill.directory().listFiles().length);
+    assertEquals("data-1", spill.entryAt(1).entryData());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testThatObjectEntriesAreNotSpilled() {
+    final ObjectEntry<Object> entry = new ObjectEntry<>("1", Object.class, 1, new Object(), Metadata.nullMetadata());
+    spill.spill(Arrays.asList(entry));
+  }
+
+  @Before
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("journal-spill").toFile();
+    log = new AppendOnlyLog<>();
+    spill = new JournalSpill(directory);
+    view = new JournalEntries<>(log, spill);
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    spill.close();
+    Files.walk(directory.toPath()).sorted(Comparator.reverseOrder()).map(java.nio.file.Path::toFile).forEach(File::delete);
+  }
+
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  private void append(final int count) {
+    for (int position = 1; position <= count; ++position) {
+      final TextEntry entry = new TextEntry(String.class, 1, "data-" + position, Metadata.nullMetadata());
+      entry.__internal__setPosition(position);
+      log.add((Entry) entry);
+    }
+  }
+
+  private List<Entry<String>> chunkOf(final int chunk) {
+    final List<Entry<String>> entries = new ArrayList<>(AppendOnlyLog.ChunkSize);
+    for (int index = chunk * AppendOnlyLog.ChunkSize; index < (chunk + 1) * AppendOnlyLog.ChunkSize; ++index) {
+      entries.add(log.get(index));
+    }
+    return entries;
+  }
+}
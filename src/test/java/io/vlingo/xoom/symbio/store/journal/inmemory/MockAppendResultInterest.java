@@ -91,11 +91,11 @@ public class MockAppendResultInterest<T, ST> implements AppendResultInterest {
     return access;
   }
 
-  int getReceivedAppendsSize(){
+  public int getReceivedAppendsSize(){
     return (int) access.readFrom("size");
   }
 
-  List<JournalData<T,ST>> getEntries(){
+  public List<JournalData<T,ST>> getEntries(){
     return access.readFrom("appendResultedIn");
   }
 
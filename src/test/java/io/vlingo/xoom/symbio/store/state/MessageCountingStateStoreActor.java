@@ -65,6 +65,13 @@ public abstract class MessageCountingStateStoreActor extends Actor implements St
     results.incrementWrite(id, totalPartitions);
   }
 
+  @Override
+  public void writeAll(Collection<TypedStateBundle> bundles, WriteResultInterest interest, Object object) {
+    for (final TypedStateBundle bundle : bundles) {
+      results.incrementWrite(bundle.id, totalPartitions);
+    }
+  }
+
   @Override
   public <ET extends Entry<?>> Completes<StateStoreEntryReader<ET>> entryReader(String name) {
     results.incrementEntryReader();
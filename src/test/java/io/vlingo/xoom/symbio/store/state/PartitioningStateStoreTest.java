@@ -7,7 +7,9 @@
 
 package io.vlingo.xoom.symbio.store.state;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Properties;
 import java.util.UUID;
 
@@ -160,6 +162,35 @@ public class PartitioningStateStoreTest {
     Assert.assertEquals(writes, results.writePartitionCount(2));
   }
 
+  @Test
+  public void testThatWriteAllIsScatteredToWriters() {
+    final int ctors = PartitioningStateStore.MinimumReaders + PartitioningStateStore.MinimumWriters;
+    final int writes = 3;
+
+    final int times = ctors + (writes * PartitioningStateStore.MinimumWriters);
+
+    final MessageCountingResults results = new MessageCountingResults(times);
+    final MessageCountingInstantiatorProvider instantiatorProvider = new MessageCountingInstantiatorProvider(results, false); // don't use Definition
+
+    final StateStore store = PartitioningStateStore.using(world.stage(), MessageCountingStateStoreActor.class, instantiatorProvider, 0, 0);
+
+    final List<TypedStateBundle> bundles = new ArrayList<>();
+    for (int partition = 0; partition < PartitioningStateStore.MinimumWriters; ++partition) {
+      for (int write = 0; write < writes; ++write) {
+        bundles.add(new TypedStateBundle(idFor(partition, PartitioningStateStore.MinimumWriters), this, 1, null));
+      }
+    }
+
+    store.writeAll(bundles, null);
+
+    Assert.assertEquals(ctors, results.ctor());
+    Assert.assertEquals(writes * PartitioningStateStore.MinimumWriters, results.write());
+
+    Assert.assertEquals(writes, results.writePartitionCount(0));
+    Assert.assertEquals(writes, results.writePartitionCount(1));
+    Assert.assertEquals(writes, results.writePartitionCount(2));
+  }
+
   @Before
   public void setUp() {
 //    world = World.startWithDefaults("test-partitioning-statestore");
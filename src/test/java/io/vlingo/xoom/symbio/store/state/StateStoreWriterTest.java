@@ -0,0 +1,113 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.state;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.vlingo.xoom.common.Failure;
+import io.vlingo.xoom.common.Outcome;
+import io.vlingo.xoom.common.Success;
+import io.vlingo.xoom.symbio.Metadata;
+import io.vlingo.xoom.symbio.Source;
+import io.vlingo.xoom.symbio.store.Result;
+import io.vlingo.xoom.symbio.store.StorageException;
+import io.vlingo.xoom.symbio.store.state.StateStore.TypedStateBundle;
+import io.vlingo.xoom.symbio.store.state.StateStore.WriteResultInterest;
+
+public class StateStoreWriterTest {
+
+  @Test
+  public void testThatDefaultWriteAllAnswersOneResult() {
+    final RecordingInterest interest = new RecordingInterest();
+
+    new FailingWriter().writeAll(Arrays.asList(bundle("1"), bundle("2"), bundle("3")), interest, "all");
+
+    assertEquals(1, interest.results.size());
+    assertEquals(Result.Success, interest.results.get(0));
+    assertEquals(3, interest.written.size());
+    assertEquals("all", interest.object);
+  }
+
+  @Test
+  public void testThatDefaultWriteAllSeparatesWrittenAndFailed() {
+    final RecordingInterest interest = new RecordingInterest();
+
+    new FailingWriter("2").writeAll(Arrays.asList(bundle("1"), bundle("2"), bundle("3")), interest, "some");
+
+    assertEquals(1, interest.results.size());
+    assertEquals(Result.Error, interest.results.get(0));
+    assertEquals(2, interest.written.size());
+    assertEquals(1, interest.failed.size());
+    assertEquals("2", interest.failed.iterator().next().id);
+    assertEquals("some", interest.object);
+  }
+
+  @Test
+  public void testThatDefaultWriteAllAnswersEmptyBundles() {
+    final RecordingInterest interest = new RecordingInterest();
+
+    new FailingWriter().writeAll(new ArrayList<>(), interest, null);
+
+    assertEquals(1, interest.results.size());
+    assertEquals(Result.Success, interest.results.get(0));
+  }
+
+  private TypedStateBundle bundle(final String id) {
+    return new TypedStateBundle(id, new Entity1(id, 1), 1, null, Metadata.nullMetadata());
+  }
+
+  private static class FailingWriter implements StateStoreWriter {
+    private final List<String> failingIds;
+
+    FailingWriter(final String... failingIds) {
+      this.failingIds = Arrays.asList(failingIds);
+    }
+
+    @Override
+    public <S,C> void write(final String id, final S state, final int stateVersion, final List<Source<C>> sources, final Metadata metadata, final WriteResultInterest interest, final Object object) {
+      final Outcome<StorageException, Result> outcome = failingIds.contains(id) ?
+              Failure.of(new StorageException(Result.Error, "Failed: " + id)) :
+              Success.of(Result.Success);
+      interest.writeResultedIn(outcome, id, state, stateVersion, sources, object);
+    }
+  }
+
+  private static class RecordingInterest implements WriteResultInterest {
+    final List<Result> results = new ArrayList<>();
+    Collection<TypedStateBundle> failed = new ArrayList<>();
+    Collection<TypedStateBundle> written = new ArrayList<>();
+    Object object;
+
+    @Override
+    public <S,C> void writeResultedIn(final Outcome<StorageException, Result> outcome, final String id, final S state, final int stateVersion, final List<Source<C>> sources, final Object object) {
+      throw new IllegalStateException("Unexpected single write result: " + id);
+    }
+
+    @Override
+    public void writeResultedIn(final Outcome<StorageException, Result> outcome, final Collection<TypedStateBundle> bundles, final Object object) {
+      results.add(outcome.resolve(cause -> cause.result, result -> result));
+      written = bundles;
+      this.object = object;
+    }
+
+    @Override
+    public void writeResultedIn(final Outcome<StorageException, Result> failure, final Collection<TypedStateBundle> written, final Collection<TypedStateBundle> failed, final Object object) {
+      results.add(failure.resolve(cause -> cause.result, result -> result));
+      this.written = written;
+      this.failed = failed;
+      this.object = object;
+    }
+  }
+}
@@ -0,0 +1,263 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.state;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vlingo.xoom.actors.Definition;
+import io.vlingo.xoom.actors.Protocols;
+import io.vlingo.xoom.actors.Stoppable;
+import io.vlingo.xoom.actors.World;
+import io.vlingo.xoom.actors.testkit.AccessSafely;
+import io.vlingo.xoom.actors.testkit.TestWorld;
+import io.vlingo.xoom.common.Completes;
+import io.vlingo.xoom.common.Failure;
+import io.vlingo.xoom.reactivestreams.Stream;
+import io.vlingo.xoom.symbio.Entry;
+import io.vlingo.xoom.symbio.EntryAdapterProvider;
+import io.vlingo.xoom.symbio.State;
+import io.vlingo.xoom.symbio.Metadata;
+import io.vlingo.xoom.symbio.Source;
+import io.vlingo.xoom.symbio.StateAdapterProvider;
+import io.vlingo.xoom.symbio.store.QueryExpression;
+import io.vlingo.xoom.symbio.store.Result;
+import io.vlingo.xoom.symbio.store.StorageException;
+import io.vlingo.xoom.symbio.store.state.Entity1.Entity1StateAdapter;
+import io.vlingo.xoom.symbio.store.state.StateStore.TypedStateBundle;
+import io.vlingo.xoom.symbio.store.state.inmemory.InMemoryStateStoreActor;
+
+public class WriteBehindStateStoreActorTest {
+  private final static String StoreName1 = Entity1.class.getSimpleName();
+
+  private MockStateStoreDispatcher dispatcher;
+  private MockStateStoreResultInterest interest;
+  private StateStore store;
+  private TestWorld testWorld;
+  private World world;
+
+  @Test
+  public void testThatBufferedWritesAreRead() {
+    final StateStore writeBehind = writeBehind(10_000, 100);
+
+    final AccessSafely access1 = interest.afterCompleting(4);
+
+    writeBehind.write("123", new Entity1("123", 1), 1, interest);
+    writeBehind.write("123", new Entity1("123", 2), 2, interest);
+    writeBehind.write("123", new Entity1("123", 3), 3, interest);
+    writeBehind.read("123", Entity1.class, interest);
+
+    assertEquals(3, (int) access1.readFrom("writeObjectResultedIn"));
+    assertEquals(Result.Success, access1.readFrom("objectReadResult"));
+    assertEquals(new Entity1("123", 3), access1.readFrom("objectState"));
+  }
+
+  @Test
+  public void testThatStaleVersionIsRejected() {
+    final StateStore writeBehind = writeBehind(10_000, 100);
+
+    final AccessSafely access1 = interest.afterCompleting(2);
+
+    writeBehind.write("123", new Entity1("123", 2), 2, interest);
+    writeBehind.write("123", new Entity1("123", 1), 1, interest);
+
+    assertEquals(Result.Success, access1.readFrom("objectWriteAccumulatedResults"));
+    assertEquals(Result.ConcurrencyViolation, access1.readFrom("objectWriteAccumulatedResults"));
+  }
+
+  @Test
+  public void testThatCoalescedWritesAreFlushedOnCount() {
+    final StateStore writeBehind = writeBehind(10_000, 2);
+
+    interest.afterCompleting(3);
+    final AccessSafely accessDispatcher = dispatcher.afterCompleting(2);
+
+    writeBehind.write("123", new Entity1("123", 1), 1, interest);
+    writeBehind.write("123", new Entity1("123", 2), 2, interest);
+    writeBehind.write("234", new Entity1("234", 1), 1, interest);
+
+    assertEquals(2, (int) accessDispatcher.readFrom("dispatchedStateCount"));
+    final State<?> state123 = accessDispatcher.readFrom("dispatchedState", StoreName1 + ":123");
+    assertEquals(2, state123.dataVersion);
+  }
+
+  @Test
+  public void testThatPartialBufferIsFlushedOnTime() {
+    final StateStore writeBehind = writeBehind(10, 100);
+
+    interest.afterCompleting(1);
+    final AccessSafely accessDispatcher = dispatcher.afterCompleting(1);
+
+    writeBehind.writeAll(Arrays.asList(new TypedStateBundle("123", new Entity1("123", 1), 1, null)), interest);
+
+    assertEquals(1, (int) accessDispatcher.readFrom("dispatchedStateCount"));
+  }
+
+  @Test
+  public void testThatBufferedSubclassStateIsReadByItsType() {
+    final StateStore writeBehind = writeBehind(10_000, 100);
+
+    final AccessSafely access1 = interest.afterCompleting(2);
+
+    writeBehind.write("123", new Entity1("123", 1) { }, 1, interest);
+    writeBehind.read("123", Entity1.class, interest);
+
+    assertEquals(Result.Success, access1.readFrom("objectReadResult"));
+    assertEquals(1, ((Entity1) access1.readFrom("objectState")).value);
+  }
+
+  @Test
+  public void testThatFailedFlushIsRetried() {
+    final AtomicInteger failures = new AtomicInteger();
+    final AtomicBoolean retried = new AtomicBoolean();
+    final StateStore writeBehind = world.actorFor(StateStore.class, WriteBehindStateStoreActor.class, new FailingStateStore(store, 1), 10L, 100L,
+            (WriteBehindStateStoreActor.FlushListener) (cause, failed, willRetry) -> {
+              failures.incrementAndGet();
+              retried.set(willRetry);
+            });
+
+    interest.afterCompleting(1);
+    final AccessSafely accessDispatcher = dispatcher.afterCompleting(1);
+
+    writeBehind.write("123", new Entity1("123", 1), 1, interest);
+
+    assertEquals(1, (int) accessDispatcher.readFrom("dispatchedStateCount"));
+    assertEquals(1, failures.get());
+    assertEquals(true, retried.get());
+  }
+
+  @Test
+  public void testThatRepeatedlyFailedFlushIsDropped() {
+    final AtomicInteger failures = new AtomicInteger();
+    final AtomicInteger dropped = new AtomicInteger();
+    final AccessSafely access = AccessSafely.afterCompleting(3);
+    access.writingWith("failed", (Boolean willRetry) -> {
+      failures.incrementAndGet();
+      if (!willRetry) {
+        dropped.incrementAndGet();
+      }
+    });
+    access.readingWith("dropped", dropped::get);
+    final StateStore writeBehind = world.actorFor(StateStore.class, WriteBehindStateStoreActor.class, new FailingStateStore(store, Integer.MAX_VALUE), 10L, 100L,
+            (WriteBehindStateStoreActor.FlushListener) (cause, failed, willRetry) -> access.writeUsing("failed", willRetry), 2);
+
+    interest.afterCompleting(1);
+
+    writeBehind.write("123", new Entity1("123", 1), 1, interest);
+
+    assertEquals(1, (int) access.readFrom("dropped"));
+    assertEquals(3, failures.get());
+  }
+
+  @Test
+  public void testThatFailedFinalFlushIsSignaled() {
+    final AccessSafely access = AccessSafely.afterCompleting(1);
+    final AtomicBoolean retried = new AtomicBoolean(true);
+    access.writingWith("failed", (Boolean willRetry) -> retried.set(willRetry));
+    access.readingWith("retried", retried::get);
+    final Protocols protocols = world.stage().actorFor(new Class<?>[] { StateStore.class, Stoppable.class },
+            Definition.has(WriteBehindStateStoreActor.class, Definition.parameters(new FailingStateStore(store, 1), 10_000L, 100L,
+                    (WriteBehindStateStoreActor.FlushListener) (cause, failed, willRetry) -> access.writeUsing("failed", willRetry))));
+    final StateStore writeBehind = protocols.get(0);
+
+    interest.afterCompleting(1);
+
+    writeBehind.write("123", new Entity1("123", 1), 1, interest);
+    protocols.<Stoppable>get(1).stop();
+
+    assertEquals(false, access.readFrom("retried"));
+  }
+
+  @Before
+  public void setUp() {
+    testWorld = TestWorld.startWithDefaults("test-write-behind-store");
+    world = testWorld.world();
+
+    interest = new MockStateStoreResultInterest();
+    dispatcher = new MockStateStoreDispatcher(interest);
+
+    dispatcher.afterCompleting(0); // avoid NPE
+
+    final StateAdapterProvider stateAdapterProvider = new StateAdapterProvider(world);
+    new EntryAdapterProvider(world);
+
+    stateAdapterProvider.registerAdapter(Entity1.class, new Entity1StateAdapter());
+
+    store = world.actorFor(StateStore.class, InMemoryStateStoreActor.class, Arrays.asList(dispatcher));
+
+    StateTypeStateStoreMap.stateTypeToStoreName(Entity1.class, StoreName1);
+  }
+
+  @After
+  public void tearDown() {
+    world.terminate();
+  }
+
+  private StateStore writeBehind(final long timeBetweenFlushWrites, final long batchWriteCount) {
+    return world.actorFor(StateStore.class, WriteBehindStateStoreActor.class, store, timeBetweenFlushWrites, batchWriteCount);
+  }
+
+  private static class FailingStateStore implements StateStore {
+    private final StateStore store;
+    private int failures;
+
+    FailingStateStore(final StateStore store, final int failures) {
+      this.store = store;
+      this.failures = failures;
+    }
+
+    @Override
+    public void read(final String id, final Class<?> type, final ReadResultInterest interest, final Object object) {
+      store.read(id, type, interest, object);
+    }
+
+    @Override
+    public void readAll(final Collection<TypedStateBundle> bundles, final ReadResultInterest interest, final Object object) {
+      store.readAll(bundles, interest, object);
+    }
+
+    @Override
+    public Completes<Stream> streamAllOf(final Class<?> stateType) {
+      return store.streamAllOf(stateType);
+    }
+
+    @Override
+    public Completes<Stream> streamSomeUsing(final QueryExpression query) {
+      return store.streamSomeUsing(query);
+    }
+
+    @Override
+    public <ET extends Entry<?>> Completes<StateStoreEntryReader<ET>> entryReader(final String name) {
+      return store.entryReader(name);
+    }
+
+    @Override
+    public <S,C> void write(final String id, final S state, final int stateVersion, final List<Source<C>> sources, final Metadata metadata, final WriteResultInterest interest, final Object object) {
+      store.write(id, state, stateVersion, sources, metadata, interest, object);
+    }
+
+    @Override
+    public void writeAll(final Collection<TypedStateBundle> bundles, final WriteResultInterest interest, final Object object) {
+      if (failures > 0) {
+        --failures;
+        interest.writeResultedIn(Failure.of(new StorageException(Result.Error, "Unavailable.")), bundles, object);
+      } else {
+        store.writeAll(bundles, interest, object);
+      }
+    }
+  }
+}
@@ -0,0 +1,132 @@
+// Copyright © 2012-2023 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.xoom.symbio.store.state.inmemory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vlingo.xoom.common.Completes;
+import io.vlingo.xoom.common.Outcome;
+import io.vlingo.xoom.symbio.Metadata;
+import io.vlingo.xoom.symbio.State.TextState;
+import io.vlingo.xoom.symbio.StateAdapterProvider;
+import io.vlingo.xoom.symbio.store.Result;
+import io.vlingo.xoom.symbio.store.StorageException;
+import io.vlingo.xoom.symbio.store.state.Entity1;
+import io.vlingo.xoom.symbio.store.state.Entity1.Entity1StateAdapter;
+import io.vlingo.xoom.symbio.store.state.StateStore.ReadResultInterest;
+import io.vlingo.xoom.symbio.store.state.StateStore.TypedStateBundle;
+import io.vlingo.xoom.symbio.store.state.StateStoreReader.ReadAllResultCollector;
+import io.vlingo.xoom.symbio.store.state.StateTypeStateStoreMap;
+
+public class InMemoryStateStorageTest {
+  private final static String StoreName = Entity1.class.getSimpleName();
+
+  private final Entity1StateAdapter adapter = new Entity1StateAdapter();
+  private InMemoryStateStorage<TextState> storage;
+
+  @Test
+  public void testThatDirectReadFindsWrittenState() {
+    write(new Entity1("123", 5), 1);
+
+    final Completes<TypedStateBundle> completes = storage.read("123", Entity1.class);
+    final TypedStateBundle bundle = completes.await();
+    assertEquals("123", bundle.id);
+    assertEquals(new Entity1("123", 5), bundle.state);
+    assertEquals(1, bundle.stateVersion);
+  }
+
+  @Test
+  public void testThatDirectReadAnswersNotFound() {
+    write(new Entity1("123", 5), 1);
+
+    final ReadAllResultCollector collector = new ReadAllResultCollector();
+    storage.read("456", Entity1.class, collector, null);
+    assertTrue(collector.isFailure());
+    collector.readResultOutcome(1).otherwise(cause -> {
+      assertEquals(Result.NotFound, cause.result);
+      return cause.result;
+    });
+  }
+
+  @Test
+  public void testThatDirectReadsRunConcurrentlyWithWrites() throws InterruptedException {
+    write(new Entity1("123", 0), 1);
+
+    final AtomicInteger failures = new AtomicInteger();
+    final List<Thread> readers = new ArrayList<>();
+    for (int reader = 0; reader < 4; ++reader) {
+      final Thread thread = new Thread(() -> {
+        int lastVersion = 0;
+        for (int read = 0; read < 10_000; ++read) {
+          final TypedStateBundle bundle = storage.read("123", Entity1.class).await();
+          if (bundle.stateVersion < lastVersion || ((Entity1) bundle.state).value != bundle.stateVersion - 1) {
+            failures.incrementAndGet();
+          }
+          lastVersion = bundle.stateVersion;
+        }
+      });
+      readers.add(thread);
+      thread.start();
+    }
+
+    for (int version = 2; version <= 1_000; ++version) {
+      write(new Entity1("123", version - 1), version);
+    }
+
+    for (final Thread reader : readers) {
+      reader.join();
+    }
+
+    assertEquals(0, failures.get());
+  }
+
+  @Test
+  public void testThatReadAllAnswersAllFound() {
+    write(new Entity1("1", 1), 1);
+    write(new Entity1("2", 2), 1);
+
+    final List<TypedStateBundle> bundles = new ArrayList<>();
+    storage.readAll(Arrays.asList(new TypedStateBundle("1", Entity1.class), new TypedStateBundle("2", Entity1.class)), new ReadResultInterest() {
+      @Override
+      public <S> void readResultedIn(final Outcome<StorageException, Result> outcome, final String id, final S state, final int stateVersion, final Metadata metadata, final Object object) { }
+
+      @Override
+      public <S> void readResultedIn(final Outcome<StorageException, Result> outcome, final Collection<TypedStateBundle> read, final Object object) {
+        assertEquals(Result.Success, outcome.getOrNull());
+        bundles.addAll(read);
+      }
+    }, null);
+    assertEquals(2, bundles.size());
+    assertEquals(new Entity1("2", 2), bundles.get(1).state);
+    assertFalse(storage.typeStoreOf("Missing").containsKey("1"));
+    assertTrue(storage.typeStoreOf(StoreName).containsKey("2"));
+  }
+
+  @Before
+  public void setUp() {
+    final StateAdapterProvider stateAdapterProvider = new StateAdapterProvider();
+    stateAdapterProvider.registerAdapter(Entity1.class, adapter);
+    StateTypeStateStoreMap.stateTypeToStoreName(Entity1.class, StoreName);
+    storage = new InMemoryStateStorage<>(stateAdapterProvider);
+  }
+
+  private void write(final Entity1 entity, final int stateVersion) {
+    storage.typeStoreFor(StoreName).put(entity.id, adapter.toRawState(entity.id, entity, stateVersion, Metadata.nullMetadata()));
+  }
+}
@@ -10,6 +10,7 @@ package io.vlingo.xoom.symbio.store.state.inmemory;
 import static org.junit.Assert.assertEquals;
 
 import java.util.Arrays;
+import java.util.List;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -19,6 +20,7 @@ import io.vlingo.xoom.actors.testkit.AccessSafely;
 import io.vlingo.xoom.actors.testkit.TestWorld;
 import io.vlingo.xoom.common.Completes;
 import io.vlingo.xoom.symbio.BaseEntry.TextEntry;
+import io.vlingo.xoom.symbio.Entry;
 import io.vlingo.xoom.symbio.EntryAdapterProvider;
 import io.vlingo.xoom.symbio.Metadata;
 import io.vlingo.xoom.symbio.Source;
@@ -69,6 +71,32 @@ public class InMemoryStateStoreEntryReaderActorTest {
     assertEquals(Arrays.asList(entry1, entry2, entry3), reader.readNext(3).await());
   }
 
+  @Test
+  public void testThatEntryReaderSeeksToPosition() {
+    final AccessSafely access = interest.afterCompleting(3);
+    dispatcher.afterCompleting(0);
+
+    store.write(Id1, new Entity1(Id1, 10), 1, Arrays.asList(new Event1()), interest);
+    store.write(Id2, new Entity2(Id2, "20"), 1, Arrays.asList(new Event2()), interest);
+    store.write(Id3, new Entity1(Id3, 30), 1, Arrays.asList(new Event3()), interest);
+
+    assertEquals(new Event1(), access.readFrom("sources"));
+    assertEquals(new Event2(), access.readFrom("sources"));
+    assertEquals(new Event3(), access.readFrom("sources"));
+
+    assertEquals(1L, (long) reader.seekToPosition(1).await());
+    final TextEntry entry2 = reader.readNext().await();
+    assertEquals(1L, entry2.position());
+    assertEquals("1", entry2.id());
+
+    final List<TextEntry> entries = reader.readNextFromPosition(0, 3).await();
+    assertEquals(3, entries.size());
+    assertEquals(0L, entries.get(0).position());
+    assertEquals(2L, entries.get(2).position());
+
+    assertEquals(Entry.UnknownPosition, (long) reader.seekToPosition(3).await());
+  }
+
   @Before
   public void setUp() {
     testWorld = TestWorld.startWithDefaults("test-store");
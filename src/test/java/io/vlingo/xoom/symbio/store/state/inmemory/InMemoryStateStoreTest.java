@@ -167,6 +167,52 @@ public class InMemoryStateStoreTest {
     assertEquals(Result.Success, access2.readFrom("objectWriteAccumulatedResults"));
   }
 
+  @Test
+  public void testThatWriteAllWritesAndDispatchesAll() {
+    final AccessSafely access1 = interest.afterCompleting(3);
+    final AccessSafely accessDispatcher = dispatcher.afterCompleting(3);
+
+    final Entity1 entity1 = new Entity1("123", 1);
+    final Entity1 entity2 = new Entity1("234", 2);
+    final Entity1 entity3 = new Entity1("345", 3);
+
+    store.writeAll(Arrays.asList(
+            new TypedStateBundle(entity1.id, entity1, 1, null),
+            new TypedStateBundle(entity2.id, entity2, 1, null),
+            new TypedStateBundle(entity3.id, entity3, 1, null)), interest);
+
+    assertEquals(3, (int) access1.readFrom("writeObjectResultedIn"));
+    assertEquals(Result.Success, access1.readFrom("objectWriteAccumulatedResults"));
+    assertEquals(Result.Success, access1.readFrom("objectWriteAccumulatedResults"));
+    assertEquals(Result.Success, access1.readFrom("objectWriteAccumulatedResults"));
+
+    assertEquals(3, (int) accessDispatcher.readFrom("dispatchedStateCount"));
+    final State<?> state234 = accessDispatcher.readFrom("dispatchedState", dispatchId("234"));
+    assertEquals("234", state234.id);
+  }
+
+  @Test
+  public void testThatWriteAllWritesNoneOnConcurrencyViolation() {
+    final AccessSafely access1 = interest.afterCompleting(1);
+    dispatcher.afterCompleting(1);
+
+    final Entity1 entity1 = new Entity1("123", 1);
+    store.write(entity1.id, entity1, 1, interest);
+    assertEquals(Result.Success, access1.readFrom("objectWriteAccumulatedResults"));
+
+    final AccessSafely access2 = interest.afterCompleting(3);
+
+    final Entity1 entity2 = new Entity1("234", 2);
+    store.writeAll(Arrays.asList(
+            new TypedStateBundle(entity2.id, entity2, 1, null),
+            new TypedStateBundle(entity1.id, entity1, 1, null)), interest);
+    store.read(entity2.id, Entity1.class, interest);
+
+    assertEquals(Result.ConcurrencyViolation, access2.readFrom("objectWriteAccumulatedResults"));
+    assertEquals(Result.ConcurrencyViolation, access2.readFrom("objectWriteAccumulatedResults"));
+    assertEquals(Result.NotFound, access2.readFrom("objectReadResult"));
+  }
+
   @Test
   public void testThatStateStoreDispatches() {
     interest.afterCompleting(3);